@@ -20,13 +20,17 @@ import alluxio.client.block.policy.options.GetWorkerOptions;
 import alluxio.client.block.stream.BlockInStream;
 import alluxio.client.block.stream.BlockInStream.BlockInStreamSource;
 import alluxio.client.block.stream.BlockOutStream;
+import alluxio.client.block.stream.DataReader;
 import alluxio.client.block.stream.DataWriter;
+import alluxio.client.block.stream.GrpcDataReader;
+import alluxio.client.block.stream.HedgedDataReader;
 import alluxio.client.block.util.BlockLocationUtils;
 import alluxio.client.file.FileSystemContext;
 import alluxio.client.file.URIStatus;
 import alluxio.client.file.options.InStreamOptions;
 import alluxio.client.file.options.OutStreamOptions;
 import alluxio.collections.Pair;
+import alluxio.conf.PropertyKey;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.PreconditionMessage;
 import alluxio.exception.status.UnavailableException;
@@ -54,6 +58,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -149,8 +154,9 @@ public final class BlockStoreClient {
         options.getStatus(), options.getUfsReadLocationPolicy(), failedWorkers);
     WorkerNetAddress dataSource = dataSourceAndType.getFirst();
     BlockInStreamSource dataSourceType = dataSourceAndType.getSecond();
+    BlockInStream stream;
     try {
-      return BlockInStream.create(mContext, info, dataSource, dataSourceType, options);
+      stream = BlockInStream.create(mContext, info, dataSource, dataSourceType, options);
     } catch (UnavailableException e) {
       //When BlockInStream created failed, it will update the passed-in failedWorkers
       //to attempt to avoid reading from this failed worker in next try.
@@ -158,6 +164,52 @@ public final class BlockStoreClient {
       failedWorkers.put(dataSource, System.currentTimeMillis());
       throw e;
     }
+    if (mContext.getClusterConf().getBoolean(PropertyKey.USER_BLOCK_READ_HEDGE_ENABLED)
+        && stream.getDataReaderFactory() instanceof GrpcDataReader.Factory) {
+      stream = stream.withHedgedReads(new HedgedDataReader.HedgeSource() {
+        @Override
+        public Pair<WorkerNetAddress, DataReader.Factory> get() throws IOException {
+          return getHedgeReaderFactory(info, options, dataSource, failedWorkers);
+        }
+
+        @Override
+        public void onFailure(WorkerNetAddress address) {
+          LOG.info("Added {} to failedWorkers after a failed hedged read", address);
+          failedWorkers.put(address, System.currentTimeMillis());
+        }
+      }, mContext.getClusterConf());
+    }
+    return stream;
+  }
+
+  /**
+   * Gets the reader factory of another source of a block, to hedge slow reads from the source
+   * chosen for the block. The UFS is only used as the other source if enabled.
+   *
+   * @param info the info of the block to read
+   * @param options the options associated with the read request
+   * @param primary the worker chosen to read the block from
+   * @param failedWorkers the map of workers addresses to most recent failure time
+   * @return the address of the other source and its reader factory, or null if there is no
+   *         other source of the block
+   */
+  @Nullable
+  private Pair<WorkerNetAddress, DataReader.Factory> getHedgeReaderFactory(BlockInfo info,
+      InStreamOptions options, WorkerNetAddress primary,
+      Map<WorkerNetAddress, Long> failedWorkers) throws IOException {
+    Map<WorkerNetAddress, Long> excludedWorkers = new HashMap<>(failedWorkers);
+    excludedWorkers.put(primary, System.currentTimeMillis());
+    Pair<WorkerNetAddress, BlockInStreamSource> dataSourceAndType = getDataSourceAndType(info,
+        options.getStatus(), options.getUfsReadLocationPolicy(), excludedWorkers);
+    WorkerNetAddress dataSource = dataSourceAndType.getFirst();
+    BlockInStreamSource dataSourceType = dataSourceAndType.getSecond();
+    if (dataSource.equals(primary) || (dataSourceType == BlockInStreamSource.UFS
+        && !mContext.getClusterConf().getBoolean(PropertyKey.USER_BLOCK_READ_HEDGE_UFS_ENABLED))) {
+      return null;
+    }
+    return new Pair<>(dataSource,
+        BlockInStream.create(mContext, info, dataSource, dataSourceType, options)
+            .getDataReaderFactory());
   }
 
   /**
@@ -301,12 +353,52 @@ public final class BlockStoreClient {
    */
   public BlockOutStream getOutStream(long blockId, long blockSize, OutStreamOptions options)
       throws IOException {
-    WorkerNetAddress address;
+    List<WorkerNetAddress> workerAddressList =
+        getWriteWorkers(blockId, blockSize, options, Collections.emptySet());
+    if (workerAddressList.size() == 1) {
+      // TODO(ggezer): Retry on another worker if this has no storage.
+      return getOutStream(blockId, blockSize, workerAddressList.get(0), options);
+    }
+    return BlockOutStream
+        .createReplicatedBlockOutStream(mContext, blockId, blockSize, workerAddressList, options);
+  }
+
+  /**
+   * Gets a stream to write data to a block based on the options, whose data is sent to the
+   * workers in the background so that several blocks can be written at the same time. A single
+   * copy of the block is preferably written to a worker not in the given busy workers, when the
+   * location policy offers one.
+   *
+   * @param blockId the block to write
+   * @param blockSize the standard block size to write
+   * @param options the output stream option
+   * @param busyWorkers the workers already writing other blocks
+   * @param bufferSize the maximum number of bytes buffered for each worker
+   * @return a {@link BlockOutStream} which can be used to write data to the block in a streaming
+   *         fashion
+   */
+  public BlockOutStream getPipelinedOutStream(long blockId, long blockSize,
+      OutStreamOptions options, Set<WorkerNetAddress> busyWorkers, long bufferSize)
+      throws IOException {
+    List<WorkerNetAddress> workerAddressList =
+        getWriteWorkers(blockId, blockSize, options, busyWorkers);
+    LOG.debug("Create pipelined BlockOutStream for {} of block size {} at addresses {}, "
+        + "using options: {}", blockId, blockSize, workerAddressList, options);
+    return BlockOutStream.createPipelinedBlockOutStream(mContext, blockId, blockSize,
+        workerAddressList, options, bufferSize);
+  }
+
+  /**
+   * Chooses the workers to write the copies of a block to.
+   */
+  private List<WorkerNetAddress> getWriteWorkers(long blockId, long blockSize,
+      OutStreamOptions options, Set<WorkerNetAddress> busyWorkers) throws IOException {
     BlockLocationPolicy locationPolicy = Preconditions.checkNotNull(options.getLocationPolicy(),
         PreconditionMessage.BLOCK_WRITE_LOCATION_POLICY_UNSPECIFIED);
+    List<BlockWorkerInfo> workerInfos = new ArrayList<>(mContext.getCachedWorkers());
     GetWorkerOptions workerOptions = GetWorkerOptions.defaults()
         .setBlockInfo(new BlockInfo().setBlockId(blockId).setLength(blockSize))
-        .setBlockWorkerInfos(new ArrayList<>(mContext.getCachedWorkers()));
+        .setBlockWorkerInfos(workerInfos);
 
     // The number of initial copies depends on the write type: if ASYNC_THROUGH, it is the property
     // "alluxio.user.file.replication.durable" before data has been persisted; otherwise
@@ -315,7 +407,18 @@ public final class BlockStoreClient {
         && options.getReplicationDurable() > options.getReplicationMin())
         ? options.getReplicationDurable() : options.getReplicationMin();
     if (initialReplicas <= 1) {
-      address = locationPolicy.getWorker(workerOptions).orElseThrow(
+      Optional<WorkerNetAddress> address = Optional.empty();
+      if (!busyWorkers.isEmpty()) {
+        address = locationPolicy.getWorker(GetWorkerOptions.defaults()
+            .setBlockInfo(workerOptions.getBlockInfo())
+            .setBlockWorkerInfos(workerInfos.stream()
+                .filter(info -> !busyWorkers.contains(info.getNetAddress()))
+                .collect(toList())));
+      }
+      if (!address.isPresent()) {
+        address = locationPolicy.getWorker(workerOptions);
+      }
+      return Collections.singletonList(address.orElseThrow(
           () -> {
             try {
               if (mContext.getCachedWorkers().isEmpty()) {
@@ -327,9 +430,7 @@ public final class BlockStoreClient {
             return new UnavailableException(
                 ExceptionMessage.NO_SPACE_FOR_BLOCK_ON_WORKER.getMessage(blockSize));
           }
-      );
-      // TODO(ggezer): Retry on another worker if this has no storage.
-      return getOutStream(blockId, blockSize, address, options);
+      ));
     }
 
     // Group different block workers by their hostnames
@@ -358,8 +459,7 @@ public final class BlockStoreClient {
           "Not enough workers for replications, %d workers selected but %d required",
           workerAddressList.size(), initialReplicas));
     }
-    return BlockOutStream
-        .createReplicatedBlockOutStream(mContext, blockId, blockSize, workerAddressList, options);
+    return workerAddressList;
   }
 
   /**
@@ -0,0 +1,192 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.policy;
+
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.client.block.policy.options.GetWorkerOptions;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterables;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * This policy maps the blockId to workers with consistent hashing. Every worker is placed on a
+ * hash ring at several points, its virtual nodes, and a block is mapped to the workers which
+ * follow the hash of the block on the ring. Unlike {@link DeterministicHashPolicy}, when a worker
+ * joins or leaves the cluster, only the blocks mapped to that worker, about 1/N of the blocks,
+ * move to other workers, so the other workers keep serving the blocks they cached.
+ *
+ * A worker without enough capacity for the block is skipped, and the block goes to the next
+ * worker on the ring. The mapping depends on the workers and their capacities only, not on how
+ * full they are, so every client maps a block to the same workers.
+ *
+ * The ring holds every worker the policy has been given, and a worker missing from the workers of
+ * a call is skipped as if it had left the ring. The ring is therefore only rebuilt when a new
+ * worker joins, not when a call is given a subset of the workers.
+ *
+ * As with {@link DeterministicHashPolicy}, the number of workers a block is mapped to can be
+ * configured, and a read is delegated to one of them at random.
+ */
+@ThreadSafe
+public final class ConsistentHashPolicy implements BlockLocationPolicy {
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  private final int mShards;
+  private final int mVirtualNodes;
+  /** The ring of all the workers seen so far, which is rebuilt when a new worker joins. */
+  @Nullable
+  private volatile HashRing mRing;
+
+  /**
+   * Constructs a new {@link ConsistentHashPolicy}
+   * needed for instantiation in {@link BlockLocationPolicy.Factory}.
+   *
+   * @param conf Alluxio configuration
+   */
+  public ConsistentHashPolicy(AlluxioConfiguration conf) {
+    mShards = conf.getInt(PropertyKey.USER_UFS_BLOCK_READ_LOCATION_POLICY_CONSISTENT_HASH_SHARDS);
+    Preconditions.checkArgument(mShards >= 1, "shards must be positive: %s", mShards);
+    mVirtualNodes =
+        conf.getInt(PropertyKey.USER_UFS_BLOCK_READ_LOCATION_POLICY_CONSISTENT_HASH_VNODES);
+    Preconditions.checkArgument(mVirtualNodes >= 1, "virtual nodes must be positive: %s",
+        mVirtualNodes);
+  }
+
+  @Override
+  public Optional<WorkerNetAddress> getWorker(GetWorkerOptions options) {
+    Map<WorkerNetAddress, BlockWorkerInfo> workerInfos = new HashMap<>();
+    for (BlockWorkerInfo workerInfo : options.getBlockWorkerInfos()) {
+      workerInfos.put(workerInfo.getNetAddress(), workerInfo);
+    }
+    if (workerInfos.isEmpty()) {
+      return Optional.empty();
+    }
+    long blockLength = options.getBlockInfo().getLength();
+
+    List<WorkerNetAddress> workers = new ArrayList<>();
+    Set<WorkerNetAddress> visited = new HashSet<>();
+    for (WorkerNetAddress candidate : getRing(workerInfos.keySet())
+        .walk(hashBlock(options.getBlockInfo().getBlockId()))) {
+      BlockWorkerInfo workerInfo = workerInfos.get(candidate);
+      if (workerInfo == null || !visited.add(candidate)) {
+        continue;
+      }
+      if (workerInfo.getCapacityBytes() >= blockLength) {
+        workers.add(candidate);
+      }
+      if (workers.size() >= mShards || visited.size() == workerInfos.size()) {
+        break;
+      }
+    }
+    if (workers.isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(workers.get(ThreadLocalRandom.current().nextInt(workers.size())));
+  }
+
+  private HashRing getRing(Set<WorkerNetAddress> workers) {
+    HashRing ring = mRing;
+    if (ring == null || !ring.mWorkers.containsAll(workers)) {
+      synchronized (this) {
+        ring = mRing;
+        if (ring == null || !ring.mWorkers.containsAll(workers)) {
+          Set<WorkerNetAddress> members = new HashSet<>(workers);
+          if (ring != null) {
+            members.addAll(ring.mWorkers);
+          }
+          ring = new HashRing(members, mVirtualNodes);
+          mRing = ring;
+        }
+      }
+    }
+    return ring;
+  }
+
+  private static long hashBlock(long blockId) {
+    return HASH_FUNCTION.hashLong(blockId).asLong();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ConsistentHashPolicy)) {
+      return false;
+    }
+    ConsistentHashPolicy that = (ConsistentHashPolicy) o;
+    return mShards == that.mShards && mVirtualNodes == that.mVirtualNodes;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(mShards, mVirtualNodes);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("shards", mShards)
+        .add("virtualNodes", mVirtualNodes)
+        .toString();
+  }
+
+  /**
+   * A hash ring of workers, which is immutable once built.
+   */
+  private static final class HashRing {
+    private final Set<WorkerNetAddress> mWorkers;
+    private final NavigableMap<Long, WorkerNetAddress> mRing = new TreeMap<>();
+
+    private HashRing(Set<WorkerNetAddress> workers, int virtualNodes) {
+      mWorkers = new HashSet<>(workers);
+      for (WorkerNetAddress worker : workers) {
+        // the position of a worker depends on its identity only, not on the other workers
+        String id = worker.getHost() + ":" + worker.getRpcPort();
+        for (int i = 0; i < virtualNodes; i++) {
+          mRing.putIfAbsent(
+              HASH_FUNCTION.hashString(id + "#" + i, StandardCharsets.UTF_8).asLong(), worker);
+        }
+      }
+    }
+
+    /**
+     * @param hash a hash
+     * @return the workers of the virtual nodes following the hash on the ring, in order, once
+     *         around the ring
+     */
+    private Iterable<WorkerNetAddress> walk(long hash) {
+      return Iterables.concat(mRing.tailMap(hash, true).values(),
+          mRing.headMap(hash, false).values());
+    }
+  }
+}
@@ -26,6 +26,7 @@ import alluxio.grpc.ReadRequest;
 import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.proto.dataserver.Protocol;
 import alluxio.util.io.BufferUtils;
+import alluxio.util.io.ByteRange;
 import alluxio.util.network.NettyUtils;
 import alluxio.util.network.NetworkAddressUtils;
 import alluxio.wire.BlockInfo;
@@ -39,6 +40,8 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -185,9 +188,16 @@ public class BlockInStream extends InputStream implements BoundedStream, Seekabl
     AlluxioConfiguration conf = context.getClusterConf();
     long chunkSize = conf.getBytes(
         PropertyKey.USER_LOCAL_READER_CHUNK_SIZE_BYTES);
-    return new BlockInStream(
-        new LocalFileDataReader.Factory(context, address, blockId, chunkSize, options),
-        address, BlockInStreamSource.NODE_LOCAL, blockId, length);
+    DataReader.Factory factory;
+    // a single mapping cannot cover more than 2GB
+    if (conf.getBoolean(PropertyKey.USER_SHORT_CIRCUIT_MMAP_ENABLED)
+        && !conf.getBoolean(PropertyKey.USER_DIRECT_MEMORY_IO_ENABLED)
+        && length <= Integer.MAX_VALUE) {
+      factory = new MappedFileDataReader.Factory(context, address, blockId, chunkSize, options);
+    } else {
+      factory = new LocalFileDataReader.Factory(context, address, blockId, chunkSize, options);
+    }
+    return new BlockInStream(factory, address, BlockInStreamSource.NODE_LOCAL, blockId, length);
   }
 
   /**
@@ -212,7 +222,12 @@ public class BlockInStream extends InputStream implements BoundedStream, Seekabl
         .setPromote(ReadType.fromProto(options.getOptions().getReadType()).isPromote())
         .setOpenUfsBlockOptions(options.getOpenUfsBlockOptions(blockId)) // Add UFS fallback options
         .setPositionShort(options.getPositionShort())
-        .setChunkSize(chunkSize);
+        .setChunkSize(chunkSize)
+        .setAdaptiveChunkSize(
+            conf.getBoolean(PropertyKey.USER_STREAMING_READER_ADAPTIVE_CHUNK_SIZE_ENABLED));
+    if (conf.isSet(PropertyKey.USER_IO_CLASS)) {
+      builder.setIoClass(conf.getString(PropertyKey.USER_IO_CLASS));
+    }
     DataReader.Factory factory;
     if (context.getClusterConf().getBoolean(PropertyKey.FUSE_SHARED_CACHING_READER_ENABLED)
         && blockSize > chunkSize * 4) {
@@ -270,6 +285,37 @@ public class BlockInStream extends InputStream implements BoundedStream, Seekabl
     mLength = length;
   }
 
+  /**
+   * Creates a stream reading the same block as this stream, which hedges slow chunk reads with
+   * reads from another source of the block. This stream must not have been read from, and must
+   * not be used after this call.
+   *
+   * @param hedgeSource the supplier of another source of the block
+   * @param conf the Alluxio configuration
+   * @return the hedging stream
+   */
+  public BlockInStream withHedgedReads(HedgedDataReader.HedgeSource hedgeSource,
+      AlluxioConfiguration conf) {
+    Preconditions.checkState(mDataReader == null && mPos == 0,
+        "Cannot hedge the reads of a stream which has been read from");
+    return new BlockInStream(
+        new HedgedDataReader.Factory(mDataReaderFactory, mAddress, hedgeSource, conf),
+        mAddress, mInStreamSource, mId, mLength);
+  }
+
+  /**
+   * Starts reading the block at the current position and waits for the first chunk, so that
+   * the data is already arriving when the stream is read from. Does nothing if the stream has
+   * been read from or is at the end of the block.
+   */
+  public void prefetch() throws IOException {
+    checkIfClosed();
+    if (mDataReader != null || mEOF || mPos == mLength) {
+      return;
+    }
+    readChunk();
+  }
+
   @Override
   public long getPos() {
     return mPos;
@@ -380,6 +426,40 @@ public class BlockInStream extends InputStream implements BoundedStream, Seekabl
     return lenCopy - len;
   }
 
+  /**
+   * Reads several ranges of the block. If the block is read from a remote worker, all the ranges
+   * are fetched with a single call and the worker coalesces nearby ranges. Otherwise each range
+   * is read with a positioned read.
+   *
+   * @param ranges the ranges of the block to read
+   * @return the data of each range in the order of the given ranges, truncated at the end of
+   *         the block
+   */
+  public List<ByteBuffer> readVectored(List<ByteRange> ranges) throws IOException {
+    checkIfClosed();
+    DataReader.Factory factory = mDataReaderFactory;
+    if (factory instanceof HedgedDataReader.Factory) {
+      factory = ((HedgedDataReader.Factory) factory).getPrimaryFactory();
+    }
+    if (factory instanceof GrpcDataReader.Factory) {
+      return ((GrpcDataReader.Factory) factory).readRanges(ranges);
+    }
+    List<ByteBuffer> buffers = new ArrayList<>(ranges.size());
+    for (ByteRange range : ranges) {
+      byte[] data = new byte[Math.toIntExact(range.getLength())];
+      int read = 0;
+      while (read < data.length) {
+        int n = positionedRead(range.getOffset() + read, data, read, data.length - read);
+        if (n <= 0) {
+          break;
+        }
+        read += n;
+      }
+      buffers.add(ByteBuffer.wrap(data, 0, read).slice());
+    }
+    return buffers;
+  }
+
   @Override
   public long remaining() {
     return mEOF ? 0 : mLength - mPos;
@@ -13,8 +13,11 @@ package alluxio.client.block.stream;
 
 import alluxio.client.BoundedStream;
 import alluxio.client.Cancelable;
+import alluxio.client.WriteType;
 import alluxio.client.file.FileSystemContext;
 import alluxio.client.file.options.OutStreamOptions;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
 import alluxio.wire.WorkerNetAddress;
 
 import com.google.common.base.Preconditions;
@@ -26,6 +29,7 @@ import io.netty.buffer.Unpooled;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
@@ -91,6 +95,11 @@ public class BlockOutStream extends OutputStream implements BoundedStream, Cance
   public static BlockOutStream createReplicatedBlockOutStream(FileSystemContext context,
       long blockId, long blockSize, java.util.List<WorkerNetAddress> workerNetAddresses,
       OutStreamOptions options) throws IOException {
+    if (isChainReplicated(context, options)) {
+      return new BlockOutStream(Collections.singletonList(
+          createChainedDataWriter(context, blockId, blockSize, workerNetAddresses, options)),
+          blockSize, workerNetAddresses);
+    }
     List<DataWriter> dataWriters = new ArrayList<>();
     for (WorkerNetAddress address: workerNetAddresses) {
       DataWriter dataWriter =
@@ -100,6 +109,67 @@ public class BlockOutStream extends OutputStream implements BoundedStream, Cance
     return new BlockOutStream(dataWriters, blockSize, workerNetAddresses);
   }
 
+  /**
+   * @param context the file system context
+   * @param options the options
+   * @return whether a block written to several workers is replicated by the workers themselves
+   */
+  private static boolean isChainReplicated(FileSystemContext context, OutStreamOptions options) {
+    AlluxioConfiguration conf = context.getClusterConf();
+    // Writes which may fall back to the under storage are handled by each worker on its own.
+    return conf.getBoolean(PropertyKey.USER_FILE_REPLICATION_PIPELINE_ENABLED)
+        && !(options.getWriteType() == WriteType.ASYNC_THROUGH
+            && conf.getBoolean(PropertyKey.USER_FILE_UFS_TIER_ENABLED));
+  }
+
+  private static DataWriter createChainedDataWriter(FileSystemContext context, long blockId,
+      long blockSize, List<WorkerNetAddress> workerNetAddresses, OutStreamOptions options)
+      throws IOException {
+    return GrpcDataWriter.createChained(context, workerNetAddresses, blockId, blockSize, options,
+        context.getClusterConf().getInt(PropertyKey.USER_FILE_REPLICATION_PIPELINE_QUORUM));
+  }
+
+  /**
+   * Creates a new block output stream whose data is sent to the workers in the background, see
+   * {@link PipelinedDataWriter}.
+   *
+   * @param context the file system context
+   * @param blockId the block id
+   * @param blockSize the block size
+   * @param workerNetAddresses the worker network addresses
+   * @param options the options
+   * @param bufferSize the maximum number of bytes buffered for each worker
+   * @return the {@link BlockOutStream} instance created
+   */
+  public static BlockOutStream createPipelinedBlockOutStream(FileSystemContext context,
+      long blockId, long blockSize, List<WorkerNetAddress> workerNetAddresses,
+      OutStreamOptions options, long bufferSize) throws IOException {
+    List<DataWriter> dataWriters = new ArrayList<>();
+    try {
+      if (workerNetAddresses.size() > 1 && isChainReplicated(context, options)) {
+        dataWriters.add(new PipelinedDataWriter(
+            createChainedDataWriter(context, blockId, blockSize, workerNetAddresses, options),
+            bufferSize));
+      } else {
+        for (WorkerNetAddress address : workerNetAddresses) {
+          dataWriters.add(new PipelinedDataWriter(
+              DataWriter.Factory.create(context, blockId, blockSize, address, options),
+              bufferSize));
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      for (DataWriter dataWriter : dataWriters) {
+        try {
+          dataWriter.cancel();
+        } catch (IOException ce) {
+          e.addSuppressed(ce);
+        }
+      }
+      throw e;
+    }
+    return new BlockOutStream(dataWriters, blockSize, workerNetAddresses);
+  }
+
   /**
    * Constructs a new {@link BlockOutStream} with only one {@link DataWriter}.
    *
@@ -24,6 +24,8 @@ import alluxio.grpc.MoveBlockRequest;
 import alluxio.grpc.MoveBlockResponse;
 import alluxio.grpc.OpenLocalBlockRequest;
 import alluxio.grpc.OpenLocalBlockResponse;
+import alluxio.grpc.ReadBlockRangesRequest;
+import alluxio.grpc.ReadBlockRangesResponse;
 import alluxio.grpc.ReadRequest;
 import alluxio.grpc.ReadResponse;
 import alluxio.grpc.RemoveBlockRequest;
@@ -38,6 +40,7 @@ import io.grpc.stub.StreamObserver;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.Iterator;
 
 /**
  * gRPC client for worker communication.
@@ -90,6 +93,15 @@ public interface BlockWorkerClient extends Closeable {
    */
   StreamObserver<ReadRequest> readBlock(StreamObserver<ReadResponse> responseObserver);
 
+  /**
+   * Reads several ranges of a block from the worker in a single call.
+   *
+   * @param request the request
+   * @return the chunks of the ranges as streamed by the worker
+   * @throws StatusRuntimeException if any error occurs
+   */
+  Iterator<ReadBlockRangesResponse> readBlockRanges(ReadBlockRangesRequest request);
+
   /**
    * Creates a local block on the worker. This is a two stage operations:
    * 1. Client sends a create request through the request stream. Server will respond with the name
@@ -35,6 +35,8 @@ import alluxio.grpc.MoveBlockRequest;
 import alluxio.grpc.MoveBlockResponse;
 import alluxio.grpc.OpenLocalBlockRequest;
 import alluxio.grpc.OpenLocalBlockResponse;
+import alluxio.grpc.ReadBlockRangesRequest;
+import alluxio.grpc.ReadBlockRangesResponse;
 import alluxio.grpc.ReadRequest;
 import alluxio.grpc.ReadResponse;
 import alluxio.grpc.RemoveBlockRequest;
@@ -56,6 +58,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 
@@ -74,8 +77,10 @@ public class DefaultBlockWorkerClient implements BlockWorkerClient {
   private GrpcChannel mRpcChannel;
   private final GrpcServerAddress mAddress;
   private final long mRpcTimeoutMs;
+  private final long mDataTimeoutMs;
 
   private final BlockWorkerGrpc.BlockWorkerStub mStreamingAsyncStub;
+  private final BlockWorkerGrpc.BlockWorkerBlockingStub mStreamingBlockingStub;
   private final BlockWorkerGrpc.BlockWorkerBlockingStub mRpcBlockingStub;
   private final BlockWorkerGrpc.BlockWorkerFutureStub mRpcFutureStub;
 
@@ -123,10 +128,12 @@ public class DefaultBlockWorkerClient implements BlockWorkerClient {
       throw lastException;
     }
     mStreamingAsyncStub = BlockWorkerGrpc.newStub(mStreamingChannel);
+    mStreamingBlockingStub = BlockWorkerGrpc.newBlockingStub(mStreamingChannel);
     mRpcBlockingStub = BlockWorkerGrpc.newBlockingStub(mRpcChannel);
     mRpcFutureStub = BlockWorkerGrpc.newFutureStub(mRpcChannel);
     mAddress = address;
     mRpcTimeoutMs = alluxioConf.getMs(PropertyKey.USER_RPC_RETRY_MAX_DURATION);
+    mDataTimeoutMs = alluxioConf.getMs(PropertyKey.USER_STREAMING_DATA_READ_TIMEOUT);
     mTracker = DETECTOR.track(this);
   }
 
@@ -195,6 +202,12 @@ public class DefaultBlockWorkerClient implements BlockWorkerClient {
     }
   }
 
+  @Override
+  public Iterator<ReadBlockRangesResponse> readBlockRanges(ReadBlockRangesRequest request) {
+    return mStreamingBlockingStub.withDeadlineAfter(mDataTimeoutMs, TimeUnit.MILLISECONDS)
+        .readBlockRanges(request);
+  }
+
   @Override
   public StreamObserver<CreateLocalBlockRequest> createLocalBlock(
       StreamObserver<CreateLocalBlockResponse> responseObserver) {
@@ -194,6 +194,10 @@ public class GrpcBlockingStream<ReqT, ResT> {
         Object response = mResponses.poll(waitMs, TimeUnit.MILLISECONDS);
         if (response == null) {
           checkError(); // The stream could have errored while we were waiting
+          if (System.currentTimeMillis() - startMs >= timeoutMs) {
+            // times out above without waiting again
+            continue;
+          }
           // Log a warning before looping again
           LOG.warn("Client did not receive message from stream, will wait again. totalWaitMs: {} "
                   + "clientClosed: {} clientCancelled: {} serverClosed: {} description: {}",
@@ -15,7 +15,11 @@ import alluxio.Constants;
 import alluxio.client.file.FileSystemContext;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
+import alluxio.exception.status.AlluxioStatusException;
+import alluxio.grpc.BlockRange;
 import alluxio.grpc.DataMessage;
+import alluxio.grpc.ReadBlockRangesRequest;
+import alluxio.grpc.ReadBlockRangesResponse;
 import alluxio.grpc.ReadRequest;
 import alluxio.grpc.ReadResponse;
 import alluxio.grpc.ReadResponseMarshaller;
@@ -24,17 +28,24 @@ import alluxio.metrics.MetricsSystem;
 import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.NioDataBuffer;
 import alluxio.resource.CloseableResource;
+import alluxio.util.io.ByteRange;
 import alluxio.util.logging.SamplingLogger;
 import alluxio.wire.WorkerNetAddress;
 
 import com.codahale.metrics.Timer;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
+import com.google.protobuf.ByteString;
+import io.grpc.StatusRuntimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -44,13 +55,15 @@ import javax.annotation.concurrent.NotThreadSafe;
  * 1. The client sends a read request (id, offset, length).
  * 2. Once the server receives the request, it streams chunks to the client. The streaming pauses
  *    if the server's buffer is full and resumes if the buffer is not full.
- * 3. The client reads chunks from the stream using an iterator.
+ * 3. The client reads chunks from the stream using an iterator, and acknowledges every chunk
+ *    with a read receipt. If adaptive flow control is enabled, the receipt also carries the flow
+ *    control window granted to the server, see {@link ReadFlowControlWindow}.
  * 4. The client can cancel the read request at anytime. The cancel request is ignored by the
  *    server if everything has been sent to channel.
  * 5. To make it simple to handle errors, the channel is closed if any error occurs.
  */
 @NotThreadSafe
-public final class GrpcDataReader implements DataReader {
+public final class GrpcDataReader implements HedgedDataReader.Hedgeable {
   private static final Logger LOG = LoggerFactory.getLogger(GrpcDataReader.class);
   private static final Logger SLOW_CLOSE_LOG = new SamplingLogger(LOG, Constants.MINUTE_MS);
 
@@ -63,6 +76,9 @@ public final class GrpcDataReader implements DataReader {
   private final GrpcBlockingStream<ReadRequest, ReadResponse> mStream;
   private final ReadResponseMarshaller mMarshaller;
   private final long mCloseWaitMs;
+  /** The flow control window to grant to the server, or null to use the server default. */
+  @Nullable
+  private final ReadFlowControlWindow mWindow;
 
   /** The next pos to read. */
   private long mPosToRead;
@@ -87,6 +103,12 @@ public final class GrpcDataReader implements DataReader {
     mCloseWaitMs = alluxioConf.getMs(PropertyKey.USER_STREAMING_READER_CLOSE_TIMEOUT);
     int readerBufferSizeMessages = alluxioConf
         .getInt(PropertyKey.USER_STREAMING_READER_BUFFER_SIZE_MESSAGES);
+    mWindow =
+        alluxioConf.getBoolean(PropertyKey.USER_STREAMING_READER_FLOW_CONTROL_ADAPTIVE_ENABLED)
+        ? new ReadFlowControlWindow(
+            alluxioConf.getBytes(PropertyKey.USER_STREAMING_READER_FLOW_CONTROL_WINDOW_MIN),
+            alluxioConf.getBytes(PropertyKey.USER_STREAMING_READER_FLOW_CONTROL_WINDOW_MAX))
+        : null;
 
     try {
       if (alluxioConf.getBoolean(PropertyKey.USER_STREAMING_ZEROCOPY_ENABLED)) {
@@ -112,6 +134,9 @@ public final class GrpcDataReader implements DataReader {
             desc);
       }
       mStream.send(mReadRequest, mDataTimeoutMs);
+      if (mWindow != null) {
+        mWindow.onRequestSent(System.nanoTime());
+      }
     } catch (Exception e) {
       mClient.close();
       throw e;
@@ -128,13 +153,23 @@ public final class GrpcDataReader implements DataReader {
     if (mDetailedMetricsEnabled) {
       try (Timer.Context ignored = MetricsSystem
           .timer(MetricKey.CLIENT_BLOCK_READ_CHUNK_REMOTE.getName()).time()) {
-        return readChunkInternal();
+        return readChunkInternal(mDataTimeoutMs);
       }
     }
-    return readChunkInternal();
+    return readChunkInternal(mDataTimeoutMs);
   }
 
-  private DataBuffer readChunkInternal() throws IOException {
+  @Override
+  public DataBuffer readChunk(long timeoutMs) throws IOException {
+    return readChunkInternal(Math.min(timeoutMs, mDataTimeoutMs));
+  }
+
+  @Override
+  public void cancel() {
+    mStream.cancel();
+  }
+
+  private DataBuffer readChunkInternal(long timeoutMs) throws IOException {
     Preconditions.checkState(!mClient.get().isShutdown(),
         "Data reader is closed while reading data chunks.");
     DataBuffer buffer = null;
@@ -142,7 +177,7 @@ public final class GrpcDataReader implements DataReader {
     if (mStream instanceof GrpcDataMessageBlockingStream) {
       DataMessage<ReadResponse, DataBuffer> message =
           ((GrpcDataMessageBlockingStream<ReadRequest, ReadResponse>) mStream)
-              .receiveDataMessage(mDataTimeoutMs);
+              .receiveDataMessage(timeoutMs);
       if (message != null) {
         response = message.getMessage();
         buffer = message.getBuffer();
@@ -154,7 +189,7 @@ public final class GrpcDataReader implements DataReader {
         Preconditions.checkState(buffer != null, "response should always contain chunk");
       }
     } else {
-      response = mStream.receive(mDataTimeoutMs);
+      response = mStream.receive(timeoutMs);
       if (response != null) {
         Preconditions.checkState(response.hasChunk() && response.getChunk().hasData(),
             "response should always contain chunk");
@@ -167,7 +202,12 @@ public final class GrpcDataReader implements DataReader {
     }
     mPosToRead += buffer.readableBytes();
     try {
-      mStream.send(mReadRequest.toBuilder().setOffsetReceived(mPosToRead).build());
+      ReadRequest.Builder receipt = mReadRequest.toBuilder().setOffsetReceived(mPosToRead);
+      if (mWindow != null) {
+        mWindow.onChunkReceived(buffer.readableBytes(), System.nanoTime());
+        receipt.setWindowSize(mWindow.getWindowSize());
+      }
+      mStream.send(receipt.build());
     } catch (Exception e) {
       // nothing is done as the receipt is sent at best effort
       LOG.debug("Failed to send receipt of data to worker {} for request {}: {}.", mAddress,
@@ -236,6 +276,59 @@ public final class GrpcDataReader implements DataReader {
           mReadRequestBuilder.setOffset(offset).setLength(len).build());
     }
 
+    /**
+     * Reads several ranges of the block with a single call to the worker.
+     *
+     * @param ranges the ranges of the block to read
+     * @return the data of each range in the order of the given ranges, truncated at the end of
+     *         the block
+     */
+    public List<ByteBuffer> readRanges(List<ByteRange> ranges) throws IOException {
+      ReadBlockRangesRequest.Builder request = ReadBlockRangesRequest.newBuilder()
+          .setBlockId(mReadRequestBuilder.getBlockId())
+          .setChunkSize(mReadRequestBuilder.getChunkSize())
+          .setIoClass(mReadRequestBuilder.getIoClass());
+      if (mReadRequestBuilder.hasOpenUfsBlockOptions()) {
+        request.setOpenUfsBlockOptions(mReadRequestBuilder.getOpenUfsBlockOptions());
+      }
+      List<ByteBuffer> buffers = new ArrayList<>(ranges.size());
+      for (ByteRange range : ranges) {
+        request.addRanges(BlockRange.newBuilder()
+            .setOffset(range.getOffset()).setLength(range.getLength()));
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(range.getLength()));
+        buffer.limit(0);
+        buffers.add(buffer);
+      }
+      try (CloseableResource<BlockWorkerClient> client =
+               mContext.acquireBlockWorkerClient(mAddress)) {
+        Iterator<ReadBlockRangesResponse> responses =
+            client.get().readBlockRanges(request.build());
+        while (responses.hasNext()) {
+          ReadBlockRangesResponse response = responses.next();
+          ByteString data = response.getChunk().getData();
+          long chunkStart = response.getOffset();
+          long chunkEnd = chunkStart + data.size();
+          for (int i = 0; i < ranges.size(); i++) {
+            ByteRange range = ranges.get(i);
+            long start = Math.max(range.getOffset(), chunkStart);
+            long end = Math.min(range.getEnd(), chunkEnd);
+            if (start >= end) {
+              continue;
+            }
+            ByteBuffer buffer = buffers.get(i);
+            int position = (int) (start - range.getOffset());
+            buffer.limit(Math.max(buffer.limit(), (int) (end - range.getOffset())));
+            buffer.position(position);
+            data.substring((int) (start - chunkStart), (int) (end - chunkStart)).copyTo(buffer);
+            buffer.position(0);
+          }
+        }
+      } catch (StatusRuntimeException e) {
+        throw AlluxioStatusException.fromStatusRuntimeException(e);
+      }
+      return buffers;
+    }
+
     @Override
     public void close() throws IOException {}
   }
@@ -19,6 +19,7 @@ import alluxio.conf.PropertyKey;
 import alluxio.exception.status.UnavailableException;
 import alluxio.grpc.Chunk;
 import alluxio.grpc.DataMessage;
+import alluxio.grpc.GrpcUtils;
 import alluxio.grpc.RequestType;
 import alluxio.grpc.WriteRequest;
 import alluxio.grpc.WriteRequestCommand;
@@ -36,6 +37,7 @@ import com.google.protobuf.UnsafeByteOperations;
 import io.netty.buffer.ByteBuf;
 
 import java.io.IOException;
+import java.util.List;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -85,11 +87,26 @@ public final class GrpcDataWriter implements DataWriter {
   public static GrpcDataWriter create(FileSystemContext context, WorkerNetAddress address,
       long id, long length, RequestType type, OutStreamOptions options)
       throws IOException {
+    return create(context, address,
+        buildCommand(context.getClusterConf(), id, length, type, options));
+  }
+
+  /**
+   * Creates a writer sending the given command as it is, for instance to forward a write
+   * received by a worker to the next one.
+   *
+   * @param context the file system context
+   * @param address the data server address
+   * @param command the details of the write request which are constant for all requests
+   * @return an instance of {@link GrpcDataWriter}
+   */
+  public static GrpcDataWriter create(FileSystemContext context, WorkerNetAddress address,
+      WriteRequestCommand command) throws IOException {
     long chunkSize = context.getClusterConf()
         .getBytes(PropertyKey.USER_STREAMING_WRITER_CHUNK_SIZE_BYTES);
     CloseableResource<BlockWorkerClient> grpcClient = context.acquireBlockWorkerClient(address);
     try {
-      return new GrpcDataWriter(context, address, id, length, chunkSize, type, options, grpcClient);
+      return new GrpcDataWriter(context, address, command, chunkSize, grpcClient);
     } catch (Exception e) {
       grpcClient.close();
       throw e;
@@ -97,31 +114,47 @@ public final class GrpcDataWriter implements DataWriter {
   }
 
   /**
-   * Creates an instance of {@link GrpcDataWriter}.
+   * Creates a writer of a block which is replicated by the workers themselves. The data is sent
+   * to the first worker only, which forwards it to the next one as it is received, and so on
+   * down the chain. A flush or close is acknowledged once the given number of workers at the
+   * head of the chain have the data.
    *
    * @param context the file system context
-   * @param address the data server address
-   * @param id the block or UFS file ID
-   * @param length the length of the block or file to write, set to Long.MAX_VALUE if unknown
-   * @param chunkSize the chunk size
-   * @param type type of the write request
-   * @param options details of the write request which are constant for all requests
-   * @param client the block worker client
+   * @param addresses the workers to write the block to, in chain order
+   * @param id the block ID
+   * @param length the length of the block to write, set to Long.MAX_VALUE if unknown
+   * @param options the options of the output stream
+   * @param quorum the number of workers which must have the data, 0 for all of them
+   * @return an instance of {@link GrpcDataWriter}
    */
-  private GrpcDataWriter(FileSystemContext context, final WorkerNetAddress address, long id,
-      long length, long chunkSize, RequestType type, OutStreamOptions options,
-      CloseableResource<BlockWorkerClient> client) throws IOException {
-    mAddress = address;
-    AlluxioConfiguration conf = context.getClusterConf();
-    mDataTimeoutMs = conf.getMs(PropertyKey.USER_STREAMING_DATA_WRITE_TIMEOUT);
-    mWriterCloseTimeoutMs = conf.getMs(PropertyKey.USER_STREAMING_WRITER_CLOSE_TIMEOUT);
-    mWriterFlushTimeoutMs = conf.getMs(PropertyKey.USER_STREAMING_WRITER_FLUSH_TIMEOUT);
+  public static GrpcDataWriter createChained(FileSystemContext context,
+      List<WorkerNetAddress> addresses, long id, long length, OutStreamOptions options,
+      int quorum) throws IOException {
+    Preconditions.checkArgument(!addresses.isEmpty(), "no worker to write block %s to", id);
+    WriteRequestCommand.Builder builder = buildCommand(context.getClusterConf(), id, length,
+        RequestType.ALLUXIO_BLOCK, options).toBuilder();
+    Preconditions.checkState(builder.getType() == RequestType.ALLUXIO_BLOCK,
+        "Block %s falling back to the under storage cannot be chain replicated", id);
+    for (WorkerNetAddress address : addresses.subList(1, addresses.size())) {
+      builder.addPipeline(GrpcUtils.toProto(address));
+    }
+    if (quorum > 0) {
+      builder.setPipelineMinReplicas(Math.min(quorum, addresses.size()));
+    }
+    return create(context, addresses.get(0), builder.buildPartial());
+  }
+
+  private static WriteRequestCommand buildCommand(AlluxioConfiguration conf, long id,
+      long length, RequestType type, OutStreamOptions options) {
     // in cases where we know precise block size, make more accurate reservation.
     long reservedBytes = Math.min(length, conf.getBytes(PropertyKey.USER_FILE_RESERVED_BYTES));
 
     WriteRequestCommand.Builder builder =
         WriteRequestCommand.newBuilder().setId(id).setTier(options.getWriteTier()).setType(type)
             .setMediumType(options.getMediumType());
+    if (conf.isSet(PropertyKey.USER_IO_CLASS)) {
+      builder.setIoClass(conf.getString(PropertyKey.USER_IO_CLASS));
+    }
     if (type == RequestType.UFS_FILE) {
       Protocol.CreateUfsFileOptions ufsFileOptions =
           Protocol.CreateUfsFileOptions.newBuilder().setUfsPath(options.getUfsPath())
@@ -149,7 +182,27 @@ public final class GrpcDataWriter implements DataWriter {
     // check if we need to pin block on create
     builder.setPinOnCreate(options.getWriteType() == WriteType.ASYNC_THROUGH);
     builder.setSpaceToReserve(reservedBytes);
-    mPartialRequest = builder.buildPartial();
+    return builder.buildPartial();
+  }
+
+  /**
+   * Creates an instance of {@link GrpcDataWriter}.
+   *
+   * @param context the file system context
+   * @param address the data server address
+   * @param command details of the write request which are constant for all requests
+   * @param chunkSize the chunk size
+   * @param client the block worker client
+   */
+  private GrpcDataWriter(FileSystemContext context, final WorkerNetAddress address,
+      WriteRequestCommand command, long chunkSize, CloseableResource<BlockWorkerClient> client)
+      throws IOException {
+    mAddress = address;
+    AlluxioConfiguration conf = context.getClusterConf();
+    mDataTimeoutMs = conf.getMs(PropertyKey.USER_STREAMING_DATA_WRITE_TIMEOUT);
+    mWriterCloseTimeoutMs = conf.getMs(PropertyKey.USER_STREAMING_WRITER_CLOSE_TIMEOUT);
+    mWriterFlushTimeoutMs = conf.getMs(PropertyKey.USER_STREAMING_WRITER_FLUSH_TIMEOUT);
+    mPartialRequest = command;
     mChunkSize = chunkSize;
     mClient = client;
     int writerBufferSizeMessages = conf.getInt(
@@ -0,0 +1,396 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import alluxio.collections.Pair;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.status.CancelledException;
+import alluxio.exception.status.DeadlineExceededException;
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.util.ThreadFactoryUtils;
+import alluxio.wire.WorkerNetAddress;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.SlidingWindowReservoir;
+import com.codahale.metrics.Snapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A {@link DataReader} which hedges slow chunk reads. Chunks are read by the calling thread.
+ * When a chunk has not arrived after a percentile of the recent chunk read latencies of the
+ * worker, the same range is read from another source of the block by a hedge thread, and the
+ * read goes on with the source which answers first. The other source is closed once its pending
+ * read is done.
+ */
+@NotThreadSafe
+public final class HedgedDataReader implements DataReader {
+  private static final Logger LOG = LoggerFactory.getLogger(HedgedDataReader.class);
+  /** Recent chunk read latencies of each worker, shared by all hedged readers. */
+  private static final ConcurrentHashMap<WorkerNetAddress, ChunkLatency> CHUNK_LATENCIES =
+      new ConcurrentHashMap<>();
+  /** Threads reading hedged chunks, shared by all hedged readers. */
+  @Nullable
+  private static volatile ExecutorService sHedgeExecutor;
+
+  private final Factory mFactory;
+  private final long mEnd;
+  /** The reader of the source currently read from, null after an interrupted read. */
+  private DataReader mReader;
+  /** Whether the reads have switched to another source, after which they are not hedged. */
+  private boolean mSwitched;
+  /** The position of the next chunk. */
+  private long mPos;
+
+  private HedgedDataReader(Factory factory, DataReader reader, long offset, long len) {
+    mFactory = factory;
+    mReader = reader;
+    mPos = offset;
+    mEnd = len == Long.MAX_VALUE ? Long.MAX_VALUE : offset + len;
+  }
+
+  @Override
+  public DataBuffer readChunk() throws IOException {
+    if (mReader == null) {
+      throw new IOException("The reader is closed after an interrupted read");
+    }
+    if (mSwitched || !(mReader instanceof Hedgeable)) {
+      return advance(mReader.readChunk());
+    }
+    Hedgeable primary = (Hedgeable) mReader;
+    long startNs = System.nanoTime();
+    try {
+      DataBuffer chunk = primary.readChunk(mFactory.getHedgeDelayMs());
+      mFactory.recordLatency(System.nanoTime() - startNs);
+      return advance(chunk);
+    } catch (DeadlineExceededException e) {
+      // hedges the read below
+    }
+    Pair<WorkerNetAddress, DataReader> hedge = mFactory.createHedge(mPos, mEnd - mPos);
+    // set by whichever read completes first
+    AtomicBoolean decided = new AtomicBoolean(false);
+    CompletableFuture<DataBuffer> hedgeRead =
+        hedge == null ? null : mFactory.readHedge(hedge.getSecond(), primary, decided);
+    if (hedgeRead == null) {
+      DataBuffer chunk = primary.readChunk();
+      mFactory.recordLatency(System.nanoTime() - startNs);
+      return advance(chunk);
+    }
+    long hedgeStartNs = System.nanoTime();
+    DataBuffer chunk = null;
+    IOException primaryError = null;
+    try {
+      chunk = primary.readChunk();
+    } catch (IOException e) {
+      // the read of the primary source is also cancelled when the hedged read answers first
+      primaryError = e;
+    }
+    if (primaryError == null && decided.compareAndSet(false, true)) {
+      mFactory.recordLatency(System.nanoTime() - startNs);
+      if (hedgeRead.isCompletedExceptionally()) {
+        mFactory.onHedgeFailed(hedge.getFirst());
+      }
+      closeAfterRead(hedge.getSecond(), hedgeRead);
+      return advance(chunk);
+    }
+    if (chunk != null) {
+      chunk.release();
+    }
+    try {
+      DataBuffer hedgeChunk = hedgeRead.get();
+      LOG.debug("Hedged read of chunk at {} answered first", mPos);
+      mFactory.recordLatency(System.nanoTime() - hedgeStartNs);
+      mReader = hedge.getSecond();
+      mSwitched = true;
+      closeQuietly(primary);
+      return advance(hedgeChunk);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      // The source is left past the chunk being read, so the reader cannot go on.
+      mReader = null;
+      closeQuietly(primary);
+      closeAfterRead(hedge.getSecond(), hedgeRead);
+      throw new CancelledException("Interrupted while waiting for a chunk", e);
+    } catch (ExecutionException e) {
+      // the hedged read only wins the race once it succeeds, so the primary source failed too
+      mFactory.onHedgeFailed(hedge.getFirst());
+      closeQuietly(hedge.getSecond());
+      primaryError.addSuppressed(e.getCause());
+      throw primaryError;
+    }
+  }
+
+  @Override
+  public long pos() {
+    return mPos;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (mReader != null) {
+      mReader.close();
+      mReader = null;
+    }
+  }
+
+  private DataBuffer advance(@Nullable DataBuffer chunk) {
+    if (chunk != null) {
+      mPos += chunk.readableBytes();
+    }
+    return chunk;
+  }
+
+  /**
+   * Closes a reader which lost the race once its pending read is done, dropping its chunk.
+   */
+  private static void closeAfterRead(DataReader reader, CompletableFuture<DataBuffer> read) {
+    read.whenComplete((chunk, error) -> {
+      if (chunk != null) {
+        chunk.release();
+      }
+      closeQuietly(reader);
+    });
+  }
+
+  private static void closeQuietly(DataReader reader) {
+    try {
+      reader.close();
+    } catch (IOException | RuntimeException e) {
+      LOG.debug("Failed to close the reader of a hedged read: {}", e.toString());
+    }
+  }
+
+  private static ExecutorService getHedgeExecutor(AlluxioConfiguration conf) {
+    if (sHedgeExecutor == null) {
+      synchronized (HedgedDataReader.class) {
+        if (sHedgeExecutor == null) {
+          sHedgeExecutor = new ThreadPoolExecutor(0,
+              conf.getInt(PropertyKey.USER_BLOCK_READ_HEDGE_THREADS), 60, TimeUnit.SECONDS,
+              new SynchronousQueue<>(), ThreadFactoryUtils.build("block-read-hedge-%d", true));
+        }
+      }
+    }
+    return sHedgeExecutor;
+  }
+
+  /**
+   * A reader of the source chosen for a block whose chunk reads can be hedged.
+   */
+  public interface Hedgeable extends DataReader {
+    /**
+     * Reads a chunk, waiting for it at most the given time. The caller needs to release the
+     * chunk.
+     *
+     * @param timeoutMs the maximum time to wait for the chunk
+     * @return the data buffer or null if EOF is reached
+     * @throws DeadlineExceededException if the chunk has not arrived in time, in which case the
+     *         chunk can be read again
+     */
+    @Nullable
+    DataBuffer readChunk(long timeoutMs) throws IOException;
+
+    /**
+     * Fails the pending and later reads of the reader. Can be called from any thread.
+     */
+    void cancel();
+  }
+
+  /**
+   * Supplies another source of a block.
+   */
+  public interface HedgeSource {
+    /**
+     * @return the address of another source of the block and the factory of its readers, or
+     *         null if there is none
+     */
+    @Nullable
+    Pair<WorkerNetAddress, DataReader.Factory> get() throws IOException;
+
+    /**
+     * Records that reading from another source of the block failed.
+     *
+     * @param address the address of the source
+     */
+    void onFailure(WorkerNetAddress address);
+  }
+
+  /**
+   * Recent chunk read latencies of a worker.
+   */
+  private static final class ChunkLatency {
+    /** The number of latencies recorded between refreshes of the latency snapshot. */
+    private static final int SNAPSHOT_INTERVAL = 64;
+
+    private final Histogram mHistogram = new Histogram(new SlidingWindowReservoir(1024));
+    private final AtomicLong mSinceSnapshot = new AtomicLong();
+    private volatile Snapshot mSnapshot = mHistogram.getSnapshot();
+
+    private void record(long latencyNs) {
+      mHistogram.update(latencyNs);
+      if (mSinceSnapshot.incrementAndGet() % SNAPSHOT_INTERVAL == 0) {
+        mSnapshot = mHistogram.getSnapshot();
+      }
+    }
+
+    private double getValueNs(double quantile) {
+      return mSnapshot.getValue(quantile);
+    }
+  }
+
+  /**
+   * Factory for {@link HedgedDataReader}. The other source of the block is looked up when a
+   * read is first hedged.
+   */
+  @NotThreadSafe
+  public static final class Factory implements DataReader.Factory {
+    private final DataReader.Factory mPrimaryFactory;
+    private final HedgeSource mHedgeSource;
+    private final ChunkLatency mLatency;
+    private final ExecutorService mExecutor;
+    private final double mQuantile;
+    private final long mMinDelayNs;
+    private boolean mHedgeSourceResolved;
+    @Nullable
+    private Pair<WorkerNetAddress, DataReader.Factory> mHedgeFactory;
+
+    /**
+     * Creates an instance of {@link HedgedDataReader.Factory}.
+     *
+     * @param primaryFactory the factory of readers of the source chosen for the block
+     * @param primaryAddress the address of the source chosen for the block
+     * @param hedgeSource the supplier of another source of the block
+     * @param conf the Alluxio configuration
+     */
+    public Factory(DataReader.Factory primaryFactory, WorkerNetAddress primaryAddress,
+        HedgeSource hedgeSource, AlluxioConfiguration conf) {
+      mPrimaryFactory = primaryFactory;
+      mHedgeSource = hedgeSource;
+      mLatency = CHUNK_LATENCIES.computeIfAbsent(primaryAddress, address -> new ChunkLatency());
+      mExecutor = getHedgeExecutor(conf);
+      mQuantile = Math.min(1.0,
+          Math.max(0.0, conf.getDouble(PropertyKey.USER_BLOCK_READ_HEDGE_PERCENTILE) / 100));
+      mMinDelayNs = TimeUnit.MILLISECONDS.toNanos(
+          conf.getMs(PropertyKey.USER_BLOCK_READ_HEDGE_MIN_DELAY));
+    }
+
+    /**
+     * @return the factory of readers of the source chosen for the block
+     */
+    public DataReader.Factory getPrimaryFactory() {
+      return mPrimaryFactory;
+    }
+
+    @Override
+    public DataReader create(long offset, long len) throws IOException {
+      return new HedgedDataReader(this, mPrimaryFactory.create(offset, len), offset, len);
+    }
+
+    private long getHedgeDelayMs() {
+      long delayNs = Math.max(mMinDelayNs, (long) mLatency.getValueNs(mQuantile));
+      return Math.max(1, TimeUnit.NANOSECONDS.toMillis(delayNs));
+    }
+
+    private void recordLatency(long latencyNs) {
+      mLatency.record(latencyNs);
+    }
+
+    private void onHedgeFailed(WorkerNetAddress address) {
+      LOG.debug("Hedged read from {} failed", address);
+      mHedgeSource.onFailure(address);
+    }
+
+    /**
+     * @return the address of another source of the block and a reader of the range from it,
+     *         or null if the read cannot be hedged
+     */
+    @Nullable
+    private Pair<WorkerNetAddress, DataReader> createHedge(long offset, long len) {
+      try {
+        if (!mHedgeSourceResolved) {
+          mHedgeSourceResolved = true;
+          mHedgeFactory = mHedgeSource.get();
+        }
+      } catch (IOException | RuntimeException e) {
+        LOG.debug("Failed to find another source to hedge the read at {}: {}", offset,
+            e.toString());
+        return null;
+      }
+      if (mHedgeFactory == null) {
+        return null;
+      }
+      try {
+        return new Pair<>(mHedgeFactory.getFirst(), mHedgeFactory.getSecond().create(offset, len));
+      } catch (IOException | RuntimeException e) {
+        LOG.debug("Failed to hedge the read at {}: {}", offset, e.toString());
+        onHedgeFailed(mHedgeFactory.getFirst());
+        return null;
+      }
+    }
+
+    /**
+     * Reads a chunk from the other source on a hedge thread. The read which completes first
+     * sets the decided flag, and a successful hedged read cancels the read of the primary
+     * source, which wakes the thread waiting for it.
+     *
+     * @return the pending read, or null if no hedge thread is available
+     */
+    @Nullable
+    private CompletableFuture<DataBuffer> readHedge(DataReader hedge, Hedgeable primary,
+        AtomicBoolean decided) {
+      try {
+        return CompletableFuture.supplyAsync(() -> {
+          DataBuffer chunk;
+          try {
+            chunk = hedge.readChunk();
+          } catch (IOException e) {
+            throw new CompletionException(e);
+          }
+          if (decided.compareAndSet(false, true)) {
+            primary.cancel();
+          }
+          return chunk;
+        }, mExecutor);
+      } catch (RejectedExecutionException e) {
+        LOG.debug("No thread available to hedge a read");
+        closeQuietly(hedge);
+        return null;
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        mPrimaryFactory.close();
+      } finally {
+        if (mHedgeFactory != null) {
+          mHedgeFactory.getSecond().close();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,408 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import alluxio.client.ReadType;
+import alluxio.client.file.FileSystemContext;
+import alluxio.client.file.options.InStreamOptions;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.status.DeadlineExceededException;
+import alluxio.exception.status.NotFoundException;
+import alluxio.exception.status.UnavailableException;
+import alluxio.grpc.OpenLocalBlockRequest;
+import alluxio.grpc.OpenLocalBlockResponse;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.network.ChannelType;
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.network.protocol.databuffer.NioDataBuffer;
+import alluxio.resource.CloseableResource;
+import alluxio.util.io.BufferUtils;
+import alluxio.util.io.FileUtils;
+import alluxio.util.network.NettyUtils;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
+import io.netty.channel.unix.DomainSocketReadMode;
+import io.netty.channel.unix.FileDescriptor;
+import io.netty.util.ReferenceCountUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A data reader that reads chunks out of a memory mapping of a local block file. The chunks are
+ * slices of the mapping, so no data is copied until the caller reads a chunk.
+ *
+ * The mapping is shared by the factory and the chunks it hands out. It is unmapped, and the lease
+ * on the block ends, once the factory is closed and every chunk is released.
+ */
+@NotThreadSafe
+public final class MappedFileDataReader implements DataReader {
+  private static final Logger LOG = LoggerFactory.getLogger(MappedFileDataReader.class);
+  /** The event loop to receive block file descriptors with, created on first use. */
+  private static EventLoopGroup sFdEventLoop;
+
+  private final Mapping mMapping;
+  private final long mEnd;
+  private final long mChunkSize;
+  private long mPos;
+
+  /**
+   * Creates an instance of {@link MappedFileDataReader}.
+   *
+   * @param mapping the mapping of the whole block file
+   * @param offset the offset
+   * @param len the length to read
+   * @param chunkSize the chunk size
+   */
+  private MappedFileDataReader(Mapping mapping, long offset, long len, long chunkSize) {
+    Preconditions.checkArgument(chunkSize > 0);
+    mMapping = mapping;
+    mPos = offset;
+    mEnd = Math.min(mapping.mBuffer.capacity(), offset + len);
+    mChunkSize = chunkSize;
+  }
+
+  @Override
+  public DataBuffer readChunk() {
+    if (mPos >= mEnd) {
+      return null;
+    }
+    int length = (int) Math.min(mChunkSize, mEnd - mPos);
+    ByteBuffer buffer = mMapping.mBuffer.duplicate();
+    buffer.position((int) mPos).limit((int) mPos + length);
+    DataBuffer dataBuffer = new MappedChunk(buffer.slice(), length, mMapping);
+    mPos += length;
+    MetricsSystem.counter(MetricKey.CLIENT_BYTES_READ_LOCAL.getName()).inc(length);
+    MetricsSystem.meter(MetricKey.CLIENT_BYTES_READ_LOCAL_THROUGHPUT.getName()).mark(length);
+    return dataBuffer;
+  }
+
+  @Override
+  public long pos() {
+    return mPos;
+  }
+
+  @Override
+  public void close() {}
+
+  /**
+   * Receives the descriptor of a block file from the short circuit descriptor socket of a
+   * worker.
+   *
+   * @param socketPath the path of the domain socket
+   * @param leaseId the id of the lease on the descriptor
+   * @param timeoutMs the time to wait for the descriptor
+   * @return the descriptor, which must be closed by the caller
+   */
+  @VisibleForTesting
+  public static FileDescriptor receiveFileDescriptor(String socketPath, long leaseId,
+      long timeoutMs) throws IOException {
+    CompletableFuture<FileDescriptor> fd = new CompletableFuture<>();
+    Channel channel = new Bootstrap()
+        .group(getFdEventLoop())
+        .channel(EpollDomainSocketChannel.class)
+        .option(EpollChannelOption.DOMAIN_SOCKET_READ_MODE, DomainSocketReadMode.FILE_DESCRIPTORS)
+        .handler(new ChannelInboundHandlerAdapter() {
+          @Override
+          public void channelActive(ChannelHandlerContext ctx) {
+            ctx.writeAndFlush(Unpooled.copyLong(leaseId));
+          }
+
+          @Override
+          public void channelRead(ChannelHandlerContext ctx, Object msg) throws IOException {
+            if (msg instanceof FileDescriptor) {
+              if (!fd.complete((FileDescriptor) msg)) {
+                ((FileDescriptor) msg).close();
+              }
+              ctx.close();
+            } else {
+              ReferenceCountUtil.release(msg);
+            }
+          }
+
+          @Override
+          public void channelInactive(ChannelHandlerContext ctx) {
+            fd.completeExceptionally(new NotFoundException(String.format(
+                "Worker at %s closed the connection without passing the block file descriptor",
+                socketPath)));
+          }
+
+          @Override
+          public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            fd.completeExceptionally(cause);
+            ctx.close();
+          }
+        })
+        .connect(new DomainSocketAddress(socketPath))
+        .addListener(future -> {
+          if (!future.isSuccess()) {
+            fd.completeExceptionally(new NotFoundException(String.format(
+                "Failed to connect to the short circuit descriptor socket %s: %s", socketPath,
+                future.cause()), future.cause()));
+          }
+        })
+        .channel();
+    try {
+      return fd.get(timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      closeOnArrival(fd);
+      throw new IOException("Interrupted while waiting for the block file descriptor", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new UnavailableException("Failed to receive the block file descriptor from "
+          + socketPath, e.getCause());
+    } catch (TimeoutException e) {
+      closeOnArrival(fd);
+      throw new DeadlineExceededException(String.format(
+          "Timed out after %dms waiting for the block file descriptor from %s", timeoutMs,
+          socketPath), e);
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * Closes a descriptor which arrives after the caller gave up waiting for it.
+   */
+  private static void closeOnArrival(CompletableFuture<FileDescriptor> fd) {
+    fd.thenAccept(descriptor -> {
+      try {
+        descriptor.close();
+      } catch (IOException e) {
+        // nothing to do, the descriptor is not used
+      }
+    });
+  }
+
+  private static synchronized EventLoopGroup getFdEventLoop() {
+    if (sFdEventLoop == null) {
+      sFdEventLoop = NettyUtils.createEventLoop(ChannelType.EPOLL, 1,
+          "short-circuit-fd-client-%d", true);
+    }
+    return sFdEventLoop;
+  }
+
+  /**
+   * Maps a whole file read-only.
+   *
+   * @param path the path of the file
+   * @return the mapping
+   */
+  @VisibleForTesting
+  public static ByteBuffer map(String path) throws IOException {
+    try (RandomAccessFile file = new RandomAccessFile(path, "r")) {
+      return file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+    } catch (FileNotFoundException e) {
+      // also thrown if the file cannot be opened for reading
+      throw new NotFoundException(String.format(
+          "MappedFileDataReader can not open the path:%s", path), e);
+    }
+  }
+
+  /**
+   * Maps a whole file read-only through an open descriptor, without opening the file again.
+   * The descriptor is closed.
+   *
+   * @param fd the descriptor of the file
+   * @return the mapping
+   */
+  @VisibleForTesting
+  public static ByteBuffer map(FileDescriptor fd) throws IOException {
+    java.io.FileDescriptor descriptor;
+    try {
+      descriptor = FileUtils.fromDescriptorNumber(fd.intValue());
+    } catch (IOException | RuntimeException e) {
+      fd.close();
+      throw e;
+    }
+    // the stream owns the descriptor from here on and closes it
+    try (FileInputStream file = new FileInputStream(descriptor)) {
+      FileChannel channel = file.getChannel();
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+
+  /**
+   * Factory class to create {@link MappedFileDataReader}s.
+   */
+  @NotThreadSafe
+  public static class Factory implements DataReader.Factory {
+    private final CloseableResource<BlockWorkerClient> mBlockWorker;
+    private final GrpcBlockingStream<OpenLocalBlockRequest, OpenLocalBlockResponse> mStream;
+    private final long mChunkSize;
+    private final long mDataTimeoutMs;
+    private final Mapping mMapping;
+    private boolean mClosed;
+
+    /**
+     * Creates an instance of {@link Factory}. The block is kept open through the worker, which
+     * keeps it from being evicted, until the mapping of the block is unmapped.
+     *
+     * @param context the file system context
+     * @param address the worker address
+     * @param blockId the block ID
+     * @param chunkSize chunk size in bytes for local reads
+     * @param options the InStream options
+     */
+    public Factory(FileSystemContext context, WorkerNetAddress address, long blockId,
+        long chunkSize, InStreamOptions options) throws IOException {
+      AlluxioConfiguration conf = context.getClusterConf();
+      mChunkSize = chunkSize;
+      mDataTimeoutMs = conf.getMs(PropertyKey.USER_STREAMING_DATA_READ_TIMEOUT);
+      boolean isPromote = ReadType.fromProto(options.getOptions().getReadType()).isPromote();
+      OpenLocalBlockRequest request = OpenLocalBlockRequest.newBuilder()
+          .setBlockId(blockId).setPromote(isPromote)
+          .setPassFd(NettyUtils.isNettyEpollAvailable()
+              && FileUtils.isDescriptorNumberAccessible())
+          .build();
+
+      mBlockWorker = context.acquireBlockWorkerClient(address);
+      try {
+        mStream = new GrpcBlockingStream<>(mBlockWorker.get()::openLocalBlock,
+            conf.getInt(PropertyKey.USER_STREAMING_READER_BUFFER_SIZE_MESSAGES),
+            MoreObjects.toStringHelper(MappedFileDataReader.class)
+                .add("request", request)
+                .add("address", address)
+                .toString());
+      } catch (Exception e) {
+        mBlockWorker.close();
+        throw e;
+      }
+      try {
+        mStream.send(request, mDataTimeoutMs);
+        OpenLocalBlockResponse response = mStream.receive(mDataTimeoutMs);
+        Preconditions.checkState(response.hasPath());
+        ByteBuffer buffer = response.hasLeaseId()
+            ? map(receiveFileDescriptor(response.getFdSocketPath(), response.getLeaseId(),
+                mDataTimeoutMs))
+            : map(response.getPath());
+        mMapping = new Mapping(buffer, this::endLease);
+      } catch (Exception e) {
+        mStream.close();
+        mBlockWorker.close();
+        throw e;
+      }
+    }
+
+    @Override
+    public DataReader create(long offset, long len) {
+      return new MappedFileDataReader(mMapping, offset, len, mChunkSize);
+    }
+
+    @Override
+    public void close() {
+      if (mClosed) {
+        return;
+      }
+      mClosed = true;
+      mMapping.release();
+    }
+
+    /**
+     * Ends the lease on the block once the mapping is unmapped.
+     */
+    private void endLease() throws IOException {
+      try {
+        mStream.close();
+        mStream.waitForComplete(mDataTimeoutMs);
+      } finally {
+        mBlockWorker.close();
+      }
+    }
+  }
+
+  /**
+   * A mapping of a block file, shared by its factory and the chunks read from it.
+   */
+  private static final class Mapping {
+    private final ByteBuffer mBuffer;
+    private final Closeable mOnUnmap;
+    /** The factory holds one reference, every chunk which is not released another one. */
+    private final AtomicInteger mRefCount = new AtomicInteger(1);
+
+    Mapping(ByteBuffer buffer, Closeable onUnmap) {
+      mBuffer = buffer;
+      mOnUnmap = onUnmap;
+    }
+
+    void retain() {
+      mRefCount.incrementAndGet();
+    }
+
+    void release() {
+      if (mRefCount.decrementAndGet() > 0) {
+        return;
+      }
+      if (mBuffer.capacity() > 0) {
+        BufferUtils.cleanDirectBuffer(mBuffer);
+      }
+      try {
+        mOnUnmap.close();
+      } catch (IOException | RuntimeException e) {
+        LOG.warn("Failed to end the lease on a mapped block: {}", e.toString());
+      }
+    }
+  }
+
+  /**
+   * A chunk of a mapping, which holds on to the mapping until it is released.
+   */
+  private static final class MappedChunk extends NioDataBuffer {
+    private final Mapping mMapping;
+    private boolean mReleased;
+
+    MappedChunk(ByteBuffer buffer, long length, Mapping mapping) {
+      super(buffer, length);
+      mMapping = mapping;
+      mapping.retain();
+    }
+
+    @Override
+    public void release() {
+      // the slice has no cleaner of its own, the whole mapping is unmapped at once
+      if (!mReleased) {
+        mReleased = true;
+        mMapping.release();
+      }
+    }
+  }
+}
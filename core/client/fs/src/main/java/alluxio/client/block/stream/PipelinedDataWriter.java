@@ -0,0 +1,169 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import alluxio.exception.status.CancelledException;
+import alluxio.retry.RetryUtils.RunnableThrowsIOException;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.netty.buffer.ByteBuf;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A {@link DataWriter} which hands the chunks written to it over to a background thread, which
+ * writes them to the wrapped writer in order. The caller can therefore move on while the data is
+ * sent, up to the given number of buffered bytes. An error writing a chunk is thrown by the next
+ * call to this writer.
+ */
+@NotThreadSafe
+public final class PipelinedDataWriter implements DataWriter {
+  /** Threads writing the chunks, shared by all pipelined writers. */
+  private static final ExecutorService WRITE_EXECUTOR = Executors.newCachedThreadPool(
+      ThreadFactoryUtils.build("block-write-pipeline-%d", true));
+
+  private final DataWriter mDataWriter;
+  /** Runs the operations on the wrapped writer one at a time, in submission order. */
+  private final Executor mSequentialExecutor = MoreExecutors.newSequentialExecutor(WRITE_EXECUTOR);
+  /** Permits for the bytes which may be buffered. */
+  private final Semaphore mBufferPermits;
+  private final int mBufferSize;
+  /** The first error writing a chunk, after which chunks are dropped. */
+  private final AtomicReference<Throwable> mError = new AtomicReference<>();
+  /** Whether the write is cancelled, after which chunks are dropped. */
+  private volatile boolean mCanceled;
+  /** The number of bytes handed to this writer. */
+  private long mPos;
+
+  /**
+   * @param dataWriter the writer to send the chunks through
+   * @param bufferSize the maximum number of bytes buffered
+   */
+  public PipelinedDataWriter(DataWriter dataWriter, long bufferSize) {
+    mDataWriter = dataWriter;
+    mBufferSize = (int) Math.min(Integer.MAX_VALUE, Math.max(bufferSize, 1));
+    mBufferPermits = new Semaphore(mBufferSize);
+    mPos = dataWriter.pos();
+  }
+
+  @Override
+  public void writeChunk(ByteBuf chunk) throws IOException {
+    int size = chunk.readableBytes();
+    // A chunk larger than the buffer takes the whole buffer.
+    int permits = Math.min(size, mBufferSize);
+    try {
+      checkError();
+      mBufferPermits.acquire(permits);
+    } catch (InterruptedException e) {
+      chunk.release();
+      Thread.currentThread().interrupt();
+      throw new CancelledException("Interrupted while waiting to write a chunk", e);
+    } catch (IOException | RuntimeException e) {
+      chunk.release();
+      throw e;
+    }
+    mPos += size;
+    mSequentialExecutor.execute(() -> {
+      try {
+        if (mError.get() == null && !mCanceled) {
+          mDataWriter.writeChunk(chunk);
+        } else {
+          chunk.release();
+        }
+      } catch (Throwable t) { // must catch Throwable to report any error to the caller
+        mError.compareAndSet(null, t);
+      } finally {
+        mBufferPermits.release(permits);
+      }
+    });
+  }
+
+  @Override
+  public void flush() throws IOException {
+    runInOrder(mDataWriter::flush);
+    checkError();
+  }
+
+  @Override
+  public int chunkSize() {
+    return mDataWriter.chunkSize();
+  }
+
+  @Override
+  public long pos() {
+    return mPos;
+  }
+
+  @Override
+  public void cancel() throws IOException {
+    mCanceled = true;
+    runInOrder(mDataWriter::cancel);
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (mCanceled) {
+      runInOrder(mDataWriter::close);
+      return;
+    }
+    runInOrder(() -> {
+      if (mError.get() == null) {
+        mDataWriter.close();
+      } else {
+        mDataWriter.cancel();
+      }
+    });
+    checkError();
+  }
+
+  private void checkError() throws IOException {
+    Throwable error = mError.get();
+    if (error != null) {
+      Throwables.propagateIfPossible(error, IOException.class);
+      throw new IOException(error);
+    }
+  }
+
+  /**
+   * Runs the given operation after all chunks handed over so far are written, and waits for it.
+   */
+  private void runInOrder(RunnableThrowsIOException operation) throws IOException {
+    CompletableFuture<Void> done = new CompletableFuture<>();
+    mSequentialExecutor.execute(() -> {
+      try {
+        operation.run();
+        done.complete(null);
+      } catch (Throwable t) { // must catch Throwable to report any error to the caller
+        done.completeExceptionally(t);
+      }
+    });
+    try {
+      done.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CancelledException("Interrupted while waiting for the chunks to be written", e);
+    } catch (ExecutionException e) {
+      Throwables.propagateIfPossible(e.getCause(), IOException.class);
+      throw new IOException(e.getCause());
+    }
+  }
+}
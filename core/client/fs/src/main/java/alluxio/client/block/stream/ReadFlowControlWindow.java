@@ -0,0 +1,91 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Computes the flow control window a client grants to a worker for a read stream.
+ *
+ * The window is twice the bandwidth-delay product of the stream, i.e. the observed consumption
+ * rate times the round trip time, so that the worker can keep sending while a read receipt
+ * travels back to it. The round trip time is estimated from the latency of the first chunk,
+ * and the consumption rate is an exponentially weighted moving average over the intervals
+ * between chunks. The window is bounded by the given minimum and maximum.
+ */
+@NotThreadSafe
+public final class ReadFlowControlWindow {
+  /** The weight of the latest sample in the moving averages. */
+  private static final double EWMA_WEIGHT = 0.25;
+
+  private final long mMinWindowSize;
+  private final long mMaxWindowSize;
+
+  private long mRequestSentNanos = -1;
+  private long mLastChunkNanos = -1;
+  /** The estimated round trip time, negative if not yet known. */
+  private double mRttNanos = -1;
+  /** The estimated consumption rate, negative if not yet known. */
+  private double mBytesPerNano = -1;
+
+  /**
+   * @param minWindowSize the minimum window size in bytes
+   * @param maxWindowSize the maximum window size in bytes
+   */
+  public ReadFlowControlWindow(long minWindowSize, long maxWindowSize) {
+    Preconditions.checkArgument(minWindowSize > 0 && minWindowSize <= maxWindowSize,
+        "invalid window bounds [%s, %s]", minWindowSize, maxWindowSize);
+    mMinWindowSize = minWindowSize;
+    mMaxWindowSize = maxWindowSize;
+  }
+
+  /**
+   * Records that the read request was sent.
+   *
+   * @param nowNanos the current time in nanoseconds
+   */
+  public void onRequestSent(long nowNanos) {
+    mRequestSentNanos = nowNanos;
+  }
+
+  /**
+   * Records that a chunk was consumed by the reader.
+   *
+   * @param bytes the size of the chunk in bytes
+   * @param nowNanos the current time in nanoseconds
+   */
+  public void onChunkReceived(long bytes, long nowNanos) {
+    if (mLastChunkNanos < 0) {
+      if (mRequestSentNanos >= 0) {
+        mRttNanos = Math.max(1, nowNanos - mRequestSentNanos);
+      }
+    } else {
+      double rate = (double) bytes / Math.max(1, nowNanos - mLastChunkNanos);
+      mBytesPerNano = mBytesPerNano < 0 ? rate
+          : EWMA_WEIGHT * rate + (1 - EWMA_WEIGHT) * mBytesPerNano;
+    }
+    mLastChunkNanos = nowNanos;
+  }
+
+  /**
+   * @return the window size in bytes to grant to the worker
+   */
+  public long getWindowSize() {
+    if (mRttNanos < 0 || mBytesPerNano < 0) {
+      return mMinWindowSize;
+    }
+    double window = 2 * mBytesPerNano * mRttNanos;
+    return (long) Math.max(mMinWindowSize, Math.min(mMaxWindowSize, window));
+  }
+}
@@ -22,6 +22,7 @@ import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.PreconditionMessage;
 import alluxio.exception.status.AlluxioStatusException;
+import alluxio.exception.status.CancelledException;
 import alluxio.exception.status.OutOfRangeException;
 import alluxio.grpc.CacheRequest;
 import alluxio.grpc.FileSystemMasterCommonPOptions;
@@ -31,6 +32,8 @@ import alluxio.retry.ExponentialTimeBoundedRetry;
 import alluxio.retry.RetryPolicy;
 import alluxio.util.CommonUtils;
 import alluxio.util.FileSystemOptionsUtils;
+import alluxio.util.ThreadFactoryUtils;
+import alluxio.util.io.ByteRange;
 import alluxio.wire.BlockInfo;
 import alluxio.wire.BlockLocation;
 import alluxio.wire.WorkerNetAddress;
@@ -47,8 +50,21 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -73,6 +89,8 @@ import javax.annotation.concurrent.NotThreadSafe;
 @NotThreadSafe
 public class AlluxioFileInStream extends FileInStream {
   private static final Logger LOG = LoggerFactory.getLogger(AlluxioFileInStream.class);
+  /** Threads opening the streams of blocks read ahead, shared by all file streams. */
+  private static volatile ExecutorService sReadAheadExecutor;
 
   private Supplier<RetryPolicy> mRetryPolicySupplier;
   private final URIStatus mStatus;
@@ -80,6 +98,11 @@ public class AlluxioFileInStream extends FileInStream {
   private final BlockStoreClient mBlockStore;
   private final FileSystemContext mContext;
   private final boolean mPassiveCachingEnabled;
+  /** The maximum number of blocks read ahead, 0 if read-ahead is disabled. */
+  private final int mMaxReadAheadBlocks;
+  /** The threads opening the streams of blocks read ahead, null if read-ahead is disabled. */
+  @Nullable
+  private final ExecutorService mReadAheadExecutor;
 
   /* Convenience values derived from mStatus, use these instead of querying mStatus. */
   /** Length of the file in bytes. */
@@ -102,6 +125,17 @@ public class AlluxioFileInStream extends FileInStream {
   /** A map of worker addresses to the most recent epoch time when client fails to read from it. */
   private Map<WorkerNetAddress, Long> mFailedWorkers = new HashMap<>();
 
+  /* Read-ahead bookkeeping. */
+  /** Streams of the blocks read ahead, by index of the block in the file. */
+  private final TreeMap<Integer, CompletableFuture<BlockInStream>> mReadAheadStreams =
+      new TreeMap<>();
+  /** The number of blocks read in order, which is the depth of the read-ahead. */
+  private int mSequentialBlocks;
+  /** The index of the block the last block stream was opened for, -1 if none. */
+  private int mLastBlockIndex = -1;
+  /** The position at which the last block stream was read to its end, -1 if none. */
+  private long mBlockEndPosition = -1;
+
   private Closer mCloser;
 
   protected AlluxioFileInStream(URIStatus status, InStreamOptions options,
@@ -115,6 +149,19 @@ public class AlluxioFileInStream extends FileInStream {
     try {
       AlluxioConfiguration conf = mContext.getPathConf(new AlluxioURI(status.getPath()));
       mPassiveCachingEnabled = conf.getBoolean(PropertyKey.USER_FILE_PASSIVE_CACHE_ENABLED);
+      if (conf.getBoolean(PropertyKey.USER_FILE_READAHEAD_ENABLED)) {
+        // every block read ahead may buffer as many chunks as its reader buffers
+        long bytesPerBlock = Math.max(1,
+            conf.getInt(PropertyKey.USER_STREAMING_READER_BUFFER_SIZE_MESSAGES)
+                * conf.getBytes(PropertyKey.USER_STREAMING_READER_CHUNK_SIZE_BYTES));
+        mReadAheadExecutor = getReadAheadExecutor(conf);
+        mMaxReadAheadBlocks = (int) Math.min(
+            conf.getInt(PropertyKey.USER_FILE_READAHEAD_MAX_BLOCKS),
+            conf.getBytes(PropertyKey.USER_FILE_READAHEAD_MAX_BYTES) / bytesPerBlock);
+      } else {
+        mReadAheadExecutor = null;
+        mMaxReadAheadBlocks = 0;
+      }
       final Duration blockReadRetryMaxDuration =
           conf.getDuration(PropertyKey.USER_BLOCK_READ_RETRY_MAX_DURATION);
       final Duration blockReadRetrySleepBase =
@@ -265,6 +312,7 @@ public class AlluxioFileInStream extends FileInStream {
   public void close() throws IOException {
     closeBlockInStream(mBlockInStream);
     closeBlockInStream(mCachedPositionedReadStream);
+    closeReadAheadStreams();
     mCloser.close();
   }
 
@@ -338,6 +386,69 @@ public class AlluxioFileInStream extends FileInStream {
     return lenCopy - len;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * The ranges are split at block boundaries and the ranges of each block are read with a single
+   * call to the block stream.
+   */
+  @Override
+  public List<ByteBuffer> readVectored(List<ByteRange> ranges) throws IOException {
+    List<ByteBuffer> buffers = new ArrayList<>(ranges.size());
+    // block index -> (range index, offset in the block, length)
+    Map<Integer, List<long[]>> blockRanges = new TreeMap<>();
+    for (int i = 0; i < ranges.size(); i++) {
+      ByteRange range = ranges.get(i);
+      long start = Math.max(0, range.getOffset());
+      long end = Math.min(range.getEnd(), mLength);
+      buffers.add(ByteBuffer.allocate((int) Math.max(0, end - start)));
+      for (long pos = start; pos < end; pos = (pos / mBlockSize + 1) * mBlockSize) {
+        long blockEnd = Math.min(end, (pos / mBlockSize + 1) * mBlockSize);
+        blockRanges.computeIfAbsent(Math.toIntExact(pos / mBlockSize), k -> new ArrayList<>())
+            .add(new long[] {i, pos % mBlockSize, blockEnd - pos});
+      }
+    }
+    for (Map.Entry<Integer, List<long[]>> entry : blockRanges.entrySet()) {
+      long blockId = mStatus.getBlockIds().get(entry.getKey());
+      List<ByteRange> blockRangeList = new ArrayList<>(entry.getValue().size());
+      for (long[] part : entry.getValue()) {
+        blockRangeList.add(new ByteRange(part[1], part[2]));
+      }
+      List<ByteBuffer> blockData = readBlockRanges(blockId, blockRangeList);
+      for (int i = 0; i < blockData.size(); i++) {
+        long[] part = entry.getValue().get(i);
+        ByteRange range = ranges.get((int) part[0]);
+        long fileOffset = entry.getKey() * mBlockSize + part[1];
+        ByteBuffer dest = buffers.get((int) part[0]).duplicate();
+        dest.position((int) (fileOffset - Math.max(0, range.getOffset())));
+        dest.put(blockData.get(i));
+      }
+    }
+    return buffers;
+  }
+
+  private List<ByteBuffer> readBlockRanges(long blockId, List<ByteRange> ranges)
+      throws IOException {
+    RetryPolicy retry = mRetryPolicySupplier.get();
+    IOException lastException = null;
+    while (retry.attempt()) {
+      BlockInStream stream = null;
+      try {
+        stream = mBlockStore.getInStream(blockId, mOptions, mFailedWorkers);
+        List<ByteBuffer> data = stream.readVectored(ranges);
+        stream.close();
+        return data;
+      } catch (IOException e) {
+        lastException = e;
+        if (stream != null) {
+          handleRetryableException(stream, e);
+        }
+      }
+    }
+    throw lastException != null ? lastException
+        : new IOException(String.format("Failed to read ranges of block %s", blockId));
+  }
+
   /* Seekable methods */
   @Override
   public long getPos() {
@@ -382,39 +493,218 @@ public class AlluxioFileInStream extends FileInStream {
 
     /* Create a new stream to read from mPosition. */
     // Calculate block id.
-    long blockId = mStatus.getBlockIds().get(Math.toIntExact(mPosition / mBlockSize));
+    int blockIndex = Math.toIntExact(mPosition / mBlockSize);
+    long blockId = mStatus.getBlockIds().get(blockIndex);
     BlockInfo blockInfo = mStatus.getBlockInfo(blockId);
     if (blockInfo == null) {
       throw new IOException("No BlockInfo for block(id=" + blockId + ") of file"
           + "(id=" + mStatus.getFileId() + ", path=" + mStatus.getPath() + ")");
     }
-    // Create stream
+    // Set the stream to the correct position.
+    long offset = mPosition % mBlockSize;
+    if (mMaxReadAheadBlocks > 0) {
+      updateSequentialBlocks(blockIndex, offset);
+      mBlockInStream = takeReadAheadStream(blockIndex);
+    }
+    if (mBlockInStream == null) {
+      mBlockInStream = openBlockInStream(blockId, blockInfo, mFailedWorkers);
+    }
+    mLastBlockIndex = blockIndex;
+    mBlockInStream.seek(offset);
+    if (mMaxReadAheadBlocks > 0) {
+      readAhead(blockIndex);
+    }
+  }
+
+  /**
+   * Opens a stream to read a block.
+   *
+   * @param blockId the id of the block
+   * @param blockInfo the info of the block
+   * @param failedWorkers the map of workers addresses to most recent failure time
+   * @return the stream, at the start of the block
+   */
+  private BlockInStream openBlockInStream(long blockId, BlockInfo blockInfo,
+      Map<WorkerNetAddress, Long> failedWorkers) throws IOException {
     boolean isBlockInfoOutdated = true;
     // blockInfo is "outdated" when all the locations in that blockInfo are failed workers,
     // if there is at least one location that is not a failed worker, then it's not outdated.
-    if (mFailedWorkers.isEmpty() || mFailedWorkers.size() < blockInfo.getLocations().size()) {
+    if (failedWorkers.isEmpty() || failedWorkers.size() < blockInfo.getLocations().size()) {
       isBlockInfoOutdated = false;
     } else {
       for (BlockLocation location : blockInfo.getLocations()) {
-        if (!mFailedWorkers.containsKey(location.getWorkerAddress())) {
+        if (!failedWorkers.containsKey(location.getWorkerAddress())) {
           isBlockInfoOutdated = false;
           break;
         }
       }
     }
     if (isBlockInfoOutdated) {
-      mBlockInStream = mBlockStore.getInStream(blockId, mOptions, mFailedWorkers);
-    } else {
-      mBlockInStream = mBlockStore.getInStream(blockInfo, mOptions, mFailedWorkers);
+      return mBlockStore.getInStream(blockId, mOptions, failedWorkers);
+    }
+    return mBlockStore.getInStream(blockInfo, mOptions, failedWorkers);
+  }
+
+  /**
+   * Updates the number of blocks read in order when a block stream is opened. The count grows
+   * when the reader goes on right after the end of the previous block, starts over when a block
+   * is read from its start, is kept when the same block is reopened, for example to retry a
+   * read, and drops to zero otherwise.
+   *
+   * @param blockIndex the index of the block the stream is opened for
+   * @param offset the offset in the block the stream is opened at
+   */
+  private void updateSequentialBlocks(int blockIndex, long offset) {
+    if (mPosition == mBlockEndPosition) {
+      mSequentialBlocks++;
+    } else if (offset == 0) {
+      mSequentialBlocks = 1;
+    } else if (blockIndex != mLastBlockIndex) {
+      mSequentialBlocks = 0;
     }
-    // Set the stream to the correct position.
-    long offset = mPosition % mBlockSize;
-    mBlockInStream.seek(offset);
+  }
+
+  /**
+   * Takes the stream of a block read ahead, waiting for it to be opened.
+   *
+   * @param blockIndex the index of the block
+   * @return the stream, or null if the block was not read ahead or could not be opened
+   */
+  private BlockInStream takeReadAheadStream(int blockIndex) throws IOException {
+    CompletableFuture<BlockInStream> future = mReadAheadStreams.remove(blockIndex);
+    if (future == null) {
+      return null;
+    }
+    BlockInStream stream;
+    try {
+      stream = future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      discardReadAheadStream(future);
+      throw new CancelledException("Interrupted while waiting for a block read ahead", e);
+    } catch (ExecutionException e) {
+      LOG.debug("Failed to read block {} of file {} ahead: {}", blockIndex, mStatus.getPath(),
+          e.getCause().toString());
+      return null;
+    }
+    if (mFailedWorkers.containsKey(stream.getAddress())) {
+      // the worker failed since the block was read ahead
+      discardReadAheadStream(future);
+      return null;
+    }
+    return stream;
+  }
+
+  /**
+   * Opens the streams of the blocks following the given block in the background, as many as
+   * the blocks read in order so far and the read-ahead limits allow, and discards the streams of
+   * other blocks read ahead.
+   *
+   * @param blockIndex the index of the block being read
+   */
+  private void readAhead(int blockIndex) {
+    int lastIndex = (int) Math.min(mStatus.getBlockIds().size() - 1,
+        (long) blockIndex + Math.min(mSequentialBlocks, mMaxReadAheadBlocks));
+    Iterator<Map.Entry<Integer, CompletableFuture<BlockInStream>>> iterator =
+        mReadAheadStreams.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<Integer, CompletableFuture<BlockInStream>> entry = iterator.next();
+      if (entry.getKey() <= blockIndex || entry.getKey() > lastIndex) {
+        discardReadAheadStream(entry.getValue());
+        iterator.remove();
+      }
+    }
+    for (int index = blockIndex + 1; index <= lastIndex; index++) {
+      if (mReadAheadStreams.containsKey(index)) {
+        continue;
+      }
+      long blockId = mStatus.getBlockIds().get(index);
+      BlockInfo blockInfo = mStatus.getBlockInfo(blockId);
+      if (blockInfo == null) {
+        break;
+      }
+      // the failed workers are copied as they are updated by the opening thread on failure
+      Map<WorkerNetAddress, Long> failedWorkers = new HashMap<>(mFailedWorkers);
+      CompletableFuture<BlockInStream> future;
+      try {
+        future = CompletableFuture.supplyAsync(() -> {
+          BlockInStream stream = null;
+          try {
+            stream = openBlockInStream(blockId, blockInfo, failedWorkers);
+            stream.prefetch();
+            return stream;
+          } catch (IOException | RuntimeException e) {
+            if (stream != null) {
+              try {
+                stream.close();
+              } catch (IOException ex) {
+                e.addSuppressed(ex);
+              }
+            }
+            throw new CompletionException(e);
+          }
+        }, mReadAheadExecutor);
+      } catch (RejectedExecutionException e) {
+        // all the threads are busy, the next blocks are opened when they are read
+        break;
+      }
+      mReadAheadStreams.put(index, future);
+    }
+  }
+
+  private static ExecutorService getReadAheadExecutor(AlluxioConfiguration conf) {
+    if (sReadAheadExecutor == null) {
+      synchronized (AlluxioFileInStream.class) {
+        if (sReadAheadExecutor == null) {
+          sReadAheadExecutor = new ThreadPoolExecutor(0,
+              conf.getInt(PropertyKey.USER_FILE_READAHEAD_THREADS), 60, TimeUnit.SECONDS,
+              new SynchronousQueue<>(), ThreadFactoryUtils.build("alluxio-block-read-ahead-%d",
+                  true));
+        }
+      }
+    }
+    return sReadAheadExecutor;
+  }
+
+  /**
+   * Closes the stream of a block read ahead which is not needed, once it is opened.
+   */
+  private void discardReadAheadStream(CompletableFuture<BlockInStream> future) {
+    future.whenComplete((stream, error) -> {
+      if (stream != null) {
+        try {
+          stream.close();
+        } catch (IOException | RuntimeException e) {
+          LOG.debug("Failed to close the stream of block {} read ahead: {}", stream.getId(),
+              e.toString());
+        }
+      }
+    });
+  }
+
+  /**
+   * Closes the streams of all blocks read ahead, waiting for the ones being opened.
+   */
+  private void closeReadAheadStreams() {
+    for (CompletableFuture<BlockInStream> future : mReadAheadStreams.values()) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        // nothing to close
+      }
+      discardReadAheadStream(future);
+    }
+    mReadAheadStreams.clear();
   }
 
   private void closeBlockInStream(BlockInStream stream) throws IOException {
     if (stream != null) {
       BlockInStream.BlockInStreamSource blockSource = stream.getSource();
+      if (stream == mBlockInStream && stream.remaining() == 0) {
+        mBlockEndPosition = mPosition;
+      }
       stream.close();
       // TODO(calvin): we should be able to do a close check instead of using null
       if (stream == mBlockInStream) { // if stream is instance variable, set to null
@@ -24,6 +24,7 @@ import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.PreconditionMessage;
+import alluxio.exception.status.CancelledException;
 import alluxio.exception.status.UnavailableException;
 import alluxio.grpc.CompleteFilePOptions;
 import alluxio.grpc.FileSystemMasterCommonPOptions;
@@ -34,6 +35,7 @@ import alluxio.retry.ExponentialTimeBoundedRetry;
 import alluxio.retry.RetryPolicy;
 import alluxio.util.CommonUtils;
 import alluxio.util.FileSystemOptionsUtils;
+import alluxio.util.ThreadFactoryUtils;
 import alluxio.wire.BlockInfo;
 import alluxio.wire.OperationId;
 import alluxio.wire.WorkerNetAddress;
@@ -41,15 +43,23 @@ import alluxio.wire.WorkerNetAddress;
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.Timer;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import com.google.common.io.Closer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.annotation.concurrent.NotThreadSafe;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -63,6 +73,9 @@ import javax.annotation.concurrent.ThreadSafe;
 @NotThreadSafe
 public class AlluxioFileOutStream extends FileOutStream {
   private static final Logger LOG = LoggerFactory.getLogger(AlluxioFileOutStream.class);
+  /** Threads opening the streams of blocks ahead of time, shared by all out streams. */
+  private static final ExecutorService BLOCK_OPEN_EXECUTOR = Executors.newCachedThreadPool(
+      ThreadFactoryUtils.build("alluxio-block-open-%d", true));
 
   /** Used to manage closeable resources. */
   private final Closer mCloser;
@@ -80,6 +93,14 @@ public class AlluxioFileOutStream extends FileOutStream {
   private boolean mShouldCacheCurrentBlock;
   private BlockOutStream mCurrentBlockOutStream;
   private final List<BlockOutStream> mPreviousBlockOutStreams;
+  /** The maximum number of blocks written at the same time, 1 to write one block at a time. */
+  private final int mParallelBlocks;
+  /** The number of bytes buffered for each block written in parallel. */
+  private final long mParallelBufferSize;
+  /** The number of previous blocks whose data has all been written to the workers. */
+  private int mFlushedBlocks;
+  /** The stream of the next block, opened in the background when it is known to be needed. */
+  private CompletableFuture<BlockOutStream> mNextBlockOutStream;
 
   protected final AlluxioURI mUri;
 
@@ -110,6 +131,12 @@ public class AlluxioFileOutStream extends FileOutStream {
       mCanceled = false;
       mShouldCacheCurrentBlock = mAlluxioStorageType.isStore();
       mBytesWritten = 0;
+      AlluxioConfiguration conf = mContext.getPathConf(path);
+      // Writes to the under storage fall back to skipping the block at hand on cache write
+      // failures, which needs the blocks written one at a time.
+      mParallelBlocks = mUnderStorageType.isSyncPersist() ? 1
+          : Math.max(1, conf.getInt(PropertyKey.USER_FILE_WRITE_PARALLEL_BLOCKS));
+      mParallelBufferSize = conf.getBytes(PropertyKey.USER_FILE_WRITE_PARALLEL_BUFFER_SIZE);
 
       if (!mUnderStorageType.isSyncPersist()) {
         mUnderStorageOutputStream = null;
@@ -160,6 +187,7 @@ public class AlluxioFileOutStream extends FileOutStream {
       if (mCurrentBlockOutStream != null) {
         mPreviousBlockOutStreams.add(mCurrentBlockOutStream);
       }
+      cancelNextBlock();
 
       CompleteFilePOptions.Builder optionsBuilder = CompleteFilePOptions.newBuilder();
       optionsBuilder.setCommonOptions(FileSystemMasterCommonPOptions.newBuilder()
@@ -178,6 +206,15 @@ public class AlluxioFileOutStream extends FileOutStream {
           for (BlockOutStream bos : mPreviousBlockOutStreams) {
             bos.cancel();
           }
+        } else if (mParallelBlocks > 1) {
+          // All the data is written before any block is committed, and the blocks are committed
+          // in order.
+          for (BlockOutStream bos : mPreviousBlockOutStreams) {
+            bos.flush();
+          }
+          for (BlockOutStream bos : mPreviousBlockOutStreams) {
+            bos.close();
+          }
         } else {
           // Note, this is a workaround to prevent commit(blockN-1) and write(blockN)
           // race, in worse case, this may result in commit(blockN-1) completes earlier than
@@ -273,6 +310,10 @@ public class AlluxioFileOutStream extends FileOutStream {
             getNextBlock();
           }
           long currentBlockLeftBytes = mCurrentBlockOutStream.remaining();
+          if (currentBlockLeftBytes < tLen && mParallelBlocks > 1 && mNextBlockOutStream == null) {
+            // The write goes on to the next block, open it while this one is filled.
+            openNextBlock();
+          }
           if (currentBlockLeftBytes >= tLen) {
             mCurrentBlockOutStream.write(b, tOff, tLen);
             tLen = 0;
@@ -298,17 +339,102 @@ public class AlluxioFileOutStream extends FileOutStream {
     if (mCurrentBlockOutStream != null) {
       Preconditions.checkState(mCurrentBlockOutStream.remaining() <= 0,
           "The current block still has space left, no need to get new block");
-      mCurrentBlockOutStream.flush();
-      mPreviousBlockOutStreams.add(mCurrentBlockOutStream);
+      if (mParallelBlocks > 1) {
+        mPreviousBlockOutStreams.add(mCurrentBlockOutStream);
+        // Waits for the oldest blocks, leaving room for the next block.
+        while (mPreviousBlockOutStreams.size() - mFlushedBlocks > mParallelBlocks - 1) {
+          mPreviousBlockOutStreams.get(mFlushedBlocks).flush();
+          mFlushedBlocks++;
+        }
+      } else {
+        mCurrentBlockOutStream.flush();
+        mPreviousBlockOutStreams.add(mCurrentBlockOutStream);
+      }
     }
 
     if (mAlluxioStorageType.isStore()) {
-      mCurrentBlockOutStream =
-          mBlockStore.getOutStream(getNextBlockId(), mBlockSize, mOptions);
+      if (mNextBlockOutStream != null) {
+        CompletableFuture<BlockOutStream> next = mNextBlockOutStream;
+        mNextBlockOutStream = null;
+        mCurrentBlockOutStream = waitForNextBlock(next);
+      } else if (mParallelBlocks > 1) {
+        mCurrentBlockOutStream = openPipelinedBlock(getBusyWorkers());
+      } else {
+        mCurrentBlockOutStream =
+            mBlockStore.getOutStream(getNextBlockId(), mBlockSize, mOptions);
+      }
       mShouldCacheCurrentBlock = true;
     }
   }
 
+  private BlockOutStream openPipelinedBlock(Set<WorkerNetAddress> busyWorkers)
+      throws IOException {
+    return mBlockStore.getPipelinedOutStream(getNextBlockId(), mBlockSize, mOptions,
+        busyWorkers, mParallelBufferSize);
+  }
+
+  /**
+   * Opens the stream of the next block in the background.
+   */
+  private void openNextBlock() {
+    Set<WorkerNetAddress> busyWorkers = getBusyWorkers();
+    if (mCurrentBlockOutStream != null) {
+      busyWorkers.add(mCurrentBlockOutStream.getAddress());
+    }
+    mNextBlockOutStream = CompletableFuture.supplyAsync(() -> {
+      try {
+        return openPipelinedBlock(busyWorkers);
+      } catch (IOException e) {
+        throw new CompletionException(e);
+      }
+    }, BLOCK_OPEN_EXECUTOR);
+  }
+
+  private BlockOutStream waitForNextBlock(CompletableFuture<BlockOutStream> next)
+      throws IOException {
+    try {
+      return next.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      cancelNextBlock(next);
+      throw new CancelledException("Interrupted while opening the next block", e);
+    } catch (ExecutionException e) {
+      Throwables.propagateIfPossible(e.getCause(), IOException.class);
+      throw new IOException(e.getCause());
+    }
+  }
+
+  /**
+   * Cancels the stream of the next block if it was opened but not used.
+   */
+  private void cancelNextBlock() {
+    if (mNextBlockOutStream != null) {
+      cancelNextBlock(mNextBlockOutStream);
+      mNextBlockOutStream = null;
+    }
+  }
+
+  private static void cancelNextBlock(CompletableFuture<BlockOutStream> next) {
+    next.thenAccept(stream -> {
+      try {
+        stream.cancel();
+      } catch (IOException e) {
+        LOG.warn("Failed to cancel the unused stream of block at {}", stream.getAddress(), e);
+      }
+    });
+  }
+
+  /**
+   * @return the workers of the blocks which may still be writing data
+   */
+  private Set<WorkerNetAddress> getBusyWorkers() {
+    Set<WorkerNetAddress> busyWorkers = new HashSet<>();
+    for (int i = mFlushedBlocks; i < mPreviousBlockOutStreams.size(); i++) {
+      busyWorkers.add(mPreviousBlockOutStreams.get(i).getAddress());
+    }
+    return busyWorkers;
+  }
+
   private long getNextBlockId() throws IOException {
     try (CloseableResource<FileSystemMasterClient> masterClient = mContext
         .acquireMasterClientResource()) {
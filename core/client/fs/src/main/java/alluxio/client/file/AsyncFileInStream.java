@@ -0,0 +1,265 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.client.ReadType;
+import alluxio.client.block.BlockStoreClient;
+import alluxio.client.block.stream.BlockWorkerClient;
+import alluxio.client.file.options.InStreamOptions;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.status.AlluxioStatusException;
+import alluxio.exception.status.UnavailableException;
+import alluxio.grpc.ReadRequest;
+import alluxio.grpc.ReadResponse;
+import alluxio.resource.CloseableResource;
+import alluxio.wire.BlockInfo;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.base.Preconditions;
+import com.google.protobuf.ByteString;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * An asynchronous reader of an Alluxio file. Every read is a positioned read streamed from a
+ * worker over the asynchronous gRPC stub of the worker client, so no thread is held while the
+ * read is outstanding. The data of every read is delivered by the gRPC callbacks. The lookups
+ * of the block and worker to read from, which may call the master or connect to the worker, run
+ * on the given executor, so a read never blocks its caller.
+ *
+ * Reads always go through the gRPC data server of the chosen worker, also when the worker is
+ * local to the client. The instance holds no resources and does not need to be closed.
+ */
+@ThreadSafe
+public final class AsyncFileInStream {
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncFileInStream.class);
+
+  private final URIStatus mStatus;
+  private final InStreamOptions mOptions;
+  private final FileSystemContext mContext;
+  private final BlockStoreClient mBlockStore;
+  /** The executor running the lookups of the block and worker of every read. */
+  private final Executor mLookupExecutor;
+  /** The part of the read request shared by all reads of the file. */
+  private final ReadRequest mReadRequest;
+  /** Workers which recently failed a read, with the time of their last failure. */
+  private final Map<WorkerNetAddress, Long> mFailedWorkers = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new asynchronous file reader.
+   *
+   * @param status the status of the file to read
+   * @param options the in stream options
+   * @param context the file system context
+   * @param lookupExecutor the executor to run the lookups of the block and worker of reads on
+   */
+  public AsyncFileInStream(URIStatus status, InStreamOptions options,
+      FileSystemContext context, Executor lookupExecutor) {
+    mStatus = status;
+    mOptions = options;
+    mContext = context;
+    mBlockStore = BlockStoreClient.create(context);
+    mLookupExecutor = lookupExecutor;
+    AlluxioConfiguration conf = context.getClusterConf();
+    ReadRequest.Builder builder = ReadRequest.newBuilder()
+        .setPromote(ReadType.fromProto(options.getOptions().getReadType()).isPromote())
+        .setPositionShort(options.getPositionShort())
+        .setChunkSize(conf.getBytes(PropertyKey.USER_STREAMING_READER_CHUNK_SIZE_BYTES))
+        .setAdaptiveChunkSize(
+            conf.getBoolean(PropertyKey.USER_STREAMING_READER_ADAPTIVE_CHUNK_SIZE_ENABLED));
+    if (conf.isSet(PropertyKey.USER_IO_CLASS)) {
+      builder.setIoClass(conf.getString(PropertyKey.USER_IO_CLASS));
+    }
+    mReadRequest = builder.buildPartial();
+  }
+
+  /**
+   * @return the status of the file
+   */
+  public URIStatus getStatus() {
+    return mStatus;
+  }
+
+  /**
+   * Reads bytes of the file into the given buffer, starting at the given position of the file.
+   * A read does not cross block boundaries, so fewer bytes than remain in the buffer may be read.
+   * Once the returned future is complete, the position of the buffer is advanced by the number
+   * of bytes read. The buffer must not be used until then.
+   *
+   * @param position the position in the file to read from
+   * @param buffer the buffer to read into
+   * @return a future of the number of bytes read, or -1 if the position is at or past the end of
+   *         the file
+   */
+  public CompletableFuture<Integer> readAsync(long position, ByteBuffer buffer) {
+    Preconditions.checkArgument(position >= 0, "position must be non-negative: %s", position);
+    if (position >= mStatus.getLength()) {
+      return CompletableFuture.completedFuture(-1);
+    }
+    if (!buffer.hasRemaining()) {
+      return CompletableFuture.completedFuture(0);
+    }
+    CompletableFuture<Integer> future = new CompletableFuture<>();
+    int remaining = buffer.remaining();
+    try {
+      mLookupExecutor.execute(() -> startRead(position, remaining, buffer, future));
+    } catch (RejectedExecutionException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * Looks up the block and worker to read from and starts the read.
+   */
+  private void startRead(long position, int remaining, ByteBuffer buffer,
+      CompletableFuture<Integer> future) {
+    if (future.isDone()) {
+      // cancelled before the read started
+      return;
+    }
+    try {
+      long blockSize = mStatus.getBlockSizeBytes();
+      long blockId = mStatus.getBlockIds().get(Math.toIntExact(position / blockSize));
+      BlockInfo info = mStatus.getBlockInfo(blockId);
+      if (info == null) {
+        info = mBlockStore.getInfo(blockId);
+      }
+      long offset = position % blockSize;
+      int length = (int) Math.min(remaining, info.getLength() - offset);
+      WorkerNetAddress address = mBlockStore.getDataSourceAndType(info, mStatus,
+          mOptions.getUfsReadLocationPolicy(), mFailedWorkers).getFirst();
+      ReadRequest request = mReadRequest.toBuilder()
+          .setBlockId(blockId)
+          .setOpenUfsBlockOptions(mOptions.getOpenUfsBlockOptions(blockId))
+          .setOffset(offset)
+          .setLength(length)
+          .build();
+      new BlockReadObserver(mContext.acquireBlockWorkerClient(address), address, request,
+          buffer, future).start();
+    } catch (IOException | RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+  }
+
+  /**
+   * Receives the data of one read and completes its future.
+   */
+  private final class BlockReadObserver implements StreamObserver<ReadResponse> {
+    private final CloseableResource<BlockWorkerClient> mClient;
+    private final WorkerNetAddress mAddress;
+    private final ReadRequest mRequest;
+    private final ByteBuffer mBuffer;
+    /** The buffer the data is copied to, starting at the position of the target buffer. */
+    private final ByteBuffer mTarget;
+    private final CompletableFuture<Integer> mFuture;
+    private final AtomicBoolean mDone = new AtomicBoolean(false);
+    private volatile StreamObserver<ReadRequest> mRequestObserver;
+    private int mBytesReceived;
+
+    private BlockReadObserver(CloseableResource<BlockWorkerClient> client,
+        WorkerNetAddress address, ReadRequest request, ByteBuffer buffer,
+        CompletableFuture<Integer> future) {
+      mClient = client;
+      mAddress = address;
+      mRequest = request;
+      mBuffer = buffer;
+      mTarget = buffer.duplicate();
+      mFuture = future;
+    }
+
+    private void start() {
+      try {
+        mRequestObserver = mClient.get().readBlock(this);
+        // Cancels the read on the worker when the caller cancels the future.
+        mFuture.whenComplete((bytesRead, error) -> {
+          if (mFuture.isCancelled() && mRequestObserver instanceof ClientCallStreamObserver) {
+            ((ClientCallStreamObserver<ReadRequest>) mRequestObserver)
+                .cancel("Read is cancelled by user.", null);
+          }
+        });
+        mRequestObserver.onNext(mRequest);
+      } catch (RuntimeException e) {
+        onError(e);
+      }
+    }
+
+    @Override
+    public void onNext(ReadResponse response) {
+      ByteString data = response.getChunk().getData();
+      if (mBytesReceived + data.size() > mRequest.getLength()) {
+        onError(new IllegalStateException(String.format(
+            "Received %d bytes more than the %d bytes requested from block %d at worker %s",
+            mBytesReceived + data.size() - mRequest.getLength(), mRequest.getLength(),
+            mRequest.getBlockId(), mAddress)));
+        return;
+      }
+      data.copyTo(mTarget);
+      mBytesReceived += data.size();
+      try {
+        mRequestObserver.onNext(mRequest.toBuilder()
+            .setOffsetReceived(mRequest.getOffset() + mBytesReceived).build());
+      } catch (RuntimeException e) {
+        // nothing is done as the receipt is sent at best effort
+        LOG.debug("Failed to send receipt of data to worker {} for request {}: {}.", mAddress,
+            mRequest, e.getMessage());
+      }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      if (!mDone.compareAndSet(false, true)) {
+        return;
+      }
+      // Stops the stream if the read failed on this side, has no effect otherwise.
+      if (mRequestObserver instanceof ClientCallStreamObserver) {
+        ((ClientCallStreamObserver<ReadRequest>) mRequestObserver)
+            .cancel("Read failed on the client.", t);
+      }
+      mClient.close();
+      AlluxioStatusException e = AlluxioStatusException.fromThrowable(t);
+      if (e instanceof UnavailableException) {
+        mFailedWorkers.put(mAddress, System.currentTimeMillis());
+      }
+      mFuture.completeExceptionally(e);
+    }
+
+    @Override
+    public void onCompleted() {
+      if (!mDone.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        mRequestObserver.onCompleted();
+      } catch (RuntimeException e) {
+        LOG.debug("Failed to close the read stream to worker {} for request {}: {}.", mAddress,
+            mRequest, e.getMessage());
+      }
+      mClient.close();
+      mBuffer.position(mBuffer.position() + mBytesReceived);
+      mFuture.complete(mBytesReceived);
+    }
+  }
+}
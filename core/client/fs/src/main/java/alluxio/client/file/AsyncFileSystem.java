@@ -0,0 +1,158 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.AlluxioURI;
+import alluxio.client.file.options.InStreamOptions;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.AlluxioException;
+import alluxio.exception.FileIncompleteException;
+import alluxio.exception.OpenDirectoryException;
+import alluxio.grpc.Bits;
+import alluxio.grpc.GetStatusPOptions;
+import alluxio.grpc.OpenFilePOptions;
+import alluxio.util.FileSystemOptionsUtils;
+import alluxio.util.ThreadFactoryUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * An asynchronous API to Alluxio files, for callers with many concurrent requests which should
+ * not hold a thread per outstanding request. Metadata calls, and the lookups of the blocks and
+ * workers of reads, run on a small fixed pool of threads over the given {@link FileSystem}, while
+ * reads of files opened by {@link #openAsync} are streamed from the workers without holding a
+ * thread, see {@link AsyncFileInStream}.
+ *
+ * Futures of failed calls complete exceptionally with the exception the blocking API would
+ * have thrown.
+ */
+@ThreadSafe
+public final class AsyncFileSystem implements Closeable {
+  private final FileSystem mFileSystem;
+  private final FileSystemContext mContext;
+  private final ExecutorService mMetadataExecutor;
+
+  /**
+   * Creates an asynchronous API over the given file system. The file system and context are
+   * not closed when this instance is closed.
+   *
+   * @param fileSystem the file system to run metadata calls on
+   * @param context the file system context to read data with
+   */
+  public AsyncFileSystem(FileSystem fileSystem, FileSystemContext context) {
+    mFileSystem = fileSystem;
+    mContext = context;
+    mMetadataExecutor = Executors.newFixedThreadPool(
+        context.getClusterConf().getInt(PropertyKey.USER_FILE_ASYNC_METADATA_THREADS),
+        ThreadFactoryUtils.build("async-file-system-metadata-%d", true));
+  }
+
+  /**
+   * Convenience method for {@link #getStatusAsync(AlluxioURI, GetStatusPOptions)} with default
+   * options.
+   *
+   * @param path the path to obtain information about
+   * @return a future of the status of the path
+   */
+  public CompletableFuture<URIStatus> getStatusAsync(AlluxioURI path) {
+    return getStatusAsync(path, GetStatusPOptions.getDefaultInstance());
+  }
+
+  /**
+   * Gets the {@link URIStatus} object that represents the metadata of an Alluxio path.
+   *
+   * @param path the path to obtain information about
+   * @param options options to associate with this operation
+   * @return a future of the status of the path
+   */
+  public CompletableFuture<URIStatus> getStatusAsync(AlluxioURI path,
+      GetStatusPOptions options) {
+    CompletableFuture<URIStatus> future = new CompletableFuture<>();
+    mMetadataExecutor.execute(() -> {
+      try {
+        future.complete(mFileSystem.getStatus(path, options));
+      } catch (IOException | AlluxioException | RuntimeException e) {
+        future.completeExceptionally(e);
+      }
+    });
+    return future;
+  }
+
+  /**
+   * Convenience method for {@link #openAsync(AlluxioURI, OpenFilePOptions)} with default
+   * options.
+   *
+   * @param path the file to read from
+   * @return a future of the reader of the file
+   */
+  public CompletableFuture<AsyncFileInStream> openAsync(AlluxioURI path) {
+    return openAsync(path, OpenFilePOptions.getDefaultInstance());
+  }
+
+  /**
+   * Opens a file for asynchronous reading.
+   *
+   * @param path the file to read from
+   * @param options options to associate with this operation
+   * @return a future of the reader of the file
+   */
+  public CompletableFuture<AsyncFileInStream> openAsync(AlluxioURI path,
+      OpenFilePOptions options) {
+    AlluxioConfiguration conf = mContext.getPathConf(path);
+    return getStatusAsync(path, FileSystemOptionsUtils.getStatusDefaults(conf).toBuilder()
+        .setAccessMode(Bits.READ)
+        .setUpdateTimestamps(options.getUpdateLastAccessTime())
+        .build())
+        .thenApply(status -> {
+          try {
+            return open(status, options);
+          } catch (AlluxioException e) {
+            throw new CompletionException(e);
+          }
+        });
+  }
+
+  /**
+   * Opens a file for asynchronous reading, with its status already known.
+   *
+   * @param status the status of the file to read from
+   * @param options options to associate with this operation
+   * @return the reader of the file
+   */
+  public AsyncFileInStream open(URIStatus status, OpenFilePOptions options)
+      throws OpenDirectoryException, FileIncompleteException {
+    AlluxioURI path = new AlluxioURI(status.getPath());
+    if (status.isFolder()) {
+      throw new OpenDirectoryException(path);
+    }
+    if (!status.isCompleted()) {
+      throw new FileIncompleteException(path);
+    }
+    AlluxioConfiguration conf = mContext.getPathConf(path);
+    OpenFilePOptions mergedOptions = FileSystemOptionsUtils.openFileDefaults(conf)
+        .toBuilder().mergeFrom(options).build();
+    return new AsyncFileInStream(status,
+        new InStreamOptions(status, mergedOptions, conf, mContext), mContext, mMetadataExecutor);
+  }
+
+  @Override
+  public void close() {
+    mMetadataExecutor.shutdownNow();
+  }
+}
@@ -69,6 +69,7 @@ import alluxio.wire.SyncPointInfo;
 import alluxio.wire.WorkerNetAddress;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 import com.google.common.io.Closer;
 import com.google.common.net.HostAndPort;
 import org.slf4j.Logger;
@@ -77,6 +78,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -275,6 +277,28 @@ public class BaseFileSystem implements FileSystem {
     return status;
   }
 
+  @Override
+  public List<URIStatus> getStatuses(List<AlluxioURI> paths, final GetStatusPOptions options)
+      throws IOException, AlluxioException {
+    // The paths with the same options, which depend on the path configuration, go together.
+    Map<GetStatusPOptions, List<AlluxioURI>> pathsByOptions = new LinkedHashMap<>();
+    for (AlluxioURI path : paths) {
+      checkUri(path);
+      GetStatusPOptions mergedOptions = FileSystemOptionsUtils.getStatusDefaults(
+          mFsContext.getPathConf(path)).toBuilder().mergeFrom(options).build();
+      pathsByOptions.computeIfAbsent(mergedOptions, k -> new ArrayList<>()).add(path);
+    }
+    int batchSize = mFsContext.getClusterConf()
+        .getInt(PropertyKey.USER_FILE_GET_STATUSES_BATCH_SIZE);
+    List<URIStatus> statuses = new ArrayList<>(paths.size());
+    for (Map.Entry<GetStatusPOptions, List<AlluxioURI>> entry : pathsByOptions.entrySet()) {
+      for (List<AlluxioURI> batch : Lists.partition(entry.getValue(), batchSize)) {
+        statuses.addAll(rpc(client -> client.getStatuses(batch, entry.getKey())));
+      }
+    }
+    return statuses;
+  }
+
   @Override
   public List<URIStatus> listStatus(AlluxioURI path, final ListStatusPOptions options)
       throws FileDoesNotExistException, IOException, AlluxioException {
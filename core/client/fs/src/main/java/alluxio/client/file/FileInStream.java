@@ -16,12 +16,15 @@ import alluxio.client.BoundedStream;
 import alluxio.client.PositionedReadable;
 import alluxio.exception.PreconditionMessage;
 import alluxio.util.io.BufferUtils;
+import alluxio.util.io.ByteRange;
 
 import com.google.common.base.Preconditions;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A streaming API to read a file. This API represents a file as a stream of bytes and provides a
@@ -101,4 +104,29 @@ public abstract class FileInStream extends InputStream
     }
     return nread;
   }
+
+  /**
+   * Reads several ranges of the file. The position of the stream is not changed. Implementations
+   * may fetch the ranges with fewer round trips than a positioned read per range.
+   *
+   * @param ranges the ranges of the file to read
+   * @return the data of each range in the order of the given ranges, truncated at the end of
+   *         the file
+   */
+  public List<ByteBuffer> readVectored(List<ByteRange> ranges) throws IOException {
+    List<ByteBuffer> buffers = new ArrayList<>(ranges.size());
+    for (ByteRange range : ranges) {
+      byte[] data = new byte[Math.toIntExact(range.getLength())];
+      int read = 0;
+      while (read < data.length) {
+        int n = positionedRead(range.getOffset() + read, data, read, data.length - read);
+        if (n <= 0) {
+          break;
+        }
+        read += n;
+      }
+      buffers.add(ByteBuffer.wrap(data, 0, read).slice());
+    }
+    return buffers;
+  }
 }
@@ -395,6 +395,40 @@ public interface FileSystem extends Closeable {
   URIStatus getStatus(AlluxioURI path, GetStatusPOptions options)
       throws FileDoesNotExistException, IOException, AlluxioException;
 
+  /**
+   * Convenience method for {@link #getStatuses(List, GetStatusPOptions)} with default options.
+   *
+   * @param paths the paths to obtain information about
+   * @return the {@link URIStatus}es of the paths which exist
+   */
+  default List<URIStatus> getStatuses(List<AlluxioURI> paths)
+      throws IOException, AlluxioException {
+    return getStatuses(paths, GetStatusPOptions.getDefaultInstance());
+  }
+
+  /**
+   * Gets the {@link URIStatus}es of many paths at once, which include the locations of the blocks
+   * of the files. The paths which do not exist are omitted, and the statuses are not necessarily
+   * in the order of the paths. Implementations talking to a master fetch all of them in a single
+   * call rather than one call per path.
+   *
+   * @param paths the paths to obtain information about
+   * @param options options to associate with this operation, shared by all the paths
+   * @return the {@link URIStatus}es of the paths which exist
+   */
+  default List<URIStatus> getStatuses(List<AlluxioURI> paths, GetStatusPOptions options)
+      throws IOException, AlluxioException {
+    List<URIStatus> statuses = new ArrayList<>(paths.size());
+    for (AlluxioURI path : paths) {
+      try {
+        statuses.add(getStatus(path, options));
+      } catch (FileDoesNotExistException e) {
+        // The path is omitted.
+      }
+    }
+    return statuses;
+  }
+
   /**
    * Performs a specific action on each {@code URIStatus} in the result of {@link #listStatus}.
    * This method is preferred when iterating over directories with a large number of files or
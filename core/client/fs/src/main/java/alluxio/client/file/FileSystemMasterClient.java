@@ -36,6 +36,7 @@ import alluxio.grpc.SetAttributePOptions;
 import alluxio.grpc.UpdateUfsModePOptions;
 import alluxio.master.MasterClientContext;
 import alluxio.security.authorization.AclEntry;
+import alluxio.wire.MetadataInvalidations;
 import alluxio.wire.MountPointInfo;
 import alluxio.wire.SyncPointInfo;
 
@@ -155,6 +156,15 @@ public interface FileSystemMasterClient extends Client {
    */
   URIStatus getStatus(AlluxioURI path, GetStatusPOptions options) throws AlluxioStatusException;
 
+  /**
+   * @param paths the file paths
+   * @param options the getStatus options, shared by all the paths
+   * @return the file infos of the paths which exist, with the locations of their blocks, in no
+   *         particular order
+   */
+  List<URIStatus> getStatuses(List<AlluxioURI> paths, GetStatusPOptions options)
+      throws AlluxioStatusException;
+
   /**
    * @param path the file path
    * @return the next blockId for the file
@@ -342,4 +352,14 @@ public interface FileSystemMasterClient extends Client {
    * @param path the path to invalidate
    */
   void needsSync(AlluxioURI path) throws AlluxioStatusException;
+
+  /**
+   * Gets the paths modified since a version of the metadata invalidation log of the master.
+   *
+   * @param epoch the epoch of the log read from before, 0 if none
+   * @param version the version of the log read up to before
+   * @return the paths modified since the version
+   */
+  MetadataInvalidations getMetadataInvalidations(long epoch, long version)
+      throws AlluxioStatusException;
 }
@@ -19,9 +19,13 @@ import com.google.common.cache.CacheBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -72,6 +76,11 @@ public final class MetadataCache {
   }
 
   private final Cache<String, CachedItem> mCache;
+  /**
+   * The number of invalidations of paths modified elsewhere, which tells whether metadata read
+   * from the master may have been modified before it is cached.
+   */
+  private final AtomicLong mInvalidations = new AtomicLong();
 
   /**
    * @param maxSize the max size of the cache
@@ -118,6 +127,22 @@ public final class MetadataCache {
     }
   }
 
+  /**
+   * Caches the status of a path unless the path may have been modified since the stamp was
+   * taken, before the status was read.
+   *
+   * @param path the Alluxio path
+   * @param status the status to be cached
+   * @param stamp the stamp taken before the status was read
+   */
+  public void put(AlluxioURI path, URIStatus status, long stamp) {
+    put(path, status);
+    // an invalidation which races with the put either removes the status or changes the stamp
+    if (mInvalidations.get() != stamp) {
+      invalidate(path);
+    }
+  }
+
   /**
    * Caches list status results of a directory.
    *
@@ -136,6 +161,32 @@ public final class MetadataCache {
     }
   }
 
+  /**
+   * Caches list status results of a directory unless the paths may have been modified since the
+   * stamp was taken, before the results were read.
+   *
+   * @param dir the directory
+   * @param statuses the list status results
+   * @param stamp the stamp taken before the list status results were read
+   */
+  public void put(AlluxioURI dir, List<URIStatus> statuses, long stamp) {
+    put(dir, statuses);
+    if (mInvalidations.get() != stamp) {
+      invalidate(dir);
+      for (URIStatus status : statuses) {
+        invalidate(status.getPath());
+      }
+    }
+  }
+
+  /**
+   * @return a stamp to take before reading metadata from the master, and to cache the metadata
+   *         with, so that it is not cached if it may have been modified in between
+   */
+  public long getStamp() {
+    return mInvalidations.get();
+  }
+
   /**
    * @param dir the directory
    * @return the cached list status results or null
@@ -176,13 +227,52 @@ public final class MetadataCache {
     mCache.invalidate(path);
   }
 
+  /**
+   * Invalidates the cache of paths modified elsewhere, of their descendants, and of their parents
+   * which list them.
+   *
+   * @param paths the paths modified
+   */
+  public void invalidatePaths(Collection<String> paths) {
+    mInvalidations.incrementAndGet();
+    Set<String> modified = new HashSet<>(paths);
+    Set<String> parents = new HashSet<>();
+    for (String path : paths) {
+      String parent = getParent(path);
+      if (parent != null) {
+        parents.add(parent);
+      }
+    }
+    mCache.asMap().keySet().removeIf(key -> {
+      if (parents.contains(key)) {
+        return true;
+      }
+      for (String path = key; path != null; path = getParent(path)) {
+        if (modified.contains(path)) {
+          return true;
+        }
+      }
+      return false;
+    });
+  }
+
   /**
    * Invalidates all the cache.
    */
   public void invalidateAll() {
+    mInvalidations.incrementAndGet();
     mCache.invalidateAll();
   }
 
+  @Nullable
+  private static String getParent(String path) {
+    int separator = path.lastIndexOf(AlluxioURI.SEPARATOR);
+    if (separator < 0 || path.equals(AlluxioURI.SEPARATOR)) {
+      return null;
+    }
+    return separator == 0 ? AlluxioURI.SEPARATOR : path.substring(0, separator);
+  }
+
   /**
    * @return the cache size
    */
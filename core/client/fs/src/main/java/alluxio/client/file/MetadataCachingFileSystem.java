@@ -20,6 +20,8 @@ import alluxio.exception.FileDoesNotExistException;
 import alluxio.exception.FileIncompleteException;
 import alluxio.exception.InvalidPathException;
 import alluxio.exception.OpenDirectoryException;
+import alluxio.exception.status.AlluxioStatusException;
+import alluxio.exception.status.UnimplementedException;
 import alluxio.grpc.Bits;
 import alluxio.grpc.CreateDirectoryPOptions;
 import alluxio.grpc.CreateFilePOptions;
@@ -30,10 +32,13 @@ import alluxio.grpc.OpenFilePOptions;
 import alluxio.grpc.RenamePOptions;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
+import alluxio.resource.CloseableResource;
 import alluxio.util.FileSystemOptionsUtils;
+import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.ThreadUtils;
 import alluxio.wire.BlockLocationInfo;
 import alluxio.wire.FileInfo;
+import alluxio.wire.MetadataInvalidations;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.slf4j.Logger;
@@ -41,17 +46,24 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
- * FileSystem implementation with the capability of caching metadata of paths.
+ * FileSystem implementation with the capability of caching metadata of paths. Cached metadata
+ * expires after a while, and unless disabled, the master is polled for the paths modified since
+ * the last poll, whose metadata is dropped from the cache.
  */
 @ThreadSafe
 public class MetadataCachingFileSystem extends DelegatingFileSystem {
@@ -65,6 +77,13 @@ public class MetadataCachingFileSystem extends DelegatingFileSystem {
   private final MetadataCache mMetadataCache;
   private final ExecutorService mAccessTimeUpdater;
   private final boolean mDisableUpdateFileAccessTime;
+  /** Polls the master for the paths modified, null if the cache only relies on expiration. */
+  @Nullable
+  private final ScheduledExecutorService mInvalidationPoller;
+  /** The epoch of the invalidation log of the master polled last, only used by the poller. */
+  private long mInvalidationEpoch;
+  /** The version of the invalidation log of the master polled last, only used by the poller. */
+  private long mInvalidationVersion;
 
   /**
    * @param fileSystem the file system
@@ -89,6 +108,16 @@ public class MetadataCachingFileSystem extends DelegatingFileSystem {
     MetricsSystem.registerCachedGaugeIfAbsent(
         MetricsSystem.getMetricName(MetricKey.CLIENT_META_DATA_CACHE_SIZE.getName()),
         mMetadataCache::size);
+    long invalidationIntervalMs = mFsContext.getClusterConf()
+        .getMs(PropertyKey.USER_METADATA_CACHE_INVALIDATION_INTERVAL);
+    if (invalidationIntervalMs > 0) {
+      mInvalidationPoller = Executors.newSingleThreadScheduledExecutor(
+          ThreadFactoryUtils.build("metadata-cache-invalidation-%d", true));
+      mInvalidationPoller.scheduleWithFixedDelay(this::pollInvalidations, 0,
+          invalidationIntervalMs, TimeUnit.MILLISECONDS);
+    } else {
+      mInvalidationPoller = null;
+    }
   }
 
   @Override
@@ -137,11 +166,12 @@ public class MetadataCachingFileSystem extends DelegatingFileSystem {
       throws FileDoesNotExistException, IOException, AlluxioException {
     URIStatus status = mMetadataCache.get(path);
     if (status == null || !status.isCompleted()) {
+      long stamp = mMetadataCache.getStamp();
       try {
         status = mDelegatedFileSystem.getStatus(path, options);
-        mMetadataCache.put(path, status);
+        mMetadataCache.put(path, status, stamp);
       } catch (FileDoesNotExistException e) {
-        mMetadataCache.put(path, NOT_FOUND_STATUS);
+        mMetadataCache.put(path, NOT_FOUND_STATUS, stamp);
         throw e;
       }
     } else if (status == NOT_FOUND_STATUS) {
@@ -155,6 +185,40 @@ public class MetadataCachingFileSystem extends DelegatingFileSystem {
     return status;
   }
 
+  @Override
+  public List<URIStatus> getStatuses(List<AlluxioURI> paths, GetStatusPOptions options)
+      throws IOException, AlluxioException {
+    List<URIStatus> statuses = new ArrayList<>(paths.size());
+    List<AlluxioURI> uncached = new ArrayList<>();
+    for (AlluxioURI path : paths) {
+      URIStatus status = mMetadataCache.get(path);
+      if (status == null || !status.isCompleted()) {
+        uncached.add(path);
+      } else if (status != NOT_FOUND_STATUS) {
+        if (options.getUpdateTimestamps()) {
+          asyncUpdateFileAccessTime(path);
+        }
+        statuses.add(status);
+      }
+    }
+    if (uncached.isEmpty()) {
+      return statuses;
+    }
+    long stamp = mMetadataCache.getStamp();
+    Set<String> found = new HashSet<>();
+    for (URIStatus status : mDelegatedFileSystem.getStatuses(uncached, options)) {
+      mMetadataCache.put(new AlluxioURI(status.getPath()), status, stamp);
+      found.add(status.getPath());
+      statuses.add(status);
+    }
+    for (AlluxioURI path : uncached) {
+      if (!found.contains(path.getPath())) {
+        mMetadataCache.put(path, NOT_FOUND_STATUS, stamp);
+      }
+    }
+    return statuses;
+  }
+
   @Override
   public void iterateStatus(AlluxioURI path, ListStatusPOptions options,
       Consumer<? super URIStatus> action)
@@ -170,12 +234,13 @@ public class MetadataCachingFileSystem extends DelegatingFileSystem {
 
     List<URIStatus> cachedStatuses = mMetadataCache.listStatus(path);
     if (cachedStatuses == null) {
+      long stamp = mMetadataCache.getStamp();
       List<URIStatus> statuses = new ArrayList<>();
       mDelegatedFileSystem.iterateStatus(path, options, status -> {
         statuses.add(status);
         action.accept(status);
       });
-      mMetadataCache.put(path, statuses);
+      mMetadataCache.put(path, statuses, stamp);
       return;
     }
     cachedStatuses.forEach(action);
@@ -194,8 +259,9 @@ public class MetadataCachingFileSystem extends DelegatingFileSystem {
 
     List<URIStatus> statuses = mMetadataCache.listStatus(path);
     if (statuses == null) {
+      long stamp = mMetadataCache.getStamp();
       statuses = mDelegatedFileSystem.listStatus(path, options);
-      mMetadataCache.put(path, statuses);
+      mMetadataCache.put(path, statuses, stamp);
     }
     return statuses;
   }
@@ -241,9 +307,45 @@ public class MetadataCachingFileSystem extends DelegatingFileSystem {
     }
   }
 
+  /**
+   * Asks the master for the paths modified since the last poll and drops their cached metadata,
+   * or all the cached metadata if the master cannot tell which paths were modified.
+   */
+  @VisibleForTesting
+  void pollInvalidations() {
+    try (CloseableResource<FileSystemMasterClient> client =
+             mFsContext.acquireMasterClientResource()) {
+      MetadataInvalidations invalidations =
+          client.get().getMetadataInvalidations(mInvalidationEpoch, mInvalidationVersion);
+      if (!invalidations.isComplete()) {
+        mMetadataCache.invalidateAll();
+        LOG.debug("Invalidated all metadata cache, as the master lost track of modifications");
+      } else if (!invalidations.getPaths().isEmpty()) {
+        mMetadataCache.invalidatePaths(invalidations.getPaths());
+        LOG.debug("Invalidated metadata cache of {} modified paths",
+            invalidations.getPaths().size());
+      }
+      mInvalidationEpoch = invalidations.getEpoch();
+      mInvalidationVersion = invalidations.getVersion();
+    } catch (UnimplementedException e) {
+      LOG.warn("The master does not track modified paths, cached metadata only expires after {}",
+          mFsContext.getClusterConf().getString(PropertyKey.USER_METADATA_CACHE_EXPIRATION_TIME));
+      if (mInvalidationPoller != null) {
+        mInvalidationPoller.shutdown();
+      }
+    } catch (AlluxioStatusException | RuntimeException e) {
+      // the next poll asks for the same modifications again
+      LOG.debug("Failed to poll the master for modified paths: {}", e.toString());
+    }
+  }
+
   @Override
   public synchronized void close() throws IOException {
     if (!mDelegatedFileSystem.isClosed()) {
+      if (mInvalidationPoller != null) {
+        ThreadUtils.shutdownAndAwaitTermination(mInvalidationPoller,
+            THREAD_TERMINATION_TIMEOUT_MS);
+      }
       ThreadUtils.shutdownAndAwaitTermination(mAccessTimeUpdater, THREAD_TERMINATION_TIMEOUT_MS);
       mDelegatedFileSystem.close();
     }
@@ -33,6 +33,7 @@ import alluxio.grpc.FileSystemMasterClientServiceGrpc;
 import alluxio.grpc.FreePOptions;
 import alluxio.grpc.FreePRequest;
 import alluxio.grpc.GetFilePathPRequest;
+import alluxio.grpc.GetMetadataInvalidationsPRequest;
 import alluxio.grpc.GetMountTablePRequest;
 import alluxio.grpc.GetNewBlockIdForFilePOptions;
 import alluxio.grpc.GetNewBlockIdForFilePRequest;
@@ -40,6 +41,7 @@ import alluxio.grpc.GetStateLockHoldersPOptions;
 import alluxio.grpc.GetStateLockHoldersPRequest;
 import alluxio.grpc.GetStatusPOptions;
 import alluxio.grpc.GetStatusPRequest;
+import alluxio.grpc.GetStatusesPRequest;
 import alluxio.grpc.GetSyncPathListPRequest;
 import alluxio.grpc.GrpcUtils;
 import alluxio.grpc.ListStatusPOptions;
@@ -71,6 +73,7 @@ import alluxio.master.MasterClientContext;
 import alluxio.retry.CountingRetry;
 import alluxio.security.authorization.AclEntry;
 import alluxio.util.FileSystemOptionsUtils;
+import alluxio.wire.MetadataInvalidations;
 import alluxio.wire.SyncPointInfo;
 
 import org.slf4j.Logger;
@@ -218,6 +221,22 @@ public final class RetryHandlingFileSystemMasterClient extends AbstractMasterCli
         RPC_LOG, "GetStatus", "path=%s,options=%s", path, options);
   }
 
+  @Override
+  public List<URIStatus> getStatuses(final List<AlluxioURI> paths,
+      final GetStatusPOptions options) throws AlluxioStatusException {
+    return retryRPC(() -> {
+      GetStatusesPRequest.Builder request = GetStatusesPRequest.newBuilder().setOptions(options);
+      for (AlluxioURI path : paths) {
+        request.addPaths(getTransportPath(path));
+      }
+      List<URIStatus> result = new ArrayList<>();
+      mClient.getStatuses(request.build()).forEachRemaining(
+          response -> response.getFileInfosList().forEach(
+              fileInfo -> result.add(new URIStatus(GrpcUtils.fromProto(fileInfo)))));
+      return result;
+    }, RPC_LOG, "GetStatuses", "paths=%s,options=%s", paths.size(), options);
+  }
+
   @Override
   public synchronized List<SyncPointInfo> getSyncPathList() throws AlluxioStatusException {
     return retryRPC(() -> mClient.getSyncPathList(GetSyncPathListPRequest.getDefaultInstance())
@@ -418,6 +437,15 @@ public final class RetryHandlingFileSystemMasterClient extends AbstractMasterCli
         RPC_LOG, "NeedsSync", "path=%s", path);
   }
 
+  @Override
+  public MetadataInvalidations getMetadataInvalidations(long epoch, long version)
+      throws AlluxioStatusException {
+    return retryRPC(() -> MetadataInvalidations.fromProto(mClient.getMetadataInvalidations(
+        GetMetadataInvalidationsPRequest.newBuilder().setEpoch(epoch).setVersion(version)
+            .build())),
+        RPC_LOG, "GetMetadataInvalidations", "epoch=%s,version=%s", epoch, version);
+  }
+
   /**
    * Gets the path that will be transported to master.
    *
@@ -0,0 +1,163 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.policy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.Constants;
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.client.block.policy.options.GetWorkerOptions;
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.wire.BlockInfo;
+import alluxio.wire.WorkerNetAddress;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests {@link ConsistentHashPolicy}.
+ */
+public final class ConsistentHashPolicyTest {
+  private static final int PORT = 1;
+  private static final int WORKERS = 20;
+  private static final int BLOCKS = 10000;
+
+  private final List<BlockWorkerInfo> mWorkerInfos = new ArrayList<>();
+  private InstancedConfiguration mConf;
+
+  @Before
+  public void before() {
+    mConf = Configuration.copyGlobal();
+    mWorkerInfos.clear();
+    for (int i = 0; i < WORKERS; i++) {
+      mWorkerInfos.add(worker("worker" + i, Constants.GB, 0));
+    }
+  }
+
+  @Test
+  public void getWorkerDeterministically() {
+    Map<Long, WorkerNetAddress> assignment = assign(new ConsistentHashPolicy(mConf));
+    // another client, which sees the workers in another order, maps the blocks the same way
+    List<BlockWorkerInfo> reversed = new ArrayList<>(mWorkerInfos);
+    Collections.reverse(reversed);
+    ConsistentHashPolicy policy = new ConsistentHashPolicy(mConf);
+    for (long blockId = 0; blockId < BLOCKS; blockId++) {
+      assertEquals(assignment.get(blockId), getWorker(policy, reversed, blockId, 1));
+    }
+  }
+
+  @Test
+  public void removeWorkerRemapsItsBlocksOnly() {
+    ConsistentHashPolicy policy = new ConsistentHashPolicy(mConf);
+    Map<Long, WorkerNetAddress> before = assign(policy);
+    WorkerNetAddress removed = mWorkerInfos.remove(3).getNetAddress();
+    Map<Long, WorkerNetAddress> after = assign(policy);
+    int remapped = 0;
+    for (long blockId = 0; blockId < BLOCKS; blockId++) {
+      if (before.get(blockId).equals(removed)) {
+        assertNotEquals(removed, after.get(blockId));
+        remapped++;
+      } else {
+        assertEquals(before.get(blockId), after.get(blockId));
+      }
+    }
+    // the removed worker held about 1/N of the blocks
+    assertTrue(remapped > BLOCKS / WORKERS / 2);
+    assertTrue(remapped < BLOCKS / WORKERS * 2);
+  }
+
+  @Test
+  public void usageDoesNotMoveBlocks() {
+    ConsistentHashPolicy policy = new ConsistentHashPolicy(mConf);
+    Map<Long, WorkerNetAddress> before = assign(policy);
+    // the first worker is full while the others are nearly empty
+    WorkerNetAddress full = mWorkerInfos.get(0).getNetAddress();
+    mWorkerInfos.set(0, worker(full.getHost(), Constants.GB, Constants.GB));
+    assertEquals(before, assign(policy));
+  }
+
+  @Test
+  public void subsetOfWorkersKeepsRing() {
+    ConsistentHashPolicy policy = new ConsistentHashPolicy(mConf);
+    Map<Long, WorkerNetAddress> before = assign(policy);
+    Object ring = Whitebox.getInternalState(policy, "mRing");
+    // a call given a subset of the workers, such as without the busy ones, reuses the ring
+    BlockWorkerInfo busy = mWorkerInfos.remove(5);
+    Map<Long, WorkerNetAddress> subset = assign(policy);
+    assertSame(ring, Whitebox.getInternalState(policy, "mRing"));
+    for (long blockId = 0; blockId < BLOCKS; blockId++) {
+      if (!before.get(blockId).equals(busy.getNetAddress())) {
+        assertEquals(before.get(blockId), subset.get(blockId));
+      }
+    }
+    mWorkerInfos.add(busy);
+    assertEquals(before, assign(policy));
+    assertSame(ring, Whitebox.getInternalState(policy, "mRing"));
+  }
+
+  @Test
+  public void respectCapacity() {
+    mWorkerInfos.clear();
+    mWorkerInfos.add(worker("small", Constants.MB, 0));
+    mWorkerInfos.add(worker("large", Constants.GB, 0));
+    ConsistentHashPolicy policy = new ConsistentHashPolicy(mConf);
+    for (long blockId = 0; blockId < 100; blockId++) {
+      assertEquals("large",
+          getWorker(policy, mWorkerInfos, blockId, 2 * Constants.MB).getHost());
+    }
+  }
+
+  @Test
+  public void shards() {
+    mConf.set(PropertyKey.USER_UFS_BLOCK_READ_LOCATION_POLICY_CONSISTENT_HASH_SHARDS, 3);
+    ConsistentHashPolicy policy = new ConsistentHashPolicy(mConf);
+    Map<WorkerNetAddress, Integer> workers = new HashMap<>();
+    for (int i = 0; i < 100; i++) {
+      workers.merge(getWorker(policy, mWorkerInfos, 1, 1), 1, Integer::sum);
+    }
+    assertEquals(3, workers.size());
+    assertFalse(policy.equals(new ConsistentHashPolicy(Configuration.copyGlobal())));
+  }
+
+  private Map<Long, WorkerNetAddress> assign(ConsistentHashPolicy policy) {
+    Map<Long, WorkerNetAddress> assignment = new HashMap<>();
+    for (long blockId = 0; blockId < BLOCKS; blockId++) {
+      assignment.put(blockId, getWorker(policy, mWorkerInfos, blockId, 1));
+    }
+    return assignment;
+  }
+
+  private static WorkerNetAddress getWorker(ConsistentHashPolicy policy,
+      List<BlockWorkerInfo> workerInfos, long blockId, long length) {
+    return policy.getWorker(GetWorkerOptions.defaults().setBlockWorkerInfos(workerInfos)
+        .setBlockInfo(new BlockInfo().setBlockId(blockId).setLength(length)))
+        .orElseThrow(() -> new IllegalStateException("Expected worker"));
+  }
+
+  private static BlockWorkerInfo worker(String host, long capacity, long used) {
+    return new BlockWorkerInfo(new WorkerNetAddress().setHost(host).setRpcPort(PORT)
+        .setDataPort(PORT).setWebPort(PORT), capacity, used);
+  }
+}
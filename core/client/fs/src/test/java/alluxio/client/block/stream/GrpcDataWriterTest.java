@@ -31,6 +31,7 @@ import alluxio.conf.PropertyKey;
 import alluxio.grpc.Chunk;
 import alluxio.grpc.RequestType;
 import alluxio.grpc.WriteRequest;
+import alluxio.grpc.WriteRequestCommand;
 import alluxio.resource.CloseableResource;
 import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.io.BufferUtils;
@@ -55,6 +56,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Random;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
@@ -203,6 +205,28 @@ public final class GrpcDataWriterTest {
     verify(resource, times(1)).close();
   }
 
+  /**
+   * Creates a writer of a block replicated by a chain of workers.
+   */
+  @Test(timeout = 1000 * 60)
+  public void createChained() throws Exception {
+    WorkerNetAddress head = new WorkerNetAddress().setHost("head");
+    when(mContext.acquireBlockWorkerClient(head)).thenReturn(new NoopClosableResource<>(mClient));
+    DataWriter writer = GrpcDataWriter.createChained(mContext, Arrays.asList(head,
+        new WorkerNetAddress().setHost("second"), new WorkerNetAddress().setHost("third")),
+        BLOCK_ID, 10, OutStreamOptions.defaults(mContext).setWriteTier(TIER), 2);
+    ArgumentCaptor<WriteRequest> requestCaptor = ArgumentCaptor.forClass(WriteRequest.class);
+    verify(mRequestObserver).onNext(requestCaptor.capture());
+    WriteRequestCommand command = requestCaptor.getValue().getCommand();
+    assertEquals(RequestType.ALLUXIO_BLOCK, command.getType());
+    assertEquals(BLOCK_ID, command.getId());
+    assertEquals(2, command.getPipelineCount());
+    assertEquals("second", command.getPipeline(0).getHost());
+    assertEquals("third", command.getPipeline(1).getHost());
+    assertEquals(2, command.getPipelineMinReplicas());
+    writer.cancel();
+  }
+
   /**
    * Creates a {@link DataWriter}.
    *
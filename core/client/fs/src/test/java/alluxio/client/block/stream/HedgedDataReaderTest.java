@@ -0,0 +1,299 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.collections.Pair;
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.status.CancelledException;
+import alluxio.exception.status.DeadlineExceededException;
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+import alluxio.util.io.BufferUtils;
+import alluxio.wire.WorkerNetAddress;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
+
+/**
+ * Unit tests for {@link HedgedDataReader}.
+ */
+public final class HedgedDataReaderTest {
+  private static final int CHUNK_SIZE = 10;
+  private static final int LENGTH = 100;
+  private static final byte[] DATA = BufferUtils.getIncreasingByteArray(LENGTH);
+  private static final WorkerNetAddress PRIMARY = new WorkerNetAddress().setHost("primary");
+  private static final WorkerNetAddress HEDGE = new WorkerNetAddress().setHost("hedge");
+
+  private final InstancedConfiguration mConf = Configuration.copyGlobal();
+  private final List<WorkerNetAddress> mFailedHedges = new ArrayList<>();
+
+  @Before
+  public void before() {
+    mConf.set(PropertyKey.USER_BLOCK_READ_HEDGE_MIN_DELAY, "10ms");
+  }
+
+  @Test
+  public void slowReadSwitchesToHedge() throws Exception {
+    StallingFactory primary = new StallingFactory(30, new CountDownLatch(1));
+    TestDataReader.Factory hedge = new TestDataReader.Factory(CHUNK_SIZE, DATA);
+    HedgedDataReader.Factory factory = createFactory(primary, hedge);
+    try (DataReader reader = factory.create(0, LENGTH)) {
+      assertArrayEquals(DATA, readAll(reader));
+      assertEquals(LENGTH, reader.pos());
+    }
+    assertNotNull(hedge.getDataReader());
+    assertTrue(hedge.getDataReader().isClosed());
+    // the hedged read cancels the stalled read of the primary source
+    assertTrue(primary.getReader().isCancelled());
+    assertTrue(primary.getReader().isClosed());
+    assertTrue(mFailedHedges.isEmpty());
+  }
+
+  @Test
+  public void fastReadIsNotHedged() throws Exception {
+    mConf.set(PropertyKey.USER_BLOCK_READ_HEDGE_MIN_DELAY, "10s");
+    AtomicInteger hedges = new AtomicInteger();
+    HedgedDataReader.Factory factory = new HedgedDataReader.Factory(
+        new StallingFactory(-1, new CountDownLatch(0)), PRIMARY, new TestHedgeSource() {
+          @Override
+          public Pair<WorkerNetAddress, DataReader.Factory> get() {
+            hedges.incrementAndGet();
+            return new Pair<>(HEDGE, new TestDataReader.Factory(CHUNK_SIZE, DATA));
+          }
+        }, mConf);
+    try (DataReader reader = factory.create(20, 50)) {
+      assertArrayEquals(BufferUtils.getIncreasingByteArray(20, 50), readAll(reader));
+    }
+    assertEquals(0, hedges.get());
+  }
+
+  @Test
+  public void noHedgeSource() throws Exception {
+    CountDownLatch unblock = new CountDownLatch(1);
+    StallingFactory primary = new StallingFactory(50, unblock);
+    AtomicInteger hedges = new AtomicInteger();
+    HedgedDataReader.Factory factory = new HedgedDataReader.Factory(primary, PRIMARY,
+        new TestHedgeSource() {
+          @Override
+          public Pair<WorkerNetAddress, DataReader.Factory> get() {
+            hedges.incrementAndGet();
+            return null;
+          }
+        }, mConf);
+    unblockLater(unblock);
+    try (DataReader reader = factory.create(0, LENGTH)) {
+      assertArrayEquals(DATA, readAll(reader));
+    }
+    assertEquals(1, hedges.get());
+    assertFalse(primary.getReader().isCancelled());
+  }
+
+  @Test
+  public void failedHedgeIsRecorded() throws Exception {
+    CountDownLatch unblock = new CountDownLatch(1);
+    StallingFactory primary = new StallingFactory(50, unblock);
+    TestDataReader.Factory hedge = new TestDataReader.Factory(CHUNK_SIZE, DATA) {
+      @Override
+      public DataReader create(long offset, long len) {
+        mReader = new TestDataReader(mData, mChunkSize, offset, len) {
+          @Override
+          public DataBuffer readChunk() {
+            throw new RuntimeException("hedge failure");
+          }
+        };
+        return mReader;
+      }
+    };
+    unblockLater(unblock);
+    try (DataReader reader = createFactory(primary, hedge).create(0, LENGTH)) {
+      assertArrayEquals(DATA, readAll(reader));
+    }
+    assertEquals(1, mFailedHedges.size());
+    assertEquals(HEDGE, mFailedHedges.get(0));
+    CommonUtils.waitFor("failed hedge to be closed", () -> hedge.getDataReader().isClosed(),
+        WaitForOptions.defaults().setTimeoutMs(10000));
+  }
+
+  @Test
+  public void interruptClosesHedge() throws Exception {
+    StallingFactory primary = new StallingFactory(30, new CountDownLatch(1));
+    CountDownLatch unblockHedge = new CountDownLatch(1);
+    StallingFactory hedge = new StallingFactory(30, unblockHedge);
+    DataReader reader = createFactory(primary, hedge).create(0, LENGTH);
+    AtomicReference<Throwable> error = new AtomicReference<>();
+    Thread thread = new Thread(() -> {
+      try {
+        readAll(reader);
+      } catch (Throwable t) {
+        error.set(t);
+      }
+    });
+    thread.start();
+    CommonUtils.waitFor("read to be hedged", () -> hedge.getReader() != null,
+        WaitForOptions.defaults().setTimeoutMs(10000));
+    thread.interrupt();
+    thread.join(10000);
+    assertTrue(error.get() instanceof CancelledException);
+    assertTrue(primary.getReader().isClosed());
+    // the hedge is closed once its pending read is done
+    unblockHedge.countDown();
+    CommonUtils.waitFor("hedge to be closed", () -> hedge.getReader().isClosed(),
+        WaitForOptions.defaults().setTimeoutMs(10000));
+  }
+
+  private HedgedDataReader.Factory createFactory(DataReader.Factory primary,
+      DataReader.Factory hedge) {
+    return new HedgedDataReader.Factory(primary, PRIMARY, new TestHedgeSource() {
+      @Override
+      public Pair<WorkerNetAddress, DataReader.Factory> get() {
+        return new Pair<>(HEDGE, hedge);
+      }
+    }, mConf);
+  }
+
+  private static void unblockLater(CountDownLatch unblock) {
+    new Thread(() -> {
+      CommonUtils.sleepMs(200);
+      unblock.countDown();
+    }).start();
+  }
+
+  private static byte[] readAll(DataReader reader) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    DataBuffer chunk;
+    while ((chunk = reader.readChunk()) != null) {
+      byte[] bytes = new byte[chunk.readableBytes()];
+      chunk.readBytes(bytes, 0, bytes.length);
+      chunk.release();
+      out.write(bytes);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * A hedge source recording the failed hedges.
+   */
+  private abstract class TestHedgeSource implements HedgedDataReader.HedgeSource {
+    @Override
+    public void onFailure(WorkerNetAddress address) {
+      mFailedHedges.add(address);
+    }
+  }
+
+  /**
+   * Creates hedgeable readers which stall reading the chunk at the given position until
+   * unblocked or cancelled.
+   */
+  private static final class StallingFactory implements DataReader.Factory {
+    private final long mStallPos;
+    private final CountDownLatch mUnblock;
+    private volatile StallingReader mReader;
+
+    StallingFactory(long stallPos, CountDownLatch unblock) {
+      mStallPos = stallPos;
+      mUnblock = unblock;
+    }
+
+    @Override
+    public DataReader create(long offset, long len) {
+      mReader = new StallingReader(offset, len);
+      return mReader;
+    }
+
+    @Nullable
+    StallingReader getReader() {
+      return mReader;
+    }
+
+    @Override
+    public void close() {}
+
+    private final class StallingReader implements HedgedDataReader.Hedgeable {
+      private final TestDataReader mReader;
+      private final CountDownLatch mCancelled = new CountDownLatch(1);
+      private volatile boolean mClosed;
+
+      StallingReader(long offset, long len) {
+        mReader = new TestDataReader(DATA, CHUNK_SIZE, offset, len);
+      }
+
+      @Override
+      public DataBuffer readChunk() throws IOException {
+        return readChunk(Long.MAX_VALUE);
+      }
+
+      @Override
+      public DataBuffer readChunk(long timeoutMs) throws IOException {
+        if (pos() == mStallPos) {
+          long deadlineNs = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(
+              Math.min(timeoutMs, TimeUnit.DAYS.toMillis(1)));
+          try {
+            while (!mUnblock.await(1, TimeUnit.MILLISECONDS)) {
+              if (isCancelled()) {
+                throw new CancelledException("cancelled");
+              }
+              if (System.nanoTime() > deadlineNs) {
+                throw new DeadlineExceededException("timeout");
+              }
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancelledException("interrupted", e);
+          }
+        }
+        return mReader.readChunk();
+      }
+
+      @Override
+      public long pos() {
+        return mReader.pos();
+      }
+
+      @Override
+      public void cancel() {
+        mCancelled.countDown();
+      }
+
+      boolean isCancelled() {
+        return mCancelled.getCount() == 0;
+      }
+
+      @Override
+      public void close() {
+        mClosed = true;
+      }
+
+      boolean isClosed() {
+        return mClosed;
+      }
+    }
+  }
+}
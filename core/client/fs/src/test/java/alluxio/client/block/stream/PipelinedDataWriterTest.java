@@ -0,0 +1,81 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.util.io.BufferUtils;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tests for {@link PipelinedDataWriter}.
+ */
+public final class PipelinedDataWriterTest {
+  private static final int CHUNK_SIZE = 10;
+
+  @Test
+  public void writeInOrder() throws Exception {
+    ByteBuffer buffer = ByteBuffer.allocate(1000);
+    PipelinedDataWriter writer = new PipelinedDataWriter(new TestDataWriter(buffer), 25);
+    byte[] data = BufferUtils.getIncreasingByteArray(500);
+    for (int i = 0; i < data.length; i += CHUNK_SIZE) {
+      writer.writeChunk(Unpooled.wrappedBuffer(data, i, CHUNK_SIZE));
+    }
+    assertEquals(data.length, writer.pos());
+    writer.flush();
+    assertArrayEquals(data, Arrays.copyOf(buffer.array(), buffer.position()));
+    writer.close();
+  }
+
+  @Test
+  public void chunkLargerThanBuffer() throws Exception {
+    ByteBuffer buffer = ByteBuffer.allocate(1000);
+    PipelinedDataWriter writer = new PipelinedDataWriter(new TestDataWriter(buffer), 5);
+    writer.writeChunk(Unpooled.wrappedBuffer(BufferUtils.getIncreasingByteArray(100)));
+    writer.writeChunk(Unpooled.wrappedBuffer(BufferUtils.getIncreasingByteArray(100, 100)));
+    writer.close();
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(200),
+        Arrays.copyOf(buffer.array(), buffer.position()));
+  }
+
+  @Test
+  public void writeErrorCancelsOnClose() throws Exception {
+    AtomicBoolean canceled = new AtomicBoolean(false);
+    PipelinedDataWriter writer = new PipelinedDataWriter(
+        new FailingTestDataWriter(ByteBuffer.allocate(100)) {
+          @Override
+          public void cancel() {
+            canceled.set(true);
+          }
+        }, 100);
+    ByteBuf chunk = Unpooled.wrappedBuffer(new byte[CHUNK_SIZE]);
+    writer.writeChunk(chunk);
+    assertThrows(IOException.class, writer::flush);
+    assertEquals(0, chunk.refCnt());
+    ByteBuf nextChunk = Unpooled.wrappedBuffer(new byte[CHUNK_SIZE]);
+    assertThrows(IOException.class, () -> writer.writeChunk(nextChunk));
+    assertEquals(0, nextChunk.refCnt());
+    assertThrows(IOException.class, writer::close);
+    assertTrue(canceled.get());
+  }
+}
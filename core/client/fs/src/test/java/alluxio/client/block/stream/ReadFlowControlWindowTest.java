@@ -0,0 +1,67 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import static org.junit.Assert.assertEquals;
+
+import alluxio.Constants;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link ReadFlowControlWindow}.
+ */
+public final class ReadFlowControlWindowTest {
+  private static final long MS = 1_000_000L;
+
+  @Test
+  public void minWindowBeforeEstimates() {
+    ReadFlowControlWindow window = new ReadFlowControlWindow(Constants.MB, 64 * Constants.MB);
+    assertEquals(Constants.MB, window.getWindowSize());
+    window.onRequestSent(0);
+    window.onChunkReceived(Constants.MB, 10 * MS);
+    assertEquals(Constants.MB, window.getWindowSize());
+  }
+
+  @Test
+  public void bandwidthDelayProduct() {
+    ReadFlowControlWindow window = new ReadFlowControlWindow(Constants.MB, 64 * Constants.MB);
+    window.onRequestSent(0);
+    // 10ms round trip, 1MB consumed every 1ms
+    long now = 10 * MS;
+    window.onChunkReceived(Constants.MB, now);
+    for (int i = 0; i < 10; i++) {
+      now += MS;
+      window.onChunkReceived(Constants.MB, now);
+    }
+    assertEquals(20 * Constants.MB, window.getWindowSize());
+  }
+
+  @Test
+  public void boundedByMax() {
+    ReadFlowControlWindow window = new ReadFlowControlWindow(Constants.MB, 4 * Constants.MB);
+    window.onRequestSent(0);
+    window.onChunkReceived(Constants.MB, 100 * MS);
+    window.onChunkReceived(Constants.MB, 101 * MS);
+    assertEquals(4 * Constants.MB, window.getWindowSize());
+  }
+
+  @Test
+  public void slowConsumer() {
+    ReadFlowControlWindow window = new ReadFlowControlWindow(Constants.MB, 64 * Constants.MB);
+    window.onRequestSent(0);
+    // 1ms round trip, 1MB consumed every 100ms
+    window.onChunkReceived(Constants.MB, MS);
+    window.onChunkReceived(Constants.MB, 101 * MS);
+    assertEquals(Constants.MB, window.getWindowSize());
+  }
+}
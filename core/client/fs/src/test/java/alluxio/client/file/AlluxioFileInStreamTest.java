@@ -23,6 +23,7 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -45,7 +46,10 @@ import alluxio.exception.status.UnavailableException;
 import alluxio.grpc.OpenFilePOptions;
 import alluxio.grpc.ReadPType;
 import alluxio.resource.CloseableResource;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
 import alluxio.util.io.BufferUtils;
+import alluxio.util.io.ByteRange;
 import alluxio.wire.BlockInfo;
 import alluxio.wire.FileBlockInfo;
 import alluxio.wire.FileInfo;
@@ -271,6 +275,43 @@ public final class AlluxioFileInStreamTest {
     assertArrayEquals(BufferUtils.getIncreasingByteArray(dataRead), buffer);
   }
 
+  /**
+   * Tests that the next blocks are opened ahead of a sequential reader and used by it.
+   */
+  @Test
+  public void readAhead() throws Exception {
+    createReadAheadStream();
+    assertEquals(0, mTestStream.read());
+    verify(mBlockStore, timeout(10000)).getInStream(eq(new BlockInfo().setBlockId(1)),
+        any(InStreamOptions.class), any());
+    byte[] buffer = new byte[(int) mFileSize - 1];
+    int read = 0;
+    while (read < buffer.length) {
+      read += mTestStream.read(buffer, read, buffer.length - read);
+    }
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(1, buffer.length), buffer);
+    for (int i = 0; i < mNumBlocks; i++) {
+      verify(mBlockStore, times(1)).getInStream(eq(new BlockInfo().setBlockId(i)),
+          any(InStreamOptions.class), any());
+      assertTrue(mInStreams.get(i).isClosed());
+    }
+  }
+
+  /**
+   * Tests that the blocks read ahead are closed when the reader seeks elsewhere.
+   */
+  @Test
+  public void readAheadDiscardedOnSeek() throws Exception {
+    createReadAheadStream();
+    assertEquals(0, mTestStream.read());
+    verify(mBlockStore, timeout(10000)).getInStream(eq(new BlockInfo().setBlockId(1)),
+        any(InStreamOptions.class), any());
+    mTestStream.seek(mFileSize - 1);
+    assertEquals((mFileSize - 1) & 0xff, mTestStream.read());
+    CommonUtils.waitFor("block read ahead to be closed", () -> mInStreams.get(1).isClosed(),
+        WaitForOptions.defaults().setTimeoutMs(10000));
+  }
+
   /**
    * Tests that reading a buffer at an offset writes the bytes to the correct places.
    */
@@ -696,6 +737,26 @@ public final class AlluxioFileInStreamTest {
         BLOCK_LENGTH), b);
   }
 
+  /**
+   * Tests that vectored reads return the data of each range, including ranges which span
+   * blocks or the end of the file.
+   */
+  @Test
+  public void readVectored() throws IOException {
+    List<ByteRange> ranges = Arrays.asList(new ByteRange(BLOCK_LENGTH - 10, 20),
+        new ByteRange(5, 10), new ByteRange(mFileSize - 5, 10));
+    List<ByteBuffer> buffers = mTestStream.readVectored(ranges);
+    assertEquals(ranges.size(), buffers.size());
+    for (int i = 0; i < ranges.size(); i++) {
+      ByteRange range = ranges.get(i);
+      int length = (int) (Math.min(range.getEnd(), mFileSize) - range.getOffset());
+      byte[] actual = new byte[buffers.get(i).remaining()];
+      buffers.get(i).get(actual);
+      assertArrayEquals(
+          BufferUtils.getIncreasingByteArray((int) range.getOffset(), length), actual);
+    }
+  }
+
   /**
    * Tests the BlockInStream is closed when reading to the end of the block.
    */
@@ -832,6 +893,13 @@ public final class AlluxioFileInStreamTest {
    *
    * @param dataRead the bytes to read
    */
+  private void createReadAheadStream() throws Exception {
+    mConf.set(PropertyKey.USER_FILE_READAHEAD_ENABLED, true);
+    mTestStream.close();
+    mTestStream = new AlluxioFileInStream(mStatus, new InStreamOptions(mStatus,
+        OpenFilePOptions.getDefaultInstance(), mConf, mContext), mContext);
+  }
+
   private void testReadBuffer(int dataRead) throws Exception {
     byte[] buffer = new byte[dataRead];
     mTestStream.read(buffer);
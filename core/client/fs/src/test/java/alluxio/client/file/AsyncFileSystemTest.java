@@ -0,0 +1,236 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import alluxio.AlluxioURI;
+import alluxio.ClientContext;
+import alluxio.client.block.stream.BlockWorkerClient;
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.exception.FileDoesNotExistException;
+import alluxio.exception.OpenDirectoryException;
+import alluxio.exception.status.UnavailableException;
+import alluxio.grpc.Chunk;
+import alluxio.grpc.GetStatusPOptions;
+import alluxio.grpc.ReadRequest;
+import alluxio.grpc.ReadResponse;
+import alluxio.resource.CloseableResource;
+import alluxio.util.io.BufferUtils;
+import alluxio.wire.BlockInfo;
+import alluxio.wire.BlockLocation;
+import alluxio.wire.FileBlockInfo;
+import alluxio.wire.FileInfo;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.protobuf.ByteString;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Unit tests for {@link AsyncFileSystem} and {@link AsyncFileInStream}.
+ */
+public final class AsyncFileSystemTest {
+  private static final int BLOCK_LENGTH = 100;
+  private static final int FILE_LENGTH = 250;
+  private static final int CHUNK_SIZE = 30;
+  private static final AlluxioURI FILE = new AlluxioURI("/file");
+  private static final AlluxioURI DIR = new AlluxioURI("/dir");
+
+  private final InstancedConfiguration mConf = Configuration.copyGlobal();
+  private final AtomicBoolean mWorkerUnavailable = new AtomicBoolean(false);
+  /** Connecting to the worker waits for this latch. */
+  private volatile CountDownLatch mConnected = new CountDownLatch(0);
+  private FileSystem mFileSystem;
+  private AsyncFileSystem mAsyncFileSystem;
+
+  /**
+   * Sets up a file of three blocks served by a fake worker.
+   */
+  @Before
+  public void before() throws Exception {
+    BlockWorkerClient client = mock(BlockWorkerClient.class);
+    when(client.readBlock(any())).thenAnswer(invocation -> {
+      StreamObserver<ReadResponse> responses =
+          (StreamObserver<ReadResponse>) invocation.getArguments()[0];
+      return new StreamObserver<ReadRequest>() {
+        @Override
+        public void onNext(ReadRequest request) {
+          if (request.hasOffsetReceived()) {
+            return;
+          }
+          if (mWorkerUnavailable.get()) {
+            responses.onError(Status.UNAVAILABLE.asRuntimeException());
+            return;
+          }
+          byte[] data = BufferUtils.getIncreasingByteArray(
+              (int) (request.getBlockId() * BLOCK_LENGTH + request.getOffset()),
+              (int) request.getLength());
+          for (int i = 0; i < data.length; i += CHUNK_SIZE) {
+            responses.onNext(ReadResponse.newBuilder().setChunk(Chunk.newBuilder()
+                .setData(ByteString.copyFrom(data, i, Math.min(CHUNK_SIZE, data.length - i))))
+                .build());
+          }
+          responses.onCompleted();
+        }
+
+        @Override
+        public void onError(Throwable t) {}
+
+        @Override
+        public void onCompleted() {}
+      };
+    });
+
+    FileSystemContext context = mock(FileSystemContext.class);
+    when(context.getClientContext()).thenReturn(ClientContext.create(mConf));
+    when(context.getClusterConf()).thenReturn(mConf);
+    when(context.getPathConf(any(AlluxioURI.class))).thenReturn(mConf);
+    when(context.acquireBlockWorkerClient(any())).thenAnswer(invocation -> {
+      mConnected.await();
+      return new CloseableResource<BlockWorkerClient>(client) {
+        @Override
+        public void closeResource() {}
+      };
+    });
+
+    List<Long> blockIds = new ArrayList<>();
+    List<FileBlockInfo> fileBlockInfos = new ArrayList<>();
+    for (long i = 0; i * BLOCK_LENGTH < FILE_LENGTH; i++) {
+      blockIds.add(i);
+      fileBlockInfos.add(new FileBlockInfo().setBlockInfo(new BlockInfo()
+          .setBlockId(i)
+          .setLength(Math.min(BLOCK_LENGTH, FILE_LENGTH - i * BLOCK_LENGTH))
+          .setLocations(Collections.singletonList(new BlockLocation()
+              .setWorkerAddress(new WorkerNetAddress().setHost("worker"))))));
+    }
+    URIStatus fileStatus = new URIStatus(new FileInfo().setPath(FILE.getPath())
+        .setBlockSizeBytes(BLOCK_LENGTH).setLength(FILE_LENGTH).setCompleted(true)
+        .setBlockIds(blockIds).setFileBlockInfos(fileBlockInfos));
+    URIStatus dirStatus = new URIStatus(new FileInfo().setPath(DIR.getPath()).setFolder(true));
+
+    mFileSystem = mock(FileSystem.class);
+    when(mFileSystem.getStatus(any(AlluxioURI.class), any(GetStatusPOptions.class)))
+        .thenAnswer(invocation -> {
+          AlluxioURI path = (AlluxioURI) invocation.getArguments()[0];
+          if (path.equals(FILE)) {
+            return fileStatus;
+          }
+          if (path.equals(DIR)) {
+            return dirStatus;
+          }
+          throw new FileDoesNotExistException(path);
+        });
+    mAsyncFileSystem = new AsyncFileSystem(mFileSystem, context);
+  }
+
+  @After
+  public void after() {
+    mAsyncFileSystem.close();
+  }
+
+  @Test
+  public void getStatusAsync() throws Exception {
+    assertEquals(FILE_LENGTH, mAsyncFileSystem.getStatusAsync(FILE).get().getLength());
+    try {
+      mAsyncFileSystem.getStatusAsync(new AlluxioURI("/missing")).get();
+      fail("Getting the status of a missing path should fail");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof FileDoesNotExistException);
+    }
+  }
+
+  @Test
+  public void openDirectory() throws Exception {
+    try {
+      mAsyncFileSystem.openAsync(DIR).get();
+      fail("Opening a directory should fail");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof OpenDirectoryException);
+    }
+  }
+
+  @Test
+  public void readWholeFile() throws Exception {
+    AsyncFileInStream in = mAsyncFileSystem.openAsync(FILE).get();
+    ByteBuffer buffer = ByteBuffer.allocate(FILE_LENGTH + 10);
+    int bytesRead;
+    while ((bytesRead = in.readAsync(buffer.position(), buffer).get()) != -1) {
+      assertTrue(bytesRead > 0);
+    }
+    assertEquals(FILE_LENGTH, buffer.position());
+    buffer.flip();
+    byte[] data = new byte[FILE_LENGTH];
+    buffer.get(data);
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(FILE_LENGTH), data);
+  }
+
+  @Test
+  public void readStopsAtBlockBoundary() throws Exception {
+    AsyncFileInStream in = mAsyncFileSystem.openAsync(FILE).get();
+    ByteBuffer buffer = ByteBuffer.allocate(80);
+    buffer.position(5);
+    assertEquals(30, (int) in.readAsync(170, buffer).get());
+    assertEquals(35, buffer.position());
+    byte[] data = new byte[30];
+    buffer.position(5);
+    buffer.get(data);
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(170, 30), data);
+    assertEquals(-1, (int) in.readAsync(FILE_LENGTH, buffer).get());
+  }
+
+  @Test(timeout = 10000)
+  public void readDoesNotWaitForWorker() throws Exception {
+    AsyncFileInStream in = mAsyncFileSystem.openAsync(FILE).get();
+    mConnected = new CountDownLatch(1);
+    ByteBuffer buffer = ByteBuffer.allocate(10);
+    CompletableFuture<Integer> future = in.readAsync(0, buffer);
+    assertFalse(future.isDone());
+    mConnected.countDown();
+    assertEquals(10, (int) future.get());
+    assertEquals(10, buffer.position());
+  }
+
+  @Test
+  public void readFromUnavailableWorker() throws Exception {
+    AsyncFileInStream in = mAsyncFileSystem.openAsync(FILE).get();
+    mWorkerUnavailable.set(true);
+    ByteBuffer buffer = ByteBuffer.allocate(10);
+    try {
+      in.readAsync(0, buffer).get();
+      fail("Reading from an unavailable worker should fail");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof UnavailableException);
+    }
+    assertEquals(0, buffer.position());
+  }
+}
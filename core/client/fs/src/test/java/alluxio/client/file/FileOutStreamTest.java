@@ -263,6 +263,44 @@ public class FileOutStreamTest {
     verify(mFileSystemMasterClient).completeFile(eq(FILE_NAME), any(CompleteFilePOptions.class));
   }
 
+  /**
+   * Tests that blocks written in parallel hold the data in order, and are all committed on
+   * {@link FileOutStream#close()}.
+   */
+  @Test
+  public void parallelBlockWrite() throws Exception {
+    InstancedConfiguration conf = Configuration.copyGlobal();
+    conf.set(PropertyKey.USER_FILE_WRITE_PARALLEL_BLOCKS, 2);
+    when(mFileSystemContext.getPathConf(any(AlluxioURI.class))).thenReturn(conf);
+    when(mBlockStore.getPipelinedOutStream(anyLong(), eq(BLOCK_LENGTH),
+        any(OutStreamOptions.class), any(), anyLong())).thenAnswer(invocation -> {
+          Long blockId = invocation.getArgument(0, Long.class);
+          TestBlockOutStream stream =
+              new TestBlockOutStream(ByteBuffer.allocate(1000), BLOCK_LENGTH);
+          mAlluxioOutStreamMap.put(blockId, stream);
+          return stream;
+        });
+    OutStreamOptions options = OutStreamOptions.defaults(mFileSystemContext)
+        .setBlockSizeBytes(BLOCK_LENGTH).setWriteType(WriteType.MUST_CACHE);
+    mTestStream = createTestStream(FILE_NAME, options);
+    int bytesToWrite = (int) ((BLOCK_LENGTH * 5) + (BLOCK_LENGTH / 2));
+    mTestStream.write(BufferUtils.getIncreasingByteArray(bytesToWrite));
+    mTestStream.close();
+
+    assertEquals(6, mAlluxioOutStreamMap.size());
+    for (long streamIndex = 0; streamIndex < 6; streamIndex++) {
+      TestBlockOutStream stream = mAlluxioOutStreamMap.get(streamIndex);
+      assertArrayEquals(BufferUtils.getIncreasingByteArray((int) (streamIndex * BLOCK_LENGTH),
+          (int) Math.min(BLOCK_LENGTH, bytesToWrite - streamIndex * BLOCK_LENGTH)),
+          stream.getWrittenData());
+      assertTrue(stream.isClosed());
+      assertFalse(stream.isCanceled());
+    }
+    verify(mBlockStore, times(0)).getOutStream(anyLong(), anyLong(),
+        any(OutStreamOptions.class));
+    verify(mFileSystemMasterClient).completeFile(eq(FILE_NAME), any(CompleteFilePOptions.class));
+  }
+
   /**
    * Tests that {@link FileOutStream#cancel()} will cancel and close the underlying out streams, and
    * delete from the under file system when the delegation flag is set. Also makes sure that
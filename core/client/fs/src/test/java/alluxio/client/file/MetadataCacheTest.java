@@ -128,6 +128,51 @@ public class MetadataCacheTest {
     assertNotContain(FILE);
   }
 
+  @Test
+  public void invalidatePaths() {
+    mCache = new MetadataCache(100, Long.MAX_VALUE);
+    mCache.put(FILE, FILE_STATUS);
+    mCache.put(DIR1, DIR1_STATUS);
+    mCache.put(DIR1, Arrays.asList(DIR1_FILE_STATUS, DIR1_DIR2_STATUS));
+    mCache.put(DIR1_DIR2, Arrays.asList(DIR1_DIR2_FILE_STATUS));
+    assertEquals(5, mCache.size());
+
+    // the descendants of the modified path and the listing of its parent are dropped
+    mCache.invalidatePaths(Arrays.asList(DIR1_DIR2.getPath()));
+    assertContain(FILE);
+    assertContain(DIR1_FILE);
+    assertNotContain(DIR1);
+    assertNull(mCache.listStatus(DIR1));
+    assertNotContain(DIR1_DIR2);
+    assertNotContain(DIR1_DIR2_FILE);
+    assertEquals(2, mCache.size());
+
+    mCache.invalidatePaths(Arrays.asList(FILE.getPath()));
+    assertNotContain(FILE);
+    assertContain(DIR1_FILE);
+  }
+
+  @Test
+  public void putAfterInvalidation() {
+    mCache = new MetadataCache(100, Long.MAX_VALUE);
+    long stamp = mCache.getStamp();
+    mCache.put(FILE, FILE_STATUS, stamp);
+    assertContain(FILE);
+
+    // the status read before an invalidation may be stale, so it is not cached
+    stamp = mCache.getStamp();
+    mCache.invalidatePaths(Arrays.asList(DIR1_FILE.getPath()));
+    mCache.put(DIR1_FILE, DIR1_FILE_STATUS, stamp);
+    assertNotContain(DIR1_FILE);
+    mCache.put(DIR1, Arrays.asList(DIR1_FILE_STATUS), stamp);
+    assertNull(mCache.listStatus(DIR1));
+    assertNotContain(DIR1_FILE);
+
+    stamp = mCache.getStamp();
+    mCache.put(DIR1_FILE, DIR1_FILE_STATUS, stamp);
+    assertContain(DIR1_FILE);
+  }
+
   private void assertContain(AlluxioURI path) {
     assertNotNull(mCache.get(path));
   }
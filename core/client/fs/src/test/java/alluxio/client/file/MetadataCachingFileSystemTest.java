@@ -31,6 +31,7 @@ import alluxio.grpc.ListStatusPOptions;
 import alluxio.grpc.RenamePOptions;
 import alluxio.resource.CloseableResource;
 import alluxio.wire.FileInfo;
+import alluxio.wire.MetadataInvalidations;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -43,6 +44,7 @@ import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -102,6 +104,25 @@ public class MetadataCachingFileSystemTest {
     assertEquals(1, mFileSystemMasterClient.getStatusRpcCount(FILE));
   }
 
+  @Test
+  public void getStatuses() throws Exception {
+    List<AlluxioURI> paths = Arrays.asList(FILE, NOT_EXIST_FILE);
+    assertEquals(Arrays.asList(FILE_STATUS), mFs.getStatuses(paths));
+    assertEquals(1, mFileSystemMasterClient.getStatusesRpcCount());
+    // Both the status of the file and the absence of the other path are cached.
+    assertEquals(FILE_STATUS, mFs.getStatus(FILE));
+    try {
+      mFs.getStatus(NOT_EXIST_FILE);
+      Assert.fail("Failed while getStatus for a non-exist path.");
+    } catch (FileDoesNotExistException e) {
+      // expected exception thrown. test passes
+    }
+    assertEquals(Arrays.asList(FILE_STATUS), mFs.getStatuses(paths));
+    assertEquals(1, mFileSystemMasterClient.getStatusesRpcCount());
+    assertEquals(0, mFileSystemMasterClient.getStatusRpcCount(FILE));
+    assertEquals(0, mFileSystemMasterClient.getStatusRpcCount(NOT_EXIST_FILE));
+  }
+
   @Test
   public void iterateStatus() throws Exception {
     List<URIStatus> expectedStatuses = new ArrayList<>();
@@ -276,12 +297,58 @@ public class MetadataCachingFileSystemTest {
     assertEquals(2, mFileSystemMasterClient.listStatusRpcCount(DIR));
   }
 
+  @Test
+  public void pollInvalidations() throws Exception {
+    mFs.close();
+    mConf.set(PropertyKey.USER_METADATA_CACHE_INVALIDATION_INTERVAL, "-1");
+    mFs = new MetadataCachingFileSystem(new BaseFileSystem(mFileContext), mFileContext);
+    // the first poll learns the epoch of the log
+    mFileSystemMasterClient.mInvalidations = new MetadataInvalidations(1, 10,
+        Collections.emptyList(), false);
+    mFs.pollInvalidations();
+    mFs.getStatus(FILE);
+    mFs.listStatus(DIR);
+    mFileSystemMasterClient.mInvalidations = new MetadataInvalidations(1, 10,
+        Collections.emptyList(), true);
+    mFs.pollInvalidations();
+    assertEquals(Arrays.asList(1L, 10L), mFileSystemMasterClient.mPolled);
+    mFs.getStatus(FILE);
+    assertEquals(1, mFileSystemMasterClient.getStatusRpcCount(FILE));
+
+    // a modified file is dropped along with the listing of its parent
+    mFileSystemMasterClient.mInvalidations = new MetadataInvalidations(1, 11,
+        Collections.singletonList(FILE.getPath()), true);
+    mFs.pollInvalidations();
+    mFs.getStatus(FILE);
+    assertEquals(2, mFileSystemMasterClient.getStatusRpcCount(FILE));
+    mFs.listStatus(DIR);
+    assertEquals(2, mFileSystemMasterClient.listStatusRpcCount(DIR));
+
+    // everything is dropped when the master cannot tell what was modified
+    mFileSystemMasterClient.mInvalidations = new MetadataInvalidations(2, 0,
+        Collections.emptyList(), false);
+    mFs.pollInvalidations();
+    assertEquals(Arrays.asList(1L, 11L), mFileSystemMasterClient.mPolled);
+    assertEquals(0, mFs.getMetadataCacheSize());
+  }
+
   class RpcCountingFileSystemMasterClient extends MockFileSystemMasterClient {
     RpcCountingFileSystemMasterClient() {
     }
 
     private Map<AlluxioURI, Integer> mGetStatusCount = new HashMap<>();
     private Map<AlluxioURI, Integer> mListStatusCount = new HashMap<>();
+    private int mGetStatusesCount;
+
+    private MetadataInvalidations mInvalidations =
+        new MetadataInvalidations(0, 0, Collections.emptyList(), true);
+    private List<Long> mPolled;
+
+    @Override
+    public MetadataInvalidations getMetadataInvalidations(long epoch, long version) {
+      mPolled = Arrays.asList(epoch, version);
+      return mInvalidations;
+    }
 
     int getStatusRpcCount(AlluxioURI uri) {
       return mGetStatusCount.getOrDefault(uri, 0);
@@ -291,6 +358,24 @@ public class MetadataCachingFileSystemTest {
       return mListStatusCount.getOrDefault(uri, 0);
     }
 
+    int getStatusesRpcCount() {
+      return mGetStatusesCount;
+    }
+
+    @Override
+    public List<URIStatus> getStatuses(List<AlluxioURI> paths, GetStatusPOptions options) {
+      mGetStatusesCount++;
+      List<URIStatus> statuses = new ArrayList<>();
+      for (AlluxioURI path : paths) {
+        if (path.toString().equals(FILE_STATUS.getPath())) {
+          statuses.add(FILE_STATUS);
+        } else if (mFileStatusMap.containsKey(path)) {
+          statuses.add(mFileStatusMap.get(path));
+        }
+      }
+      return statuses;
+    }
+
     @Override
     public URIStatus getStatus(AlluxioURI path, GetStatusPOptions options)
         throws AlluxioStatusException {
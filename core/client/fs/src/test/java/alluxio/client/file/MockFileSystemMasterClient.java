@@ -33,6 +33,7 @@ import alluxio.grpc.SetAclPOptions;
 import alluxio.grpc.SetAttributePOptions;
 import alluxio.grpc.UpdateUfsModePOptions;
 import alluxio.security.authorization.AclEntry;
+import alluxio.wire.MetadataInvalidations;
 import alluxio.wire.MountPointInfo;
 import alluxio.wire.SyncPointInfo;
 
@@ -100,6 +101,12 @@ class MockFileSystemMasterClient implements FileSystemMasterClient {
     return null;
   }
 
+  @Override
+  public List<URIStatus> getStatuses(List<AlluxioURI> paths, GetStatusPOptions options)
+      throws AlluxioStatusException {
+    return null;
+  }
+
   @Override
   public long getNewBlockIdForFile(AlluxioURI path) throws AlluxioStatusException {
     return 0;
@@ -234,4 +241,10 @@ class MockFileSystemMasterClient implements FileSystemMasterClient {
   @Override
   public void needsSync(AlluxioURI path) throws AlluxioStatusException {
   }
+
+  @Override
+  public MetadataInvalidations getMetadataInvalidations(long epoch, long version)
+      throws AlluxioStatusException {
+    return new MetadataInvalidations(epoch, version, Collections.emptyList(), true);
+  }
 }
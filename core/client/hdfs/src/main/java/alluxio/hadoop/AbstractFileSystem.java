@@ -382,6 +382,40 @@ public abstract class AbstractFileSystem extends org.apache.hadoop.fs.FileSystem
     return new AlluxioFileStatus(fileStatus, getFsPath(mAlluxioHeader, fileStatus));
   }
 
+  /**
+   * Gets the statuses of many paths in a single call to the master, which is much cheaper than
+   * calling {@link #getFileStatus(Path)} for every path, as query planners do. The paths which do
+   * not exist are omitted, and the statuses are not necessarily in the order of the paths. The
+   * statuses carry the locations of the blocks of the files, so that
+   * {@link #getFileBlockLocations(FileStatus, long, long)} on them does not call the master again.
+   *
+   * @param paths the paths
+   * @return the statuses of the paths which exist
+   */
+  public FileStatus[] getFileStatuses(Path[] paths) throws IOException {
+    LOG.debug("getFileStatuses({} paths)", paths.length);
+
+    if (mStatistics != null) {
+      mStatistics.incrementReadOps(1);
+    }
+    List<AlluxioURI> uris = new ArrayList<>(paths.length);
+    for (Path path : paths) {
+      uris.add(getAlluxioPath(path));
+    }
+    List<URIStatus> statuses;
+    try {
+      statuses = mFileSystem.getStatuses(uris);
+    } catch (AlluxioException e) {
+      throw new IOException(e);
+    }
+    FileStatus[] fileStatuses = new FileStatus[statuses.size()];
+    for (int i = 0; i < fileStatuses.length; i++) {
+      URIStatus status = statuses.get(i);
+      fileStatuses[i] = new AlluxioFileStatus(status, getFsPath(mAlluxioHeader, status));
+    }
+    return fileStatuses;
+  }
+
   private int getReplica(URIStatus status) {
     return status.getReplicationMin();
   }
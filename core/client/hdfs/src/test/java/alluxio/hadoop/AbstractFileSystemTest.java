@@ -465,6 +465,37 @@ public class AbstractFileSystemTest {
     assertFileInfoEqualsFileStatus(fileInfo, fileStatus);
   }
 
+  @Test
+  public void getStatuses() throws Exception {
+    FileInfo fileInfo1 = new FileInfo()
+        .setPath("/dir/file1")
+        .setFolder(false)
+        .setOwner("user1")
+        .setGroup("group1")
+        .setMode(00755);
+    FileInfo fileInfo2 = new FileInfo()
+        .setPath("/dir/file2")
+        .setFolder(false)
+        .setOwner("user2")
+        .setGroup("group2")
+        .setMode(00644);
+
+    Path[] paths = {new Path("/dir/file1"), new Path("/dir/missing"), new Path("/dir/file2")};
+    alluxio.client.file.FileSystem alluxioFs =
+        mock(alluxio.client.file.FileSystem.class);
+    when(alluxioFs.getStatuses(Lists.newArrayList(new AlluxioURI("/dir/file1"),
+        new AlluxioURI("/dir/missing"), new AlluxioURI("/dir/file2"))))
+        .thenReturn(Lists.newArrayList(new URIStatus(fileInfo1), new URIStatus(fileInfo2)));
+    FileSystem alluxioHadoopFs = new FileSystem(alluxioFs);
+
+    FileStatus[] fileStatuses = alluxioHadoopFs.getFileStatuses(paths);
+    assertEquals(2, fileStatuses.length);
+    assertFileInfoEqualsFileStatus(fileInfo1, fileStatuses[0]);
+    assertFileInfoEqualsFileStatus(fileInfo2, fileStatuses[1]);
+    assertTrue(fileStatuses[0] instanceof AlluxioFileStatus);
+    alluxioHadoopFs.close();
+  }
+
   @Test
   public void initializeWithCustomizedUgi() throws Exception {
     mockUserGroupInformation("testuser");
@@ -217,6 +217,21 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     return file.exists();
   };
 
+  /**
+   * A value validator which accepts integers of at least 1. Values which are not numbers yet,
+   * e.g. templates, are left to the type check.
+   */
+  public static final Function<Object, Boolean> CHECK_POSITIVE_INTEGER = (value) -> {
+    if (value instanceof Integer) {
+      return (Integer) value >= 1;
+    }
+    try {
+      return Integer.parseInt(String.valueOf(value).trim()) >= 1;
+    } catch (NumberFormatException e) {
+      return true;
+    }
+  };
+
   /**
    * Builder to create {@link PropertyKey} instances. Note that, <code>Builder.build()</code> will
    * throw exception if there is an existing property built with the same name.
@@ -1032,6 +1047,72 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey UNDERFS_CONCURRENCY_LIMIT_ENABLED =
+      booleanBuilder(Name.UNDERFS_CONCURRENCY_LIMIT_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether to limit the number of concurrent requests of a process to "
+              + "each under file storage. The limit adapts to the under storage: it grows "
+              + "additively while requests succeed, and shrinks multiplicatively when requests "
+              + "are throttled, time out, or become much slower than usual.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_CONCURRENCY_LIMIT_INITIAL =
+      intBuilder(Name.UNDERFS_CONCURRENCY_LIMIT_INITIAL)
+          .setDefaultValue(64)
+          .setDescription("The initial limit of concurrent requests to an under file storage.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_CONCURRENCY_LIMIT_MIN =
+      intBuilder(Name.UNDERFS_CONCURRENCY_LIMIT_MIN)
+          .setDefaultValue(4)
+          .setDescription("The lowest limit of concurrent requests to an under file storage.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_CONCURRENCY_LIMIT_MAX =
+      intBuilder(Name.UNDERFS_CONCURRENCY_LIMIT_MAX)
+          .setDefaultValue(1024)
+          .setDescription("The highest limit of concurrent requests to an under file storage.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_CONCURRENCY_LIMIT_BACKOFF_RATIO =
+      doubleBuilder(Name.UNDERFS_CONCURRENCY_LIMIT_BACKOFF_RATIO)
+          .setDefaultValue(0.7)
+          .setDescription("The factor the limit of concurrent requests to an under file storage "
+              + "is multiplied by when a request is throttled or slow.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_CONCURRENCY_LIMIT_LATENCY_TOLERANCE =
+      doubleBuilder(Name.UNDERFS_CONCURRENCY_LIMIT_LATENCY_TOLERANCE)
+          .setDefaultValue(5.0)
+          .setDescription("A request which takes longer than this factor times the smoothed "
+              + "latency of the requests of the same operation to the under file storage "
+              + "shrinks the limit of concurrent requests. "
+              + "Set to 0 to only shrink the limit on throttling errors.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_CONCURRENCY_LIMIT_WAIT_TIMEOUT =
+      durationBuilder(Name.UNDERFS_CONCURRENCY_LIMIT_WAIT_TIMEOUT)
+          .setDefaultValue("30sec")
+          .setDescription("The longest time a request waits for the number of concurrent "
+              + "requests to an under file storage to drop below the limit, or for the request "
+              + "rate limit, before it is rejected.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_REQUEST_RATE_LIMIT =
+      intBuilder(Name.UNDERFS_REQUEST_RATE_LIMIT)
+          .setDefaultValue(0)
+          .setDescription("The maximum number of requests per second of a process to each "
+              + "under file storage, when the concurrency limit is enabled. 0 means no limit.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
   public static final PropertyKey UNDERFS_LISTING_LENGTH =
       intBuilder(Name.UNDERFS_LISTING_LENGTH)
           .setDefaultValue(1000)
@@ -1137,6 +1218,34 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.SERVER)
           .build();
+  public static final PropertyKey UNDERFS_HDFS_HEDGED_READ_ENABLED =
+      booleanBuilder(Name.UNDERFS_HDFS_HEDGED_READ_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether the HDFS client hedges a positioned read which has not "
+              + "completed within a threshold by a second read of the same range from another "
+              + "datanode, using whichever read completes first. This sets the hedged read "
+              + "configuration of the HDFS client, dfs.client.hedged.read.threadpool.size and "
+              + "dfs.client.hedged.read.threshold.millis.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_HDFS_HEDGED_READ_THREADS =
+      intBuilder(Name.UNDERFS_HDFS_HEDGED_READ_THREADS)
+          .setDefaultValue(64)
+          .setDescription(format("The maximum number of threads of the HDFS client which "
+              + "perform hedged reads, when %s is enabled. Reads beyond this number are "
+              + "performed by the calling thread.", Name.UNDERFS_HDFS_HEDGED_READ_ENABLED))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_HDFS_HEDGED_READ_THRESHOLD =
+      durationBuilder(Name.UNDERFS_HDFS_HEDGED_READ_THRESHOLD)
+          .setDefaultValue("500ms")
+          .setDescription(format("The time a positioned read of HDFS takes before it is "
+              + "hedged, when %s is enabled.", Name.UNDERFS_HDFS_HEDGED_READ_ENABLED))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
   public static final PropertyKey UNDERFS_HDFS_IMPL =
       stringBuilder(Name.UNDERFS_HDFS_IMPL)
           .setDefaultValue("org.apache.hadoop.hdfs.DistributedFileSystem")
@@ -1240,6 +1349,74 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.SERVER)
           .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_MULTI_RANGE_COALESCE_SIZE =
+      dataSizeBuilder(Name.UNDERFS_OBJECT_STORE_MULTI_RANGE_COALESCE_SIZE)
+          .setDefaultValue("1MB")
+          .setDescription("The largest forward seek of a multi-range object input stream which "
+              + "reads through the skipped bytes of an open range instead of requesting a new "
+              + "range. Reading a small gap is faster than the latency of a new request.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_MULTI_RANGE_OPEN_STREAMS_MAX =
+      intBuilder(Name.UNDERFS_OBJECT_STORE_MULTI_RANGE_OPEN_STREAMS_MAX)
+          .setDefaultValue(1)
+          .setDescription("The maximum number of ranges a multi-range object input stream keeps "
+              + "open after seeking away from them, so that a later forward seek into one of "
+              + "them, as when reading the columns of a columnar file, does not request a new "
+              + "range. Every open range holds a connection to the object store until the "
+              + "stream is closed.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_MULTI_RANGE_PREFETCH_ENABLED =
+      booleanBuilder(Name.UNDERFS_OBJECT_STORE_MULTI_RANGE_PREFETCH_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether a multi-range object input stream requests the next range "
+              + "in the background when it opens a range, so that the latency of the two "
+              + "requests overlaps.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_MULTI_RANGE_PREFETCH_THREADS =
+      intBuilder(Name.UNDERFS_OBJECT_STORE_MULTI_RANGE_PREFETCH_THREADS)
+          .setDefaultValue(16)
+          .setDescription("The maximum number of threads of a process requesting the next range "
+              + "of multi-range object input streams in the background. A range is not "
+              + "prefetched while all the threads are busy.")
+          .setValueValidationFunction(CHECK_POSITIVE_INTEGER)
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_PARALLEL_LISTING_ENABLED =
+      booleanBuilder(Name.UNDERFS_OBJECT_STORE_PARALLEL_LISTING_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether recursive listings of object store UFS are split into "
+              + "sub-prefixes which are listed concurrently on the object store service "
+              + "threads. This speeds up listing prefixes with many keys, such as during "
+              + "metadata sync or distributed load.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_PARALLEL_LISTING_MAX_DEPTH =
+      intBuilder(Name.UNDERFS_OBJECT_STORE_PARALLEL_LISTING_MAX_DEPTH)
+          .setDefaultValue(3)
+          .setDescription("The maximum number of directory levels a parallel recursive listing "
+              + "descends to discover sub-prefixes, until it has at least as many sub-prefixes "
+              + "as object store service threads. Deeper sub-prefixes are listed recursively.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_MEMORY_PARTS_MAX =
+      intBuilder(Name.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_MEMORY_PARTS_MAX)
+          .setDefaultValue(4)
+          .setDescription("The maximum number of parts staged in memory which the streaming "
+              + "uploads of an under file system upload at a time, shared by all its streams. "
+              + "A stream which fills a part while the limit is reached blocks until an upload "
+              + "finishes. The part each stream is writing does not count toward the limit.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
   public static final PropertyKey UNDERFS_OBJECT_STORE_SERVICE_THREADS =
       intBuilder(Name.UNDERFS_OBJECT_STORE_SERVICE_THREADS)
           .setDefaultValue(20)
@@ -1593,6 +1770,18 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.SERVER)
           .build();
+  public static final PropertyKey UNDERFS_S3_STREAMING_UPLOAD_MEMORY_BUFFER_ENABLED =
+      booleanBuilder(Name.UNDERFS_S3_STREAMING_UPLOAD_MEMORY_BUFFER_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("If true, S3A streaming upload stages parts in pooled memory buffers "
+              + "instead of temporary files on the local disk, and uploads them straight from "
+              + "memory. The memory of the streams of an under file system is bounded by "
+              + Name.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_MEMORY_PARTS_MAX
+              + " plus the number of open streams, times the part size. The part size starts "
+              + "at the partition size and doubles every 1000 parts of a stream, up to 5GB.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
   public static final PropertyKey UNDERFS_KODO_REQUESTS_MAX =
       intBuilder(Name.UNDERFS_KODO_REQUESTS_MAX)
           .setDefaultValue(64)
@@ -3353,6 +3542,51 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_UFS_CHANGE_EVENT_SOURCE_CLASS =
+      classBuilder(Name.MASTER_UFS_CHANGE_EVENT_SOURCE_CLASS)
+          .setDescription("The source of UFS change events, which invalidate the metadata "
+              + "sync state of the changed paths so that they are synced on their next access, "
+              + "without waiting for the sync interval to pass. Valid options include: "
+              + "`alluxio.master.file.activesync.S3EventNotificationFileSource`. "
+              + "If not set, change events are not consumed.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_UFS_CHANGE_EVENT_POLL_INTERVAL =
+      durationBuilder(Name.MASTER_UFS_CHANGE_EVENT_POLL_INTERVAL)
+          .setDefaultValue("1sec")
+          .setDescription("How often to poll the source of UFS change events.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_UFS_CHANGE_EVENT_POLL_BATCH_SIZE =
+      intBuilder(Name.MASTER_UFS_CHANGE_EVENT_POLL_BATCH_SIZE)
+          .setDefaultValue(1000)
+          .setDescription("The maximum number of UFS change events to consume in one poll.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_UFS_CHANGE_EVENT_FILE =
+      stringBuilder(Name.MASTER_UFS_CHANGE_EVENT_FILE)
+          .setDescription("The local file read by "
+              + "`alluxio.master.file.activesync.S3EventNotificationFileSource`. Every line of "
+              + "the file is an S3 event notification message in JSON, as delivered to an SQS "
+              + "queue, and new lines are consumed as they are appended. The offset of the "
+              + "processed lines is stored in the file with the same path and the suffix "
+              + "`.offset`, from which a new primary master resumes. The file may be truncated "
+              + "or replaced to reclaim space, after which it is read from its beginning.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_UFS_CHANGE_EVENT_S3_SCHEME =
+      stringBuilder(Name.MASTER_UFS_CHANGE_EVENT_S3_SCHEME)
+          .setDefaultValue("s3")
+          .setDescription("The scheme of the UFS paths of the objects in S3 event "
+              + "notifications, which must match the scheme of the UFS path of the mount "
+              + "points of the buckets.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_UFS_MANAGED_BLOCKING_ENABLED =
       booleanBuilder(Name.MASTER_UFS_MANAGED_BLOCKING_ENABLED)
           .setDescription("Whether to run UFS operations with managed blocking. "
@@ -3508,6 +3742,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setScope(Scope.MASTER)
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .build();
+  public static final PropertyKey MASTER_METADATA_INVALIDATION_LOG_SIZE =
+      intBuilder(Name.MASTER_METADATA_INVALIDATION_LOG_SIZE)
+          .setDefaultValue(65536)
+          .setDescription("The number of recent modifications of the namespace the primary "
+              + "master keeps for clients to invalidate the metadata they cached. A client "
+              + "which polls after more modifications than this invalidates its whole cache. "
+              + "See " + Name.USER_METADATA_CACHE_INVALIDATION_INTERVAL + ".")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_METADATA_SYNC_LOCK_POOL_INITSIZE =
       intBuilder(Name.MASTER_METADATA_SYNC_LOCK_POOL_INITSIZE)
           .setDefaultValue(1_000)
@@ -3584,6 +3828,52 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setScope(Scope.MASTER)
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .build();
+  public static final PropertyKey MASTER_METADATA_SYNC_MERGE_JOIN_ENABLED =
+      booleanBuilder(Name.MASTER_METADATA_SYNC_MERGE_JOIN_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether metadata sync diffs the UFS listing of a directory against "
+              + "its inodes with a single ordered merge of both, instead of looking up every UFS "
+              + "child in the inode store. The merge also finds the inodes deleted in the UFS, "
+              + "which are then removed without fetching their UFS status.")
+          .setScope(Scope.MASTER)
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .build();
+  public static final PropertyKey MASTER_METADATA_SYNC_LOAD_BATCH_SIZE =
+      intBuilder(Name.MASTER_METADATA_SYNC_LOAD_BATCH_SIZE)
+          .setDefaultValue(1000)
+          .setDescription("The number of children of a directory loaded during metadata sync "
+              + "after which their journal entries are handed to the journal writer, instead "
+              + "of waiting for the whole directory to be loaded. Must be at least 1.")
+          .setValueValidationFunction(CHECK_POSITIVE_INTEGER)
+          .setScope(Scope.MASTER)
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .build();
+  public static final PropertyKey MASTER_METADATA_SYNC_STATE_JOURNAL_ENABLED =
+      booleanBuilder(Name.MASTER_METADATA_SYNC_STATE_JOURNAL_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether the primary master journals the state of metadata sync: "
+              + "the last sync and invalidation times of the synced paths and the paths found "
+              + "absent in the UFS. Standby masters replay it, so that after a failover the new "
+              + "primary does not repeat the syncs done by the previous one. This adds a "
+              + "journal entry per synced path, coalesced over "
+              + Name.MASTER_METADATA_SYNC_STATE_JOURNAL_INTERVAL + ", and one per invalidation "
+              + "and absent path, which grows the journal and the checkpoints by up to "
+              + Name.MASTER_UFS_PATH_CACHE_CAPACITY + " paths of each kind.")
+          .setScope(Scope.MASTER)
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .build();
+  public static final PropertyKey MASTER_METADATA_SYNC_STATE_JOURNAL_INTERVAL =
+      durationBuilder(Name.MASTER_METADATA_SYNC_STATE_JOURNAL_INTERVAL)
+          .setDefaultValue("10sec")
+          .setDescription("The interval at which the primary master journals the sync states "
+              + "of the paths synced and the paths found absent since the last time, when "
+              + Name.MASTER_METADATA_SYNC_STATE_JOURNAL_ENABLED + " is true. Repeated syncs of "
+              + "a path within the interval are journaled once. A new primary repeats the syncs "
+              + "of the last interval, while invalidations are always journaled right away. "
+              + "Set to 0 to journal every sync.")
+          .setScope(Scope.MASTER)
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .build();
   public static final PropertyKey MASTER_METADATA_SYNC_TRAVERSAL_ORDER =
       enumBuilder(Name.MASTER_METADATA_SYNC_TRAVERSAL_ORDER,
           MetadataSyncTraversalOrder.class)
@@ -3866,6 +4156,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
   //
   // File system master related properties
   //
+  public static final PropertyKey MASTER_FILE_SYSTEM_GET_STATUSES_POOL_SIZE =
+      intBuilder(Name.MASTER_FILE_SYSTEM_GET_STATUSES_POOL_SIZE)
+          .setDefaultSupplier(() -> Math.max(4, Runtime.getRuntime().availableProcessors()),
+              "The number of processors available to the master, at least 4.")
+          .setDescription("The number of threads which resolve the paths of batched "
+              + "get-status calls in parallel. The paths of a call are grouped by their "
+              + "parent directory, which is locked once for all of them.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_FILE_SYSTEM_LISTSTATUS_RESULTS_PER_MESSAGE =
       intBuilder(Name.MASTER_FILE_SYSTEM_LISTSTATUS_RESULTS_PER_MESSAGE)
           .setDefaultValue(10000)
@@ -4060,6 +4360,51 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.ALL)
           .build();
+  public static final PropertyKey WORKER_IO_SCHEDULER_BANDWIDTH_LIMITS =
+      listBuilder(Name.WORKER_IO_SCHEDULER_BANDWIDTH_LIMITS)
+          .setDescription("Comma-separated list of per I/O class bandwidth limits in the form "
+              + "<class>=<bytes per second>, e.g. etl=200MB. Only applies to "
+              + "alluxio.worker.grpc.WeightedFairIoScheduler.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_IO_SCHEDULER_CLASS =
+      classBuilder(Name.WORKER_IO_SCHEDULER_CLASS)
+          .setDefaultValue("alluxio.worker.grpc.FifoIoScheduler")
+          .setDescription("The scheduler which orders the block reads and writes of clients "
+              + "on the worker. alluxio.worker.grpc.FifoIoScheduler runs them in arrival order. "
+              + "alluxio.worker.grpc.WeightedFairIoScheduler shares the worker between I/O "
+              + "classes in proportion to their weights.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_IO_SCHEDULER_CONCURRENCY =
+      intBuilder(Name.WORKER_IO_SCHEDULER_CONCURRENCY)
+          .setDefaultValue(64)
+          .setDescription("The maximum number of reads, and separately of writes, the weighted "
+              + "fair I/O scheduler runs at a time. Further requests wait in the queue of their "
+              + "I/O class.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_IO_SCHEDULER_IOPS_LIMITS =
+      listBuilder(Name.WORKER_IO_SCHEDULER_IOPS_LIMITS)
+          .setDescription("Comma-separated list of per I/O class limits on the number of I/O "
+              + "operations per second in the form <class>=<operations per second>, e.g. "
+              + "etl=1000. Only applies to alluxio.worker.grpc.WeightedFairIoScheduler.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_IO_SCHEDULER_WEIGHTS =
+      listBuilder(Name.WORKER_IO_SCHEDULER_WEIGHTS)
+          .setDescription("Comma-separated list of I/O class weights in the form "
+              + "<class>=<weight>, e.g. interactive=8,etl=1. Classes not listed have weight 1. "
+              + "The I/O class of a request is the client user if the user is named in the "
+              + "weights or limits, else the class tag sent by the client, see "
+              + "alluxio.user.io.class, if that class is named, else the class \"default\".")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_MANAGEMENT_BACKOFF_STRATEGY =
       enumBuilder(Name.WORKER_MANAGEMENT_BACKOFF_STRATEGY, BackoffStrategy.class)
           .setDefaultValue(BackoffStrategy.ANY)
@@ -4352,6 +4697,42 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_NETWORK_READER_ASYNC_ENABLED =
+      booleanBuilder(Name.WORKER_NETWORK_READER_ASYNC_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("(Experimental) Whether remote reads of blocks in the local block "
+              + "store are served by submitting positioned reads to an asynchronous read "
+              + "engine instead of blocking the data reader thread on each chunk.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_NETWORK_READER_ASYNC_ENGINE_CLASS =
+      classBuilder(Name.WORKER_NETWORK_READER_ASYNC_ENGINE_CLASS)
+          .setDefaultValue("alluxio.worker.block.io.NioAsyncBlockReadEngine")
+          .setDescription("The asynchronous read engine used when "
+              + Name.WORKER_NETWORK_READER_ASYNC_ENABLED + " is true. If the engine cannot "
+              + "be created, e.g. a native library is missing, the worker falls back to "
+              + "`alluxio.worker.block.io.NioAsyncBlockReadEngine`.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_NETWORK_READER_ASYNC_QUEUE_DEPTH =
+      intBuilder(Name.WORKER_NETWORK_READER_ASYNC_QUEUE_DEPTH)
+          .setDefaultValue(8)
+          .setDescription("The maximum number of chunk reads a single read stream can have "
+              + "outstanding in the asynchronous read engine.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_NETWORK_READER_ASYNC_THREADS =
+      intBuilder(Name.WORKER_NETWORK_READER_ASYNC_THREADS)
+          .setDefaultSupplier(() -> Math.max(4, Runtime.getRuntime().availableProcessors()),
+              "{CPU core count}")
+          .setDescription("The number of threads the asynchronous read engine uses to "
+              + "complete positioned reads.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_NETWORK_READER_BUFFER_SIZE_BYTES =
       dataSizeBuilder(Name.WORKER_NETWORK_READER_BUFFER_SIZE_BYTES)
           .setDefaultValue("4MB")
@@ -4371,6 +4752,17 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_NETWORK_READER_BUFFER_SIZE_MAX_BYTES =
+      dataSizeBuilder(Name.WORKER_NETWORK_READER_BUFFER_SIZE_MAX_BYTES)
+          .setDefaultValue("64MB")
+          .setDescription("The maximum flow control window a client can grant to the worker "
+              + "for a read stream. A client which adapts its window to the latency and "
+              + "consumption rate of the stream can raise the amount of data not received by "
+              + "the client above " + Name.WORKER_NETWORK_READER_BUFFER_SIZE_BYTES
+              + " up to this value.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_NETWORK_READER_MAX_CHUNK_SIZE_BYTES =
       dataSizeBuilder(Name.WORKER_NETWORK_READER_MAX_CHUNK_SIZE_BYTES)
           .setDefaultValue("2MB")
@@ -4378,6 +4770,23 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_NETWORK_READER_MIN_CHUNK_SIZE_BYTES =
+      dataSizeBuilder(Name.WORKER_NETWORK_READER_MIN_CHUNK_SIZE_BYTES)
+          .setDefaultValue("64KB")
+          .setDescription("When a client requests adaptive chunk sizing, the chunk size the "
+              + "worker starts the read stream with. The chunk size doubles with every chunk "
+              + "sent until it reaches the chunk size requested by the client.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_NETWORK_READER_RANGES_COALESCE_GAP_BYTES =
+      dataSizeBuilder(Name.WORKER_NETWORK_READER_RANGES_COALESCE_GAP_BYTES)
+          .setDefaultValue("64KB")
+          .setDescription("When a client reads several ranges of a block in one request, the "
+              + "worker reads ranges separated by at most this many bytes as a single range.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_NETWORK_SHUTDOWN_TIMEOUT =
       durationBuilder(Name.WORKER_NETWORK_SHUTDOWN_TIMEOUT)
           .setDefaultValue("15sec")
@@ -4683,6 +5092,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_SHORT_CIRCUIT_FD_SOCKET_ADDRESS =
+      stringBuilder(Name.WORKER_SHORT_CIRCUIT_FD_SOCKET_ADDRESS)
+          .setDescription("The path of the UNIX domain socket the worker passes open "
+              + "descriptors of block files over to short circuit readers, for clients with "
+              + Name.USER_SHORT_CIRCUIT_MMAP_ENABLED + " set. A descriptor is only passed for a "
+              + "block the client holds open through the worker, which keeps the block from "
+              + "being evicted until the client closes it. Requires the epoll channel.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_STORAGE_CHECKER_ENABLED =
       booleanBuilder(Name.WORKER_STORAGE_CHECKER_ENABLED)
           .setDefaultValue(true)
@@ -4705,6 +5124,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_TIERED_STORE_DIRECT_IO_BUFFER_SIZE =
+      dataSizeBuilder(Name.WORKER_TIERED_STORE_DIRECT_IO_BUFFER_SIZE)
+          .setDefaultValue("1MB")
+          .setDescription("The size of the aligned buffers the worker stages direct I/O "
+              + "reads and writes of tiers with direct I/O enabled in. Rounded up to a multiple "
+              + "of 4KB.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_TIERED_STORE_FREE_AHEAD_BYTES =
       dataSizeBuilder(Name.WORKER_TIERED_STORE_FREE_AHEAD_BYTES)
           .setDefaultValue(0)
@@ -4726,6 +5154,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_TIERED_STORE_LEVEL0_DIRECT_IO_ENABLED =
+      new Builder(PropertyType.BOOLEAN, Template.WORKER_TIERED_STORE_LEVEL_DIRECT_IO_ENABLED, 0)
+          .setDefaultValue(false)
+          .setDescription("Whether the worker reads and writes the blocks of the top storage "
+              + "tier with direct I/O, bypassing the OS page cache. Directories with the MEM "
+              + "medium type always use buffered I/O.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_TIERED_STORE_LEVEL0_DIRS_PATH =
       new Builder(PropertyType.LIST, Optional.of(","),
           Template.WORKER_TIERED_STORE_LEVEL_DIRS_PATH, 0)
@@ -4786,6 +5223,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_TIERED_STORE_LEVEL1_DIRECT_IO_ENABLED =
+      new Builder(PropertyType.BOOLEAN, Template.WORKER_TIERED_STORE_LEVEL_DIRECT_IO_ENABLED, 1)
+          .setDefaultValue(false)
+          .setDescription("Whether the worker reads and writes the blocks of the second storage "
+              + "tier with direct I/O, bypassing the OS page cache. Directories with the MEM "
+              + "medium type always use buffered I/O.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_TIERED_STORE_LEVEL1_DIRS_PATH =
       new Builder(PropertyType.LIST, Optional.of(","),
           Template.WORKER_TIERED_STORE_LEVEL_DIRS_PATH, 1)
@@ -4840,6 +5286,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_TIERED_STORE_LEVEL2_DIRECT_IO_ENABLED =
+      new Builder(PropertyType.BOOLEAN, Template.WORKER_TIERED_STORE_LEVEL_DIRECT_IO_ENABLED, 2)
+          .setDefaultValue(false)
+          .setDescription("Whether the worker reads and writes the blocks of the third storage "
+              + "tier with direct I/O, bypassing the OS page cache. Directories with the MEM "
+              + "medium type always use buffered I/O.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_TIERED_STORE_LEVEL2_DIRS_PATH =
       new Builder(PropertyType.LIST, Optional.of(","),
           Template.WORKER_TIERED_STORE_LEVEL_DIRS_PATH, 2)
@@ -4913,6 +5368,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_UFS_READ_COALESCING_ENABLED =
+      booleanBuilder(Name.WORKER_UFS_READ_COALESCING_ENABLED)
+          .setDefaultValue(true)
+          .setDescription("Whether concurrent reads of the same page of a block which is not "
+              + "cached on the paged block store share a single read from the under storage "
+              + "and a single cache fill, instead of each reading the page.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_UFS_INSTREAM_CACHE_ENABLED =
       booleanBuilder(Name.WORKER_UFS_INSTREAM_CACHE_ENABLED)
           .setDefaultValue(true)
@@ -5381,6 +5845,25 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDescription("The target min replication level of a file in Alluxio space.")
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_FILE_REPLICATION_PIPELINE_ENABLED =
+      booleanBuilder(Name.USER_FILE_REPLICATION_PIPELINE_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether a block written to several workers at once, as asked by "
+              + Name.USER_FILE_REPLICATION_MIN + ", is sent by the client to the first worker "
+              + "only, which forwards the data down a chain of the other workers as it is "
+              + "received. Otherwise the client sends the data to every worker itself. Writes "
+              + "falling back to the under storage always send the data to every worker.")
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_FILE_REPLICATION_PIPELINE_QUORUM =
+      intBuilder(Name.USER_FILE_REPLICATION_PIPELINE_QUORUM)
+          .setDefaultValue(0)
+          .setDescription("When " + Name.USER_FILE_REPLICATION_PIPELINE_ENABLED + " is true, the "
+              + "number of workers at the head of the chain which must have the data before a "
+              + "block write succeeds. Workers further down the chain are written at best "
+              + "effort and dropped from the chain on failure. 0 requires all the workers.")
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_FILE_REPLICATION_DURABLE =
       intBuilder(Name.USER_FILE_REPLICATION_DURABLE)
           .setDefaultValue(1)
@@ -5444,6 +5927,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
               + "format pattern.")
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_FILE_ASYNC_METADATA_THREADS =
+      intBuilder(Name.USER_FILE_ASYNC_METADATA_THREADS)
+          .setDefaultValue(4)
+          .setDescription("The number of threads which run the metadata calls of the "
+              + "asynchronous file system API, and the lookups of the block and worker of its "
+              + "data reads. Data reads of the asynchronous API do not hold a thread while "
+              + "waiting on the worker.")
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_FILE_BUFFER_BYTES =
       dataSizeBuilder(Name.USER_FILE_BUFFER_BYTES)
           .setDefaultValue("8MB")
@@ -5473,6 +5965,13 @@ public final class PropertyKey implements Comparable<PropertyKey> {
               + "before attempting to delete persisted directories recursively.")
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_FILE_GET_STATUSES_BATCH_SIZE =
+      intBuilder(Name.USER_FILE_GET_STATUSES_BATCH_SIZE)
+          .setDefaultValue(10000)
+          .setDescription("The maximum number of paths sent to the master in one batched "
+              + "get-status call. Larger batches are split into several calls.")
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_FILE_MASTER_CLIENT_POOL_SIZE_MIN =
       intBuilder(Name.USER_FILE_MASTER_CLIENT_POOL_SIZE_MIN)
           .setDefaultValue(0)
@@ -5540,6 +6039,44 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_FILE_READAHEAD_ENABLED =
+      booleanBuilder(Name.USER_FILE_READAHEAD_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether file streams read ahead of sequential readers. When a "
+              + "reader reaches blocks of a file in order, the streams of the next blocks are "
+              + "opened in the background and their first chunks fetched, so reading does not "
+              + "stall at block boundaries.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_FILE_READAHEAD_MAX_BLOCKS =
+      intBuilder(Name.USER_FILE_READAHEAD_MAX_BLOCKS)
+          .setDefaultValue(2)
+          .setDescription("The maximum number of blocks a file stream reads ahead, if "
+              + Name.USER_FILE_READAHEAD_ENABLED + " is true. The stream reads one block "
+              + "ahead once a block is read from its start, and one more block for every "
+              + "further block read in order, up to this number.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_FILE_READAHEAD_MAX_BYTES =
+      dataSizeBuilder(Name.USER_FILE_READAHEAD_MAX_BYTES)
+          .setDefaultValue("32MB")
+          .setDescription("The maximum number of bytes a file stream may buffer for the "
+              + "blocks it reads ahead. Every block read ahead is charged the chunks its "
+              + "reader buffers, that is " + Name.USER_STREAMING_READER_BUFFER_SIZE_MESSAGES
+              + " chunks of " + Name.USER_STREAMING_READER_CHUNK_SIZE_BYTES + ".")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_FILE_READAHEAD_THREADS =
+      intBuilder(Name.USER_FILE_READAHEAD_THREADS)
+          .setDefaultValue(16)
+          .setDescription("The maximum number of threads of a client which open the streams of "
+              + "blocks read ahead, shared by all its file streams. Blocks are not read ahead "
+              + "while all the threads are busy.")
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_FILE_READ_TYPE_DEFAULT =
       enumBuilder(Name.USER_FILE_READ_TYPE_DEFAULT, ReadType.class)
           .setDefaultValue(ReadType.CACHE)
@@ -5602,6 +6139,45 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDefaultValue(false)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_BLOCK_READ_HEDGE_ENABLED =
+      booleanBuilder(Name.USER_BLOCK_READ_HEDGE_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether block reads from a worker over the network are hedged. When "
+              + "a chunk has not arrived after the latency percentile set by "
+              + Name.USER_BLOCK_READ_HEDGE_PERCENTILE + ", the same read is issued to another "
+              + "worker holding the block, and the read goes on with whichever worker answers "
+              + "first.")
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_BLOCK_READ_HEDGE_PERCENTILE =
+      doubleBuilder(Name.USER_BLOCK_READ_HEDGE_PERCENTILE)
+          .setDefaultValue(95.0)
+          .setDescription("The percentile of the recent chunk read latencies of a worker "
+              + "after which a hedged read of a chunk from the worker is issued, see "
+              + Name.USER_BLOCK_READ_HEDGE_ENABLED + ".")
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_BLOCK_READ_HEDGE_MIN_DELAY =
+      durationBuilder(Name.USER_BLOCK_READ_HEDGE_MIN_DELAY)
+          .setDefaultValue("10ms")
+          .setDescription("The minimum time to wait for a chunk before issuing a hedged read, "
+              + "which bounds the extra load on the workers when chunk latencies are low.")
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_BLOCK_READ_HEDGE_THREADS =
+      intBuilder(Name.USER_BLOCK_READ_HEDGE_THREADS)
+          .setDefaultValue(16)
+          .setDescription("The maximum number of threads of a client which read hedged chunks. "
+              + "Reads are not hedged while all the threads are busy.")
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_BLOCK_READ_HEDGE_UFS_ENABLED =
+      booleanBuilder(Name.USER_BLOCK_READ_HEDGE_UFS_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether a hedged read may read the block from the under storage "
+              + "through another worker, when no other worker holds the block.")
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_BLOCK_READ_METRICS_ENABLED =
       booleanBuilder(Name.USER_BLOCK_READ_METRICS_ENABLED)
           .setDescription("Whether detailed block read metrics will be recorded and sink.")
@@ -5929,6 +6505,35 @@ public final class PropertyKey implements Comparable<PropertyKey> {
               + "when Alluxio workers are required but not ready.")
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_FILE_WRITE_PARALLEL_BLOCKS =
+      intBuilder(Name.USER_FILE_WRITE_PARALLEL_BLOCKS)
+          .setDefaultValue(1)
+          .setDescription("The maximum number of blocks of a file written to workers at the "
+              + "same time by MUST_CACHE and ASYNC_THROUGH writes. Above 1, the data of each "
+              + "block is sent to its worker in the background, the stream of the next block is "
+              + "opened while the current one is filled, and the location policy is asked for a "
+              + "worker not busy with another block of the file. Blocks are committed in order "
+              + "when the file is closed. 1 writes one block at a time.")
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_FILE_WRITE_PARALLEL_BUFFER_SIZE =
+      dataSizeBuilder(Name.USER_FILE_WRITE_PARALLEL_BUFFER_SIZE)
+          .setDefaultValue("16MB")
+          .setDescription("When " + Name.USER_FILE_WRITE_PARALLEL_BLOCKS + " is above 1, the "
+              + "amount of data of each block buffered in the client while it is sent to the "
+              + "worker. The writer moves on to the next block only once the rest of the current "
+              + "block fits in the buffer, so blocks overlap more with a larger buffer, at the "
+              + "cost of client memory of up to this size times the number of parallel blocks.")
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_IO_CLASS =
+      stringBuilder(Name.USER_IO_CLASS)
+          .setDescription("The I/O class tag attached to the block reads and writes of the "
+              + "client, e.g. the name of its job pool. Workers running a weighted fair I/O "
+              + "scheduler share their bandwidth between I/O classes. The client user is used "
+              + "if unset.")
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_LOCAL_READER_CHUNK_SIZE_BYTES =
       dataSizeBuilder(Name.USER_LOCAL_READER_CHUNK_SIZE_BYTES)
           .setDefaultValue("8MB")
@@ -5984,6 +6589,17 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_METADATA_CACHE_INVALIDATION_INTERVAL =
+      durationBuilder(Name.USER_METADATA_CACHE_INVALIDATION_INTERVAL)
+          .setDefaultValue("1sec")
+          .setDescription("The interval at which a client with the metadata cache enabled asks "
+              + "the master for the paths modified since its last poll and drops their cached "
+              + "metadata, so the cached metadata is at most this stale and "
+              + Name.USER_METADATA_CACHE_EXPIRATION_TIME + " can be raised. Set to a "
+              + "non-positive value to rely on the expiration time only.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_METRICS_COLLECTION_ENABLED =
       booleanBuilder(Name.USER_METRICS_COLLECTION_ENABLED)
           .setDefaultValue(true)
@@ -6046,6 +6662,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_STREAMING_READER_ADAPTIVE_CHUNK_SIZE_ENABLED =
+      booleanBuilder(Name.USER_STREAMING_READER_ADAPTIVE_CHUNK_SIZE_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("When a client reads from a remote worker, whether the worker "
+              + "starts the stream with small chunks and grows them up to "
+              + Name.USER_STREAMING_READER_CHUNK_SIZE_BYTES + ", so that short reads do not "
+              + "pay for transferring full chunks.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_STREAMING_READER_BUFFER_SIZE_MESSAGES =
       intBuilder(Name.USER_STREAMING_READER_BUFFER_SIZE_MESSAGES)
           .setAlias(Name.USER_NETWORK_READER_BUFFER_SIZE_MESSAGES)
@@ -6056,6 +6682,36 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_STREAMING_READER_FLOW_CONTROL_ADAPTIVE_ENABLED =
+      booleanBuilder(Name.USER_STREAMING_READER_FLOW_CONTROL_ADAPTIVE_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("When a client reads from a remote worker, whether the client "
+              + "grants the worker a flow control window derived from the observed round "
+              + "trip time and consumption rate of the stream, instead of relying on the "
+              + "fixed window of the worker.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_STREAMING_READER_FLOW_CONTROL_WINDOW_MAX =
+      dataSizeBuilder(Name.USER_STREAMING_READER_FLOW_CONTROL_WINDOW_MAX)
+          .setDefaultValue("64MB")
+          .setDescription("The maximum flow control window the client grants to a worker "
+              + "when " + Name.USER_STREAMING_READER_FLOW_CONTROL_ADAPTIVE_ENABLED
+              + " is true.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_STREAMING_READER_FLOW_CONTROL_WINDOW_MIN =
+      dataSizeBuilder(Name.USER_STREAMING_READER_FLOW_CONTROL_WINDOW_MIN)
+          .setDefaultValue("4MB")
+          .setDescription("The minimum flow control window the client grants to a worker "
+              + "when " + Name.USER_STREAMING_READER_FLOW_CONTROL_ADAPTIVE_ENABLED
+              + " is true. It defaults to the default of "
+              + Name.WORKER_NETWORK_READER_BUFFER_SIZE_BYTES + ", so that an adaptive client "
+              + "never grants a smaller window than the worker uses otherwise.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_STREAMING_READER_CHUNK_SIZE_BYTES =
       dataSizeBuilder(Name.USER_STREAMING_READER_CHUNK_SIZE_BYTES)
           .setAlias(Name.USER_NETWORK_READER_CHUNK_SIZE_BYTES)
@@ -6386,6 +7042,19 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_NETWORK_STREAMING_STRIPES =
+      intBuilder(Name.USER_NETWORK_STREAMING_STRIPES)
+          .setDefaultValue(1)
+          .setDescription("The number of physical connections a streaming channel to a "
+              + "target host is striped over. Calls on the channel are spread over the "
+              + "connections in turn, and each connection is served by its own thread of the "
+              + "streaming event loop group, so a single client is not limited by the flow "
+              + "control window and event loop thread of one connection. Set this no higher "
+              + "than " + Name.USER_NETWORK_STREAMING_NETTY_WORKER_THREADS + " to give each "
+              + "connection a thread of its own. 1 disables striping.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_RPC_RETRY_BASE_SLEEP_MS =
       durationBuilder(Name.USER_RPC_RETRY_BASE_SLEEP_MS)
           .setAlias("alluxio.user.rpc.retry.base.sleep.ms")
@@ -6439,6 +7108,7 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDescription(format("When an Alluxio client reads a file from the UFS, it "
               + "delegates the read to an Alluxio worker. The client uses this policy to choose "
               + "which worker to read through. Built-in choices: %s.", Arrays.asList(
+              javadocLink("alluxio.client.block.policy.ConsistentHashPolicy"),
               javadocLink("alluxio.client.block.policy.DeterministicHashPolicy"),
               javadocLink("alluxio.client.block.policy.LocalFirstAvoidEvictionPolicy"),
               javadocLink("alluxio.client.block.policy.LocalFirstPolicy"),
@@ -6448,6 +7118,26 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_UFS_BLOCK_READ_LOCATION_POLICY_CONSISTENT_HASH_SHARDS =
+      intBuilder(Name.USER_UFS_BLOCK_READ_LOCATION_POLICY_CONSISTENT_HASH_SHARDS)
+          .setDefaultValue(1)
+          .setDescription("When alluxio.user.ufs.block.read.location.policy is set to "
+              + "alluxio.client.block.policy.ConsistentHashPolicy, this specifies the number of "
+              + "workers following a block on the hash ring which a read of the block is "
+              + "randomly delegated to.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_UFS_BLOCK_READ_LOCATION_POLICY_CONSISTENT_HASH_VNODES =
+      intBuilder(Name.USER_UFS_BLOCK_READ_LOCATION_POLICY_CONSISTENT_HASH_VNODES)
+          .setDefaultValue(200)
+          .setDescription("When alluxio.user.ufs.block.read.location.policy is set to "
+              + "alluxio.client.block.policy.ConsistentHashPolicy, this specifies the number of "
+              + "virtual nodes, i.e. points, of each worker on the hash ring. More virtual nodes "
+              + "spread the blocks more evenly across the workers.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_UFS_BLOCK_READ_LOCATION_POLICY_DETERMINISTIC_HASH_SHARDS =
       intBuilder(Name.USER_UFS_BLOCK_READ_LOCATION_POLICY_DETERMINISTIC_HASH_SHARDS)
           .setDefaultValue(1)
@@ -6516,6 +7206,17 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_SHORT_CIRCUIT_MMAP_ENABLED =
+      booleanBuilder(Name.USER_SHORT_CIRCUIT_MMAP_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether short circuit reads memory-map the whole block file and "
+              + "read out of the mapping. If the worker sets "
+              + Name.WORKER_SHORT_CIRCUIT_FD_SOCKET_ADDRESS + ", the client receives an open "
+              + "descriptor of the block file over that socket instead of opening the path, "
+              + "so it needs no permission on the storage directories of the worker.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_SHORT_CIRCUIT_PREFERRED =
       booleanBuilder(Name.USER_SHORT_CIRCUIT_PREFERRED)
           .setDefaultValue(false)
@@ -7384,6 +8085,22 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.underfs.eventual.consistency.retry.max.num";
     public static final String UNDERFS_EVENTUAL_CONSISTENCY_RETRY_MAX_SLEEP_MS =
         "alluxio.underfs.eventual.consistency.retry.max.sleep";
+    public static final String UNDERFS_CONCURRENCY_LIMIT_ENABLED =
+        "alluxio.underfs.concurrency.limit.enabled";
+    public static final String UNDERFS_CONCURRENCY_LIMIT_INITIAL =
+        "alluxio.underfs.concurrency.limit.initial";
+    public static final String UNDERFS_CONCURRENCY_LIMIT_MIN =
+        "alluxio.underfs.concurrency.limit.min";
+    public static final String UNDERFS_CONCURRENCY_LIMIT_MAX =
+        "alluxio.underfs.concurrency.limit.max";
+    public static final String UNDERFS_CONCURRENCY_LIMIT_BACKOFF_RATIO =
+        "alluxio.underfs.concurrency.limit.backoff.ratio";
+    public static final String UNDERFS_CONCURRENCY_LIMIT_LATENCY_TOLERANCE =
+        "alluxio.underfs.concurrency.limit.latency.tolerance";
+    public static final String UNDERFS_CONCURRENCY_LIMIT_WAIT_TIMEOUT =
+        "alluxio.underfs.concurrency.limit.wait.timeout";
+    public static final String UNDERFS_REQUEST_RATE_LIMIT =
+        "alluxio.underfs.request.rate.limit";
     public static final String UNDERFS_LISTING_LENGTH = "alluxio.underfs.listing.length";
     public static final String UNDERFS_LOGGING_THRESHOLD = "alluxio.underfs.logging.threshold";
     public static final String UNDERFS_GCS_DEFAULT_MODE = "alluxio.underfs.gcs.default.mode";
@@ -7405,6 +8122,12 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.underfs.gcs.retry.max";
     public static final String UNDERFS_GCS_VERSION = "alluxio.underfs.gcs.version";
     public static final String UNDERFS_HDFS_CONFIGURATION = "alluxio.underfs.hdfs.configuration";
+    public static final String UNDERFS_HDFS_HEDGED_READ_ENABLED =
+        "alluxio.underfs.hdfs.hedged.read.enabled";
+    public static final String UNDERFS_HDFS_HEDGED_READ_THREADS =
+        "alluxio.underfs.hdfs.hedged.read.threads";
+    public static final String UNDERFS_HDFS_HEDGED_READ_THRESHOLD =
+        "alluxio.underfs.hdfs.hedged.read.threshold";
     public static final String UNDERFS_HDFS_IMPL = "alluxio.underfs.hdfs.impl";
     public static final String UNDERFS_HDFS_PREFIXES = "alluxio.underfs.hdfs.prefixes";
     public static final String UNDERFS_OZONE_PREFIXES = "alluxio.underfs.ozone.prefixes";
@@ -7423,6 +8146,20 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String UNDERFS_VERSION = "alluxio.underfs.version";
     public static final String UNDERFS_OBJECT_STORE_BREADCRUMBS_ENABLED =
         "alluxio.underfs.object.store.breadcrumbs.enabled";
+    public static final String UNDERFS_OBJECT_STORE_MULTI_RANGE_COALESCE_SIZE =
+        "alluxio.underfs.object.store.multi.range.coalesce.size";
+    public static final String UNDERFS_OBJECT_STORE_MULTI_RANGE_OPEN_STREAMS_MAX =
+        "alluxio.underfs.object.store.multi.range.open.streams.max";
+    public static final String UNDERFS_OBJECT_STORE_MULTI_RANGE_PREFETCH_ENABLED =
+        "alluxio.underfs.object.store.multi.range.prefetch.enabled";
+    public static final String UNDERFS_OBJECT_STORE_MULTI_RANGE_PREFETCH_THREADS =
+        "alluxio.underfs.object.store.multi.range.prefetch.threads";
+    public static final String UNDERFS_OBJECT_STORE_PARALLEL_LISTING_ENABLED =
+        "alluxio.underfs.object.store.parallel.listing.enabled";
+    public static final String UNDERFS_OBJECT_STORE_PARALLEL_LISTING_MAX_DEPTH =
+        "alluxio.underfs.object.store.parallel.listing.max.depth";
+    public static final String UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_MEMORY_PARTS_MAX =
+        "alluxio.underfs.object.store.streaming.upload.memory.parts.max";
     public static final String UNDERFS_OBJECT_STORE_SERVICE_THREADS =
         "alluxio.underfs.object.store.service.threads";
     public static final String UNDERFS_OBJECT_STORE_SKIP_PARENT_DIRECTORY_CREATION =
@@ -7489,6 +8226,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String KODO_DOWNLOAD_HOST = "alluxio.underfs.kodo.downloadhost";
     public static final String UNDERFS_KODO_CONNECT_TIMEOUT =
         "alluxio.underfs.kodo.connect.timeout";
+    public static final String UNDERFS_S3_STREAMING_UPLOAD_MEMORY_BUFFER_ENABLED =
+        "alluxio.underfs.s3.streaming.upload.memory.buffer.enabled";
     public static final String UNDERFS_KODO_REQUESTS_MAX = "alluxio.underfs.kodo.requests.max";
     public static final String UNDERFS_CEPHFS_AUTH_ID =
         "alluxio.underfs.cephfs.auth.id";
@@ -7717,6 +8456,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String MASTER_EMBEDDED_JOURNAL_TRANSPORT_MAX_INBOUND_MESSAGE_SIZE =
         "alluxio.master.embedded.journal.transport.max.inbound.message.size";
     public static final String MASTER_KEYTAB_KEY_FILE = "alluxio.master.keytab.file";
+    public static final String MASTER_METADATA_INVALIDATION_LOG_SIZE =
+        "alluxio.master.metadata.invalidation.log.size";
     public static final String MASTER_METADATA_SYNC_LOCK_POOL_INITSIZE =
         "alluxio.master.metadata.sync.lock.pool.initsize";
     public static final String MASTER_METADATA_SYNC_LOCK_POOL_LOW_WATERMARK =
@@ -7733,10 +8474,18 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.metadata.sync.executor.pool.size";
     public static final String MASTER_METADATA_SYNC_INSTRUMENT_EXECUTOR =
         "alluxio.master.metadata.sync.instrument.executor";
+    public static final String MASTER_METADATA_SYNC_LOAD_BATCH_SIZE =
+        "alluxio.master.metadata.sync.load.batch.size";
     public static final String MASTER_METADATA_SYNC_REPORT_FAILURE =
         "alluxio.master.metadata.sync.report.failure";
     public static final String MASTER_METADATA_SYNC_UFS_PREFETCH_POOL_SIZE =
         "alluxio.master.metadata.sync.ufs.prefetch.pool.size";
+    public static final String MASTER_METADATA_SYNC_MERGE_JOIN_ENABLED =
+        "alluxio.master.metadata.sync.merge.join.enabled";
+    public static final String MASTER_METADATA_SYNC_STATE_JOURNAL_ENABLED =
+        "alluxio.master.metadata.sync.state.journal.enabled";
+    public static final String MASTER_METADATA_SYNC_STATE_JOURNAL_INTERVAL =
+        "alluxio.master.metadata.sync.state.journal.interval";
     public static final String MASTER_METADATA_SYNC_TRAVERSAL_ORDER =
         "alluxio.master.metadata.sync.traversal.order";
     public static final String MASTER_METADATA_SYNC_UFS_PREFETCH_ENABLED =
@@ -7910,6 +8659,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.ufs.block.location.cache.capacity";
     public static final String MASTER_UFS_JOURNAL_MAX_CATCHUP_TIME =
         "alluxio.master.ufs.journal.max.catchup.time";
+    public static final String MASTER_UFS_CHANGE_EVENT_SOURCE_CLASS =
+        "alluxio.master.ufs.change.event.source.class";
+    public static final String MASTER_UFS_CHANGE_EVENT_POLL_INTERVAL =
+        "alluxio.master.ufs.change.event.poll.interval";
+    public static final String MASTER_UFS_CHANGE_EVENT_POLL_BATCH_SIZE =
+        "alluxio.master.ufs.change.event.poll.batch.size";
+    public static final String MASTER_UFS_CHANGE_EVENT_FILE =
+        "alluxio.master.ufs.change.event.file";
+    public static final String MASTER_UFS_CHANGE_EVENT_S3_SCHEME =
+        "alluxio.master.ufs.change.event.s3.scheme";
     public static final String MASTER_UFS_MANAGED_BLOCKING_ENABLED =
         "alluxio.master.ufs.managed.blocking.enabled";
     public static final String MASTER_UFS_PATH_CACHE_CAPACITY =
@@ -7960,6 +8719,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     //
     // File system master related properties
     //
+    public static final String MASTER_FILE_SYSTEM_GET_STATUSES_POOL_SIZE =
+        "alluxio.master.file.system.get.statuses.pool.size";
     public static final String MASTER_FILE_SYSTEM_LISTSTATUS_RESULTS_PER_MESSAGE =
         "alluxio.master.filesystem.liststatus.result.message.length";
     public static final String MASTER_FILE_SYSTEM_OPERATION_RETRY_CACHE_ENABLED =
@@ -8058,6 +8819,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.fuse.mount.point";
     public static final String WORKER_MANAGEMENT_TIER_ALIGN_RESERVED_BYTES =
         "alluxio.worker.management.tier.align.reserved.bytes";
+    public static final String WORKER_IO_SCHEDULER_BANDWIDTH_LIMITS =
+        "alluxio.worker.io.scheduler.bandwidth.limits";
+    public static final String WORKER_IO_SCHEDULER_CLASS =
+        "alluxio.worker.io.scheduler.class";
+    public static final String WORKER_IO_SCHEDULER_CONCURRENCY =
+        "alluxio.worker.io.scheduler.concurrency";
+    public static final String WORKER_IO_SCHEDULER_IOPS_LIMITS =
+        "alluxio.worker.io.scheduler.iops.limits";
+    public static final String WORKER_IO_SCHEDULER_WEIGHTS =
+        "alluxio.worker.io.scheduler.weights";
     public static final String WORKER_MANAGEMENT_BACKOFF_STRATEGY =
         "alluxio.worker.management.backoff.strategy";
     public static final String WORKER_MANAGEMENT_LOAD_DETECTION_COOL_DOWN_TIME =
@@ -8118,12 +8889,26 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.network.netty.watermark.low";
     public static final String WORKER_NETWORK_NETTY_WORKER_THREADS =
         "alluxio.worker.network.netty.worker.threads";
+    public static final String WORKER_NETWORK_READER_ASYNC_ENABLED =
+        "alluxio.worker.network.reader.async.enabled";
+    public static final String WORKER_NETWORK_READER_ASYNC_ENGINE_CLASS =
+        "alluxio.worker.network.reader.async.engine.class";
+    public static final String WORKER_NETWORK_READER_ASYNC_QUEUE_DEPTH =
+        "alluxio.worker.network.reader.async.queue.depth";
+    public static final String WORKER_NETWORK_READER_ASYNC_THREADS =
+        "alluxio.worker.network.reader.async.threads";
     public static final String WORKER_NETWORK_READER_BUFFER_SIZE_BYTES =
         "alluxio.worker.network.reader.buffer.size";
     public static final String WORKER_NETWORK_READER_BUFFER_POOLED =
         "alluxio.worker.network.reader.buffer.pooled";
+    public static final String WORKER_NETWORK_READER_BUFFER_SIZE_MAX_BYTES =
+        "alluxio.worker.network.reader.buffer.size.max";
     public static final String WORKER_NETWORK_READER_MAX_CHUNK_SIZE_BYTES =
         "alluxio.worker.network.reader.max.chunk.size.bytes";
+    public static final String WORKER_NETWORK_READER_MIN_CHUNK_SIZE_BYTES =
+        "alluxio.worker.network.reader.min.chunk.size.bytes";
+    public static final String WORKER_NETWORK_READER_RANGES_COALESCE_GAP_BYTES =
+        "alluxio.worker.network.reader.ranges.coalesce.gap";
     public static final String WORKER_NETWORK_SHUTDOWN_TIMEOUT =
         "alluxio.worker.network.shutdown.timeout";
     public static final String WORKER_NETWORK_ZEROCOPY_ENABLED =
@@ -8209,12 +8994,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.rpc.executor.fjp.async";
     public static final String WORKER_SESSION_TIMEOUT_MS = "alluxio.worker.session.timeout";
     public static final String WORKER_STARTUP_TIMEOUT = "alluxio.worker.startup.timeout";
+    public static final String WORKER_SHORT_CIRCUIT_FD_SOCKET_ADDRESS =
+        "alluxio.worker.short.circuit.fd.socket.address";
     public static final String WORKER_STORAGE_CHECKER_ENABLED =
         "alluxio.worker.storage.checker.enabled";
     public static final String WORKER_TIERED_STORE_BLOCK_LOCK_READERS =
         "alluxio.worker.tieredstore.block.lock.readers";
     public static final String WORKER_TIERED_STORE_BLOCK_LOCKS =
         "alluxio.worker.tieredstore.block.locks";
+    public static final String WORKER_TIERED_STORE_DIRECT_IO_BUFFER_SIZE =
+        "alluxio.worker.tieredstore.direct.io.buffer.size";
     public static final String WORKER_TIERED_STORE_FREE_AHEAD_BYTES =
         "alluxio.worker.tieredstore.free.ahead.bytes";
     public static final String WORKER_TIERED_STORE_LEVELS = "alluxio.worker.tieredstore.levels";
@@ -8223,6 +9012,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String WORKER_WEB_PORT = "alluxio.worker.web.port";
     public static final String WORKER_UFS_INSTREAM_CACHE_EXPIRATION_TIME =
         "alluxio.worker.ufs.instream.cache.expiration.time";
+    public static final String WORKER_UFS_READ_COALESCING_ENABLED =
+        "alluxio.worker.ufs.read.coalescing.enabled";
     public static final String WORKER_UFS_INSTREAM_CACHE_ENABLED =
         "alluxio.worker.ufs.instream.cache.enabled";
     public static final String WORKER_UFS_INSTREAM_CACHE_MAX_SIZE =
@@ -8296,6 +9087,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.block.master.client.pool.gc.interval";
     public static final String USER_BLOCK_MASTER_CLIENT_POOL_GC_THRESHOLD_MS =
         "alluxio.user.block.master.client.pool.gc.threshold";
+    public static final String USER_BLOCK_READ_HEDGE_ENABLED =
+        "alluxio.user.block.read.hedge.enabled";
+    public static final String USER_BLOCK_READ_HEDGE_PERCENTILE =
+        "alluxio.user.block.read.hedge.percentile";
+    public static final String USER_BLOCK_READ_HEDGE_MIN_DELAY =
+        "alluxio.user.block.read.hedge.min.delay";
+    public static final String USER_BLOCK_READ_HEDGE_THREADS =
+        "alluxio.user.block.read.hedge.threads";
+    public static final String USER_BLOCK_READ_HEDGE_UFS_ENABLED =
+        "alluxio.user.block.read.hedge.ufs.enabled";
     public static final String USER_BLOCK_READ_METRICS_ENABLED =
         "alluxio.user.block.read.metrics.enabled";
     public static final String USER_BLOCK_REMOTE_READ_BUFFER_SIZE_BYTES =
@@ -8384,12 +9185,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.conf.cluster.default.enabled";
     public static final String USER_CONF_SYNC_INTERVAL = "alluxio.user.conf.sync.interval";
     public static final String USER_DATE_FORMAT_PATTERN = "alluxio.user.date.format.pattern";
+    public static final String USER_FILE_ASYNC_METADATA_THREADS =
+        "alluxio.user.file.async.metadata.threads";
     public static final String USER_FILE_BUFFER_BYTES = "alluxio.user.file.buffer.bytes";
     public static final String USER_FILE_RESERVED_BYTES = "alluxio.user.file.reserved.bytes";
     public static final String USER_FILE_COPYFROMLOCAL_BLOCK_LOCATION_POLICY =
         "alluxio.user.file.copyfromlocal.block.location.policy.class";
     public static final String USER_FILE_DELETE_UNCHECKED =
         "alluxio.user.file.delete.unchecked";
+    public static final String USER_FILE_GET_STATUSES_BATCH_SIZE =
+        "alluxio.user.file.get.statuses.batch.size";
     public static final String USER_FILE_MASTER_CLIENT_POOL_SIZE_MIN =
         "alluxio.user.file.master.client.pool.size.min";
     public static final String USER_FILE_MASTER_CLIENT_POOL_SIZE_MAX =
@@ -8404,6 +9209,14 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.file.metadata.sync.interval";
     public static final String USER_FILE_PASSIVE_CACHE_ENABLED =
         "alluxio.user.file.passive.cache.enabled";
+    public static final String USER_FILE_READAHEAD_ENABLED =
+        "alluxio.user.file.readahead.enabled";
+    public static final String USER_FILE_READAHEAD_MAX_BLOCKS =
+        "alluxio.user.file.readahead.max.blocks";
+    public static final String USER_FILE_READAHEAD_MAX_BYTES =
+        "alluxio.user.file.readahead.max.bytes";
+    public static final String USER_FILE_READAHEAD_THREADS =
+        "alluxio.user.file.readahead.threads";
     public static final String USER_FILE_READ_TYPE_DEFAULT = "alluxio.user.file.readtype.default";
     public static final String USER_FILE_PERSIST_ON_RENAME = "alluxio.user.file.persist.on.rename";
     public static final String USER_FILE_PERSISTENCE_INITIAL_WAIT_TIME =
@@ -8411,6 +9224,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String USER_FILE_REPLICATION_MAX = "alluxio.user.file.replication.max";
     public static final String USER_FILE_REPLICATION_MIN = "alluxio.user.file.replication.min";
     public static final String USER_FILE_TARGET_MEDIA = "alluxio.user.file.target.media";
+    public static final String USER_FILE_REPLICATION_PIPELINE_ENABLED =
+        "alluxio.user.file.replication.pipeline.enabled";
+    public static final String USER_FILE_REPLICATION_PIPELINE_QUORUM =
+        "alluxio.user.file.replication.pipeline.quorum";
     public static final String USER_FILE_REPLICATION_DURABLE =
         "alluxio.user.file.replication.durable";
     public static final String USER_FILE_SEQUENTIAL_PREAD_THRESHOLD =
@@ -8434,6 +9251,12 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String USER_FILE_WRITE_INIT_MAX_DURATION =
         "alluxio.user.file.write.init.max.duration";
     public static final String USER_HOSTNAME = "alluxio.user.hostname";
+    public static final String USER_FILE_WRITE_PARALLEL_BLOCKS =
+        "alluxio.user.file.write.parallel.blocks";
+    public static final String USER_FILE_WRITE_PARALLEL_BUFFER_SIZE =
+        "alluxio.user.file.write.parallel.buffer.size";
+    public static final String USER_IO_CLASS =
+        "alluxio.user.io.class";
     public static final String USER_LOCAL_READER_CHUNK_SIZE_BYTES =
         "alluxio.user.local.reader.chunk.size.bytes";
     public static final String USER_LOCAL_WRITER_CHUNK_SIZE_BYTES =
@@ -8446,6 +9269,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.metadata.cache.max.size";
     public static final String USER_METADATA_CACHE_EXPIRATION_TIME =
         "alluxio.user.metadata.cache.expiration.time";
+    public static final String USER_METADATA_CACHE_INVALIDATION_INTERVAL =
+        "alluxio.user.metadata.cache.invalidation.interval";
     public static final String USER_METRICS_COLLECTION_ENABLED =
         "alluxio.user.metrics.collection.enabled";
     public static final String USER_METRICS_HEARTBEAT_INTERVAL_MS =
@@ -8475,8 +9300,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.streaming.data.read.timeout";
     public static final String USER_STREAMING_DATA_WRITE_TIMEOUT =
         "alluxio.user.streaming.data.write.timeout";
+    public static final String USER_STREAMING_READER_ADAPTIVE_CHUNK_SIZE_ENABLED =
+        "alluxio.user.streaming.reader.adaptive.chunk.size.enabled";
     public static final String USER_STREAMING_READER_BUFFER_SIZE_MESSAGES =
         "alluxio.user.streaming.reader.buffer.size.messages";
+    public static final String USER_STREAMING_READER_FLOW_CONTROL_ADAPTIVE_ENABLED =
+        "alluxio.user.streaming.reader.flow.control.adaptive.enabled";
+    public static final String USER_STREAMING_READER_FLOW_CONTROL_WINDOW_MAX =
+        "alluxio.user.streaming.reader.flow.control.window.max";
+    public static final String USER_STREAMING_READER_FLOW_CONTROL_WINDOW_MIN =
+        "alluxio.user.streaming.reader.flow.control.window.min";
     public static final String USER_STREAMING_READER_CHUNK_SIZE_BYTES =
         "alluxio.user.streaming.reader.chunk.size.bytes";
     public static final String USER_STREAMING_READER_CLOSE_TIMEOUT =
@@ -8531,6 +9364,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.network.streaming.netty.worker.threads";
     public static final String USER_NETWORK_STREAMING_MAX_CONNECTIONS =
         "alluxio.user.network.streaming.max.connections";
+    public static final String USER_NETWORK_STREAMING_STRIPES =
+        "alluxio.user.network.streaming.stripes";
     public static final String USER_RPC_RETRY_BASE_SLEEP_MS =
         "alluxio.user.rpc.retry.base.sleep";
     public static final String USER_RPC_RETRY_MAX_DURATION =
@@ -8542,6 +9377,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.ufs.block.location.all.fallback.enabled";
     public static final String USER_UFS_BLOCK_READ_LOCATION_POLICY =
         "alluxio.user.ufs.block.read.location.policy";
+    public static final String USER_UFS_BLOCK_READ_LOCATION_POLICY_CONSISTENT_HASH_SHARDS =
+        "alluxio.user.ufs.block.read.location.policy.consistent.hash.shards";
+    public static final String USER_UFS_BLOCK_READ_LOCATION_POLICY_CONSISTENT_HASH_VNODES =
+        "alluxio.user.ufs.block.read.location.policy.consistent.hash.vnodes";
     public static final String USER_UFS_BLOCK_READ_LOCATION_POLICY_DETERMINISTIC_HASH_SHARDS =
         "alluxio.user.ufs.block.read.location.policy.deterministic.hash.shards";
     public static final String USER_UFS_BLOCK_READ_LOCATION_POLICY_CACHE_SIZE =
@@ -8555,6 +9394,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String USER_UPDATE_FILE_ACCESSTIME_DISABLED =
         "alluxio.user.update.file.accesstime.disabled";
     public static final String USER_SHORT_CIRCUIT_ENABLED = "alluxio.user.short.circuit.enabled";
+    public static final String USER_SHORT_CIRCUIT_MMAP_ENABLED =
+        "alluxio.user.short.circuit.mmap.enabled";
     public static final String USER_SHORT_CIRCUIT_PREFERRED =
         "alluxio.user.short.circuit.preferred";
     public static final String USER_WORKER_LIST_REFRESH_INTERVAL =
@@ -8824,6 +9665,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     WORKER_TIERED_STORE_LEVEL_ALIAS("alluxio.worker.tieredstore.level%d.alias",
         "alluxio\\.worker\\.tieredstore\\.level(\\d+)\\.alias",
         PropertyType.STRING),
+    WORKER_TIERED_STORE_LEVEL_DIRECT_IO_ENABLED(
+        "alluxio.worker.tieredstore.level%d.direct.io.enabled",
+        "alluxio\\.worker\\.tieredstore\\.level(\\d+)\\.direct\\.io\\.enabled",
+        PropertyType.BOOLEAN),
     WORKER_TIERED_STORE_LEVEL_DIRS_PATH("alluxio.worker.tieredstore.level%d.dirs.path",
         "alluxio\\.worker\\.tieredstore\\.level(\\d+)\\.dirs\\.path",
         PropertyType.LIST, Optional.of(",")),
@@ -21,6 +21,8 @@ import alluxio.security.authentication.AuthenticatedChannelClientDriver;
 import alluxio.security.authentication.ChannelIdInjector;
 import alluxio.security.authentication.SaslClientHandler;
 
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import io.grpc.CallOptions;
 import io.grpc.Channel;
 import io.grpc.ClientCall;
@@ -34,9 +36,12 @@ import io.grpc.MethodDescriptor;
 import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.security.auth.Subject;
 import javax.security.sasl.SaslException;
@@ -50,6 +55,8 @@ public class GrpcChannel extends Channel
       PropertyKey.NETWORK_CONNECTION_AUTH_TIMEOUT);
 
   private final GrpcChannelKey mChannelKey;
+  /** Keys of all connections the channel holds, the first being {@link #mChannelKey}. */
+  private final List<GrpcChannelKey> mChannelKeys;
   private final ManagedChannel mManagedChannel;
   private final AtomicBoolean mChannelReleased = new AtomicBoolean(false);
   private final AtomicBoolean mChannelHealthy = new AtomicBoolean(true);
@@ -63,9 +70,24 @@ public class GrpcChannel extends Channel
    * @param managedChannel the underlying gRPC {@link ManagedChannel}
    */
   protected GrpcChannel(GrpcChannelKey channelKey, ManagedChannel managedChannel) {
-    mChannelKey = Objects.requireNonNull(channelKey, "channelKey is null");
-    mManagedChannel = Objects.requireNonNull(managedChannel, "managedChannel is null");
-    mChannel.set(managedChannel);
+    this(Collections.singletonList(channelKey), Collections.singletonList(managedChannel));
+  }
+
+  /**
+   * Creates a new connection object striped over several connections. Calls are spread over
+   * the connections in turn, and the channel is authenticated over the first of them.
+   * @param channelKeys gRPC channel keys, one per connection
+   * @param managedChannels the underlying gRPC {@link ManagedChannel}s
+   */
+  protected GrpcChannel(List<GrpcChannelKey> channelKeys, List<ManagedChannel> managedChannels) {
+    Preconditions.checkArgument(!channelKeys.isEmpty()
+        && channelKeys.size() == managedChannels.size(),
+        "Expected one managed channel per channel key");
+    mChannelKeys = ImmutableList.copyOf(channelKeys);
+    mChannelKey = Objects.requireNonNull(channelKeys.get(0), "channelKey is null");
+    mManagedChannel = Objects.requireNonNull(managedChannels.get(0), "managedChannel is null");
+    mChannel.set(managedChannels.size() == 1 ? mManagedChannel
+        : new StripedChannel(ImmutableList.copyOf(managedChannels)));
   }
 
   /**
@@ -239,7 +261,31 @@ public class GrpcChannel extends Channel
    */
   @Override
   public void close() {
-    // Release the connection back.
-    GrpcChannelPool.INSTANCE.releaseConnection(mChannelKey);
+    // Release the connections back.
+    mChannelKeys.forEach(GrpcChannelPool.INSTANCE::releaseConnection);
+  }
+
+  /**
+   * A channel that spreads calls round-robin over several connections.
+   */
+  private static final class StripedChannel extends Channel {
+    private final List<ManagedChannel> mStripes;
+    private final AtomicInteger mNextStripe = new AtomicInteger();
+
+    private StripedChannel(List<ManagedChannel> stripes) {
+      mStripes = stripes;
+    }
+
+    @Override
+    public <RequestT, ResponseT> ClientCall<RequestT, ResponseT> newCall(
+        MethodDescriptor<RequestT, ResponseT> methodDescriptor, CallOptions callOptions) {
+      int stripe = Math.floorMod(mNextStripe.getAndIncrement(), mStripes.size());
+      return mStripes.get(stripe).newCall(methodDescriptor, callOptions);
+    }
+
+    @Override
+    public String authority() {
+      return mStripes.get(0).authority();
+    }
   }
 }
@@ -33,7 +33,9 @@ import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -89,7 +91,48 @@ public class GrpcChannelPool
    */
   public GrpcChannel acquireChannel(GrpcNetworkGroup networkGroup,
       GrpcServerAddress serverAddress, AlluxioConfiguration conf) {
+    if (networkGroup == GrpcNetworkGroup.STREAMING) {
+      int stripes = conf.getInt(PropertyKey.USER_NETWORK_STREAMING_STRIPES);
+      if (stripes > 1) {
+        return acquireStripedChannel(networkGroup, serverAddress, stripes, conf);
+      }
+    }
     GrpcChannelKey channelKey = getChannelKey(networkGroup, serverAddress, conf);
+    return new GrpcChannel(channelKey, acquireManagedChannel(channelKey, conf));
+  }
+
+  /**
+   * Acquires a channel striped over the given number of connections. The connections are the
+   * next consecutive slots of the network group, so striped channels spread over the same slots
+   * as other channels of the group, and never use more connections than the group allows.
+   */
+  private GrpcChannel acquireStripedChannel(GrpcNetworkGroup networkGroup,
+      GrpcServerAddress serverAddress, int stripes, AlluxioConfiguration conf) {
+    long maxConnectionsForGroup = getMaxConnections(networkGroup, conf);
+    stripes = (int) Math.min(stripes, maxConnectionsForGroup);
+    // Reserve consecutive indexes within the network group.
+    long groupIndex = mNetworkGroupCounters.get(networkGroup).getAndAdd(stripes) + 1;
+    List<GrpcChannelKey> channelKeys = new ArrayList<>(stripes);
+    List<ManagedChannel> managedChannels = new ArrayList<>(stripes);
+    try {
+      for (int i = 0; i < stripes; i++) {
+        GrpcChannelKey channelKey = new GrpcChannelKey(networkGroup, serverAddress,
+            (int) ((groupIndex + i) % maxConnectionsForGroup));
+        managedChannels.add(acquireManagedChannel(channelKey, conf));
+        channelKeys.add(channelKey);
+      }
+    } catch (RuntimeException e) {
+      channelKeys.forEach(this::releaseConnection);
+      throw e;
+    }
+    return new GrpcChannel(channelKeys, managedChannels);
+  }
+
+  /**
+   * Acquires and increases the ref-count for the {@link ManagedChannel} of the given key.
+   */
+  private ManagedChannel acquireManagedChannel(GrpcChannelKey channelKey,
+      AlluxioConfiguration conf) {
     CountingReference<ManagedChannel> channelRef =
         mChannels.compute(channelKey, (key, ref) -> {
           boolean shutdownExistingConnection = false;
@@ -123,7 +166,7 @@ public class GrpcChannelPool
           return new CountingReference<>(managedChannel, existingRefCount).reference();
         });
 
-    return new GrpcChannel(channelKey, channelRef.get());
+    return channelRef.get();
   }
 
   /**
@@ -153,13 +196,18 @@ public class GrpcChannelPool
     // Assign index within the network group.
     long groupIndex = mNetworkGroupCounters.get(networkGroup).incrementAndGet();
     // Find the next slot index within the group.
-    long maxConnectionsForGroup = conf.getLong(PropertyKey.Template.USER_NETWORK_MAX_CONNECTIONS
-        .format(networkGroup.getPropertyCode()));
+    long maxConnectionsForGroup = getMaxConnections(networkGroup, conf);
     // Create the connection key for the chosen slot.
     return new GrpcChannelKey(networkGroup, serverAddress,
         (int) (groupIndex % maxConnectionsForGroup));
   }
 
+  private static long getMaxConnections(GrpcNetworkGroup networkGroup,
+      AlluxioConfiguration conf) {
+    return conf.getLong(PropertyKey.Template.USER_NETWORK_MAX_CONNECTIONS
+        .format(networkGroup.getPropertyCode()));
+  }
+
   /**
    * Creates a {@link ManagedChannel} by given pool key.
    */
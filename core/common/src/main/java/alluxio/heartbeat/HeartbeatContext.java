@@ -56,6 +56,7 @@ public final class HeartbeatContext {
   public static final String MASTER_TABLE_TRANSFORMATION_MONITOR =
       "Master Table Transformation Monitor";
   public static final String MASTER_TTL_CHECK = "Master TTL Check";
+  public static final String MASTER_UFS_CHANGE_EVENTS = "Master Ufs Change Events";
   public static final String MASTER_UFS_CLEANUP = "Master Ufs Cleanup";
   public static final String MASTER_UPDATE_CHECK = "Master Update Check";
   public static final String META_MASTER_SYNC = "Meta Master Sync";
@@ -102,6 +103,7 @@ public final class HeartbeatContext {
     MASTER_UFS_CLEANUP(124),
     MASTER_UPDATE_CHECK(125),
     META_MASTER_SYNC(126),
+    MASTER_UFS_CHANGE_EVENTS(127),
 
     WORKER_BLOCK_SYNC(200),
     WORKER_CLIENT(201),
@@ -144,6 +146,7 @@ public final class HeartbeatContext {
     sTimerClasses.put(MASTER_REPLICATION_CHECK, SLEEPING_TIMER_CLASS);
     sTimerClasses.put(MASTER_TABLE_TRANSFORMATION_MONITOR, SLEEPING_TIMER_CLASS);
     sTimerClasses.put(MASTER_TTL_CHECK, SLEEPING_TIMER_CLASS);
+    sTimerClasses.put(MASTER_UFS_CHANGE_EVENTS, SLEEPING_TIMER_CLASS);
     sTimerClasses.put(MASTER_UFS_CLEANUP, SLEEPING_TIMER_CLASS);
     sTimerClasses.put(MASTER_UPDATE_CHECK, SLEEPING_TIMER_CLASS);
     sTimerClasses.put(META_MASTER_SYNC, SLEEPING_TIMER_CLASS);
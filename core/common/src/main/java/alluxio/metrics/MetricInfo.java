@@ -67,6 +67,7 @@ public final class MetricInfo {
   public static final String UFS_OP_SAVED_PREFIX = "Master.PerUfsSavedOp";
 
   // Tags
+  public static final String TAG_IO_CLASS = "IoClass";
   public static final String TAG_UFS = "UFS";
   public static final String TAG_UFS_TYPE = "UFS_TYPE";
   public static final String TAG_USER = "User";
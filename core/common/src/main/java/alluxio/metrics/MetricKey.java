@@ -1656,6 +1656,13 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.COUNTER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey WORKER_UFS_PAGE_READS_COALESCED =
+      new Builder("Worker.UfsPageReadsCoalesced")
+          .setDescription("Total number of reads of pages from the under storage which were "
+              + "served by a concurrent read of the same page instead of reading the page again.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey WORKER_BYTES_READ_DIRECT =
       new Builder("Worker.BytesReadDirect")
           .setDescription("Total number of bytes read from the this worker "
@@ -1908,6 +1915,13 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.GAUGE)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey WORKER_IO_SCHEDULER_QUEUE_TIME =
+      new Builder("Worker.IoSchedulerQueueTime")
+          .setDescription("The time block reads and writes wait in the queue of the weighted "
+              + "fair I/O scheduler before running, tagged by I/O class")
+          .setMetricType(MetricType.TIMER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey WORKER_BLOCK_READER_THREAD_ACTIVE_COUNT =
       new Builder("Worker.BlockReaderThreadActiveCount")
           .setDescription("The approximate number of block read "
@@ -2430,6 +2444,34 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setDescription("The used direct memory")
           .setMetricType(MetricType.GAUGE)
           .build();
+  public static final MetricKey PROCESS_UFS_THROTTLED_REQUESTS =
+      new Builder("Process.UfsThrottledRequests")
+          .setDescription("Total number of requests of this process to a specific under storage "
+              + "which the under storage throttled or which timed out.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey PROCESS_UFS_CONCURRENCY_REJECTIONS =
+      new Builder("Process.UfsConcurrencyRejections")
+          .setDescription("Total number of requests of this process to a specific under storage "
+              + "which were rejected after waiting too long for the concurrency limit.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey PROCESS_UFS_CONCURRENCY_LIMIT =
+      new Builder("Process.UfsConcurrencyLimit")
+          .setDescription("The current limit of concurrent requests of this process to a "
+              + "specific under storage.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey PROCESS_UFS_CONCURRENCY_IN_FLIGHT =
+      new Builder("Process.UfsConcurrencyInFlight")
+          .setDescription("The number of requests of this process to a specific under storage "
+              + "which are in flight.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
 
   /**
    * A nested class to hold named string constants for their corresponding metrics.
@@ -11,16 +11,53 @@
 
 package alluxio.underfs;
 
+import alluxio.Seekable;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Closeables;
+
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * A stream for reading data using range queries.
+ *
+ * Every range request costs the latency of a new request, so seeks are planned to request as
+ * few ranges as possible:
+ * <ul>
+ *   <li>a forward seek by at most the coalesce size reads through the skipped bytes of the open
+ *   range;</li>
+ *   <li>a seek away from an open range keeps the range open, up to a maximum number of ranges,
+ *   so that a later forward seek into it, as when reading the columns of a columnar file, reuses
+ *   it;</li>
+ *   <li>optionally, the next range is requested in the background when a range is opened, by at
+ *   most {@link PropertyKey#UNDERFS_OBJECT_STORE_MULTI_RANGE_PREFETCH_THREADS} threads shared
+ *   by all streams.</li>
+ * </ul>
  */
 @NotThreadSafe
-public abstract class MultiRangeObjectInputStream extends InputStream {
+public abstract class MultiRangeObjectInputStream extends InputStream implements Seekable {
+  /** The threads requesting ranges in the background, shared by all streams. */
+  private static volatile ExecutorService sPrefetchExecutor;
 
   /** Has the stream been closed. */
   protected boolean mClosed;
@@ -33,22 +70,55 @@ public abstract class MultiRangeObjectInputStream extends InputStream {
 
   /** The chunk size to perform reads with. */
   private final long mMultiRangeChunkSize;
+  /** The largest forward seek which reads through the skipped bytes. */
+  private final long mCoalesceSize;
+  /** The maximum number of ranges kept open after seeking away from them. */
+  private final int mMaxOpenRanges;
+  /** The threads requesting ranges in the background, or null if prefetching is disabled. */
+  @Nullable
+  private final ExecutorService mPrefetchExecutor;
+  /** The ranges kept open, the most recently used first. */
+  private final Deque<OpenRange> mOpenRanges = new ArrayDeque<>();
 
   /**
-   * Creates the input stream that will perform reads with a specified chunk size. Reading in
-   * chunks allows us to read in smaller portions so that we don't need to read all the way to
-   * the end of a block.
+   * Creates the input stream that will perform reads with a specified chunk size, and plans its
+   * range requests as configured. Reading in chunks allows us to read in smaller portions so that
+   * we don't need to read all the way to the end of a block.
    *
    * @param multiRangeChunkSize the chunk size in bytes to read with
+   * @param conf the configuration of the under storage
    */
-  protected MultiRangeObjectInputStream(long multiRangeChunkSize) {
+  protected MultiRangeObjectInputStream(long multiRangeChunkSize, AlluxioConfiguration conf) {
     mMultiRangeChunkSize = multiRangeChunkSize;
+    mCoalesceSize = conf.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_COALESCE_SIZE);
+    mMaxOpenRanges = conf.getInt(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_OPEN_STREAMS_MAX);
+    mPrefetchExecutor =
+        conf.getBoolean(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_PREFETCH_ENABLED)
+            ? getPrefetchExecutor(conf) : null;
+  }
+
+  private static ExecutorService getPrefetchExecutor(AlluxioConfiguration conf) {
+    if (sPrefetchExecutor == null) {
+      synchronized (MultiRangeObjectInputStream.class) {
+        if (sPrefetchExecutor == null) {
+          sPrefetchExecutor = new ThreadPoolExecutor(0,
+              conf.getInt(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_PREFETCH_THREADS), 60,
+              TimeUnit.SECONDS, new SynchronousQueue<>(),
+              ThreadFactoryUtils.build("multi-range-prefetch-%d", true));
+        }
+      }
+    }
+    return sPrefetchExecutor;
   }
 
   @Override
   public void close() throws IOException {
     if (!mClosed) {
       closeStream();
+      for (OpenRange range : mOpenRanges) {
+        range.close();
+      }
+      mOpenRanges.clear();
     }
     mClosed = true;
   }
@@ -88,12 +158,35 @@ public abstract class MultiRangeObjectInputStream extends InputStream {
     if (n <= 0) {
       return 0;
     }
-    closeStream();
-    mPos += n;
-    openStream();
+    seek(mPos + n);
     return n;
   }
 
+  @Override
+  public void seek(long pos) throws IOException {
+    Preconditions.checkArgument(pos >= 0, "Seek position is negative: %s", pos);
+    if (mClosed) {
+      throw new IOException("Stream closed");
+    }
+    if (pos == mPos) {
+      return;
+    }
+    if (mStream != null && pos > mPos && pos < mEndPos && pos - mPos <= mCoalesceSize) {
+      readThrough(pos);
+      return;
+    }
+    if (mStream != null) {
+      keepOpen(new OpenRange(mStream, mPos, mEndPos));
+      mStream = null;
+    }
+    mPos = pos;
+  }
+
+  @Override
+  public long getPos() {
+    return mPos;
+  }
+
   /**
    * Close the current stream if the boundary for a range is crossed.
    */
@@ -114,11 +207,70 @@ public abstract class MultiRangeObjectInputStream extends InputStream {
     mStream = null;
   }
 
+  /**
+   * Moves the current stream forward by reading and discarding the bytes up to a position.
+   *
+   * @param pos the position, within the current range
+   */
+  private void readThrough(long pos) throws IOException {
+    try {
+      ByteStreams.skipFully(mStream, pos - mPos);
+      mPos = pos;
+    } catch (EOFException e) {
+      // the object ends before the position, so the stream stays at its end
+      mPos = pos;
+    }
+  }
+
+  /**
+   * Keeps a range open for a later forward seek, closing the least recently used range if too
+   * many are open.
+   *
+   * @param range the range
+   */
+  private void keepOpen(OpenRange range) {
+    mOpenRanges.addFirst(range);
+    while (mOpenRanges.size() > mMaxOpenRanges) {
+      mOpenRanges.removeLast().close();
+    }
+  }
+
+  /**
+   * Makes an open range the current stream if a forward seek into it is cheaper than a new
+   * range.
+   *
+   * @return whether an open range became the current stream
+   */
+  private boolean reuseOpenRange() throws IOException {
+    Iterator<OpenRange> it = mOpenRanges.iterator();
+    while (it.hasNext()) {
+      OpenRange range = it.next();
+      if (range.mPos <= mPos && mPos < range.mEndPos && mPos - range.mPos <= mCoalesceSize) {
+        it.remove();
+        InputStream stream = range.get();
+        if (stream == null) {
+          return false;
+        }
+        long pos = mPos;
+        mStream = stream;
+        mPos = range.mPos;
+        mEndPos = range.mEndPos;
+        if (pos > mPos) {
+          readThrough(pos);
+        }
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Opens a new stream reading a range. When endPos > content length, the returned stream should
    * read till the last valid byte of the input. The behaviour is undefined when (startPos < 0),
    * (startPos >= content length), or (endPos <= 0).
    *
+   * When prefetching is enabled, this is called from a background thread for the next range.
+   *
    * @param startPos start position in bytes (inclusive)
    * @param endPos end position in bytes (exclusive)
    * @return a new {@link InputStream}
@@ -126,6 +278,14 @@ public abstract class MultiRangeObjectInputStream extends InputStream {
   protected abstract InputStream createStream(long startPos, long endPos)
       throws IOException;
 
+  /**
+   * @return the length of the object, or -1 if it is unknown, in which case the next range is
+   *         never requested in the background
+   */
+  protected long getContentLength() {
+    return -1;
+  }
+
   /**
    * Opens a new stream at mPos if the wrapped stream mStream is null.
    */
@@ -141,8 +301,130 @@ public abstract class MultiRangeObjectInputStream extends InputStream {
     if (mStream != null) { // stream is already open
       return;
     }
+    if (reuseOpenRange()) {
+      return;
+    }
     final long endPos = mPos + mMultiRangeChunkSize - (mPos % mMultiRangeChunkSize);
     mEndPos = endPos;
     mStream = createStream(mPos, endPos);
+    prefetch(endPos);
+  }
+
+  /**
+   * Requests the range starting at a position in the background, unless it is past the end of
+   * the object or already open, or all the prefetch threads are busy.
+   *
+   * @param startPos the start position of the range
+   */
+  private void prefetch(long startPos) {
+    if (mPrefetchExecutor == null || mMaxOpenRanges <= 0 || startPos >= getContentLength()) {
+      return;
+    }
+    for (OpenRange range : mOpenRanges) {
+      if (range.mPos == startPos) {
+        return;
+      }
+    }
+    long endPos = startPos + mMultiRangeChunkSize;
+    OpenRange range = new OpenRange(startPos, endPos);
+    try {
+      range.mPending =
+          mPrefetchExecutor.submit(() -> range.opened(createStream(startPos, endPos)));
+    } catch (RejectedExecutionException e) {
+      // the range is requested when it is read
+      return;
+    }
+    keepOpen(range);
+  }
+
+  /**
+   * A range which is open, or being opened in the background, but is not the current stream.
+   */
+  private static final class OpenRange {
+    /** The position of the next byte of the stream. */
+    private final long mPos;
+    private final long mEndPos;
+    @Nullable
+    private final InputStream mStream;
+    @Nullable
+    private Future<InputStream> mPending;
+    /** The stream opened in the background, until it is taken or closed. */
+    @GuardedBy("this")
+    @Nullable
+    private InputStream mOpened;
+    @GuardedBy("this")
+    private boolean mAbandoned;
+
+    private OpenRange(InputStream stream, long pos, long endPos) {
+      mStream = stream;
+      mPos = pos;
+      mEndPos = endPos;
+    }
+
+    private OpenRange(long pos, long endPos) {
+      this(null, pos, endPos);
+    }
+
+    /**
+     * @return the stream, waiting for it to be opened if necessary
+     */
+    @Nullable
+    private InputStream get() throws IOException {
+      if (mStream != null) {
+        return mStream;
+      }
+      try {
+        InputStream stream = mPending.get();
+        synchronized (this) {
+          mOpened = null;
+        }
+        return stream;
+      } catch (InterruptedException e) {
+        abandon();
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while opening a range", e);
+      } catch (ExecutionException e) {
+        // the range may be opened again by the caller
+        return null;
+      }
+    }
+
+    /**
+     * Called by the background request with the stream it opened.
+     *
+     * @param stream the opened stream
+     * @return the stream
+     */
+    private synchronized InputStream opened(InputStream stream) {
+      if (mAbandoned) {
+        Closeables.closeQuietly(stream);
+      } else {
+        mOpened = stream;
+      }
+      return stream;
+    }
+
+    /**
+     * Closes the stream without waiting for a background request, which closes the stream once
+     * it is opened.
+     */
+    private void close() {
+      if (mStream != null) {
+        Closeables.closeQuietly(mStream);
+        return;
+      }
+      mPending.cancel(false);
+      abandon();
+    }
+
+    private void abandon() {
+      InputStream opened;
+      synchronized (this) {
+        mAbandoned = true;
+        opened = mOpened;
+        mOpened = null;
+      }
+      Closeables.closeQuietly(opened);
+    }
   }
 }
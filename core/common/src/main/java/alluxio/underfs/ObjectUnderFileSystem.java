@@ -46,10 +46,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -974,7 +975,8 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
 
   /**
    * Lists the files in the given path, the paths will be their logical names and not contain the
-   * folder suffix. Note that, the list results are unsorted.
+   * folder suffix. Note that, the list results are unsorted, except for a parallel recursive
+   * listing whose results are sorted by name, that is in the key order of the object store.
    *
    * @param path the key to list
    * @param options for listing
@@ -982,7 +984,11 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
    */
   @Nullable
   protected UfsStatus[] listInternal(String path, ListOptions options) throws IOException {
-    ObjectListingChunk chunk = getObjectListingChunkForPath(path, options.isRecursive());
+    boolean parallel = options.isRecursive()
+        && mUfsConf.getBoolean(PropertyKey.UNDERFS_OBJECT_STORE_PARALLEL_LISTING_ENABLED);
+    // A parallel listing starts with a delimited listing to discover the sub-prefixes
+    ObjectListingChunk chunk =
+        getObjectListingChunkForPath(path, options.isRecursive() && !parallel);
     if (chunk == null) {
       String keyAsFolder = convertToFolderName(stripPrefixIfPresent(path));
       if (getObjectStatus(keyAsFolder) != null) {
@@ -993,7 +999,116 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
     }
     String keyPrefix = PathUtils.normalizePath(stripPrefixIfPresent(path), PATH_SEPARATOR);
     keyPrefix = keyPrefix.equals(PATH_SEPARATOR) ? "" : keyPrefix;
-    Map<String, UfsStatus> children = new HashMap<>();
+    // the partitions of a parallel listing are merged by key, not in the order they are listed
+    Map<String, UfsStatus> children = parallel ? new TreeMap<>() : new LinkedHashMap<>();
+    if (parallel) {
+      List<String> subPrefixes = new ArrayList<>();
+      addChildren(chunk, keyPrefix, false, children, subPrefixes);
+      listSubPrefixes(keyPrefix, subPrefixes, children);
+    } else {
+      addChildren(chunk, keyPrefix, options.isRecursive(), children, null);
+    }
+    return children.values().toArray(new UfsStatus[0]);
+  }
+
+  /**
+   * Lists the given sub-prefixes of a recursive listing concurrently on the executor service.
+   * Sub-prefixes are first expanded level by level with delimited listings, until there are
+   * enough of them to keep the executor busy or the maximum depth is reached, and are then
+   * listed recursively. The results of every level and sub-prefix are merged into the children
+   * sorted by name.
+   *
+   * @param keyPrefix the key prefix of the listed path
+   * @param subPrefixes the sub-prefixes found by the delimited listing of the path
+   * @param children the children of the path to add to, sorted by name
+   */
+  private void listSubPrefixes(String keyPrefix, List<String> subPrefixes,
+      Map<String, UfsStatus> children) throws IOException {
+    int parallelism = mUfsConf.getInt(PropertyKey.UNDERFS_OBJECT_STORE_SERVICE_THREADS);
+    int maxDepth = mUfsConf.getInt(PropertyKey.UNDERFS_OBJECT_STORE_PARALLEL_LISTING_MAX_DEPTH);
+    for (int depth = 1; depth < maxDepth && !subPrefixes.isEmpty()
+        && subPrefixes.size() < parallelism; depth++) {
+      List<String> nextPrefixes = new ArrayList<>();
+      for (Pair<Map<String, UfsStatus>, List<String>> partition
+          : listPartitions(keyPrefix, subPrefixes, false)) {
+        mergeChildren(children, partition.getFirst());
+        nextPrefixes.addAll(partition.getSecond());
+      }
+      subPrefixes = nextPrefixes;
+    }
+    for (Pair<Map<String, UfsStatus>, List<String>> partition
+        : listPartitions(keyPrefix, subPrefixes, true)) {
+      mergeChildren(children, partition.getFirst());
+    }
+  }
+
+  /**
+   * Lists each of the given prefixes in a task of its own and waits for all of them.
+   *
+   * @param keyPrefix the key prefix the child names are relative to
+   * @param prefixes the prefixes to list
+   * @param recursive whether to list all descendants of the prefixes
+   * @return the children and the delimited sub-prefixes found under each prefix, in order
+   */
+  private List<Pair<Map<String, UfsStatus>, List<String>>> listPartitions(String keyPrefix,
+      List<String> prefixes, boolean recursive) throws IOException {
+    List<Future<Pair<Map<String, UfsStatus>, List<String>>>> futures =
+        new ArrayList<>(prefixes.size());
+    for (String prefix : prefixes) {
+      futures.add(mExecutorService.submit(() -> {
+        Map<String, UfsStatus> partition = new LinkedHashMap<>();
+        List<String> subPrefixes = new ArrayList<>();
+        ObjectListingChunk chunk = getObjectListingChunk(prefix, recursive);
+        if (chunk != null) {
+          addChildren(chunk, keyPrefix, recursive, partition, recursive ? null : subPrefixes);
+        }
+        return new Pair<>(partition, subPrefixes);
+      }));
+    }
+    List<Pair<Map<String, UfsStatus>, List<String>>> partitions =
+        new ArrayList<>(prefixes.size());
+    try {
+      for (Future<Pair<Map<String, UfsStatus>, List<String>>> future : futures) {
+        partitions.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      futures.forEach(future -> future.cancel(true));
+      throw new IOException(
+          String.format("Interrupted while listing sub-prefixes of %s", keyPrefix), e);
+    } catch (ExecutionException e) {
+      futures.forEach(future -> future.cancel(true));
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+    return partitions;
+  }
+
+  /**
+   * Merges the children listed under a sub-prefix. If both a file and a directory exist with the
+   * same name, the path is treated as a directory.
+   */
+  private static void mergeChildren(Map<String, UfsStatus> children,
+      Map<String, UfsStatus> partition) {
+    for (Map.Entry<String, UfsStatus> entry : partition.entrySet()) {
+      children.merge(entry.getKey(), entry.getValue(),
+          (existing, status) -> existing.isDirectory() ? existing : status);
+    }
+  }
+
+  /**
+   * Adds the children of a path found in a chunked object listing.
+   *
+   * @param chunk the first chunk of the listing
+   * @param keyPrefix the key prefix of the listed path
+   * @param recursive whether the listing contains all descendants or immediate children only
+   * @param children the children to add to
+   * @param subPrefixes if not null, collects the common prefixes of a delimited listing
+   */
+  private void addChildren(ObjectListingChunk chunk, String keyPrefix, boolean recursive,
+      Map<String, UfsStatus> children, @Nullable List<String> subPrefixes) throws IOException {
     while (chunk != null) {
       // Directories in UFS can be possibly encoded in two different ways:
       // (1) as file objects with FOLDER_SUFFIX for directories created through Alluxio or
@@ -1035,7 +1150,7 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
       }
       // Handle case (2)
       String[] commonPrefixes;
-      if (options.isRecursive()) {
+      if (recursive) {
         // In case of a recursive listing infer pseudo-directories as the commonPrefixes returned
         // from the object store is empty for an empty delimiter.
         HashSet<String> prefixes = new HashSet<>();
@@ -1053,6 +1168,13 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
         commonPrefixes = prefixes.toArray(new String[0]);
       } else {
         commonPrefixes = chunk.getCommonPrefixes();
+        if (subPrefixes != null) {
+          for (String commonPrefix : commonPrefixes) {
+            if (commonPrefix.startsWith(keyPrefix)) {
+              subPrefixes.add(commonPrefix);
+            }
+          }
+        }
       }
       for (String commonPrefix : commonPrefixes) {
         if (commonPrefix.startsWith(keyPrefix)) {
@@ -1072,12 +1194,6 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
       }
       chunk = chunk.getNextChunk();
     }
-    UfsStatus[] ret = new UfsStatus[children.size()];
-    int pos = 0;
-    for (UfsStatus status : children.values()) {
-      ret[pos++] = status;
-    }
-    return ret;
   }
 
   /**
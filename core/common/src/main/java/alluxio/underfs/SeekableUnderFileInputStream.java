@@ -14,7 +14,9 @@ package alluxio.underfs;
 import alluxio.Seekable;
 
 import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 /**
  * A seekable under file input stream wrapper that encapsulates the under file input stream.
@@ -22,8 +24,37 @@ import java.io.InputStream;
  * {@link SeekableUnderFileInputStream#seek(long)} and the reposition the wrapped input stream.
  */
 public abstract class SeekableUnderFileInputStream extends FilterInputStream implements Seekable {
+  /** The size of the temporary array to read into a buffer without a backing array. */
+  private static final int READ_BUFFER_SIZE = 8192;
 
   protected SeekableUnderFileInputStream(InputStream in) {
     super(in);
   }
+
+  /**
+   * Reads bytes into a buffer. Streams which can read into the buffer directly override this to
+   * avoid copying through a temporary array.
+   *
+   * @param buffer the buffer to read into, from its position up to its limit
+   * @return the number of bytes read, or -1 if the end of the stream is reached
+   */
+  public int read(ByteBuffer buffer) throws IOException {
+    if (!buffer.hasRemaining()) {
+      return 0;
+    }
+    if (buffer.hasArray()) {
+      int bytesRead = read(buffer.array(), buffer.arrayOffset() + buffer.position(),
+          buffer.remaining());
+      if (bytesRead > 0) {
+        buffer.position(buffer.position() + bytesRead);
+      }
+      return bytesRead;
+    }
+    byte[] bytes = new byte[Math.min(buffer.remaining(), READ_BUFFER_SIZE)];
+    int bytesRead = read(bytes, 0, bytes.length);
+    if (bytesRead > 0) {
+      buffer.put(bytes, 0, bytesRead);
+    }
+    return bytesRead;
+  }
 }
@@ -0,0 +1,419 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.metrics.Metric;
+import alluxio.metrics.MetricInfo;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Gauge;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.RateLimiter;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Limits the concurrent requests of a process to an under file storage, with a limit which
+ * adapts to the under storage by additive increase and multiplicative decrease (AIMD). Every
+ * successful request raises the limit by one over the limit, so the limit grows by one per round
+ * of requests, and a throttled, timed out or unusually slow request multiplies it by the backoff
+ * ratio, at most once per smoothed request latency so that a burst of failures of concurrent
+ * requests counts once. Whether a request is slow is judged against the smoothed latency of the
+ * same operation, since e.g. a listing or a read takes much longer than a metadata lookup.
+ * Requests may additionally be limited to a fixed rate.
+ *
+ * A single limiter is shared by all the threads of the process which access the same under
+ * storage with the same settings, see {@link #get}. Reads from the streams opened on the under
+ * storage are requests as well, see {@link #limit}.
+ */
+@ThreadSafe
+public final class UfsConcurrencyLimiter {
+  private static final ConcurrentHashMap<String, UfsConcurrencyLimiter> LIMITERS =
+      new ConcurrentHashMap<>();
+  /** The weight of a new sample in the smoothed latency. */
+  private static final double LATENCY_SMOOTHING = 0.05;
+  /** The messages of throttling errors, e.g. S3 503 SlowDown or GCS 429 Too Many Requests. */
+  private static final Pattern THROTTLED_MESSAGE = Pattern.compile("status code:? *(429|503)\\b"
+      + "|\\b(429|503) (service unavailable|too many requests)|slow ?down|too ?many ?requests"
+      + "|throttl|request ?limit ?exceeded|server ?busy", Pattern.CASE_INSENSITIVE);
+
+  /**
+   * The outcome of a request, which adjusts the limit.
+   */
+  public enum Outcome {
+    /** The request succeeded. */
+    SUCCESS,
+    /** The under storage throttled the request or timed out. */
+    THROTTLED,
+    /** The request failed for a reason unrelated to the load of the under storage. */
+    FAILURE,
+  }
+
+  private final String mUfsTag;
+  /** The settings the limiter was created with, to recreate it when they change. */
+  private final List<Object> mSettings;
+  private final int mMinLimit;
+  private final int mMaxLimit;
+  private final double mBackoffRatio;
+  private final double mLatencyTolerance;
+  private final long mWaitTimeoutNs;
+  @Nullable
+  private final RateLimiter mRateLimiter;
+
+  private final Lock mLock = new ReentrantLock();
+  private final Condition mBelowLimit = mLock.newCondition();
+  @GuardedBy("mLock")
+  private double mLimit;
+  @GuardedBy("mLock")
+  private int mInFlight;
+  /** The smoothed latency of each operation in nanoseconds. */
+  @GuardedBy("mLock")
+  private final Map<String, Double> mSmoothedLatencyNs = new HashMap<>();
+  /** The earliest time at which the limit may decrease again. */
+  @GuardedBy("mLock")
+  private long mNextDecreaseNs;
+
+  /**
+   * Gets the limiter of an under storage, creating it if it does not exist yet. A limiter
+   * created with different settings, e.g. before the under storage was mounted again with new
+   * mount options, is replaced, and stays in use only by the callers which already got it.
+   *
+   * @param ufsTag the escaped path of the under storage, which tags its metrics
+   * @param conf the configuration of the under storage
+   * @return the limiter
+   */
+  public static UfsConcurrencyLimiter get(String ufsTag, AlluxioConfiguration conf) {
+    List<Object> settings = settings(conf);
+    return LIMITERS.compute(ufsTag, (tag, limiter) -> {
+      if (limiter != null && limiter.mSettings.equals(settings)) {
+        return limiter;
+      }
+      UfsConcurrencyLimiter created = new UfsConcurrencyLimiter(tag, conf);
+      created.registerGauges();
+      return created;
+    });
+  }
+
+  private static List<Object> settings(AlluxioConfiguration conf) {
+    return Arrays.asList(conf.getInt(PropertyKey.UNDERFS_CONCURRENCY_LIMIT_INITIAL),
+        conf.getInt(PropertyKey.UNDERFS_CONCURRENCY_LIMIT_MIN),
+        conf.getInt(PropertyKey.UNDERFS_CONCURRENCY_LIMIT_MAX),
+        conf.getDouble(PropertyKey.UNDERFS_CONCURRENCY_LIMIT_BACKOFF_RATIO),
+        conf.getDouble(PropertyKey.UNDERFS_CONCURRENCY_LIMIT_LATENCY_TOLERANCE),
+        conf.getDuration(PropertyKey.UNDERFS_CONCURRENCY_LIMIT_WAIT_TIMEOUT),
+        conf.getInt(PropertyKey.UNDERFS_REQUEST_RATE_LIMIT));
+  }
+
+  /**
+   * @param ufsTag the escaped path of the under storage, which tags its metrics
+   * @param conf the configuration of the under storage
+   */
+  @VisibleForTesting
+  UfsConcurrencyLimiter(String ufsTag, AlluxioConfiguration conf) {
+    mUfsTag = ufsTag;
+    mSettings = settings(conf);
+    mMinLimit = conf.getInt(PropertyKey.UNDERFS_CONCURRENCY_LIMIT_MIN);
+    mMaxLimit = conf.getInt(PropertyKey.UNDERFS_CONCURRENCY_LIMIT_MAX);
+    Preconditions.checkArgument(0 < mMinLimit && mMinLimit <= mMaxLimit,
+        "Invalid concurrency limit range [%s, %s]", mMinLimit, mMaxLimit);
+    mLimit = Math.max(mMinLimit,
+        Math.min(mMaxLimit, conf.getInt(PropertyKey.UNDERFS_CONCURRENCY_LIMIT_INITIAL)));
+    mBackoffRatio = conf.getDouble(PropertyKey.UNDERFS_CONCURRENCY_LIMIT_BACKOFF_RATIO);
+    Preconditions.checkArgument(0 < mBackoffRatio && mBackoffRatio < 1,
+        "The backoff ratio must be between 0 and 1: %s", mBackoffRatio);
+    mLatencyTolerance = conf.getDouble(PropertyKey.UNDERFS_CONCURRENCY_LIMIT_LATENCY_TOLERANCE);
+    mWaitTimeoutNs = conf.getDuration(PropertyKey.UNDERFS_CONCURRENCY_LIMIT_WAIT_TIMEOUT)
+        .toNanos();
+    int rate = conf.getInt(PropertyKey.UNDERFS_REQUEST_RATE_LIMIT);
+    mRateLimiter = rate > 0 ? RateLimiter.create(rate) : null;
+    mNextDecreaseNs = System.nanoTime();
+  }
+
+  /**
+   * Waits until a request may be sent to the under storage. Every call must be followed by a
+   * call to {@link #release}.
+   *
+   * @throws ResourceExhaustedException if the request waited too long
+   * @throws InterruptedIOException if the thread was interrupted
+   */
+  public void acquire() throws IOException {
+    long deadline = System.nanoTime() + mWaitTimeoutNs;
+    mLock.lock();
+    try {
+      while (mInFlight >= (int) mLimit) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          throw reject();
+        }
+        mBelowLimit.awaitNanos(remaining);
+      }
+      mInFlight++;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting to access " + mUfsTag);
+    } finally {
+      mLock.unlock();
+    }
+    if (mRateLimiter != null
+        && !mRateLimiter.tryAcquire(Math.max(0, deadline - System.nanoTime()),
+            TimeUnit.NANOSECONDS)) {
+      mLock.lock();
+      try {
+        mInFlight--;
+        mBelowLimit.signalAll();
+      } finally {
+        mLock.unlock();
+      }
+      throw reject();
+    }
+  }
+
+  /**
+   * Reports the outcome of a request allowed by {@link #acquire}.
+   *
+   * @param operation the operation of the request, whose latency is compared only with the
+   *        latency of other requests of the same operation
+   * @param latencyNs the latency of the request in nanoseconds
+   * @param outcome the outcome of the request
+   */
+  public void release(String operation, long latencyNs, Outcome outcome) {
+    mLock.lock();
+    try {
+      mInFlight--;
+      Double smoothedLatencyNs = mSmoothedLatencyNs.get(operation);
+      boolean slow = outcome == Outcome.SUCCESS && mLatencyTolerance > 0
+          && smoothedLatencyNs != null && latencyNs > mLatencyTolerance * smoothedLatencyNs;
+      if (outcome == Outcome.THROTTLED || slow) {
+        if (outcome == Outcome.THROTTLED) {
+          MetricsSystem.counterWithTags(MetricKey.PROCESS_UFS_THROTTLED_REQUESTS.getName(),
+              false, MetricInfo.TAG_UFS, mUfsTag).inc();
+        }
+        long now = System.nanoTime();
+        // concurrent requests failing together were sent under the same limit
+        if (now - mNextDecreaseNs >= 0) {
+          mLimit = Math.max(mMinLimit, mLimit * mBackoffRatio);
+          mNextDecreaseNs = now + (long) (smoothedLatencyNs == null ? 0 : smoothedLatencyNs);
+        }
+      } else if (outcome == Outcome.SUCCESS) {
+        mLimit = Math.min(mMaxLimit, mLimit + 1 / mLimit);
+      }
+      if (outcome == Outcome.SUCCESS) {
+        mSmoothedLatencyNs.put(operation, smoothedLatencyNs == null ? latencyNs
+            : (1 - LATENCY_SMOOTHING) * smoothedLatencyNs + LATENCY_SMOOTHING * latencyNs);
+      }
+      mBelowLimit.signalAll();
+    } finally {
+      mLock.unlock();
+    }
+  }
+
+  /**
+   * Wraps a stream opened on the under storage, so that each of its reads, skips and seeks is
+   * a request within the limit. The wrapper is seekable if the stream is.
+   *
+   * @param in the stream to wrap
+   * @return the wrapped stream
+   */
+  public InputStream limit(InputStream in) {
+    if (in instanceof SeekableUnderFileInputStream) {
+      return new LimitedSeekableInputStream((SeekableUnderFileInputStream) in);
+    }
+    return new LimitedInputStream(in);
+  }
+
+  private <T> T call(String operation, StreamRequest<T> request) throws IOException {
+    acquire();
+    long startNs = System.nanoTime();
+    Outcome outcome = Outcome.FAILURE;
+    try {
+      T result = request.call();
+      outcome = Outcome.SUCCESS;
+      return result;
+    } catch (IOException e) {
+      outcome = classify(e);
+      throw e;
+    } finally {
+      release(operation, System.nanoTime() - startNs, outcome);
+    }
+  }
+
+  /**
+   * @return the current limit of concurrent requests
+   */
+  public int getLimit() {
+    mLock.lock();
+    try {
+      return (int) mLimit;
+    } finally {
+      mLock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of requests in flight
+   */
+  public int getInFlight() {
+    mLock.lock();
+    try {
+      return mInFlight;
+    } finally {
+      mLock.unlock();
+    }
+  }
+
+  /**
+   * Classifies a failed request. Under storages report throttling in their own exceptions, which
+   * are often wrapped, so the whole cause chain is checked for the usual status codes and
+   * messages.
+   *
+   * @param t the failure of a request
+   * @return the outcome of the request
+   */
+  public static Outcome classify(Throwable t) {
+    for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+      if (cause instanceof SocketTimeoutException) {
+        return Outcome.THROTTLED;
+      }
+      String message = cause.getMessage();
+      if (message != null && THROTTLED_MESSAGE.matcher(message).find()) {
+        return Outcome.THROTTLED;
+      }
+      if (cause.getCause() == cause) {
+        break;
+      }
+    }
+    return Outcome.FAILURE;
+  }
+
+  private ResourceExhaustedException reject() {
+    MetricsSystem.counterWithTags(MetricKey.PROCESS_UFS_CONCURRENCY_REJECTIONS.getName(), false,
+        MetricInfo.TAG_UFS, mUfsTag).inc();
+    return new ResourceExhaustedException(String.format(
+        "Timed out after %d ms waiting for one of the %d concurrent requests to %s",
+        TimeUnit.NANOSECONDS.toMillis(mWaitTimeoutNs), getLimit(), mUfsTag));
+  }
+
+  private void registerGauges() {
+    registerGauge(MetricKey.PROCESS_UFS_CONCURRENCY_LIMIT, this::getLimit);
+    registerGauge(MetricKey.PROCESS_UFS_CONCURRENCY_IN_FLIGHT, this::getInFlight);
+  }
+
+  private void registerGauge(MetricKey key, Gauge<Integer> gauge) {
+    String name = MetricsSystem.getMetricName(
+        Metric.getMetricNameWithTags(key.getName(), MetricInfo.TAG_UFS, mUfsTag));
+    // replace the gauge of the limiter this one replaces
+    MetricsSystem.removeMetrics(name);
+    MetricsSystem.registerGaugeIfAbsent(name, gauge);
+  }
+
+  /**
+   * A request of a stream to the under storage.
+   *
+   * @param <T> the result type
+   */
+  @FunctionalInterface
+  private interface StreamRequest<T> {
+    T call() throws IOException;
+  }
+
+  /**
+   * A stream whose requests are limited.
+   */
+  private final class LimitedInputStream extends FilterInputStream {
+    LimitedInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      return call("Read", in::read);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      return call("Read", () -> in.read(b, off, len));
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      return call("Skip", () -> in.skip(n));
+    }
+  }
+
+  /**
+   * A seekable stream whose requests are limited.
+   */
+  private final class LimitedSeekableInputStream extends SeekableUnderFileInputStream {
+    private final SeekableUnderFileInputStream mStream;
+
+    LimitedSeekableInputStream(SeekableUnderFileInputStream in) {
+      super(in);
+      mStream = in;
+    }
+
+    @Override
+    public int read() throws IOException {
+      return call("Read", mStream::read);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      return call("Read", () -> mStream.read(b, off, len));
+    }
+
+    @Override
+    public int read(ByteBuffer buffer) throws IOException {
+      return call("Read", () -> mStream.read(buffer));
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      return call("Skip", () -> mStream.skip(n));
+    }
+
+    @Override
+    public void seek(long pos) throws IOException {
+      call("Seek", () -> {
+        mStream.seek(pos);
+        return null;
+      });
+    }
+
+    @Override
+    public long getPos() throws IOException {
+      return mStream.getPos();
+    }
+  }
+}
@@ -60,6 +60,9 @@ public class UnderFileSystemWithLogging implements UnderFileSystem {
   private final String mPath;
   private final String mEscapedPath;
   private final long mLoggingThreshold;
+  /** The limiter of concurrent requests to the UFS, or null if requests are not limited. */
+  @Nullable
+  private final UfsConcurrencyLimiter mLimiter;
 
   /**
    * Creates a new {@link UnderFileSystemWithLogging} which forwards all calls to the provided
@@ -78,6 +81,8 @@ public class UnderFileSystemWithLogging implements UnderFileSystem {
     mConf = conf;
     mEscapedPath = MetricsSystem.escape(new AlluxioURI(path));
     mLoggingThreshold = mConf.getMs(PropertyKey.UNDERFS_LOGGING_THRESHOLD);
+    mLimiter = mConf.getBoolean(PropertyKey.UNDERFS_CONCURRENCY_LIMIT_ENABLED)
+        ? UfsConcurrencyLimiter.get(mEscapedPath, mConf) : null;
   }
 
   @Override
@@ -860,7 +865,7 @@ public class UnderFileSystemWithLogging implements UnderFileSystem {
 
   @Override
   public InputStream open(final String path) throws IOException {
-    return call(new UfsCallable<InputStream>() {
+    return limit(call(new UfsCallable<InputStream>() {
       @Override
       public InputStream call() throws IOException {
         return mUnderFileSystem.open(path);
@@ -875,12 +880,12 @@ public class UnderFileSystemWithLogging implements UnderFileSystem {
       public String toString() {
         return String.format("path=%s", path);
       }
-    });
+    }));
   }
 
   @Override
   public InputStream open(final String path, final OpenOptions options) throws IOException {
-    return call(new UfsCallable<InputStream>() {
+    return limit(call(new UfsCallable<InputStream>() {
       @Override
       public InputStream call() throws IOException {
         return mUnderFileSystem.open(path, options);
@@ -895,12 +900,12 @@ public class UnderFileSystemWithLogging implements UnderFileSystem {
       public String toString() {
         return String.format("path=%s, options=%s", path, options);
       }
-    });
+    }));
   }
 
   @Override
   public InputStream openExistingFile(final String path) throws IOException {
-    return call(new UfsCallable<InputStream>() {
+    return limit(call(new UfsCallable<InputStream>() {
       @Override
       public InputStream call() throws IOException {
         return mUnderFileSystem.openExistingFile(path);
@@ -915,13 +920,13 @@ public class UnderFileSystemWithLogging implements UnderFileSystem {
       public String toString() {
         return String.format("path=%s", path);
       }
-    });
+    }));
   }
 
   @Override
   public InputStream openExistingFile(final String path, final OpenOptions options)
       throws IOException {
-    return call(new UfsCallable<InputStream>() {
+    return limit(call(new UfsCallable<InputStream>() {
       @Override
       public InputStream call() throws IOException {
         return mUnderFileSystem.openExistingFile(path, options);
@@ -936,7 +941,7 @@ public class UnderFileSystemWithLogging implements UnderFileSystem {
       public String toString() {
         return String.format("path=%s, options=%s", path, options);
       }
-    });
+    }));
   }
 
   @Override
@@ -1230,11 +1235,17 @@ public class UnderFileSystemWithLogging implements UnderFileSystem {
    */
   private <T> T call(UfsCallable<T> callable) throws IOException {
     String methodName = callable.methodName();
+    if (mLimiter != null) {
+      mLimiter.acquire();
+    }
+    long startNs = System.nanoTime();
+    UfsConcurrencyLimiter.Outcome outcome = UfsConcurrencyLimiter.Outcome.FAILURE;
     long startMs = System.currentTimeMillis();
     long durationMs;
     LOG.debug("Enter: {}({})", methodName, callable);
     try (Timer.Context ctx = MetricsSystem.timer(getQualifiedMetricName(methodName)).time()) {
       T ret = callable.call();
+      outcome = UfsConcurrencyLimiter.Outcome.SUCCESS;
       durationMs = System.currentTimeMillis() - startMs;
       LOG.debug("Exit (OK): {}({}) in {} ms", methodName, callable, durationMs);
       if (durationMs >= mLoggingThreshold) {
@@ -1243,6 +1254,7 @@ public class UnderFileSystemWithLogging implements UnderFileSystem {
       }
       return ret;
     } catch (IOException e) {
+      outcome = UfsConcurrencyLimiter.classify(e);
       durationMs = System.currentTimeMillis() - startMs;
       MetricsSystem.counter(getQualifiedFailureMetricName(methodName)).inc();
       LOG.debug("Exit (Error): {}({}) in {} ms, Error={}",
@@ -1252,9 +1264,24 @@ public class UnderFileSystemWithLogging implements UnderFileSystem {
             callable, e, durationMs, mLoggingThreshold);
       }
       throw e;
+    } finally {
+      if (mLimiter != null) {
+        mLimiter.release(methodName, System.nanoTime() - startNs, outcome);
+      }
     }
   }
 
+  /**
+   * Limits the reads of a stream opened on the under storage, which are requests to the under
+   * storage as well.
+   *
+   * @param in the opened stream
+   * @return the stream whose requests are limited
+   */
+  private InputStream limit(InputStream in) {
+    return mLimiter == null ? in : mLimiter.limit(in);
+  }
+
   @Override
   public boolean isSeekable() {
     return mUnderFileSystem.isSeekable();
@@ -0,0 +1,173 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.Constants;
+
+import com.google.common.base.Preconditions;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A part of a multipart upload staged in memory. The part is made of direct chunks which are
+ * taken from a process-wide pool as the part grows, and returned to it on {@link #release()}.
+ *
+ * A buffer is filled by the writing thread and then handed to an upload thread, which reads it
+ * through {@link #getInputStream()} as many times as the upload is retried.
+ */
+@NotThreadSafe
+public final class UploadPartBuffer {
+  /** The size of the chunks parts are made of. */
+  static final int CHUNK_SIZE = (int) Constants.MB;
+  /** The maximum number of idle chunks kept in the pool. */
+  private static final int MAX_POOLED_CHUNKS = 128;
+  private static final Queue<ByteBuffer> CHUNK_POOL = new ArrayBlockingQueue<>(MAX_POOLED_CHUNKS);
+
+  private final List<ByteBuffer> mChunks = new ArrayList<>();
+  private long mLength;
+  private boolean mReleased;
+
+  /**
+   * Creates an empty part, see {@link UploadPartBufferPool#create()}.
+   */
+  UploadPartBuffer() {}
+
+  /**
+   * Appends bytes to the part.
+   *
+   * @param b the data
+   * @param off the start offset in the data
+   * @param len the number of bytes to write
+   */
+  public void write(byte[] b, int off, int len) {
+    Preconditions.checkState(!mReleased, "Upload part buffer is already released");
+    while (len > 0) {
+      ByteBuffer chunk = mChunks.isEmpty() ? null : mChunks.get(mChunks.size() - 1);
+      if (chunk == null || !chunk.hasRemaining()) {
+        chunk = CHUNK_POOL.poll();
+        if (chunk == null) {
+          chunk = ByteBuffer.allocateDirect(CHUNK_SIZE);
+        }
+        chunk.clear();
+        mChunks.add(chunk);
+      }
+      int n = Math.min(len, chunk.remaining());
+      chunk.put(b, off, n);
+      off += n;
+      len -= n;
+      mLength += n;
+    }
+  }
+
+  /**
+   * @return the number of bytes in the part
+   */
+  public long getLength() {
+    return mLength;
+  }
+
+  /**
+   * @return a new stream over the bytes of the part, which supports mark and reset
+   */
+  public InputStream getInputStream() {
+    Preconditions.checkState(!mReleased, "Upload part buffer is already released");
+    return new PartInputStream();
+  }
+
+  /**
+   * Returns the chunks of the part to the pool. The buffer must not be used afterwards.
+   */
+  public void release() {
+    if (mReleased) {
+      return;
+    }
+    mReleased = true;
+    for (ByteBuffer chunk : mChunks) {
+      CHUNK_POOL.offer(chunk);
+    }
+    mChunks.clear();
+  }
+
+  /**
+   * A stream over the chunks of the part. All chunks are full except the last one, so a
+   * position maps to a chunk by division.
+   */
+  private final class PartInputStream extends InputStream {
+    private long mPos;
+    private long mMark;
+
+    @Override
+    public int read() {
+      if (mPos >= mLength) {
+        return -1;
+      }
+      int value = mChunks.get((int) (mPos / CHUNK_SIZE)).get((int) (mPos % CHUNK_SIZE)) & 0xff;
+      mPos++;
+      return value;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      Preconditions.checkPositionIndexes(off, off + len, b.length);
+      if (len == 0) {
+        return 0;
+      }
+      if (mPos >= mLength) {
+        return -1;
+      }
+      int read = 0;
+      while (read < len && mPos < mLength) {
+        ByteBuffer chunk = mChunks.get((int) (mPos / CHUNK_SIZE)).duplicate();
+        chunk.limit(chunk.position());
+        chunk.position((int) (mPos % CHUNK_SIZE));
+        int n = Math.min(len - read, chunk.remaining());
+        chunk.get(b, off + read, n);
+        read += n;
+        mPos += n;
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(long n) {
+      long skipped = Math.max(0, Math.min(n, mLength - mPos));
+      mPos += skipped;
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      return (int) Math.min(Integer.MAX_VALUE, mLength - mPos);
+    }
+
+    @Override
+    public boolean markSupported() {
+      return true;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+      mMark = mPos;
+    }
+
+    @Override
+    public synchronized void reset() {
+      mPos = mMark;
+    }
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.Constants;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Semaphore;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Hands out the in-memory part buffers of the streaming multipart uploads of an under file
+ * system. Every stream fills one buffer at a time, which is not limited. Once a buffer is full it
+ * is handed to an upload, and at most a fixed number of parts are uploaded at a time, so
+ * {@link #acquireUpload()} blocks the writer until an upload finishes once the limit is reached.
+ * As the permits are only held by uploads which are running or queued, a writer never waits on
+ * a buffer held by another stream which is being written.
+ */
+@ThreadSafe
+public final class UploadPartBufferPool {
+  /** The number of parts uploaded with the same part size before the size doubles. */
+  private static final int PARTS_PER_SIZE_STEP = 1000;
+  /** The maximum size of a part accepted by object stores. */
+  private static final long MAX_PART_SIZE = 5L * Constants.GB;
+
+  private final Semaphore mPermits;
+
+  /**
+   * @param maxUploads the maximum number of parts uploaded at a time
+   */
+  public UploadPartBufferPool(int maxUploads) {
+    Preconditions.checkArgument(maxUploads > 0, "maxUploads must be positive");
+    mPermits = new Semaphore(maxUploads);
+  }
+
+  /**
+   * @return an empty buffer to write a part to
+   */
+  public UploadPartBuffer create() {
+    return new UploadPartBuffer();
+  }
+
+  /**
+   * Reserves the upload of a full part, waiting until one of the parts being uploaded is done
+   * if needed. Every reservation must be released by {@link #releaseUpload()}.
+   */
+  public void acquireUpload() throws IOException {
+    try {
+      mPermits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for an upload part buffer");
+    }
+  }
+
+  /**
+   * Releases the reservation of an upload taken by {@link #acquireUpload()}.
+   */
+  public void releaseUpload() {
+    mPermits.release();
+  }
+
+  /**
+   * Returns the size of a part of a multipart upload. The part size doubles every
+   * {@link #PARTS_PER_SIZE_STEP} parts, so that large files fit in the part count limit of object
+   * stores while small files keep small parts.
+   *
+   * @param basePartSize the configured part size
+   * @param partNumber the number of the part, starting from 1
+   * @return the size of the part
+   */
+  public static long getPartSize(long basePartSize, int partNumber) {
+    int steps = Math.min(Math.max(0, partNumber - 1) / PARTS_PER_SIZE_STEP, 16);
+    return Math.min(MAX_PART_SIZE, Math.max(basePartSize, basePartSize << steps));
+  }
+}
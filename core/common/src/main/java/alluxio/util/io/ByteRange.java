@@ -0,0 +1,119 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.util.io;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A range of bytes in a file or a block, given by its offset and length.
+ */
+@ThreadSafe
+public final class ByteRange {
+  private final long mOffset;
+  private final long mLength;
+
+  /**
+   * @param offset the offset of the first byte of the range
+   * @param length the number of bytes in the range
+   */
+  public ByteRange(long offset, long length) {
+    Preconditions.checkArgument(offset >= 0, "offset must be non-negative: %s", offset);
+    Preconditions.checkArgument(length >= 0, "length must be non-negative: %s", length);
+    mOffset = offset;
+    mLength = length;
+  }
+
+  /**
+   * @return the offset of the first byte of the range
+   */
+  public long getOffset() {
+    return mOffset;
+  }
+
+  /**
+   * @return the number of bytes in the range
+   */
+  public long getLength() {
+    return mLength;
+  }
+
+  /**
+   * @return the offset right after the last byte of the range
+   */
+  public long getEnd() {
+    return mOffset + mLength;
+  }
+
+  /**
+   * Merges ranges which overlap or are separated by at most {@code maxGap} bytes. Reading the
+   * bytes in a small gap is usually cheaper than a separate request for each range.
+   *
+   * @param ranges the ranges to merge, in any order
+   * @param maxGap the maximum number of bytes between two ranges to merge them
+   * @return the merged ranges, sorted by offset
+   */
+  public static List<ByteRange> coalesce(Collection<ByteRange> ranges, long maxGap) {
+    List<ByteRange> sorted = new ArrayList<>(ranges);
+    sorted.sort(Comparator.comparingLong(ByteRange::getOffset));
+    List<ByteRange> merged = new ArrayList<>();
+    long start = -1;
+    long end = -1;
+    for (ByteRange range : sorted) {
+      if (start >= 0 && range.getOffset() <= end + maxGap) {
+        end = Math.max(end, range.getEnd());
+        continue;
+      }
+      if (start >= 0) {
+        merged.add(new ByteRange(start, end - start));
+      }
+      start = range.getOffset();
+      end = range.getEnd();
+    }
+    if (start >= 0) {
+      merged.add(new ByteRange(start, end - start));
+    }
+    return merged;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ByteRange)) {
+      return false;
+    }
+    ByteRange that = (ByteRange) o;
+    return mOffset == that.mOffset && mLength == that.mLength;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(mOffset, mLength);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("offset", mOffset)
+        .add("length", mLength)
+        .toString();
+  }
+}
@@ -29,7 +29,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.FileDescriptor;
 import java.io.IOException;
+import java.lang.reflect.Field;
 import java.nio.file.DirectoryNotEmptyException;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.FileSystems;
@@ -51,6 +53,7 @@ import java.nio.file.attribute.UserPrincipal;
 import java.nio.file.attribute.UserPrincipalLookupService;
 import java.util.HashSet;
 import java.util.Set;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -61,6 +64,9 @@ import javax.annotation.concurrent.ThreadSafe;
 @ThreadSafe
 public final class FileUtils {
   private static final Logger LOG = LoggerFactory.getLogger(FileUtils.class);
+  /** The number of the descriptor in a {@link FileDescriptor}, null if inaccessible. */
+  @Nullable
+  private static final Field FD_FIELD = getFdField();
 
   /**
    * Changes the local file's group.
@@ -390,5 +396,58 @@ public final class FileUtils {
         && Files.isExecutable(filePath);
   }
 
+  /**
+   * @return whether the numbers of file descriptors are accessible in this JVM, which
+   *         {@link #getDescriptorNumber} and {@link #fromDescriptorNumber} depend on
+   */
+  public static boolean isDescriptorNumberAccessible() {
+    return FD_FIELD != null;
+  }
+
+  /**
+   * @param fd an open file descriptor
+   * @return the number of the descriptor in the process
+   */
+  public static int getDescriptorNumber(FileDescriptor fd) throws IOException {
+    Preconditions.checkState(isDescriptorNumberAccessible(),
+        "File descriptor numbers are not accessible");
+    try {
+      return FD_FIELD.getInt(fd);
+    } catch (IllegalAccessException e) {
+      throw new IOException("Failed to get the number of a file descriptor", e);
+    }
+  }
+
+  /**
+   * Wraps a descriptor number, such as one received from another process, in a
+   * {@link FileDescriptor}. Closing a stream created on the descriptor closes the descriptor.
+   *
+   * @param fd the number of an open descriptor in the process
+   * @return the file descriptor
+   */
+  public static FileDescriptor fromDescriptorNumber(int fd) throws IOException {
+    Preconditions.checkState(isDescriptorNumberAccessible(),
+        "File descriptor numbers are not accessible");
+    FileDescriptor descriptor = new FileDescriptor();
+    try {
+      FD_FIELD.setInt(descriptor, fd);
+    } catch (IllegalAccessException e) {
+      throw new IOException("Failed to create a file descriptor", e);
+    }
+    return descriptor;
+  }
+
+  @Nullable
+  private static Field getFdField() {
+    try {
+      Field field = FileDescriptor.class.getDeclaredField("fd");
+      field.setAccessible(true);
+      return field;
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      LOG.debug("File descriptor numbers are not accessible: {}", e.toString());
+      return null;
+    }
+  }
+
   private FileUtils() {} // prevent instantiation
 }
@@ -31,6 +31,7 @@ public final class BlockReadRequest {
   private final long mSessionId;
   private final boolean mPromote;
   private final boolean mPositionShort;
+  private final boolean mAdaptiveChunkSize;
 
   /**
    * Creates an instance of {@link BlockReadRequest}.
@@ -42,6 +43,7 @@ public final class BlockReadRequest {
     return new BlockReadRequest(request.getBlockId(), request.getOffset(),
         request.getOffset() + request.getLength(),
         request.getChunkSize(), request.getPromote(), request.getPositionShort(),
+        request.getAdaptiveChunkSize(),
         request.hasOpenUfsBlockOptions() ? request.getOpenUfsBlockOptions() : null);
   }
 
@@ -54,10 +56,12 @@ public final class BlockReadRequest {
    * @param chunkSize chunk size in bytes
    * @param promote whether to promote the block to top tier
    * @param positionShort whether this is a short read
+   * @param adaptiveChunkSize whether the chunk size should grow as the stream is consumed
    * @param openUfsBlockOptions options to read file from UFS
    */
   private BlockReadRequest(long id, long start, long end, long chunkSize, boolean promote,
-      boolean positionShort, Protocol.OpenUfsBlockOptions openUfsBlockOptions) {
+      boolean positionShort, boolean adaptiveChunkSize,
+      Protocol.OpenUfsBlockOptions openUfsBlockOptions) {
     mId = id;
     mStart = start;
     mEnd = end;
@@ -66,6 +70,7 @@ public final class BlockReadRequest {
     mOpenUfsBlockOptions = openUfsBlockOptions;
     mPromote = promote;
     mPositionShort = positionShort;
+    mAdaptiveChunkSize = adaptiveChunkSize;
   }
 
   /**
@@ -117,6 +122,13 @@ public final class BlockReadRequest {
     return mPositionShort;
   }
 
+  /**
+   * @return if the chunk size should start small and grow as the stream is consumed
+   */
+  public boolean isAdaptiveChunkSize() {
+    return mAdaptiveChunkSize;
+  }
+
   /**
    * @return the option to open UFS block
    */
@@ -135,6 +147,7 @@ public final class BlockReadRequest {
         .add("sessionId", getSessionId())
         .add("start", getStart())
         .add("positionShort", isPositionShort())
+        .add("adaptiveChunkSize", isAdaptiveChunkSize())
         .toString();
   }
 }
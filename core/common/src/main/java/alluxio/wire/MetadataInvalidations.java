@@ -0,0 +1,108 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.wire;
+
+import alluxio.grpc.GetMetadataInvalidationsPResponse;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.Collection;
+import java.util.List;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The paths modified in the namespace since a version of the metadata invalidation log of the
+ * master. The log is identified by an epoch which changes when the primary master changes, and
+ * versions are only comparable within an epoch.
+ */
+@Immutable
+public final class MetadataInvalidations {
+  private final long mEpoch;
+  private final long mVersion;
+  private final Collection<String> mPaths;
+  private final boolean mComplete;
+
+  /**
+   * @param epoch the epoch of the log
+   * @param version the version of the log the paths are read up to
+   * @param paths the paths modified since the requested version
+   * @param complete whether the paths are all the paths modified since the requested version
+   */
+  public MetadataInvalidations(long epoch, long version, Collection<String> paths,
+      boolean complete) {
+    mEpoch = epoch;
+    mVersion = version;
+    mPaths = paths;
+    mComplete = complete;
+  }
+
+  /**
+   * @return the epoch of the log
+   */
+  public long getEpoch() {
+    return mEpoch;
+  }
+
+  /**
+   * @return the version of the log the paths are read up to
+   */
+  public long getVersion() {
+    return mVersion;
+  }
+
+  /**
+   * @return the paths modified since the requested version
+   */
+  public Collection<String> getPaths() {
+    return mPaths;
+  }
+
+  /**
+   * @return whether the paths are all the paths modified since the requested version, if not,
+   *         all the metadata cached before must be dropped
+   */
+  public boolean isComplete() {
+    return mComplete;
+  }
+
+  /**
+   * @return proto representation of the invalidations
+   */
+  public GetMetadataInvalidationsPResponse toProto() {
+    return GetMetadataInvalidationsPResponse.newBuilder()
+        .setEpoch(mEpoch)
+        .setVersion(mVersion)
+        .addAllPaths(mPaths)
+        .setComplete(mComplete)
+        .build();
+  }
+
+  /**
+   * @param response the proto representation
+   * @return the invalidations
+   */
+  public static MetadataInvalidations fromProto(GetMetadataInvalidationsPResponse response) {
+    List<String> paths = response.getPathsList();
+    return new MetadataInvalidations(response.getEpoch(), response.getVersion(), paths,
+        response.getComplete());
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("epoch", mEpoch)
+        .add("version", mVersion)
+        .add("paths", mPaths.size())
+        .add("complete", mComplete)
+        .toString();
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.io;
+
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.util.CommonUtils;
+
+import io.netty.buffer.ByteBuf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An engine which serves positioned reads of local block files asynchronously, so that the
+ * caller does not have to park a thread while a read is outstanding.
+ */
+public interface AsyncBlockReadEngine extends Closeable {
+  /**
+   * Opens a block file for asynchronous reads.
+   *
+   * @param path the path of the block file
+   * @return a reader of the file
+   */
+  AsyncFileReader open(String path) throws IOException;
+
+  /**
+   * A file opened by an {@link AsyncBlockReadEngine}.
+   */
+  interface AsyncFileReader extends Closeable {
+    /**
+     * Submits a positioned read. The returned future completes with a buffer holding the bytes
+     * read, which is fewer than {@code length} bytes only if the end of the file is reached.
+     * The caller owns the buffer and is responsible for releasing it.
+     *
+     * @param offset the position in the file to start reading from
+     * @param length the number of bytes to read
+     * @return a future of the data read
+     */
+    CompletableFuture<ByteBuf> read(long offset, int length);
+  }
+
+  /**
+   * Factory for {@link AsyncBlockReadEngine}.
+   */
+  final class Factory {
+    private static final Logger LOG = LoggerFactory.getLogger(Factory.class);
+
+    private Factory() {} // prevent instantiation
+
+    /**
+     * Creates the engine configured by
+     * {@link PropertyKey#WORKER_NETWORK_READER_ASYNC_ENGINE_CLASS}, falling back to
+     * {@link NioAsyncBlockReadEngine} if it cannot be created.
+     *
+     * @param conf the configuration
+     * @return the generated {@link AsyncBlockReadEngine}
+     */
+    public static AsyncBlockReadEngine create(AlluxioConfiguration conf) {
+      try {
+        return CommonUtils.createNewClassInstance(
+            conf.getClass(PropertyKey.WORKER_NETWORK_READER_ASYNC_ENGINE_CLASS),
+            new Class[] {AlluxioConfiguration.class}, new Object[] {conf});
+      } catch (RuntimeException | LinkageError e) {
+        LOG.warn("Failed to create async block read engine {}, falling back to {}: {}",
+            conf.getString(PropertyKey.WORKER_NETWORK_READER_ASYNC_ENGINE_CLASS),
+            NioAsyncBlockReadEngine.class.getName(), e.toString());
+        return new NioAsyncBlockReadEngine(conf);
+      }
+    }
+  }
+}
@@ -0,0 +1,220 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.io;
+
+import alluxio.Constants;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.util.logging.SamplingLogger;
+
+import com.google.common.io.Closer;
+import io.netty.util.internal.PlatformDependent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.Paths;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Utilities for reading and writing block files with direct I/O, which bypasses the OS page
+ * cache. Direct I/O requires the file offset, the length and the memory address of every
+ * transfer to be aligned, so transfers are staged in aligned direct buffers which are pooled.
+ *
+ * Direct I/O relies on {@code com.sun.nio.file.ExtendedOpenOption.DIRECT}, which is available
+ * from Java 10. On older runtimes {@link #isSupported()} returns false and callers fall back to
+ * buffered I/O, the worker warns about it when it sets up a tier configured for direct I/O.
+ */
+@ThreadSafe
+public final class DirectIo {
+  private static final Logger LOG = LoggerFactory.getLogger(DirectIo.class);
+  private static final Logger SAMPLING_LOG = new SamplingLogger(LOG, Constants.MINUTE_MS);
+
+  /** The alignment of direct I/O transfers, the logical block size of most devices. */
+  public static final int ALIGNMENT = 4096;
+  /** The size of the staging buffers. */
+  public static final int BUFFER_SIZE = (int) alignUp(Math.max(ALIGNMENT, Configuration.getBytes(
+      PropertyKey.WORKER_TIERED_STORE_DIRECT_IO_BUFFER_SIZE)));
+  private static final int MAX_POOLED_BUFFERS = 64;
+
+  @Nullable
+  private static final OpenOption DIRECT = loadDirectOption();
+  private static final Queue<ByteBuffer> BUFFER_POOL = new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
+
+  private DirectIo() {} // prevent instantiation
+
+  /**
+   * @return whether the runtime supports direct I/O
+   */
+  public static boolean isSupported() {
+    return DIRECT != null;
+  }
+
+  /**
+   * Opens a file for direct I/O.
+   *
+   * @param path the path of the file
+   * @param options the options to open the file with, in addition to direct I/O
+   * @return the channel of the file
+   */
+  public static FileChannel open(String path, OpenOption... options) throws IOException {
+    if (DIRECT == null) {
+      throw new UnsupportedOperationException("Direct I/O is not supported by this runtime");
+    }
+    OpenOption[] directOptions = new OpenOption[options.length + 1];
+    System.arraycopy(options, 0, directOptions, 0, options.length);
+    directOptions[options.length] = DIRECT;
+    return FileChannel.open(Paths.get(path), directOptions);
+  }
+
+  /**
+   * Opens a file for direct I/O if the runtime and the file system support it.
+   *
+   * @param closer the closer to register the channel with
+   * @param path the path of the file
+   * @param options the options to open the file with, in addition to direct I/O
+   * @return the channel of the file, or null if the file should be accessed with buffered I/O
+   */
+  @Nullable
+  public static FileChannel tryOpen(Closer closer, String path, OpenOption... options) {
+    if (DIRECT == null) {
+      return null;
+    }
+    try {
+      return closer.register(open(path, options));
+    } catch (IOException e) {
+      // e.g. tmpfs does not support direct I/O
+      SAMPLING_LOG.warn("Failed to open {} for direct I/O, falling back to buffered I/O: {}",
+          path, e.toString());
+      return null;
+    }
+  }
+
+  /**
+   * @param value a file offset or length
+   * @return the largest aligned value not greater than the given value
+   */
+  public static long alignDown(long value) {
+    return value - value % ALIGNMENT;
+  }
+
+  /**
+   * @param value a file offset or length
+   * @return the smallest aligned value not smaller than the given value
+   */
+  public static long alignUp(long value) {
+    return alignDown(value + ALIGNMENT - 1);
+  }
+
+  /**
+   * Takes an aligned buffer of {@link #BUFFER_SIZE} bytes from the pool, or allocates one if
+   * the pool is empty.
+   *
+   * @return a cleared aligned buffer
+   */
+  public static ByteBuffer acquireBuffer() {
+    ByteBuffer buffer = BUFFER_POOL.poll();
+    if (buffer == null) {
+      ByteBuffer raw = ByteBuffer.allocateDirect(BUFFER_SIZE + ALIGNMENT);
+      long address = PlatformDependent.directBufferAddress(raw);
+      int shift = (int) ((ALIGNMENT - address % ALIGNMENT) % ALIGNMENT);
+      raw.position(shift);
+      raw.limit(shift + BUFFER_SIZE);
+      buffer = raw.slice();
+    }
+    buffer.clear();
+    return buffer;
+  }
+
+  /**
+   * Returns a buffer taken by {@link #acquireBuffer()} to the pool.
+   *
+   * @param buffer the buffer
+   */
+  public static void releaseBuffer(ByteBuffer buffer) {
+    BUFFER_POOL.offer(buffer);
+  }
+
+  /**
+   * Reads a range of a file opened for direct I/O. The range is read in aligned pieces and the
+   * requested bytes are handed to the sink, which must consume the buffer it is given.
+   *
+   * @param channel the channel opened by {@link #open(String, OpenOption...)}
+   * @param offset the offset of the range
+   * @param length the length of the range
+   * @param sink the consumer of the bytes read
+   * @return the number of bytes read, fewer than the length only at the end of the file
+   */
+  public static long read(FileChannel channel, long offset, long length,
+      Consumer<ByteBuffer> sink) throws IOException {
+    ByteBuffer buffer = acquireBuffer();
+    try {
+      long pos = offset;
+      long end = offset + length;
+      while (pos < end) {
+        long alignedPos = alignDown(pos);
+        buffer.clear();
+        buffer.limit((int) Math.min(BUFFER_SIZE, alignUp(end) - alignedPos));
+        int bytesRead = channel.read(buffer, alignedPos);
+        int skip = (int) (pos - alignedPos);
+        if (bytesRead <= skip) {
+          break;
+        }
+        int n = (int) Math.min(bytesRead - skip, end - pos);
+        buffer.limit(skip + n);
+        buffer.position(skip);
+        sink.accept(buffer);
+        pos += n;
+      }
+      return pos - offset;
+    } finally {
+      releaseBuffer(buffer);
+    }
+  }
+
+  /**
+   * Writes the staged bytes of an aligned buffer at an aligned offset of a file opened for direct
+   * I/O. A partial trailing block is written padded to the alignment, the caller truncates the
+   * file to its real length afterwards.
+   *
+   * @param channel the channel opened by {@link #open(String, OpenOption...)}
+   * @param buffer the aligned buffer, flipped for reading
+   * @param offset the aligned offset to write at
+   */
+  public static void write(FileChannel channel, ByteBuffer buffer, long offset)
+      throws IOException {
+    buffer.limit((int) alignUp(buffer.limit()));
+    long pos = offset;
+    while (buffer.hasRemaining()) {
+      pos += channel.write(buffer, pos);
+    }
+  }
+
+  @Nullable
+  @SuppressWarnings("unchecked")
+  private static OpenOption loadDirectOption() {
+    try {
+      Class<?> options = Class.forName("com.sun.nio.file.ExtendedOpenOption");
+      return (OpenOption) Enum.valueOf(options.asSubclass(Enum.class), "DIRECT");
+    } catch (ClassNotFoundException | IllegalArgumentException e) {
+      LOG.debug("Direct I/O is not supported by this runtime");
+      return null;
+    }
+  }
+}
@@ -22,12 +22,21 @@ import io.netty.buffer.ByteBuf;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * This class provides read access to a block data file locally stored in managed storage.
+ *
+ * With direct I/O, {@link #read(long, long)} and {@link #transferTo(ByteBuf)} read the file in
+ * aligned pieces with {@link DirectIo}, bypassing the OS page cache. The channel returned by
+ * {@link #getChannel()} keeps tracking the position of {@link #transferTo(ByteBuf)} but reads
+ * from it are buffered.
  */
 @NotThreadSafe
 public class LocalFileBlockReader extends BlockReader {
@@ -37,8 +46,12 @@ public class LocalFileBlockReader extends BlockReader {
   private final String mFilePath;
   private final RandomAccessFile mLocalFile;
   private final FileChannel mLocalFileChannel;
+  /** The channel for direct I/O, or null if the reader uses buffered I/O. */
+  @Nullable
+  private final FileChannel mDirectChannel;
   private final Closer mCloser = Closer.create();
   private final long mFileSize;
+  private AsyncBlockReadEngine.AsyncFileReader mAsyncReader;
   private boolean mClosed;
   private int mUsageCount = 0;
 
@@ -48,10 +61,29 @@ public class LocalFileBlockReader extends BlockReader {
    * @param path file path of the block
    */
   public LocalFileBlockReader(String path) throws IOException {
+    this(path, false);
+  }
+
+  /**
+   * Constructs a Block reader given the file path of the block.
+   *
+   * @param path file path of the block
+   * @param directIo whether to read with direct I/O, ignored if not supported by the runtime
+   */
+  public LocalFileBlockReader(String path, boolean directIo) throws IOException {
     mFilePath = Preconditions.checkNotNull(path, "path");
     mLocalFile = mCloser.register(new RandomAccessFile(mFilePath, "r"));
     mFileSize = mLocalFile.length();
     mLocalFileChannel = mCloser.register(mLocalFile.getChannel());
+    mDirectChannel = directIo ? DirectIo.tryOpen(mCloser, mFilePath, StandardOpenOption.READ)
+        : null;
+  }
+
+  /**
+   * @return whether the reader reads with direct I/O
+   */
+  public boolean isDirectIo() {
+    return mDirectChannel != null;
   }
 
   @Override
@@ -97,11 +129,50 @@ public class LocalFileBlockReader extends BlockReader {
   public ByteBuffer read(long offset, long length) throws IOException {
     Preconditions.checkArgument(offset + length <= mFileSize,
         "offset=%s, length=%s, exceeding fileSize=%s", offset, length, mFileSize);
+    if (mDirectChannel != null) {
+      ByteBuffer buffer = ByteBuffer.allocate((int) length);
+      DirectIo.read(mDirectChannel, offset, length, buffer::put);
+      buffer.flip();
+      return buffer;
+    }
     return mLocalFileChannel.map(FileChannel.MapMode.READ_ONLY, offset, length);
   }
 
+  /**
+   * Submits a positioned read of the block to an {@link AsyncBlockReadEngine}. The block file is
+   * opened in the engine on the first call, and closed together with this reader. The reader
+   * must not be closed while any returned future is incomplete.
+   *
+   * @param engine the engine to serve the read
+   * @param offset the offset from starting of the block file in bytes
+   * @param length the length of data to read in bytes
+   * @return a future of the data read, the caller is responsible for releasing the buffer
+   */
+  public CompletableFuture<ByteBuf> readAsync(AsyncBlockReadEngine engine, long offset,
+      int length) throws IOException {
+    Preconditions.checkArgument(offset + length <= mFileSize,
+        "offset=%s, length=%s, exceeding fileSize=%s", offset, length, mFileSize);
+    if (mClosed) {
+      throw new ClosedChannelException();
+    }
+    if (mAsyncReader == null) {
+      mAsyncReader = mCloser.register(engine.open(mFilePath));
+    }
+    return mAsyncReader.read(offset, length);
+  }
+
   @Override
   public int transferTo(ByteBuf buf) throws IOException {
+    if (mDirectChannel != null) {
+      long pos = mLocalFileChannel.position();
+      if (pos >= mFileSize) {
+        return -1;
+      }
+      int bytesRead = (int) DirectIo.read(mDirectChannel, pos,
+          Math.min(buf.writableBytes(), mFileSize - pos), buf::writeBytes);
+      mLocalFileChannel.position(pos + bytesRead);
+      return bytesRead;
+    }
     return buf.writeBytes(mLocalFileChannel, buf.writableBytes());
   }
 
@@ -27,17 +27,32 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
 import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * This class provides write access to a temp block data file locally stored in managed storage.
+ *
+ * With direct I/O, the data is staged in an aligned buffer and written to the file in aligned
+ * pieces with {@link DirectIo}, bypassing the OS page cache. The last partial piece is written
+ * padded when the writer is closed, and the file is then truncated to the length written.
  */
 @NotThreadSafe
 public class LocalFileBlockWriter extends BlockWriter {
   private static final Logger LOG = LoggerFactory.getLogger(LocalFileBlockWriter.class);
   private final FileChannel mLocalFileChannel;
+  /** The channel for direct I/O, or null if the writer uses buffered I/O. */
+  @Nullable
+  private final FileChannel mDirectChannel;
+  /** The aligned buffer staging the data not yet written with direct I/O. */
+  @Nullable
+  private ByteBuffer mStagingBuffer;
+  /** The offset in the file where the staged data is written. */
+  private long mDirectPosition;
   private final Closer mCloser = Closer.create();
   private long mPosition;
   private boolean mClosed;
@@ -48,6 +63,16 @@ public class LocalFileBlockWriter extends BlockWriter {
    * @param path file path of the block
    */
   public LocalFileBlockWriter(String path) {
+    this(path, false);
+  }
+
+  /**
+   * Constructs a Block writer given the file path of the block.
+   *
+   * @param path file path of the block
+   * @param directIo whether to write with direct I/O, ignored if not supported by the runtime
+   */
+  public LocalFileBlockWriter(String path, boolean directIo) {
     String filePath = Preconditions.checkNotNull(path, "path");
     RandomAccessFile localFile;
     try {
@@ -56,10 +81,22 @@ public class LocalFileBlockWriter extends BlockWriter {
       throw new NotFoundRuntimeException("wrong path when creating RandomAccessFile", e);
     }
     mLocalFileChannel = mCloser.register(localFile.getChannel());
+    mDirectChannel = directIo ? DirectIo.tryOpen(mCloser, filePath, StandardOpenOption.WRITE)
+        : null;
+    if (mDirectChannel != null) {
+      mStagingBuffer = DirectIo.acquireBuffer();
+    }
   }
 
   @Override
   public long append(ByteBuffer inputBuf) {
+    if (mDirectChannel != null) {
+      try {
+        return appendDirect(inputBuf);
+      } catch (IOException e) {
+        throw new InternalRuntimeException(e);
+      }
+    }
     long bytesWritten;
 
     int inputBufLength = inputBuf.limit() - inputBuf.position();
@@ -80,6 +117,14 @@ public class LocalFileBlockWriter extends BlockWriter {
 
   @Override
   public long append(ByteBuf buf) throws IOException {
+    if (mDirectChannel != null) {
+      long bytesWritten = 0;
+      for (ByteBuffer buffer : buf.nioBuffers()) {
+        bytesWritten += appendDirect(buffer);
+      }
+      buf.skipBytes((int) bytesWritten);
+      return bytesWritten;
+    }
     long bytesWritten = buf.readBytes(mLocalFileChannel, buf.readableBytes());
     mPosition += bytesWritten;
     return bytesWritten;
@@ -87,6 +132,9 @@ public class LocalFileBlockWriter extends BlockWriter {
 
   @Override
   public long append(DataBuffer buffer) throws IOException {
+    if (mDirectChannel != null) {
+      return appendDirect(buffer.getReadOnlyByteBuffer());
+    }
     ByteBuf bytebuf = null;
     try {
       bytebuf = (ByteBuf) buffer.getNettyOutput();
@@ -108,6 +156,25 @@ public class LocalFileBlockWriter extends BlockWriter {
 
   @Override
   public WritableByteChannel getChannel() {
+    if (mDirectChannel != null) {
+      return new WritableByteChannel() {
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+          if (mClosed) {
+            throw new ClosedChannelException();
+          }
+          return (int) appendDirect(src);
+        }
+
+        @Override
+        public boolean isOpen() {
+          return !mClosed;
+        }
+
+        @Override
+        public void close() {}
+      };
+    }
     return mLocalFileChannel;
   }
 
@@ -118,9 +185,46 @@ public class LocalFileBlockWriter extends BlockWriter {
     }
     mClosed = true;
 
-    super.close();
-    mCloser.close();
-    mPosition = -1;
+    try {
+      if (mStagingBuffer != null) {
+        if (mStagingBuffer.position() > 0) {
+          mStagingBuffer.flip();
+          DirectIo.write(mDirectChannel, mStagingBuffer, mDirectPosition);
+          mLocalFileChannel.truncate(mPosition);
+        }
+        DirectIo.releaseBuffer(mStagingBuffer);
+        mStagingBuffer = null;
+      }
+    } finally {
+      super.close();
+      mCloser.close();
+      mPosition = -1;
+    }
+  }
+
+  /**
+   * Stages the data in the aligned buffer, writing the buffer out whenever it is full.
+   *
+   * @param src the data to write
+   * @return the number of bytes written
+   */
+  private long appendDirect(ByteBuffer src) throws IOException {
+    long bytesWritten = src.remaining();
+    while (src.hasRemaining()) {
+      int n = Math.min(src.remaining(), mStagingBuffer.remaining());
+      ByteBuffer piece = src.duplicate();
+      piece.limit(piece.position() + n);
+      mStagingBuffer.put(piece);
+      src.position(src.position() + n);
+      if (!mStagingBuffer.hasRemaining()) {
+        mStagingBuffer.flip();
+        DirectIo.write(mDirectChannel, mStagingBuffer, mDirectPosition);
+        mDirectPosition += mStagingBuffer.limit();
+        mStagingBuffer.clear();
+      }
+    }
+    mPosition += bytesWritten;
+    return bytesWritten;
   }
 
   private long write(long offset, DataBuffer inputBuf) throws IOException {
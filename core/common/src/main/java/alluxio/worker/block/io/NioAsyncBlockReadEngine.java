@@ -0,0 +1,121 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.io;
+
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A pure Java {@link AsyncBlockReadEngine} based on {@link AsynchronousFileChannel}. All files
+ * opened by the engine share one small pool of threads which complete the reads, regardless of
+ * how many reads are outstanding.
+ */
+@ThreadSafe
+public class NioAsyncBlockReadEngine implements AsyncBlockReadEngine {
+  private final ExecutorService mExecutor;
+
+  /**
+   * Creates a new instance of {@link NioAsyncBlockReadEngine}.
+   *
+   * @param conf the configuration
+   */
+  public NioAsyncBlockReadEngine(AlluxioConfiguration conf) {
+    mExecutor = Executors.newFixedThreadPool(
+        conf.getInt(PropertyKey.WORKER_NETWORK_READER_ASYNC_THREADS),
+        ThreadFactoryUtils.build("AsyncBlockReadEngine-%d", true));
+  }
+
+  @Override
+  public AsyncFileReader open(String path) throws IOException {
+    return new NioAsyncFileReader(AsynchronousFileChannel.open(Paths.get(path),
+        ImmutableSet.of(StandardOpenOption.READ), mExecutor));
+  }
+
+  @Override
+  public void close() {
+    mExecutor.shutdownNow();
+  }
+
+  private static final class NioAsyncFileReader implements AsyncFileReader {
+    private final AsynchronousFileChannel mChannel;
+
+    private NioAsyncFileReader(AsynchronousFileChannel channel) {
+      mChannel = channel;
+    }
+
+    @Override
+    public CompletableFuture<ByteBuf> read(long offset, int length) {
+      Preconditions.checkArgument(offset >= 0 && length > 0,
+          "offset=%s, length=%s", offset, length);
+      CompletableFuture<ByteBuf> future = new CompletableFuture<>();
+      ByteBuf buf = PooledByteBufAllocator.DEFAULT.directBuffer(length, length);
+      readFully(buf, offset, future);
+      return future;
+    }
+
+    /**
+     * Reads until the buffer is full or the end of the file is reached, resubmitting the
+     * remaining part of the read on short reads.
+     */
+    private void readFully(ByteBuf buf, long position, CompletableFuture<ByteBuf> future) {
+      ByteBuffer nioBuffer = buf.nioBuffer(buf.writerIndex(), buf.writableBytes());
+      CompletionHandler<Integer, Void> handler = new CompletionHandler<Integer, Void>() {
+        @Override
+        public void completed(Integer bytesRead, Void attachment) {
+          if (bytesRead <= 0) {
+            future.complete(buf);
+            return;
+          }
+          buf.writerIndex(buf.writerIndex() + bytesRead);
+          if (buf.writableBytes() == 0) {
+            future.complete(buf);
+          } else {
+            readFully(buf, position + bytesRead, future);
+          }
+        }
+
+        @Override
+        public void failed(Throwable t, Void attachment) {
+          buf.release();
+          future.completeExceptionally(t);
+        }
+      };
+      try {
+        mChannel.read(nioBuffer, position, null, handler);
+      } catch (RuntimeException e) {
+        handler.failed(e, null);
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      mChannel.close();
+    }
+  }
+}
@@ -18,14 +18,22 @@ import alluxio.conf.Configuration;
 import alluxio.conf.InstancedConfiguration;
 import alluxio.conf.PropertyKey;
 
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -134,6 +142,86 @@ public final class GrpcChannelPoolTest {
     }
   }
 
+  @Test
+  public void testStripedChannel() throws Exception {
+    sConf.set(PropertyKey.USER_NETWORK_STREAMING_STRIPES, 4);
+    Set<SocketAddress> remoteAddresses = ConcurrentHashMap.newKeySet();
+
+    try (CloseableTestServer server = createServer(remoteAddressRecorder(remoteAddresses))) {
+      GrpcChannel conn1 = GrpcChannelPool.INSTANCE.acquireChannel(
+          GrpcNetworkGroup.STREAMING, server.getConnectAddress(), sConf);
+      GrpcChannel conn2 = GrpcChannelPool.INSTANCE.acquireChannel(
+          GrpcNetworkGroup.STREAMING, server.getConnectAddress(), sConf);
+      // Calls are spread over all stripes.
+      callServer(conn1, 8);
+      assertEquals(4, remoteAddresses.size());
+      // Striped channels take the next slots of the group, like other channels.
+      callServer(conn2, 8);
+      assertEquals(8, remoteAddresses.size());
+      conn1.close();
+      conn2.close();
+    }
+  }
+
+  @Test
+  public void testStripedChannelMaxConnections() throws Exception {
+    sConf.set(PropertyKey.USER_NETWORK_STREAMING_STRIPES, 4);
+    sConf.set(PropertyKey.USER_NETWORK_STREAMING_MAX_CONNECTIONS, 2);
+    Set<SocketAddress> remoteAddresses = ConcurrentHashMap.newKeySet();
+
+    try (CloseableTestServer server = createServer(remoteAddressRecorder(remoteAddresses))) {
+      GrpcChannel conn1 = GrpcChannelPool.INSTANCE.acquireChannel(
+          GrpcNetworkGroup.STREAMING, server.getConnectAddress(), sConf);
+      GrpcChannel conn2 = GrpcChannelPool.INSTANCE.acquireChannel(
+          GrpcNetworkGroup.STREAMING, server.getConnectAddress(), sConf);
+      // The channels share the connections the group allows.
+      callServer(conn1, 8);
+      callServer(conn2, 8);
+      assertEquals(2, remoteAddresses.size());
+      conn1.close();
+      conn2.close();
+    }
+  }
+
+  @Test
+  public void testStripedChannelRelease() throws Exception {
+    sConf.set(PropertyKey.USER_NETWORK_STREAMING_STRIPES, 2);
+    Set<SocketAddress> remoteAddresses = ConcurrentHashMap.newKeySet();
+
+    try (CloseableTestServer server = createServer(remoteAddressRecorder(remoteAddresses))) {
+      GrpcChannel conn1 = GrpcChannelPool.INSTANCE.acquireChannel(
+          GrpcNetworkGroup.STREAMING, server.getConnectAddress(), sConf);
+      callServer(conn1, 2);
+      assertEquals(2, remoteAddresses.size());
+      conn1.close();
+      // All connections are released with the channel, so new ones are made.
+      GrpcChannel conn2 = GrpcChannelPool.INSTANCE.acquireChannel(
+          GrpcNetworkGroup.STREAMING, server.getConnectAddress(), sConf);
+      callServer(conn2, 2);
+      assertEquals(4, remoteAddresses.size());
+      conn2.close();
+    }
+  }
+
+  private static void callServer(GrpcChannel channel, int calls) {
+    ServiceVersionClientServiceGrpc.ServiceVersionClientServiceBlockingStub stub =
+        ServiceVersionClientServiceGrpc.newBlockingStub(channel);
+    for (int i = 0; i < calls; i++) {
+      stub.getServiceVersion(GetServiceVersionPRequest.getDefaultInstance());
+    }
+  }
+
+  private static ServerInterceptor remoteAddressRecorder(Set<SocketAddress> remoteAddresses) {
+    return new ServerInterceptor() {
+      @Override
+      public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call,
+          Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+        remoteAddresses.add(call.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR));
+        return next.startCall(call, headers);
+      }
+    };
+  }
+
   private CloseableTestServer createServer() throws Exception {
     InetSocketAddress bindAddress = new InetSocketAddress("0.0.0.0", 0);
     GrpcServer grpcServer = GrpcServerBuilder
@@ -141,6 +229,14 @@ public final class GrpcChannelPoolTest {
     return new CloseableTestServer(grpcServer);
   }
 
+  private CloseableTestServer createServer(ServerInterceptor interceptor) throws Exception {
+    InetSocketAddress bindAddress = new InetSocketAddress("0.0.0.0", 0);
+    GrpcServer grpcServer = GrpcServerBuilder
+        .forAddress(GrpcServerAddress.create("localhost", bindAddress), sConf)
+        .intercept(interceptor).build().start();
+    return new CloseableTestServer(grpcServer);
+  }
+
   private static class CloseableTestServer implements AutoCloseable {
     GrpcServer mServer;
 
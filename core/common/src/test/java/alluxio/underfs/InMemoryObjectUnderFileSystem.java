@@ -0,0 +1,166 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.AlluxioURI;
+import alluxio.util.io.PathUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+
+/**
+ * An object store kept in memory, which lists keys like S3 with a bounded number of keys per
+ * listing chunk.
+ */
+public class InMemoryObjectUnderFileSystem extends MockObjectUnderFileSystem {
+  private static final int CHUNK_LENGTH = 2;
+
+  private final ConcurrentSkipListMap<String, Long> mObjects = new ConcurrentSkipListMap<>();
+  private final Set<String> mListingThreads = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger mListings = new AtomicInteger();
+
+  /**
+   * @param ufsConf UFS configuration
+   */
+  public InMemoryObjectUnderFileSystem(UnderFileSystemConfiguration ufsConf) {
+    super(new AlluxioURI("mem://bucket/"), ufsConf);
+  }
+
+  /**
+   * @param keys the keys of the objects to add, each with a length of its own key length
+   */
+  public void addObjects(String... keys) {
+    for (String key : keys) {
+      mObjects.put(key, (long) key.length());
+    }
+  }
+
+  /**
+   * @return the names of the threads which listed objects
+   */
+  public Set<String> getListingThreads() {
+    return mListingThreads;
+  }
+
+  /**
+   * @return the number of listing requests made
+   */
+  public int getListings() {
+    return mListings.get();
+  }
+
+  @Override
+  public boolean createEmptyObject(String key) {
+    mObjects.put(key, 0L);
+    return true;
+  }
+
+  @Override
+  protected ObjectPermissions getPermissions() {
+    return new ObjectPermissions("owner", "group", (short) 0700);
+  }
+
+  @Nullable
+  @Override
+  protected ObjectStatus getObjectStatus(String key) {
+    Long length = mObjects.get(key);
+    return length == null ? null : new ObjectStatus(key, null, length, 0L);
+  }
+
+  @Override
+  protected String getFolderSuffix() {
+    return PATH_SEPARATOR;
+  }
+
+  @Nullable
+  @Override
+  protected ObjectListingChunk getObjectListingChunk(String key, boolean recursive) {
+    mListings.incrementAndGet();
+    mListingThreads.add(Thread.currentThread().getName());
+    String prefix = PathUtils.normalizePath(key, PATH_SEPARATOR);
+    prefix = prefix.equals(PATH_SEPARATOR) ? "" : prefix;
+    List<ObjectStatus> objects = new ArrayList<>();
+    TreeSet<String> commonPrefixes = new TreeSet<>();
+    for (String name : mObjects.tailMap(prefix).keySet()) {
+      if (!name.startsWith(prefix)) {
+        break;
+      }
+      int separator = name.indexOf(PATH_SEPARATOR_CHAR, prefix.length());
+      if (recursive || separator == -1) {
+        objects.add(getObjectStatus(name));
+      } else {
+        commonPrefixes.add(name.substring(0, separator + 1));
+      }
+    }
+    if (objects.isEmpty() && commonPrefixes.isEmpty()) {
+      return null;
+    }
+    return new Chunk(objects, new ArrayList<>(commonPrefixes), 0);
+  }
+
+  @Override
+  protected String getRootKey() {
+    return "mem://bucket";
+  }
+
+  @Override
+  public String getUnderFSType() {
+    return "mem";
+  }
+
+  private static final class Chunk implements ObjectListingChunk {
+    private final List<ObjectStatus> mObjects;
+    private final List<String> mCommonPrefixes;
+    private final int mOffset;
+
+    Chunk(List<ObjectStatus> objects, List<String> commonPrefixes, int offset) {
+      mObjects = objects;
+      mCommonPrefixes = commonPrefixes;
+      mOffset = offset;
+    }
+
+    @Override
+    public ObjectStatus[] getObjectStatuses() {
+      return page(mObjects, 0).toArray(new ObjectStatus[0]);
+    }
+
+    @Override
+    public String[] getCommonPrefixes() {
+      return page(mCommonPrefixes, mObjects.size()).toArray(new String[0]);
+    }
+
+    @Nullable
+    @Override
+    public ObjectListingChunk getNextChunk() {
+      int next = mOffset + CHUNK_LENGTH;
+      return next < mObjects.size() + mCommonPrefixes.size()
+          ? new Chunk(mObjects, mCommonPrefixes, next) : null;
+    }
+
+    /**
+     * Returns the part of a list which falls in this chunk, where the list starts at the given
+     * position of the combined listing.
+     */
+    private <T> List<T> page(List<T> list, int start) {
+      int from = Math.max(0, mOffset - start);
+      int to = Math.min(list.size(), mOffset + CHUNK_LENGTH - start);
+      return from < to ? list.subList(from, to) : Collections.emptyList();
+    }
+  }
+}
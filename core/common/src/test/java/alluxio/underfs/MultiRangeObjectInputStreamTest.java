@@ -0,0 +1,205 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Unit tests for {@link MultiRangeObjectInputStream}.
+ */
+public final class MultiRangeObjectInputStreamTest {
+  private static final int LENGTH = 1000;
+  private static final int CHUNK_SIZE = 100;
+
+  private final byte[] mData = new byte[LENGTH];
+  private InstancedConfiguration mConf;
+
+  @Before
+  public void before() {
+    for (int i = 0; i < LENGTH; i++) {
+      mData[i] = (byte) i;
+    }
+    mConf = Configuration.copyGlobal();
+    mConf.set(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_COALESCE_SIZE, 10);
+    mConf.set(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_OPEN_STREAMS_MAX, 2);
+  }
+
+  /**
+   * A short forward seek reads through the open range.
+   */
+  @Test
+  public void coalesceForwardSeek() throws IOException {
+    try (TestStream stream = new TestStream(mConf)) {
+      assertEquals(mData[0], (byte) stream.read());
+      assertEquals(5, stream.skip(5));
+      assertEquals(mData[6], (byte) stream.read());
+      stream.seek(17);
+      assertEquals(mData[17], (byte) stream.read());
+      assertEquals(1, stream.mRanges.size());
+    }
+  }
+
+  /**
+   * Ranges left by seeks are reused by later forward seeks, as when reading the footer and then
+   * the columns of a columnar file.
+   */
+  @Test
+  public void reuseOpenRanges() throws IOException {
+    try (TestStream stream = new TestStream(mConf)) {
+      stream.seek(950);
+      assertEquals(mData[950], (byte) stream.read());
+      stream.seek(0);
+      assertEquals(mData[0], (byte) stream.read());
+      stream.seek(300);
+      assertEquals(mData[300], (byte) stream.read());
+      stream.seek(5);
+      assertEquals(mData[5], (byte) stream.read());
+      stream.seek(305);
+      assertEquals(mData[305], (byte) stream.read());
+      assertEquals(3, stream.mRanges.size());
+
+      // the least recently used range was closed
+      stream.seek(955);
+      assertEquals(mData[955], (byte) stream.read());
+      assertEquals(4, stream.mRanges.size());
+    }
+  }
+
+  /**
+   * The next range is requested in the background and read when the current one ends.
+   */
+  @Test
+  public void prefetch() throws IOException {
+    mConf.set(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_PREFETCH_ENABLED, true);
+    byte[] buffer = new byte[LENGTH];
+    try (TestStream stream = new TestStream(mConf)) {
+      int offset = 0;
+      while (offset < LENGTH) {
+        int read = stream.read(buffer, offset, LENGTH - offset);
+        assertTrue(read > 0);
+        offset += read;
+      }
+      assertEquals(LENGTH / CHUNK_SIZE, stream.mRanges.size());
+      assertEquals(-1, stream.read());
+    }
+    for (int i = 0; i < LENGTH; i++) {
+      assertEquals(mData[i], buffer[i]);
+    }
+  }
+
+  /**
+   * Closing the stream closes every open range.
+   */
+  @Test
+  public void closeOpenRanges() throws Exception {
+    mConf.set(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_PREFETCH_ENABLED, true);
+    TestStream stream = new TestStream(mConf);
+    stream.read();
+    stream.seek(500);
+    stream.read();
+    stream.close();
+    // a range requested in the background is closed once it is opened
+    waitForClosed(stream);
+  }
+
+  /**
+   * Closing the stream does not wait for the ranges requested in the background.
+   */
+  @Test
+  public void closeWithoutWaitingForPrefetch() throws Exception {
+    mConf.set(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_PREFETCH_ENABLED, true);
+    CountDownLatch requested = new CountDownLatch(1);
+    CountDownLatch opened = new CountDownLatch(1);
+    TestStream stream = new TestStream(mConf) {
+      @Override
+      protected InputStream createStream(long startPos, long endPos) {
+        if (startPos > 0) {
+          requested.countDown();
+          try {
+            opened.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+        return super.createStream(startPos, endPos);
+      }
+    };
+    stream.read();
+    requested.await();
+    stream.close();
+    assertEquals(1, stream.mRanges.size());
+    opened.countDown();
+    CommonUtils.waitFor("the prefetched range to be opened", () -> stream.mRanges.size() == 2,
+        WaitForOptions.defaults().setTimeoutMs(10000));
+    waitForClosed(stream);
+    assertFalse(stream.mRanges.isEmpty());
+  }
+
+  private static void waitForClosed(TestStream stream) throws Exception {
+    CommonUtils.waitFor("the ranges to be closed",
+        () -> stream.mRanges.stream().allMatch(range -> range.mClosed),
+        WaitForOptions.defaults().setTimeoutMs(10000));
+  }
+
+  private class TestStream extends MultiRangeObjectInputStream {
+    private final List<RangeStream> mRanges = new CopyOnWriteArrayList<>();
+
+    TestStream(AlluxioConfiguration conf) {
+      super(CHUNK_SIZE, conf);
+    }
+
+    @Override
+    protected InputStream createStream(long startPos, long endPos) {
+      int end = (int) Math.min(endPos, LENGTH);
+      RangeStream range = new RangeStream(mData, (int) startPos, end - (int) startPos);
+      mRanges.add(range);
+      return range;
+    }
+
+    @Override
+    protected long getContentLength() {
+      return LENGTH;
+    }
+  }
+
+  private static final class RangeStream extends ByteArrayInputStream {
+    private volatile boolean mClosed;
+
+    RangeStream(byte[] data, int offset, int length) {
+      super(data, offset, length);
+    }
+
+    @Override
+    public void close() {
+      mClosed = true;
+    }
+  }
+}
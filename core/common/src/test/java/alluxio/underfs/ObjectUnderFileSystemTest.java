@@ -11,19 +11,28 @@
 
 package alluxio.underfs;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import alluxio.AlluxioURI;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.underfs.options.ListOptions;
 
+import com.google.common.collect.ImmutableMap;
 import org.junit.Test;
 import org.mockito.Mockito;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public class ObjectUnderFileSystemTest {
   private static final AlluxioConfiguration CONF = Configuration.global();
@@ -60,4 +69,40 @@ public class ObjectUnderFileSystemTest {
       fail();
     }
   }
+
+  @Test
+  public void parallelRecursiveListing() throws IOException {
+    String[] keys = {"data/", "data/a/1", "data/a/2", "data/a/b/3", "data/a/b/c/4", "data/d/",
+        "data/e", "data/f/g/h/5", "data/f/g/h/6", "data/f/i", "other/7"};
+    InMemoryObjectUnderFileSystem sequential = new InMemoryObjectUnderFileSystem(
+        UnderFileSystemConfiguration.defaults(CONF));
+    sequential.addObjects(keys);
+    InMemoryObjectUnderFileSystem parallel = new InMemoryObjectUnderFileSystem(
+        UnderFileSystemConfiguration.defaults(CONF).createMountSpecificConf(ImmutableMap.of(
+            PropertyKey.UNDERFS_OBJECT_STORE_PARALLEL_LISTING_ENABLED.getName(), true)));
+    parallel.addObjects(keys);
+    for (String path : new String[] {"mem://bucket/data", "mem://bucket/data/f", "mem://bucket"}) {
+      Map<String, Boolean> expected = listRecursive(sequential, path);
+      assertEquals(expected, listRecursive(parallel, path));
+    }
+    Map<String, Boolean> listing = listRecursive(parallel, "mem://bucket/data");
+    assertEquals(ImmutableMap.<String, Boolean>builder().put("a", true).put("a/1", false)
+        .put("a/2", false).put("a/b", true).put("a/b/3", false).put("a/b/c", true)
+        .put("a/b/c/4", false).put("d", true).put("e", false).put("f", true).put("f/g", true)
+        .put("f/g/h", true).put("f/g/h/5", false).put("f/g/h/6", false).put("f/i", false).build(),
+        listing);
+    // the partitions are merged in key order
+    assertEquals(listing.keySet().stream().sorted().collect(Collectors.toList()),
+        new ArrayList<>(listing.keySet()));
+    // sub-prefixes are listed on the object store service threads
+    assertTrue(parallel.getListingThreads().stream()
+        .anyMatch(name -> name.startsWith("alluxio-underfs-object-service-worker")));
+  }
+
+  private static Map<String, Boolean> listRecursive(ObjectUnderFileSystem ufs, String path)
+      throws IOException {
+    return Arrays.stream(ufs.listStatus(path, ListOptions.defaults().setRecursive(true)))
+        .collect(Collectors.toMap(UfsStatus::getName, UfsStatus::isDirectory,
+            (a, b) -> a, LinkedHashMap::new));
+  }
 }
@@ -0,0 +1,210 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.underfs.UfsConcurrencyLimiter.Outcome;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link UfsConcurrencyLimiter}.
+ */
+public final class UfsConcurrencyLimiterTest {
+  private InstancedConfiguration mConf;
+
+  @Before
+  public void before() {
+    mConf = Configuration.copyGlobal();
+    mConf.set(PropertyKey.UNDERFS_CONCURRENCY_LIMIT_INITIAL, 4);
+    mConf.set(PropertyKey.UNDERFS_CONCURRENCY_LIMIT_MIN, 2);
+    mConf.set(PropertyKey.UNDERFS_CONCURRENCY_LIMIT_MAX, 8);
+    mConf.set(PropertyKey.UNDERFS_CONCURRENCY_LIMIT_BACKOFF_RATIO, 0.5);
+    mConf.set(PropertyKey.UNDERFS_CONCURRENCY_LIMIT_WAIT_TIMEOUT, "100ms");
+  }
+
+  /**
+   * The limit grows by one per round of successful requests, up to the maximum.
+   */
+  @Test
+  public void additiveIncrease() throws Exception {
+    UfsConcurrencyLimiter limiter = new UfsConcurrencyLimiter("test", mConf);
+    // each success adds one over the current limit
+    for (int i = 0; i < 5; i++) {
+      request(limiter, Outcome.SUCCESS);
+    }
+    assertEquals(5, limiter.getLimit());
+    for (int i = 0; i < 100; i++) {
+      request(limiter, Outcome.SUCCESS);
+    }
+    assertEquals(8, limiter.getLimit());
+  }
+
+  /**
+   * Throttled requests failing together halve the limit once, down to the minimum.
+   */
+  @Test
+  public void multiplicativeDecrease() throws Exception {
+    UfsConcurrencyLimiter limiter = new UfsConcurrencyLimiter("test", mConf);
+    // a request latency of an hour spaces out the decreases
+    limiter.acquire();
+    limiter.release("Read", TimeUnit.HOURS.toNanos(1), Outcome.SUCCESS);
+    for (int i = 0; i < 3; i++) {
+      request(limiter, Outcome.THROTTLED);
+    }
+    assertEquals(2, limiter.getLimit());
+
+    UfsConcurrencyLimiter fast = new UfsConcurrencyLimiter("test", mConf);
+    request(fast, Outcome.THROTTLED);
+    request(fast, Outcome.FAILURE);
+    assertEquals(2, fast.getLimit());
+  }
+
+  /**
+   * A request is slow only compared with the requests of the same operation.
+   */
+  @Test
+  public void slowComparedWithSameOperation() throws Exception {
+    mConf.set(PropertyKey.UNDERFS_CONCURRENCY_LIMIT_LATENCY_TOLERANCE, 5.0);
+    UfsConcurrencyLimiter limiter = new UfsConcurrencyLimiter("test", mConf);
+    limiter.acquire();
+    limiter.release("GetStatus", 1000, Outcome.SUCCESS);
+    // a listing is much slower than a status lookup, but not slower than other listings
+    limiter.acquire();
+    limiter.release("ListStatus", TimeUnit.SECONDS.toNanos(1), Outcome.SUCCESS);
+    limiter.acquire();
+    limiter.release("ListStatus", TimeUnit.SECONDS.toNanos(1), Outcome.SUCCESS);
+    assertEquals(4, limiter.getLimit());
+    limiter.acquire();
+    limiter.release("GetStatus", TimeUnit.SECONDS.toNanos(1), Outcome.SUCCESS);
+    assertEquals(2, limiter.getLimit());
+  }
+
+  /**
+   * The reads of an opened stream are requests within the limit.
+   */
+  @Test
+  public void limitStreamReads() throws Exception {
+    UfsConcurrencyLimiter limiter = new UfsConcurrencyLimiter("test", mConf);
+    InputStream in = limiter.limit(new ByteArrayInputStream(new byte[] {1, 2, 3}));
+    assertEquals(1, in.read());
+    for (int i = 0; i < 4; i++) {
+      limiter.acquire();
+    }
+    try {
+      in.read(new byte[2], 0, 2);
+      fail("Expected the read to be rejected");
+    } catch (ResourceExhaustedException e) {
+      // expected
+    }
+    limiter.release("Read", 0, Outcome.FAILURE);
+    assertEquals(2, in.read(new byte[2], 0, 2));
+    assertEquals(3, limiter.getInFlight());
+  }
+
+  /**
+   * A seekable stream stays seekable when its reads are limited.
+   */
+  @Test
+  public void limitSeekableStream() throws Exception {
+    UfsConcurrencyLimiter limiter = new UfsConcurrencyLimiter("test", mConf);
+    InputStream in = limiter.limit(new SeekableUnderFileInputStream(
+        new ByteArrayInputStream(new byte[] {1, 2, 3})) {
+      @Override
+      public void seek(long pos) throws IOException {
+        in.reset();
+        in.skip(pos);
+      }
+
+      @Override
+      public long getPos() {
+        return 0;
+      }
+    });
+    assertTrue(in instanceof SeekableUnderFileInputStream);
+    ((SeekableUnderFileInputStream) in).seek(2);
+    assertEquals(3, in.read());
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  /**
+   * The limiter of an under storage is shared, and recreated when its settings change.
+   */
+  @Test
+  public void recreateOnNewSettings() {
+    UfsConcurrencyLimiter limiter = UfsConcurrencyLimiter.get("shared", mConf);
+    assertSame(limiter, UfsConcurrencyLimiter.get("shared",
+        new InstancedConfiguration(mConf.copyProperties())));
+    mConf.set(PropertyKey.UNDERFS_CONCURRENCY_LIMIT_MAX, 16);
+    UfsConcurrencyLimiter recreated = UfsConcurrencyLimiter.get("shared", mConf);
+    assertNotSame(limiter, recreated);
+    assertSame(recreated, UfsConcurrencyLimiter.get("shared", mConf));
+  }
+
+  /**
+   * Requests beyond the limit wait, and are rejected after the wait timeout.
+   */
+  @Test
+  public void rejectBeyondLimit() throws Exception {
+    UfsConcurrencyLimiter limiter = new UfsConcurrencyLimiter("test", mConf);
+    for (int i = 0; i < 4; i++) {
+      limiter.acquire();
+    }
+    assertEquals(4, limiter.getInFlight());
+    try {
+      limiter.acquire();
+      fail("Expected the request to be rejected");
+    } catch (ResourceExhaustedException e) {
+      // expected
+    }
+    limiter.release("Read", 0, Outcome.FAILURE);
+    limiter.acquire();
+    assertEquals(4, limiter.getInFlight());
+  }
+
+  /**
+   * Throttling errors are recognized in wrapped exceptions.
+   */
+  @Test
+  public void classify() {
+    assertEquals(Outcome.THROTTLED, UfsConcurrencyLimiter.classify(new IOException("wrapped",
+        new RuntimeException("Please reduce your request rate. (Service: Amazon S3; "
+            + "Status Code: 503; Error Code: SlowDown)"))));
+    assertEquals(Outcome.THROTTLED,
+        UfsConcurrencyLimiter.classify(new IOException("429 Too Many Requests")));
+    assertEquals(Outcome.THROTTLED,
+        UfsConcurrencyLimiter.classify(new IOException(new SocketTimeoutException())));
+    assertEquals(Outcome.FAILURE,
+        UfsConcurrencyLimiter.classify(new IOException("Failed to open key: data/503.parquet")));
+  }
+
+  private static void request(UfsConcurrencyLimiter limiter, Outcome outcome) throws Exception {
+    limiter.acquire();
+    limiter.release("Read", 1000, outcome);
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import alluxio.Constants;
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.io.ByteStreams;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link UploadPartBuffer} and {@link UploadPartBufferPool}.
+ */
+public final class UploadPartBufferTest {
+  @Test
+  public void writeAndRead() throws Exception {
+    int length = 2 * UploadPartBuffer.CHUNK_SIZE + 100;
+    byte[] data = BufferUtils.getIncreasingByteArray(length);
+    UploadPartBuffer buffer = new UploadPartBufferPool(1).create();
+    buffer.write(data, 0, 10);
+    buffer.write(data, 10, length - 10);
+    assertEquals(length, buffer.getLength());
+
+    InputStream in = buffer.getInputStream();
+    assertEquals(0, in.read());
+    in.mark(length);
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(1, length - 1),
+        ByteStreams.toByteArray(in));
+    assertEquals(-1, in.read());
+    // an upload retry re-reads the part
+    in.reset();
+    assertEquals(1, in.read());
+    assertArrayEquals(data, ByteStreams.toByteArray(buffer.getInputStream()));
+    buffer.release();
+  }
+
+  @Test
+  public void acquireUploadBlocksUntilRelease() throws Exception {
+    UploadPartBufferPool pool = new UploadPartBufferPool(1);
+    // buffers being written do not take an upload
+    pool.create();
+    pool.create();
+    pool.acquireUpload();
+    CompletableFuture<Void> next = CompletableFuture.runAsync(() -> {
+      try {
+        pool.acquireUpload();
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    });
+    Thread.sleep(100);
+    assertFalse(next.isDone());
+    pool.releaseUpload();
+    next.get(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void partSize() {
+    long base = 64 * Constants.MB;
+    assertEquals(base, UploadPartBufferPool.getPartSize(base, 1));
+    assertEquals(base, UploadPartBufferPool.getPartSize(base, 1000));
+    assertEquals(2 * base, UploadPartBufferPool.getPartSize(base, 1001));
+    assertEquals(5L * Constants.GB, UploadPartBufferPool.getPartSize(base, 10000));
+  }
+}
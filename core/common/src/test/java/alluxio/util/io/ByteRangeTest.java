@@ -0,0 +1,53 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.util.io;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.Collections;
+
+/**
+ * Tests for {@link ByteRange}.
+ */
+public final class ByteRangeTest {
+  @Test
+  public void coalesceEmpty() {
+    assertEquals(Collections.emptyList(), ByteRange.coalesce(Collections.emptyList(), 10));
+  }
+
+  @Test
+  public void coalesceOverlapping() {
+    assertEquals(ImmutableList.of(new ByteRange(0, 30)), ByteRange.coalesce(
+        ImmutableList.of(new ByteRange(10, 20), new ByteRange(0, 15)), 0));
+  }
+
+  @Test
+  public void coalesceWithinGap() {
+    assertEquals(ImmutableList.of(new ByteRange(0, 30), new ByteRange(100, 10)),
+        ByteRange.coalesce(ImmutableList.of(
+            new ByteRange(100, 10), new ByteRange(20, 10), new ByteRange(0, 10)), 10));
+  }
+
+  @Test
+  public void coalesceContained() {
+    assertEquals(ImmutableList.of(new ByteRange(0, 100)), ByteRange.coalesce(
+        ImmutableList.of(new ByteRange(0, 100), new ByteRange(10, 10)), 0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeOffset() {
+    new ByteRange(-1, 10);
+  }
+}
@@ -14,9 +14,11 @@ package alluxio.worker.block.io;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
+import alluxio.conf.Configuration;
 import alluxio.exception.status.FailedPreconditionException;
 import alluxio.util.io.BufferUtils;
 
+import io.netty.buffer.ByteBuf;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -102,6 +104,27 @@ public class LocalFileBlockReaderTest {
     assertTrue(BufferUtils.equalIncreasingByteBuffer(0, (int) TEST_BLOCK_SIZE, buffer));
   }
 
+  /**
+   * Test for the {@link LocalFileBlockReader#readAsync(AsyncBlockReadEngine, long, int)} method.
+   */
+  @Test
+  public void readAsync() throws Exception {
+    try (AsyncBlockReadEngine engine = new NioAsyncBlockReadEngine(Configuration.global())) {
+      ByteBuf buf = mReader.readAsync(engine, TEST_BLOCK_SIZE / 4, (int) TEST_BLOCK_SIZE / 2)
+          .get();
+      try {
+        assertTrue(BufferUtils.equalIncreasingByteBuffer((int) TEST_BLOCK_SIZE / 4,
+            (int) TEST_BLOCK_SIZE / 2, buf.nioBuffer()));
+      } finally {
+        buf.release();
+      }
+      mReader.close();
+      assertThrows(IOException.class, () -> {
+        mReader.readAsync(engine, 0, (int) TEST_BLOCK_SIZE);
+      });
+    }
+  }
+
   /**
    * Tests that a {@link FailedPreconditionException} is thrown when trying to read from a reader
    * after closing it.
@@ -72,6 +72,28 @@ public final class LocalFileBlockWriterTest {
     BufferUtils.equalIncreasingByteBuffer(0, TEST_BLOCK_SIZE, result.slice());
   }
 
+  /**
+   * Tests that a block written and read back with direct I/O keeps a length which is not aligned.
+   * Runtimes or file systems without direct I/O fall back to buffered I/O.
+   */
+  @Test
+  public void appendDirectIo() throws Exception {
+    int length = DirectIo.BUFFER_SIZE + TEST_BLOCK_SIZE + 7;
+    LocalFileBlockWriter writer = new LocalFileBlockWriter(mTestFilePath, true);
+    Assert.assertEquals(TEST_BLOCK_SIZE + 7,
+        writer.append(BufferUtils.getIncreasingByteBuffer(TEST_BLOCK_SIZE + 7)));
+    Assert.assertEquals(DirectIo.BUFFER_SIZE, writer.append(
+        BufferUtils.getIncreasingByteBuffer(TEST_BLOCK_SIZE + 7, DirectIo.BUFFER_SIZE)));
+    Assert.assertEquals(length, writer.getPosition());
+    writer.close();
+    Assert.assertEquals(length, new File(mTestFilePath).length());
+    try (LocalFileBlockReader reader = new LocalFileBlockReader(mTestFilePath, true)) {
+      Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(0, length, reader.read(0, length)));
+      Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(3, length - 3,
+          reader.read(3, length - 3)));
+    }
+  }
+
   @Test
   public void append() throws Exception {
     Assert.assertEquals(TEST_BLOCK_SIZE,
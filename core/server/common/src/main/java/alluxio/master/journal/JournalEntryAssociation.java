@@ -41,6 +41,8 @@ public final class JournalEntryAssociation {
         || entry.hasRename()
         || entry.hasSetAcl()
         || entry.hasSetAttribute()
+        || entry.hasUfsAbsentPath()
+        || entry.hasUfsSyncState()
         || entry.hasUpdateUfsMode()
         || entry.hasUpdateInode()
         || entry.hasUpdateInodeDirectory()
@@ -39,4 +39,5 @@ public enum CheckpointName {
   TABLE_MASTER_TRANSFORM_MANAGER,
   TO_BE_PERSISTED_FILE_IDS,
   TTL_BUCKET_LIST,
+  UFS_SYNC_STATE_STORE,
 }
@@ -92,6 +92,8 @@ public class JournalEntryAssociationTest {
       JournalEntry.newBuilder().setSetAcl(SetAclEntry.getDefaultInstance()).build(),
       JournalEntry.newBuilder().setSetAttribute(SetAttributeEntry.getDefaultInstance()).build(),
       JournalEntry.newBuilder().setUpdateDatabaseInfo(Table.UpdateDatabaseInfoEntry.getDefaultInstance()).build(),
+      JournalEntry.newBuilder().setUfsAbsentPath(File.UfsAbsentPathEntry.getDefaultInstance()).build(),
+      JournalEntry.newBuilder().setUfsSyncState(File.UfsSyncStateEntry.getDefaultInstance()).build(),
       JournalEntry.newBuilder().setUpdateUfsMode(UpdateUfsModeEntry.getDefaultInstance()).build(),
       JournalEntry.newBuilder().setUpdateInode(UpdateInodeEntry.getDefaultInstance()).build(),
       JournalEntry.newBuilder().setUpdateInodeDirectory(UpdateInodeDirectoryEntry.getDefaultInstance()).build(),
@@ -316,7 +316,7 @@ public class AlluxioMasterProcess extends MasterProcess {
       try {
         mRegistry.get(FileSystemMaster.class).needsSync(new AlluxioURI("/"));
         LOG.info("Marked root as needing sync after backup restore");
-      } catch (InvalidPathException e) {
+      } catch (InvalidPathException | UnavailableException e) {
         LOG.warn("Failed to mark root as needing syncing after backup restore");
       }
     }
@@ -41,6 +41,7 @@ import alluxio.exception.FileDoesNotExistException;
 import alluxio.exception.InvalidFileSizeException;
 import alluxio.exception.InvalidPathException;
 import alluxio.exception.UnexpectedAlluxioException;
+import alluxio.exception.status.CancelledException;
 import alluxio.exception.status.FailedPreconditionException;
 import alluxio.exception.status.InvalidArgumentException;
 import alluxio.exception.status.NotFoundException;
@@ -73,6 +74,8 @@ import alluxio.master.audit.AuditContext;
 import alluxio.master.block.BlockId;
 import alluxio.master.block.BlockMaster;
 import alluxio.master.file.activesync.ActiveSyncManager;
+import alluxio.master.file.activesync.UfsChangeEventProcessor;
+import alluxio.master.file.activesync.UfsChangeEventSource;
 import alluxio.master.file.contexts.CallTracker;
 import alluxio.master.file.contexts.CheckAccessContext;
 import alluxio.master.file.contexts.CheckConsistencyContext;
@@ -111,6 +114,7 @@ import alluxio.master.file.meta.PersistenceState;
 import alluxio.master.file.meta.UfsAbsentPathCache;
 import alluxio.master.file.meta.UfsBlockLocationCache;
 import alluxio.master.file.meta.UfsSyncPathCache;
+import alluxio.master.file.meta.UfsSyncStateStore;
 import alluxio.master.file.meta.options.MountInfo;
 import alluxio.master.journal.DelegatingJournaled;
 import alluxio.master.journal.FileSystemMergeJournalContext;
@@ -142,6 +146,7 @@ import alluxio.resource.CloseableResource;
 import alluxio.resource.LockResource;
 import alluxio.retry.CountingRetry;
 import alluxio.retry.RetryPolicy;
+import alluxio.security.User;
 import alluxio.security.authentication.AuthType;
 import alluxio.security.authentication.AuthenticatedClientUser;
 import alluxio.security.authentication.ClientContextServerInjector;
@@ -175,6 +180,7 @@ import alluxio.wire.FileBlockInfo;
 import alluxio.wire.FileInfo;
 import alluxio.wire.FileSystemCommand;
 import alluxio.wire.FileSystemCommandOptions;
+import alluxio.wire.MetadataInvalidations;
 import alluxio.wire.MountPointInfo;
 import alluxio.wire.PersistCommandOptions;
 import alluxio.wire.PersistFile;
@@ -188,6 +194,7 @@ import com.codahale.metrics.Gauge;
 import com.codahale.metrics.MetricRegistry;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
@@ -209,6 +216,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -218,10 +226,14 @@ import java.util.Stack;
 import java.util.TreeMap;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Phaser;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -381,6 +393,9 @@ public class DefaultFileSystemMaster extends CoreMaster
   /** This caches absent paths in the UFS. */
   private final UfsAbsentPathCache mUfsAbsentPathCache;
 
+  /** This journals the sync path cache and the absent path cache. */
+  private final UfsSyncStateStore mUfsSyncStateStore;
+
   /** This caches block locations in the UFS. */
   private final UfsBlockLocationCache mUfsBlockLocationCache;
 
@@ -440,6 +455,12 @@ public class DefaultFileSystemMaster extends CoreMaster
       Configuration.getInt(PropertyKey.MASTER_METADATA_SYNC_EXECUTOR_POOL_SIZE),
       1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(),
       ThreadFactoryUtils.build("alluxio-ufs-active-sync-%d", false));
+  /** Resolves the paths of batched get-status calls, a directory at a time. */
+  private final ThreadPoolExecutor mGetStatusesExecutor = new ThreadPoolExecutor(
+      Configuration.getInt(PropertyKey.MASTER_FILE_SYSTEM_GET_STATUSES_POOL_SIZE),
+      Configuration.getInt(PropertyKey.MASTER_FILE_SYSTEM_GET_STATUSES_POOL_SIZE),
+      1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(),
+      ThreadFactoryUtils.build("alluxio-get-statuses-%d", true));
   private HeartbeatThread mReplicationCheckHeartbeatThread;
 
   /**
@@ -500,6 +521,8 @@ public class DefaultFileSystemMaster extends CoreMaster
     mPersistRequests = new ConcurrentHashMap<>();
     mPersistJobs = new ConcurrentHashMap<>();
     mUfsAbsentPathCache = UfsAbsentPathCache.Factory.create(mMountTable, mClock);
+    mUfsSyncStateStore =
+        new UfsSyncStateStore(mMountTable.getUfsSyncPathCache(), mUfsAbsentPathCache);
     mUfsBlockLocationCache = UfsBlockLocationCache.Factory.create(mMountTable);
     mSyncManager = new ActiveSyncManager(mMountTable, this);
     mTimeSeriesStore = new TimeSeriesStore();
@@ -508,6 +531,7 @@ public class DefaultFileSystemMaster extends CoreMaster
     mSyncPrefetchExecutor.allowCoreThreadTimeOut(true);
     mSyncMetadataExecutor.allowCoreThreadTimeOut(true);
     mActiveSyncMetadataExecutor.allowCoreThreadTimeOut(true);
+    mGetStatusesExecutor.allowCoreThreadTimeOut(true);
 
     // The mount table should come after the inode tree because restoring the mount table requires
     // that the inode tree is already restored.
@@ -518,6 +542,7 @@ public class DefaultFileSystemMaster extends CoreMaster
         add(mMountTable);
         add(mUfsManager);
         add(mSyncManager);
+        add(mUfsSyncStateStore);
       }
     };
     mJournaledGroup = new JournaledGroup(journaledComponents, CheckpointName.FILE_SYSTEM_MASTER);
@@ -603,6 +628,8 @@ public class DefaultFileSystemMaster extends CoreMaster
     super.start(isPrimary);
     if (isPrimary) {
       LOG.info("Starting fs master as primary");
+      // the log missed the modifications made while another master was primary
+      mInodeTree.getInvalidationLog().reset();
 
       InodeDirectory root = mInodeTree.getRoot();
       if (root == null) {
@@ -640,6 +667,8 @@ public class DefaultFileSystemMaster extends CoreMaster
             .createMountSpecificConf(mountInfo.getOptions().getPropertiesMap());
         mUfsManager.addMount(mountInfo.getMountId(), mountInfo.getUfsUri(), ufsConf);
       }
+      // Paths created after the previous primary found them absent are not absent anymore
+      mUfsSyncStateStore.removeExistingAbsentPaths(mInodeTree::inodePathExists);
       // Startup Checks and Periodic Threads.
 
       // Rebuild the list of persist jobs (mPersistJobs) and map of pending persist requests
@@ -747,6 +776,14 @@ public class DefaultFileSystemMaster extends CoreMaster
                 Configuration.getMs(PropertyKey.UNDERFS_CLEANUP_INTERVAL),
                 Configuration.global(), mMasterContext.getUserState()));
       }
+      if (Configuration.isSet(PropertyKey.MASTER_UFS_CHANGE_EVENT_SOURCE_CLASS)) {
+        getExecutorService().submit(
+            new HeartbeatThread(HeartbeatContext.MASTER_UFS_CHANGE_EVENTS,
+                new UfsChangeEventProcessor(this, mMountTable,
+                    UfsChangeEventSource.Factory.create()),
+                Configuration.getMs(PropertyKey.MASTER_UFS_CHANGE_EVENT_POLL_INTERVAL),
+                Configuration.global(), mMasterContext.getUserState()));
+      }
       mAccessTimeUpdater.start();
       mSyncManager.start();
     }
@@ -792,6 +829,14 @@ public class DefaultFileSystemMaster extends CoreMaster
       Thread.currentThread().interrupt();
       LOG.warn("Failed to wait for active sync executor to shut down.");
     }
+
+    try {
+      mGetStatusesExecutor.shutdownNow();
+      mGetStatusesExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.warn("Failed to wait for get statuses executor to shut down.");
+    }
     ReconfigurableRegistry.unregister(this);
   }
 
@@ -965,6 +1010,152 @@ public class DefaultFileSystemMaster extends CoreMaster
     }
   }
 
+  @Override
+  public void getFileInfos(List<AlluxioURI> paths, GetStatusContext context,
+      ResultStream<FileInfo> resultStream)
+      throws InvalidPathException, AccessControlException, UnavailableException, IOException {
+    // The paths of a directory are resolved together, under a single lock of the directory.
+    Map<AlluxioURI, List<AlluxioURI>> pathsByDirectory = new LinkedHashMap<>();
+    List<AlluxioURI> unresolved = new ArrayList<>();
+    for (AlluxioURI path : paths) {
+      AlluxioURI directory = path.getParent();
+      if (directory == null) {
+        unresolved.add(path);
+      } else {
+        pathsByDirectory.computeIfAbsent(directory, k -> new ArrayList<>()).add(path);
+      }
+    }
+    // The user and the audit context live in thread locals of the RPC thread.
+    User user = AuthenticatedClientUser.getOrNull();
+    List<Future<List<AlluxioURI>>> futures = new ArrayList<>(pathsByDirectory.size());
+    // Tracks the running tasks, so that none outlives this call and submits to the stream.
+    Phaser running = new Phaser(1);
+    AtomicBoolean failed = new AtomicBoolean(false);
+    boolean succeeded = false;
+    try {
+      for (Map.Entry<AlluxioURI, List<AlluxioURI>> entry : pathsByDirectory.entrySet()) {
+        GetStatusContext directoryContext =
+            GetStatusContext.create(context.getOptions().clone()).withTrackersOf(context);
+        FileSystemMasterAuditContext auditContext =
+            createAuditContext("getFileInfos", entry.getKey(), null, null);
+        futures.add(mGetStatusesExecutor.submit(() -> {
+          running.register();
+          AuthenticatedClientUser.set(user);
+          try (FileSystemMasterAuditContext directoryAuditContext = auditContext) {
+            if (failed.get()) {
+              return Collections.<AlluxioURI>emptyList();
+            }
+            return getFileInfosInDirectory(entry.getKey(), entry.getValue(), directoryContext,
+                directoryAuditContext, resultStream);
+          } finally {
+            AuthenticatedClientUser.remove();
+            running.arriveAndDeregister();
+          }
+        }));
+      }
+      for (Future<List<AlluxioURI>> future : futures) {
+        unresolved.addAll(future.get());
+      }
+      succeeded = true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CancelledException("Interrupted while getting file infos", e);
+    } catch (ExecutionException e) {
+      Throwables.propagateIfPossible(e.getCause(), InvalidPathException.class,
+          AccessControlException.class);
+      Throwables.propagateIfPossible(e.getCause(), IOException.class);
+      throw new IOException(e.getCause());
+    } finally {
+      if (!succeeded) {
+        // The running tasks are interrupted, and release their locks before they are waited for.
+        failed.set(true);
+        futures.forEach(future -> future.cancel(true));
+        running.arriveAndAwaitAdvance();
+      }
+    }
+    // The paths absent from the inode tree may still be loaded from the UFS one by one.
+    for (AlluxioURI path : unresolved) {
+      try {
+        resultStream.submit(
+            getFileInfo(path, GetStatusContext.create(context.getOptions().clone())));
+      } catch (FileDoesNotExistException e) {
+        // The path is omitted.
+      }
+    }
+  }
+
+  /**
+   * Resolves paths which share a parent directory, under a single read lock of the directory.
+   *
+   * @param directory the parent directory of the paths
+   * @param paths the paths
+   * @param context the method context
+   * @param auditContext the audit context for the paths
+   * @param resultStream the stream to receive the {@link FileInfo}s
+   * @return the paths absent from the inode tree whose metadata may still be loaded from the UFS
+   */
+  private List<AlluxioURI> getFileInfosInDirectory(AlluxioURI directory, List<AlluxioURI> paths,
+      GetStatusContext context, FileSystemMasterAuditContext auditContext,
+      ResultStream<FileInfo> resultStream)
+      throws InvalidPathException, AccessControlException, IOException {
+    List<AlluxioURI> absent = new ArrayList<>();
+    long opTimeMs = mClock.millis();
+    GetStatusPOptions.Builder options = context.getOptions();
+    Mode.Bits accessMode = Mode.Bits.fromProto(options.getAccessMode());
+    boolean updateAccessTime = options.getUpdateTimestamps() && options.hasAccessMode()
+        && (accessMode.imply(Mode.Bits.READ) || accessMode.imply(Mode.Bits.WRITE));
+    try (RpcContext rpcContext = createRpcContext(context)) {
+      // A sync locks the path on its own, so the paths are synced before locking the directory.
+      Set<AlluxioURI> synced = new HashSet<>();
+      for (AlluxioURI path : paths) {
+        rpcContext.throwIfCancelled();
+        if (!syncMetadata(rpcContext, path, options.getCommonOptions(), DescendantType.NONE,
+            null, null).equals(NOT_NEEDED)) {
+          synced.add(path);
+        }
+      }
+      LockingScheme lockingScheme = new LockingScheme(directory, LockPattern.READ, false);
+      try (LockedInodePath directoryPath = mInodeTree
+          .lockInodePath(lockingScheme, rpcContext.getJournalContext())) {
+        auditContext.setSrcInode(directoryPath.getInodeOrNull());
+        for (AlluxioURI path : paths) {
+          rpcContext.throwIfCancelled();
+          if (!directoryPath.fullPathExists()) {
+            if (!synced.contains(path)) {
+              absent.add(path);
+            }
+            continue;
+          }
+          try (LockedInodePath inodePath = directoryPath.lockDescendant(path, LockPattern.READ)) {
+            try {
+              mPermissionChecker.checkParentPermission(Mode.Bits.EXECUTE, inodePath);
+            } catch (AccessControlException e) {
+              auditContext.setAllowed(false);
+              throw e;
+            }
+            if (!inodePath.fullPathExists()) {
+              if (!synced.contains(path)) {
+                absent.add(path);
+              }
+              continue;
+            }
+            ensureFullPathAndUpdateCache(inodePath);
+            resultStream.submit(getFileInfoInternal(inodePath));
+            if (updateAccessTime) {
+              mAccessTimeUpdater.updateAccessTime(rpcContext.getJournalContext(),
+                  inodePath.getInode(), opTimeMs);
+            }
+          } catch (FileDoesNotExistException e) {
+            // Not expected as the full path is locked, the path is omitted.
+          }
+        }
+      }
+      auditContext.setSucceeded(true);
+    }
+    Metrics.GET_FILE_INFO_OPS.inc(paths.size() - absent.size());
+    return absent;
+  }
+
   @Override
   public long getMountIdFromUfsPath(AlluxioURI ufsPath) {
     return getMountTable().reverseResolve(ufsPath).getMountInfo().getMountId();
@@ -4031,6 +4222,13 @@ public class DefaultFileSystemMaster extends CoreMaster
     return mUfsAbsentPathCache;
   }
 
+  /**
+   * @return the store journaling the state of metadata sync
+   */
+  UfsSyncStateStore getUfsSyncStateStore() {
+    return mUfsSyncStateStore;
+  }
+
   PermissionChecker getPermissionChecker() {
     return mPermissionChecker;
   }
@@ -5333,7 +5531,18 @@ public class DefaultFileSystemMaster extends CoreMaster
   }
 
   @Override
-  public void needsSync(AlluxioURI path) throws InvalidPathException {
-    getSyncPathCache().notifyInvalidation(path);
+  public void needsSync(AlluxioURI path) throws InvalidPathException, UnavailableException {
+    if (!mUfsSyncStateStore.isEnabled()) {
+      getSyncPathCache().notifyInvalidation(path);
+      return;
+    }
+    try (JournalContext context = createJournalContext()) {
+      mUfsSyncStateStore.notifyInvalidation(context, path);
+    }
+  }
+
+  @Override
+  public MetadataInvalidations getMetadataInvalidations(long epoch, long version) {
+    return mInodeTree.getInvalidationLog().get(epoch, version);
   }
 }
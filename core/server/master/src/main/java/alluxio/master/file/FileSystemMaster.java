@@ -51,6 +51,7 @@ import alluxio.underfs.UfsMode;
 import alluxio.wire.FileBlockInfo;
 import alluxio.wire.FileInfo;
 import alluxio.wire.FileSystemCommand;
+import alluxio.wire.MetadataInvalidations;
 import alluxio.wire.MountPointInfo;
 import alluxio.wire.SyncPointInfo;
 import alluxio.wire.UfsInfo;
@@ -113,6 +114,24 @@ public interface FileSystemMaster extends Master {
       throws FileDoesNotExistException, InvalidPathException, AccessControlException,
       UnavailableException, IOException;
 
+  /**
+   * Streams the {@link FileInfo}s for the given paths, in no particular order. The paths which do
+   * not exist are omitted. The paths are resolved in parallel, and the paths sharing a parent
+   * directory are resolved under a single lock of the directory.
+   * <p>
+   * This operation requires users to have EXECUTE permission on the parent directories of the
+   * paths, as {@link #getFileInfo} does.
+   *
+   * @param paths the paths to get the {@link FileInfo}s for
+   * @param context the method context, shared by all the paths
+   * @param resultStream the stream to receive individual results
+   * @throws InvalidPathException if a path is not valid
+   * @throws AccessControlException if permission checking fails
+   */
+  void getFileInfos(List<AlluxioURI> paths, GetStatusContext context,
+      ResultStream<FileInfo> resultStream)
+      throws InvalidPathException, AccessControlException, UnavailableException, IOException;
+
   /**
    * Returns the mount id according to the ufs path.
    *
@@ -634,5 +653,15 @@ public interface FileSystemMaster extends Master {
    * of its children are accessed, a sync with the UFS will be performed.
    * @param path the path to invalidate
    */
-  void needsSync(AlluxioURI path) throws InvalidPathException;
+  void needsSync(AlluxioURI path) throws InvalidPathException, UnavailableException;
+
+  /**
+   * Returns the paths modified since a version of the metadata invalidation log, for clients to
+   * drop the metadata of the paths they cached.
+   *
+   * @param epoch the epoch of the log the client read from before
+   * @param version the version of the log the client read up to before
+   * @return the paths modified since the version
+   */
+  MetadataInvalidations getMetadataInvalidations(long epoch, long version);
 }
@@ -37,6 +37,8 @@ import alluxio.grpc.FreePRequest;
 import alluxio.grpc.FreePResponse;
 import alluxio.grpc.GetFilePathPRequest;
 import alluxio.grpc.GetFilePathPResponse;
+import alluxio.grpc.GetMetadataInvalidationsPRequest;
+import alluxio.grpc.GetMetadataInvalidationsPResponse;
 import alluxio.grpc.GetMountTablePRequest;
 import alluxio.grpc.GetMountTablePResponse;
 import alluxio.grpc.GetNewBlockIdForFilePRequest;
@@ -46,6 +48,8 @@ import alluxio.grpc.GetStateLockHoldersPResponse;
 import alluxio.grpc.GetStatusPOptions;
 import alluxio.grpc.GetStatusPRequest;
 import alluxio.grpc.GetStatusPResponse;
+import alluxio.grpc.GetStatusesPRequest;
+import alluxio.grpc.GetStatusesPResponse;
 import alluxio.grpc.GetSyncPathListPRequest;
 import alluxio.grpc.GetSyncPathListPResponse;
 import alluxio.grpc.GrpcUtils;
@@ -245,6 +249,31 @@ public final class FileSystemMasterClientServiceHandler
     }, "GetStatus", true, "request=%s", responseObserver, request);
   }
 
+  @Override
+  public void getStatuses(GetStatusesPRequest request,
+      StreamObserver<GetStatusesPResponse> responseObserver) {
+    GetStatusesResultStream resultStream = new GetStatusesResultStream(
+        Configuration.getInt(PropertyKey.MASTER_FILE_SYSTEM_LISTSTATUS_RESULTS_PER_MESSAGE),
+        responseObserver);
+    try {
+      RpcUtils.callAndReturn(LOG, () -> {
+        List<AlluxioURI> paths = new ArrayList<>(request.getPathsCount());
+        for (String path : request.getPathsList()) {
+          paths.add(getAlluxioURI(path));
+        }
+        mFileSystemMaster.getFileInfos(paths,
+            GetStatusContext.create(request.getOptions().toBuilder())
+                .withTracker(new GrpcCallTracker(responseObserver)),
+            resultStream);
+        return null;
+      }, "GetStatuses", false, "paths=%s", request.getPathsCount());
+    } catch (Exception e) {
+      resultStream.fail(e);
+    } finally {
+      resultStream.complete();
+    }
+  }
+
   @Override
   public void listStatus(ListStatusPRequest request,
       StreamObserver<ListStatusPResponse> responseObserver) {
@@ -483,6 +512,14 @@ public final class FileSystemMasterClientServiceHandler
     }, "NeedsSync", true, "request=%s", responseObserver, request);
   }
 
+  @Override
+  public void getMetadataInvalidations(GetMetadataInvalidationsPRequest request,
+      StreamObserver<GetMetadataInvalidationsPResponse> responseObserver) {
+    RpcUtils.call(LOG, () -> mFileSystemMaster.getMetadataInvalidations(request.getEpoch(),
+        request.getVersion()).toProto(),
+        "GetMetadataInvalidations", "request=%s", responseObserver, request);
+  }
+
   /**
    * Helper to return {@link AlluxioURI} from transport URI.
    *
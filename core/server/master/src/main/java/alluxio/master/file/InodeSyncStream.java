@@ -40,6 +40,7 @@ import alluxio.master.file.contexts.DeleteContext;
 import alluxio.master.file.contexts.LoadMetadataContext;
 import alluxio.master.file.contexts.SetAttributeContext;
 import alluxio.master.file.meta.Inode;
+import alluxio.master.file.meta.InodeDirectoryView;
 import alluxio.master.file.meta.InodeFile;
 import alluxio.master.file.meta.InodeLockManager;
 import alluxio.master.file.meta.InodeTree;
@@ -77,6 +78,7 @@ import alluxio.util.interfaces.Scoped;
 import alluxio.util.io.PathUtils;
 
 import com.codahale.metrics.Counter;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -93,13 +95,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import javax.annotation.Nullable;
 
@@ -301,6 +306,15 @@ public class InodeSyncStream {
 
   private final Clock mClock;
 
+  /** The number of loaded children of a directory whose journal entries are flushed at once. */
+  private final int mLoadBatchSize =
+      Configuration.getInt(PropertyKey.MASTER_METADATA_SYNC_LOAD_BATCH_SIZE);
+  /** Whether UFS listings are diffed against the inode children by an ordered merge join. */
+  private final boolean mMergeJoinEnabled =
+      Configuration.getBoolean(PropertyKey.MASTER_METADATA_SYNC_MERGE_JOIN_ENABLED);
+  /** Paths found missing in the UFS by the merge join of their parent, pending their sync. */
+  private final Set<AlluxioURI> mUfsAbsentChildren = ConcurrentHashMap.newKeySet();
+
   /**
    * Create a new instance of {@link InodeSyncStream}.
    *
@@ -617,6 +631,8 @@ public class InodeSyncStream {
       // TODO(gpang): Do we need special handling for failures and thread interrupts?
       mUfsSyncPathCache.notifySyncedPath(mRootScheme.getPath(), mDescendantType,
           startTime, childOldestSkippedSync, rootPathIsFile);
+      mFsMaster.getUfsSyncStateStore().journalSyncedPath(rpcContext.getJournalContext(),
+          mRootScheme.getPath());
     }
     mStatusCache.cancelAllPrefetch();
     mSyncPathJobs.forEach(f -> f.cancel(true));
@@ -800,11 +816,14 @@ public class InodeSyncStream {
       persistingLock.get().close();
 
       UfsStatus cachedStatus = null;
-      boolean fileNotFound = false;
-      try {
-        cachedStatus = mStatusCache.getStatus(inodePath.getUri());
-      } catch (FileNotFoundException e) {
-        fileNotFound = true;
+      // the merge join of the parent already found that the UFS path does not exist
+      boolean fileNotFound = mUfsAbsentChildren.remove(inodePath.getUri());
+      if (!fileNotFound) {
+        try {
+          cachedStatus = mStatusCache.getStatus(inodePath.getUri());
+        } catch (FileNotFoundException e) {
+          fileNotFound = true;
+        }
       }
       MountTable.Resolution resolution = mMountTable.resolve(inodePath.getUri());
       AlluxioURI ufsUri = resolution.getUri();
@@ -904,24 +923,30 @@ public class InodeSyncStream {
     int childCount = inode.isDirectory() ? (int) inode.asDirectory().getChildCount() : 0;
     Map<String, Inode> inodeChildren = new HashMap<>(childCount);
     if (syncChildren) {
-      // maps children name to inode
-      try (CloseableIterator<? extends Inode> children = mInodeStore
-          .getChildren(inode.asDirectory())) {
-        children.forEachRemaining(child -> inodeChildren.put(child.getName(), child));
-      }
-
       // Fetch and populate children into the cache
       mStatusCache.prefetchChildren(inodePath.getUri(), mMountTable);
       Collection<UfsStatus> listStatus = mStatusCache
           .fetchChildrenIfAbsent(rpcContext, inodePath.getUri(), mMountTable);
-      // Iterate over UFS listings and process UFS children.
-      if (listStatus != null) {
-        for (UfsStatus ufsChildStatus : listStatus) {
-          if (!inodeChildren.containsKey(ufsChildStatus.getName()) && !PathUtils
-              .isTemporaryFileName(ufsChildStatus.getName())) {
-            // Ufs child exists, but Alluxio child does not. Must load metadata.
-            loadMetadata = true;
-            break;
+      if (mMergeJoinEnabled && !mLoadOnly && listStatus != null
+          && SyncChildrenDiff.isSupported(listStatus)) {
+        if (mergeJoinChildren(inodePath, inode.asDirectory(), listStatus)) {
+          loadMetadata = true;
+        }
+      } else {
+        // maps children name to inode
+        try (CloseableIterator<? extends Inode> children = mInodeStore
+            .getChildren(inode.asDirectory())) {
+          children.forEachRemaining(child -> inodeChildren.put(child.getName(), child));
+        }
+        // Iterate over UFS listings and process UFS children.
+        if (listStatus != null) {
+          for (UfsStatus ufsChildStatus : listStatus) {
+            if (!inodeChildren.containsKey(ufsChildStatus.getName()) && !PathUtils
+                .isTemporaryFileName(ufsChildStatus.getName())) {
+              // Ufs child exists, but Alluxio child does not. Must load metadata.
+              loadMetadata = true;
+              break;
+            }
           }
         }
       }
@@ -968,6 +993,48 @@ public class InodeSyncStream {
     }
   }
 
+  /**
+   * Diffs the UFS children of a directory against its inode children in a single ordered pass.
+   * The inode children which no longer exist in the UFS are remembered, so that their own sync
+   * deletes them without asking the UFS for their status again.
+   *
+   * @param inodePath the locked path of the directory
+   * @param directory the directory
+   * @param ufsChildren the UFS children of the directory
+   * @return whether a UFS child is missing in Alluxio
+   */
+  private boolean mergeJoinChildren(LockedInodePath inodePath, InodeDirectoryView directory,
+      Collection<UfsStatus> ufsChildren) throws InterruptedException {
+    AtomicBoolean missing = new AtomicBoolean(false);
+    try (CloseableIterator<? extends Inode> children = mInodeStore.getChildren(directory)) {
+      SyncChildrenDiff.mergeJoin(SyncChildrenDiff.sortByName(ufsChildren), children,
+          new SyncChildrenDiff.Visitor() {
+            @Override
+            public void onUfsOnly(UfsStatus status) {
+              if (!PathUtils.isTemporaryFileName(status.getName())) {
+                // Ufs child exists, but Alluxio child does not. Must load metadata.
+                missing.set(true);
+              }
+            }
+
+            @Override
+            public void onBoth(UfsStatus status, Inode inode) {
+              // the sync of the child compares it with its cached UFS status
+            }
+
+            @Override
+            public void onInodeOnly(Inode inode) {
+              AlluxioURI child = inodePath.getUri().joinUnsafe(inode.getName());
+              // a nested mount point is not listed by the UFS of its parent
+              if (!mMountTable.isMountPoint(child)) {
+                mUfsAbsentChildren.add(child);
+              }
+            }
+          });
+    }
+    return missing.get();
+  }
+
   private void loadMetadataForPath(LockedInodePath inodePath, RpcContext rpcContext)
       throws InvalidPathException, AccessControlException, IOException, FileDoesNotExistException,
       FileAlreadyCompletedException, InvalidFileSizeException, BlockInfoException {
@@ -1034,41 +1101,7 @@ public class InodeSyncStream {
             LOG.debug("fetching children for {} returned null", inodePath.getUri());
             return;
           }
-          for (UfsStatus childStatus : children) {
-            if (PathUtils.isTemporaryFileName(childStatus.getName())) {
-              continue;
-            }
-            AlluxioURI childURI = new AlluxioURI(PathUtils.concatPath(inodePath.getUri(),
-                childStatus.getName()));
-            if (mInodeTree.inodePathExists(childURI) && (childStatus.isFile()
-                || context.getOptions().getLoadDescendantType() != LoadDescendantPType.ALL)) {
-              // stop traversing if this is an existing file, or an existing directory without
-              // loading all descendants.
-              continue;
-            }
-            LoadMetadataContext loadMetadataContext =
-                LoadMetadataContext.mergeFrom(LoadMetadataPOptions.newBuilder()
-                    .setLoadDescendantType(LoadDescendantPType.NONE)
-                    .setCommonOptions(context.getOptions().getCommonOptions())
-                    .setCreateAncestors(false))
-                .setUfsStatus(childStatus);
-            try (LockedInodePath descendant = inodePath
-                .lockDescendant(inodePath.getUri().joinUnsafe(childStatus.getName()),
-                    LockPattern.READ)) {
-              loadMetadata(descendant, rpcContext, loadMetadataContext);
-            } catch (FileNotFoundException e) {
-              LOG.debug("Failed to loadMetadata because file is not in ufs:"
-                  + " inodePath={}, options={}.",
-                  childURI, loadMetadataContext, e);
-            } catch (BlockInfoException | FileAlreadyCompletedException
-                | FileDoesNotExistException | InvalidFileSizeException
-                | IOException e) {
-              LOG.debug("Failed to loadMetadata because the ufs file or directory"
-                  + " is {}, options={}.",
-                  childStatus, loadMetadataContext, e);
-              failedSync++;
-            }
-          }
+          failedSync += loadChildrenMetadata(inodePath, rpcContext, context, children);
           mInodeTree.setDirectChildrenLoaded(rpcContext, inodePath.getInode().asDirectory());
         }
       }
@@ -1083,6 +1116,150 @@ public class InodeSyncStream {
     }
   }
 
+  /**
+   * Loads the metadata of the UFS children of a directory which are missing in Alluxio. The
+   * journal entries of the loaded children are handed to the journal writer in batches, so they
+   * do not pile up in the journal context while a large directory is loaded.
+   *
+   * @param inodePath the locked path of the directory
+   * @param rpcContext the rpc context
+   * @param context the load metadata context of the directory
+   * @param children the UFS children of the directory
+   * @return the number of children which failed to load
+   */
+  private int loadChildrenMetadata(LockedInodePath inodePath, RpcContext rpcContext,
+      LoadMetadataContext context, Collection<UfsStatus> children)
+      throws AccessControlException, FileDoesNotExistException, InvalidPathException,
+      InterruptedException {
+    List<UfsStatus> missingChildren = new ArrayList<>();
+    diffChildren(inodePath.getInode().asDirectory(), children, context, (childStatus, missing) -> {
+      if (missing) {
+        missingChildren.add(childStatus);
+      }
+    });
+    int failedSync = 0;
+    int loaded = 0;
+    for (UfsStatus childStatus : missingChildren) {
+      if (!loadChildMetadata(inodePath, rpcContext, context, childStatus)) {
+        failedSync++;
+      }
+      if (++loaded % mLoadBatchSize == 0) {
+        flushLoadedChildren(rpcContext);
+      }
+    }
+    return failedSync;
+  }
+
+  /**
+   * Hands the journal entries of a batch of loaded children to the journal writer.
+   *
+   * @param rpcContext the rpc context
+   */
+  @VisibleForTesting
+  void flushLoadedChildren(RpcContext rpcContext) {
+    maybeFlushJournalToAsyncJournalWriter(rpcContext);
+  }
+
+  /**
+   * Receives the UFS children of a directory as they are diffed against the inode store.
+   */
+  @FunctionalInterface
+  private interface ChildDiffSink {
+    /**
+     * @param childStatus the UFS status of the child
+     * @param missing whether the metadata of the child needs to be loaded
+     */
+    void accept(UfsStatus childStatus, boolean missing) throws InterruptedException;
+  }
+
+  /**
+   * Diffs the UFS children of a directory against the inode store, either by an ordered merge
+   * join with the inode children or by looking up every UFS child.
+   *
+   * @param directory the directory
+   * @param children the UFS children of the directory
+   * @param context the load metadata context of the directory
+   * @param sink the receiver of the diffed children
+   */
+  private void diffChildren(InodeDirectoryView directory, Collection<UfsStatus> children,
+      LoadMetadataContext context, ChildDiffSink sink) throws InterruptedException {
+    if (mMergeJoinEnabled && SyncChildrenDiff.isSupported(children)) {
+      try (CloseableIterator<? extends Inode> inodes = mInodeStore.getChildren(directory)) {
+        SyncChildrenDiff.mergeJoin(SyncChildrenDiff.sortByName(children), inodes,
+            new SyncChildrenDiff.Visitor() {
+              @Override
+              public void onUfsOnly(UfsStatus status) throws InterruptedException {
+                sink.accept(status, isChildMissing(status, false, context));
+              }
+
+              @Override
+              public void onBoth(UfsStatus status, Inode inode) throws InterruptedException {
+                sink.accept(status, isChildMissing(status, true, context));
+              }
+
+              @Override
+              public void onInodeOnly(Inode inode) {
+                // deletions are found by the sync of the child itself
+              }
+            });
+      }
+      return;
+    }
+    for (UfsStatus childStatus : children) {
+      sink.accept(childStatus, isChildMissing(childStatus,
+          mInodeStore.getChild(directory, childStatus.getName()).isPresent(), context));
+    }
+  }
+
+  /**
+   * @param childStatus the UFS status of a child of a directory
+   * @param exists whether the child exists in Alluxio
+   * @param context the load metadata context of the directory
+   * @return whether the metadata of the child needs to be loaded
+   */
+  private static boolean isChildMissing(UfsStatus childStatus, boolean exists,
+      LoadMetadataContext context) {
+    if (PathUtils.isTemporaryFileName(childStatus.getName())) {
+      return false;
+    }
+    // stop traversing if this is an existing file, or an existing directory without
+    // loading all descendants.
+    return !(exists && (childStatus.isFile()
+        || context.getOptions().getLoadDescendantType() != LoadDescendantPType.ALL));
+  }
+
+  /**
+   * Loads the metadata of a single UFS child of a directory.
+   *
+   * @return whether the metadata was loaded
+   */
+  private boolean loadChildMetadata(LockedInodePath inodePath, RpcContext rpcContext,
+      LoadMetadataContext context, UfsStatus childStatus)
+      throws AccessControlException, InvalidPathException {
+    AlluxioURI childURI = inodePath.getUri().joinUnsafe(childStatus.getName());
+    LoadMetadataContext loadMetadataContext =
+        LoadMetadataContext.mergeFrom(LoadMetadataPOptions.newBuilder()
+            .setLoadDescendantType(LoadDescendantPType.NONE)
+            .setCommonOptions(context.getOptions().getCommonOptions())
+            .setCreateAncestors(false))
+        .setUfsStatus(childStatus);
+    try (LockedInodePath descendant = inodePath.lockDescendant(childURI, LockPattern.READ)) {
+      loadMetadata(descendant, rpcContext, loadMetadataContext);
+    } catch (FileNotFoundException e) {
+      LOG.debug("Failed to loadMetadata because file is not in ufs:"
+          + " inodePath={}, options={}.",
+          childURI, loadMetadataContext, e);
+    } catch (BlockInfoException | FileAlreadyCompletedException
+        | FileDoesNotExistException | InvalidFileSizeException
+        | IOException e) {
+      LOG.debug("Failed to loadMetadata because the ufs file or directory"
+          + " is {}, options={}.",
+          childStatus, loadMetadataContext, e);
+      return false;
+    }
+    return true;
+  }
+
   /**
    * Return item according to different TraverseTypes.
    *
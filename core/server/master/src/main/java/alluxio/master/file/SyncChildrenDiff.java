@@ -0,0 +1,131 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file;
+
+import alluxio.master.file.meta.Inode;
+import alluxio.underfs.UfsStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Diffs the UFS children of a directory against its inode children with an ordered merge join.
+ * The inode store lists the children of a directory sorted by name, so once the UFS listing is
+ * sorted the same way, both sides are walked in a single linear pass, instead of looking up
+ * every UFS child in the inode store.
+ */
+@ThreadSafe
+final class SyncChildrenDiff {
+  /** The lowest character for which UTF-16 and UTF-8 byte order may disagree. */
+  private static final char MIN_SURROGATE = '\uD800';
+
+  /**
+   * Receives the outcome of the diff of every child, in name order.
+   */
+  interface Visitor {
+    /**
+     * Called for a child which only exists in the UFS.
+     *
+     * @param status the UFS status of the child
+     */
+    void onUfsOnly(UfsStatus status) throws InterruptedException;
+
+    /**
+     * Called for a child which exists in both the UFS and Alluxio.
+     *
+     * @param status the UFS status of the child
+     * @param inode the inode of the child
+     */
+    void onBoth(UfsStatus status, Inode inode) throws InterruptedException;
+
+    /**
+     * Called for a child which only exists in Alluxio.
+     *
+     * @param inode the inode of the child
+     */
+    void onInodeOnly(Inode inode) throws InterruptedException;
+  }
+
+  private SyncChildrenDiff() {} // prevent instantiation
+
+  /**
+   * The inode stores order names either by their UTF-16 chars or by their UTF-8 bytes. Both
+   * orders agree on every pair of names one of which has no char from the surrogate range
+   * upwards, so a UFS listing without such names can be merged with the children of any store.
+   *
+   * @param ufsChildren the UFS children of a directory
+   * @return whether the children can be diffed by {@link #mergeJoin}
+   */
+  static boolean isSupported(Collection<UfsStatus> ufsChildren) {
+    for (UfsStatus status : ufsChildren) {
+      String name = status.getName();
+      for (int i = 0; i < name.length(); i++) {
+        if (name.charAt(i) >= MIN_SURROGATE) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param ufsChildren the UFS children of a directory
+   * @return the children sorted by name
+   */
+  static List<UfsStatus> sortByName(Collection<UfsStatus> ufsChildren) {
+    List<UfsStatus> sorted = new ArrayList<>(ufsChildren);
+    // most UFS list in name order already, which the sort detects in linear time
+    sorted.sort(Comparator.comparing(UfsStatus::getName));
+    return sorted;
+  }
+
+  /**
+   * Walks the UFS children and the inode children of a directory side by side.
+   *
+   * @param sortedUfsChildren the UFS children, sorted by {@link #sortByName}
+   * @param inodeChildren the inode children, as listed by the inode store
+   * @param visitor the visitor of the diffed children
+   */
+  static void mergeJoin(List<UfsStatus> sortedUfsChildren,
+      Iterator<? extends Inode> inodeChildren, Visitor visitor) throws InterruptedException {
+    Inode inode = inodeChildren.hasNext() ? inodeChildren.next() : null;
+    // whether the current inode matched a UFS child, which may be listed more than once
+    boolean matched = false;
+    for (UfsStatus status : sortedUfsChildren) {
+      String name = status.getName();
+      while (inode != null && inode.getName().compareTo(name) < 0) {
+        if (!matched) {
+          visitor.onInodeOnly(inode);
+        }
+        inode = inodeChildren.hasNext() ? inodeChildren.next() : null;
+        matched = false;
+      }
+      if (inode != null && inode.getName().equals(name)) {
+        visitor.onBoth(status, inode);
+        matched = true;
+      } else {
+        visitor.onUfsOnly(status);
+      }
+    }
+    while (inode != null) {
+      if (!matched) {
+        visitor.onInodeOnly(inode);
+      }
+      inode = inodeChildren.hasNext() ? inodeChildren.next() : null;
+      matched = false;
+    }
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.activesync;
+
+import alluxio.AlluxioURI;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.uri.Authority;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Consumes S3 event notifications appended to a local file, which stands in for the queue the
+ * notifications are delivered to. Every line of the file is a notification message in JSON, and
+ * the created and removed objects of its records are reported as changed.
+ *
+ * The offset of the lines whose events were processed is stored in a file next to the
+ * notifications, named after it with the suffix {@value #OFFSET_SUFFIX}, see {@link #commit}. A
+ * new source, such as the one of a new primary master, resumes from that offset, so it does not
+ * miss the events received during a failover, and only repeats the events polled but not
+ * committed. A line is consumed only once it is complete, and a truncated or replaced file is
+ * read again from its beginning.
+ */
+@ThreadSafe
+public final class S3EventNotificationFileSource implements UfsChangeEventSource {
+  private static final Logger LOG = LoggerFactory.getLogger(S3EventNotificationFileSource.class);
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final String OBJECT_CREATED = "ObjectCreated:";
+  private static final String OBJECT_REMOVED = "ObjectRemoved:";
+  private static final String OFFSET_SUFFIX = ".offset";
+
+  private final Path mPath;
+  private final Path mOffsetPath;
+  private final String mScheme;
+  /** The offset of the first line which is not consumed yet. */
+  private long mOffset;
+  /** The offset last stored in the offset file. */
+  private long mCommittedOffset;
+  /** The key of the file the offset refers to, which changes when the file is replaced. */
+  private String mFileKey = "";
+
+  /**
+   * Creates a source reading the file configured by
+   * {@link PropertyKey#MASTER_UFS_CHANGE_EVENT_FILE}.
+   */
+  public S3EventNotificationFileSource() {
+    this(Configuration.getString(PropertyKey.MASTER_UFS_CHANGE_EVENT_FILE),
+        Configuration.getString(PropertyKey.MASTER_UFS_CHANGE_EVENT_S3_SCHEME));
+  }
+
+  /**
+   * @param path the path of the file of the notifications
+   * @param scheme the scheme of the UFS paths of the objects
+   */
+  public S3EventNotificationFileSource(String path, String scheme) {
+    Preconditions.checkArgument(!path.isEmpty(), "%s must be set",
+        PropertyKey.Name.MASTER_UFS_CHANGE_EVENT_FILE);
+    mPath = Paths.get(path);
+    mOffsetPath = Paths.get(path + OFFSET_SUFFIX);
+    mScheme = scheme;
+    readOffset();
+  }
+
+  private void readOffset() {
+    if (!Files.exists(mOffsetPath)) {
+      return;
+    }
+    try {
+      String[] parts = new String(Files.readAllBytes(mOffsetPath), StandardCharsets.UTF_8)
+          .trim().split(" ", 2);
+      mOffset = Long.parseLong(parts[0]);
+      mCommittedOffset = mOffset;
+      mFileKey = parts.length > 1 ? parts[1] : "";
+    } catch (IOException | NumberFormatException e) {
+      LOG.warn("Failed to read the offset of {} from {}, reading it from the beginning: {}",
+          mPath, mOffsetPath, e.toString());
+    }
+  }
+
+  /**
+   * Consumes the complete lines of the file, up to the line which would exceed the maximum
+   * number of events. A single line with more records than the maximum is consumed as a whole.
+   *
+   * @param maxEvents the maximum number of events to consume
+   * @return the UFS paths which changed, in the order of their events
+   */
+  @Override
+  public synchronized List<AlluxioURI> poll(int maxEvents) throws IOException {
+    List<AlluxioURI> changed = new ArrayList<>();
+    if (!Files.exists(mPath)) {
+      return changed;
+    }
+    try (FileChannel channel = FileChannel.open(mPath, StandardOpenOption.READ)) {
+      String fileKey = String.valueOf(
+          Files.readAttributes(mPath, BasicFileAttributes.class).fileKey());
+      if (!fileKey.equals(mFileKey)) {
+        if (!mFileKey.isEmpty()) {
+          LOG.info("{} was replaced, reading it from the beginning", mPath);
+          mOffset = 0;
+        }
+        mFileKey = fileKey;
+      }
+      if (channel.size() < mOffset) {
+        LOG.info("{} was truncated, reading it from the beginning", mPath);
+        mOffset = 0;
+      }
+      channel.position(mOffset);
+      InputStream in = new BufferedInputStream(Channels.newInputStream(channel));
+      ByteArrayOutputStream line = new ByteArrayOutputStream();
+      List<AlluxioURI> lineChanged = new ArrayList<>();
+      int b;
+      while (changed.size() < maxEvents && (b = in.read()) != -1) {
+        if (b != '\n') {
+          line.write(b);
+          continue;
+        }
+        parse(new String(line.toByteArray(), StandardCharsets.UTF_8), lineChanged);
+        if (!changed.isEmpty() && changed.size() + lineChanged.size() > maxEvents) {
+          // the line is consumed by the next poll
+          break;
+        }
+        changed.addAll(lineChanged);
+        mOffset += line.size() + 1;
+        lineChanged.clear();
+        line.reset();
+      }
+    }
+    return changed;
+  }
+
+  /**
+   * Stores the offset of the lines consumed so far, so that a new source resumes after them.
+   */
+  @Override
+  public synchronized void commit() throws IOException {
+    if (mOffset == mCommittedOffset && Files.exists(mOffsetPath)) {
+      return;
+    }
+    Path tmp = Paths.get(mOffsetPath + ".tmp");
+    Files.write(tmp, (mOffset + " " + mFileKey).getBytes(StandardCharsets.UTF_8));
+    Files.move(tmp, mOffsetPath, StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    mCommittedOffset = mOffset;
+  }
+
+  /**
+   * Adds the changed objects of a notification message to a list.
+   *
+   * @param message the message
+   * @param changed the list of changed UFS paths
+   */
+  private void parse(String message, List<AlluxioURI> changed) {
+    if (message.trim().isEmpty()) {
+      return;
+    }
+    try {
+      // test events and other messages without records are ignored
+      for (JsonNode record : MAPPER.readTree(message).path("Records")) {
+        String eventName = record.path("eventName").asText();
+        if (!eventName.startsWith(OBJECT_CREATED) && !eventName.startsWith(OBJECT_REMOVED)) {
+          continue;
+        }
+        JsonNode s3 = record.path("s3");
+        String bucket = s3.path("bucket").path("name").asText();
+        String key = s3.path("object").path("key").asText();
+        if (bucket.isEmpty() || key.isEmpty()) {
+          LOG.warn("Ignoring {} event without an object: {}", eventName, record);
+          continue;
+        }
+        changed.add(new AlluxioURI(mScheme, Authority.fromString(bucket), "/" + decode(key)));
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      LOG.warn("Ignoring malformed S3 event notification {}: {}", message, e.toString());
+    }
+  }
+
+  /**
+   * @param key an object key as in an event notification, which is URL encoded
+   * @return the decoded key
+   */
+  private static String decode(String key) throws UnsupportedEncodingException {
+    return URLDecoder.decode(key, StandardCharsets.UTF_8.name());
+  }
+
+  @Override
+  public void close() {}
+}
@@ -0,0 +1,107 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.activesync;
+
+import alluxio.AlluxioURI;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.InvalidPathException;
+import alluxio.exception.status.UnavailableException;
+import alluxio.heartbeat.HeartbeatExecutor;
+import alluxio.master.file.FileSystemMaster;
+import alluxio.master.file.meta.MountTable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Periodically consumes the events of a {@link UfsChangeEventSource} and invalidates the sync
+ * state of the Alluxio paths of the changed UFS paths, so that they are synced on their next
+ * access instead of after the sync interval.
+ */
+@NotThreadSafe
+public final class UfsChangeEventProcessor implements HeartbeatExecutor {
+  private static final Logger LOG = LoggerFactory.getLogger(UfsChangeEventProcessor.class);
+
+  private final FileSystemMaster mFileSystemMaster;
+  private final MountTable mMountTable;
+  private final UfsChangeEventSource mSource;
+  private final int mBatchSize;
+
+  /**
+   * @param fileSystemMaster the file system master
+   * @param mountTable the mount table
+   * @param source the source of the change events
+   */
+  public UfsChangeEventProcessor(FileSystemMaster fileSystemMaster, MountTable mountTable,
+      UfsChangeEventSource source) {
+    mFileSystemMaster = fileSystemMaster;
+    mMountTable = mountTable;
+    mSource = source;
+    mBatchSize = Configuration.getInt(PropertyKey.MASTER_UFS_CHANGE_EVENT_POLL_BATCH_SIZE);
+  }
+
+  @Override
+  public void heartbeat() throws InterruptedException {
+    List<AlluxioURI> changed;
+    do {
+      try {
+        changed = mSource.poll(mBatchSize);
+      } catch (IOException e) {
+        LOG.warn("Failed to poll UFS change events: {}", e.toString());
+        return;
+      }
+      // an object updated repeatedly within a batch only needs one invalidation
+      Set<AlluxioURI> ufsPaths = new LinkedHashSet<>(changed);
+      for (AlluxioURI ufsPath : ufsPaths) {
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+        invalidate(ufsPath);
+      }
+      try {
+        mSource.commit();
+      } catch (IOException e) {
+        LOG.warn("Failed to commit UFS change events: {}", e.toString());
+      }
+    } while (changed.size() >= mBatchSize);
+  }
+
+  private void invalidate(AlluxioURI ufsPath) {
+    MountTable.ReverseResolution resolution = mMountTable.reverseResolve(ufsPath);
+    if (resolution == null) {
+      LOG.debug("Ignoring change event of {}, which is not mounted", ufsPath);
+      return;
+    }
+    try {
+      mFileSystemMaster.needsSync(resolution.getUri());
+    } catch (InvalidPathException | UnavailableException e) {
+      LOG.warn("Failed to invalidate {} after a change event of {}: {}", resolution.getUri(),
+          ufsPath, e.toString());
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      mSource.close();
+    } catch (IOException e) {
+      LOG.warn("Failed to close the UFS change event source: {}", e.toString());
+    }
+  }
+}
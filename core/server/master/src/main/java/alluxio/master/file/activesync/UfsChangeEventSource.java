@@ -0,0 +1,60 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.activesync;
+
+import alluxio.AlluxioURI;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.util.CommonUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A source of change events of a UFS, such as the event notifications of an object store. Unlike
+ * the active sync of HDFS, which syncs the changed directories, the events only invalidate the
+ * sync state of the changed paths, which are then synced on their next access.
+ */
+public interface UfsChangeEventSource extends Closeable {
+
+  /**
+   * Factory for {@link UfsChangeEventSource}.
+   */
+  class Factory {
+
+    private Factory() {} // prevent instantiation
+
+    /**
+     * @return the source configured by {@link PropertyKey#MASTER_UFS_CHANGE_EVENT_SOURCE_CLASS}
+     */
+    public static UfsChangeEventSource create() {
+      return CommonUtils.createNewClassInstance(
+          Configuration.getClass(PropertyKey.MASTER_UFS_CHANGE_EVENT_SOURCE_CLASS), null, null);
+    }
+  }
+
+  /**
+   * Consumes the events received since the last poll, without blocking. A source may return more
+   * events than the maximum when they cannot be split, such as the records of one notification.
+   *
+   * @param maxEvents the maximum number of events to consume
+   * @return the UFS paths which changed, in the order of their events
+   */
+  List<AlluxioURI> poll(int maxEvents) throws IOException;
+
+  /**
+   * Acknowledges that the events polled so far were processed, so that a new source, such as
+   * the one of a new primary master, does not consume them again.
+   */
+  default void commit() throws IOException {}
+}
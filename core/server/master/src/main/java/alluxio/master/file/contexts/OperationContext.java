@@ -61,6 +61,18 @@ public class OperationContext<T extends GeneratedMessageV3.Builder, C extends Op
     return (C) this;
   }
 
+  /**
+   * Updates this context with the trackers of another context, so that this context is cancelled
+   * along with the other one.
+   *
+   * @param context the context to take the trackers of
+   * @return the updated instance
+   */
+  public C withTrackersOf(OperationContext<?, ?> context) {
+    mCallTrackers.addAll(context.mCallTrackers);
+    return (C) this;
+  }
+
   /**
    * Get embedded operation id, passed via proto options.
    * This is overwritten by operations that include an operation id.
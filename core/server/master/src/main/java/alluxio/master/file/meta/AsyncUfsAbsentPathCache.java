@@ -43,6 +43,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -70,6 +71,9 @@ public class AsyncUfsAbsentPathCache implements UfsAbsentPathCache {
   private final ThreadPoolExecutor mPool;
 
   private final Clock mClock;
+  /** The listener of the paths found absent by this master. */
+  @Nullable
+  private volatile AbsentPathListener mListener;
 
   /**
    * Creates a new instance of {@link AsyncUfsAbsentPathCache}.
@@ -117,7 +121,7 @@ public class AsyncUfsAbsentPathCache implements UfsAbsentPathCache {
     if (mountInfo == null) {
       return;
     }
-    addCacheEntry(path.getPath(), mountInfo);
+    notifyListener(path.getPath(), addCacheEntry(path.getPath(), mountInfo));
   }
 
   @Override
@@ -164,6 +168,28 @@ public class AsyncUfsAbsentPathCache implements UfsAbsentPathCache {
     return false;
   }
 
+  @Override
+  public void addAbsentPath(String path, long mountId, long absentTime) {
+    mCache.asMap().merge(path, new Pair<>(absentTime, mountId),
+        (current, added) -> current.getFirst() >= added.getFirst() ? current : added);
+  }
+
+  @Override
+  public void forEachAbsentPath(AbsentPathListener consumer) {
+    mCache.asMap().forEach((path, entry) ->
+        consumer.onAbsentPath(path, entry.getSecond(), entry.getFirst()));
+  }
+
+  @Override
+  public void clear() {
+    mCache.invalidateAll();
+  }
+
+  @Override
+  public void setAbsentPathListener(@Nullable AbsentPathListener listener) {
+    mListener = listener;
+  }
+
   /**
    * Processes and checks the existence of the corresponding ufs path for the given Alluxio path.
    *
@@ -211,7 +237,7 @@ public class AsyncUfsAbsentPathCache implements UfsAbsentPathCache {
           removeCacheEntry(alluxioUri.getPath());
         } else {
           // This is the first ufs path which does not exist. Add it to the cache.
-          addCacheEntry(alluxioUri.getPath(), mountInfo);
+          Pair<Long, Long> entry = addCacheEntry(alluxioUri.getPath(), mountInfo);
 
           if (pathLock.isInvalidate()) {
             // This path was marked to be invalidated, meaning this UFS path was just created,
@@ -219,6 +245,7 @@ public class AsyncUfsAbsentPathCache implements UfsAbsentPathCache {
             // This check is necessary to avoid the race with the invalidating thread.
             removeCacheEntry(alluxioUri.getPath());
           } else {
+            notifyListener(alluxioUri.getPath(), entry);
             // Further traversal is unnecessary.
             return false;
           }
@@ -322,9 +349,18 @@ public class AsyncUfsAbsentPathCache implements UfsAbsentPathCache {
     }
   }
 
-  private void addCacheEntry(String path, MountInfo mountInfo) {
+  private Pair<Long, Long> addCacheEntry(String path, MountInfo mountInfo) {
     LOG.debug("Add cacheEntry={}", path);
-    mCache.put(path, new Pair<>(mClock.millis(), mountInfo.getMountId()));
+    Pair<Long, Long> entry = new Pair<>(mClock.millis(), mountInfo.getMountId());
+    mCache.put(path, entry);
+    return entry;
+  }
+
+  private void notifyListener(String path, Pair<Long, Long> entry) {
+    AbsentPathListener listener = mListener;
+    if (listener != null) {
+      listener.onAbsentPath(path, entry.getSecond(), entry.getFirst());
+    }
   }
 
   private void removeCacheEntry(String path) {
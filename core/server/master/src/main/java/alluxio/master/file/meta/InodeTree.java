@@ -207,6 +207,10 @@ public class InodeTree implements DelegatingJournaled {
   private final ContainerIdGenerable mContainerIdGenerator;
   private final InodeDirectoryIdGenerator mDirectoryIdGenerator;
 
+  /** Log of the paths modified, which clients poll to invalidate their metadata caches. */
+  private final MetadataInvalidationLog mInvalidationLog = new MetadataInvalidationLog(
+      Configuration.getInt(PropertyKey.MASTER_METADATA_INVALIDATION_LOG_SIZE));
+
   /**
    * @param inodeStore the inode store
    * @param containerIdGenerator the container id generator to use to get new container ids
@@ -226,6 +230,13 @@ public class InodeTree implements DelegatingJournaled {
     mMountTable = mountTable;
   }
 
+  /**
+   * @return the log of the paths modified in the tree
+   */
+  public MetadataInvalidationLog getInvalidationLog() {
+    return mInvalidationLog;
+  }
+
   /**
    * Whether given operation is still cached in retry-cache.
    *
@@ -453,8 +464,8 @@ public class InodeTree implements DelegatingJournaled {
       throws InvalidPathException {
     LockedInodePath inodePath =
         new LockedInodePath(
-            uri, mInodeStore, mInodeLockManager, getRoot(), lockPattern, tryLock, journalContext
-        );
+            uri, mInodeStore, mInodeLockManager, getRoot(), lockPattern, tryLock, journalContext,
+            mInvalidationLog);
     try {
       inodePath.traverse();
     } catch (Throwable t) {
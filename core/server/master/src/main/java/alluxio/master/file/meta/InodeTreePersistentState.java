@@ -237,6 +237,7 @@ public class InodeTreePersistentState implements Journaled {
       }
       context.get().append(builder.build());
       applyDelete(entry);
+      MetadataInvalidationLog.recordModification();
     } catch (Throwable t) {
       // Delete entries should always apply cleanly, but if it somehow fails, we are in a state
       // where we've journaled the delete, but failed to make the in-memory update. We don't yet
@@ -256,6 +257,7 @@ public class InodeTreePersistentState implements Journaled {
     try {
       long id = applyNewBlock(entry);
       context.get().append(JournalEntry.newBuilder().setNewBlock(entry).build());
+      MetadataInvalidationLog.recordModification();
       return id;
     } catch (Throwable t) {
       ProcessUtils.fatalError(LOG, t, "Failed to apply %s", entry);
@@ -278,6 +280,7 @@ public class InodeTreePersistentState implements Journaled {
         builder.setOperationId(opId.toJournalProto());
       }
       context.get().append(builder.build());
+      MetadataInvalidationLog.recordModification();
     } catch (Throwable t) {
       ProcessUtils.fatalError(LOG, t, "Failed to apply %s", entry);
       throw t; // fatalError will usually system.exit
@@ -294,6 +297,7 @@ public class InodeTreePersistentState implements Journaled {
     try {
       applySetAcl(entry);
       context.get().append(JournalEntry.newBuilder().setSetAcl(entry).build());
+      MetadataInvalidationLog.recordModification();
     } catch (Throwable t) {
       ProcessUtils.fatalError(LOG, t, "Failed to apply %s", entry);
       throw t; // fatalError will usually system.exit
@@ -315,6 +319,7 @@ public class InodeTreePersistentState implements Journaled {
         builder.setOperationId(opId.toJournalProto());
       }
       context.get().append(builder.build());
+      MetadataInvalidationLog.recordModification();
     } catch (Throwable t) {
       ProcessUtils.fatalError(LOG, t, "Failed to apply %s", entry);
       throw t; // fatalError will usually system.exit
@@ -331,6 +336,7 @@ public class InodeTreePersistentState implements Journaled {
     try {
       applyUpdateInodeDirectory(entry);
       context.get().append(JournalEntry.newBuilder().setUpdateInodeDirectory(entry).build());
+      MetadataInvalidationLog.recordModification();
     } catch (Throwable t) {
       ProcessUtils.fatalError(LOG, t, "Failed to apply %s", entry);
       throw t; // fatalError will usually system.exit
@@ -347,6 +353,7 @@ public class InodeTreePersistentState implements Journaled {
     try {
       applyUpdateInodeFile(entry);
       context.get().append(JournalEntry.newBuilder().setUpdateInodeFile(entry).build());
+      MetadataInvalidationLog.recordModification();
     } catch (Throwable t) {
       ProcessUtils.fatalError(LOG, t, "Failed to apply %s", entry);
       throw t; // fatalError will usually system.exit
@@ -371,6 +378,7 @@ public class InodeTreePersistentState implements Journaled {
         builder.setOperationId(opId.toJournalProto());
       }
       context.get().append(builder.build());
+      MetadataInvalidationLog.recordModification();
     } catch (Throwable t) {
       ProcessUtils.fatalError(LOG, t, "Failed to apply %s", inode);
       throw t; // fatalError will usually system.exit
@@ -30,6 +30,7 @@ import io.netty.util.ResourceLeakDetector;
 import io.netty.util.ResourceLeakTracker;
 
 import java.io.Closeable;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.locks.Lock;
@@ -135,6 +136,25 @@ public class LockedInodePath implements Closeable {
    */
   private final JournalContext mJournalContext;
 
+  /**
+   * The log to record the path in when it is released from a write lock, so that clients drop
+   * the metadata of the path they cached.
+   */
+  @Nullable
+  private final MetadataInvalidationLog mInvalidationLog;
+
+  /**
+   * The index of the first path component found missing under a write locked edge, or -1. The
+   * components from there on may be created under this path, so they are recorded as modified.
+   */
+  private int mFirstMissingIndex = -1;
+
+  /**
+   * The number of inode tree modifications the thread had applied when the path was created or
+   * last recorded, to tell whether the path was modified while it was locked.
+   */
+  private long mModificationCount = MetadataInvalidationLog.getModificationCount();
+
   /**
    * Creates a new locked inode path.
    *
@@ -150,6 +170,26 @@ public class LockedInodePath implements Closeable {
       InodeLockManager inodeLockManager, InodeDirectory root, LockPattern lockPattern,
       boolean tryLock, JournalContext journalContext)
       throws InvalidPathException {
+    this(uri, inodeStore, inodeLockManager, root, lockPattern, tryLock, journalContext, null);
+  }
+
+  /**
+   * Creates a new locked inode path.
+   *
+   * @param uri the uri for the path
+   * @param inodeStore the inode store for looking up inode children
+   * @param inodeLockManager the inode lock manager
+   * @param root the root inode
+   * @param lockPattern the pattern to lock in
+   * @param tryLock whether or not use {@link Lock#tryLock()} or {@link Lock#lock()}
+   * @param journalContext the journal context to flush when the lock is released
+   * @param invalidationLog the log to record the path in when a write lock is released, or null
+   */
+  public LockedInodePath(AlluxioURI uri, ReadOnlyInodeStore inodeStore,
+      InodeLockManager inodeLockManager, InodeDirectory root, LockPattern lockPattern,
+      boolean tryLock, JournalContext journalContext,
+      @Nullable MetadataInvalidationLog invalidationLog)
+      throws InvalidPathException {
     mUri = uri;
     mPathComponents = PathUtils.getPathComponents(uri.getPath());
     mInodeStore = inodeStore;
@@ -159,6 +199,7 @@ public class LockedInodePath implements Closeable {
     mLockList = new SimpleInodeLockList(inodeLockManager, mUseTryLock);
     mTracker = DETECTOR.track(this);
     mJournalContext = journalContext;
+    mInvalidationLog = invalidationLog;
   }
 
   /**
@@ -184,6 +225,7 @@ public class LockedInodePath implements Closeable {
     // So the new created LockInodePath instance must be on the same thread with
     // the original one and hence they will use the same JournalContext.
     mJournalContext = path.mJournalContext;
+    mInvalidationLog = path.mInvalidationLog;
   }
 
   /**
@@ -351,6 +393,7 @@ public class LockedInodePath implements Closeable {
    */
   public void downgradeToRead() {
     maybeFlushJournals();
+    maybeInvalidate();
     mLockList.downgradeToReadLocks();
     mLockPattern = LockPattern.READ;
   }
@@ -521,6 +564,9 @@ public class LockedInodePath implements Closeable {
           }
         }
         if (!nextInodeOpt.isPresent()) {
+          if (mLockPattern == LockPattern.WRITE_EDGE && mFirstMissingIndex < 0) {
+            mFirstMissingIndex = lastInodeIndex + 1;
+          }
           if (mLockPattern == LockPattern.READ) {
             // WRITE_INODE and WRITE_EDGE should lock the last non-existing edge.
             mLockList.unlockLastEdge();
@@ -561,6 +607,7 @@ public class LockedInodePath implements Closeable {
     try {
       maybeFlushJournals();
     } finally {
+      maybeInvalidate();
       // releases the locks in case journal flush failed
       if (mTracker != null) {
         mTracker.close(this);
@@ -574,6 +621,30 @@ public class LockedInodePath implements Closeable {
     return mUri.toString();
   }
 
+  /**
+   * Records the path as modified if it is write locked and the thread modified the inode tree
+   * since the path was locked, so that syncs and operations which fail or change nothing do not
+   * invalidate clients. This happens while the locks are still held, so a client which reads the
+   * path after polling the modification reads the new state.
+   * If the path was missing its ancestors, the first missing ancestor is recorded as well, as a
+   * recursive create may have created it and everything below it.
+   */
+  private void maybeInvalidate() {
+    if (mInvalidationLog == null || !mLockPattern.isWrite()) {
+      return;
+    }
+    long modificationCount = MetadataInvalidationLog.getModificationCount();
+    if (modificationCount == mModificationCount) {
+      return;
+    }
+    mModificationCount = modificationCount;
+    mInvalidationLog.append(mUri.getPath());
+    if (mFirstMissingIndex > 0 && mFirstMissingIndex < mPathComponents.length - 1) {
+      mInvalidationLog.append(PathUtils.concatPath(AlluxioURI.SEPARATOR,
+          (Object[]) Arrays.copyOfRange(mPathComponents, 1, mFirstMissingIndex + 1)));
+    }
+  }
+
   private void maybeFlushJournals() {
     if (mMergeInodeJournals) {
       try {
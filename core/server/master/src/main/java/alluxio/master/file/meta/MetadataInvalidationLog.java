@@ -0,0 +1,159 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import alluxio.wire.MetadataInvalidations;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A bounded log of the paths recently modified in the inode tree, which clients poll to
+ * invalidate the metadata they cached. Every modification gets the next version of the log, and
+ * a client asks for the paths modified after the last version it read. The log only keeps the
+ * latest modifications; a client which is further behind, or which read from another epoch of
+ * the log, is told to drop everything it cached.
+ *
+ * The log is kept in memory by the primary master only, so it starts a new epoch every time the
+ * master gains primacy.
+ *
+ * A path is only recorded if the inode tree was modified while it was write locked, which the
+ * inode tree tells by counting the modifications every thread applies, see
+ * {@link #recordModification()}.
+ */
+@ThreadSafe
+public final class MetadataInvalidationLog {
+  /** The number of inode tree modifications applied by each thread. */
+  private static final ThreadLocal<long[]> MODIFICATIONS =
+      ThreadLocal.withInitial(() -> new long[1]);
+
+  private final int mCapacity;
+  /** The current epoch, replaced as a whole when a new epoch starts. */
+  private volatile Epoch mEpoch;
+
+  /**
+   * @param capacity the number of latest modifications to keep
+   */
+  public MetadataInvalidationLog(int capacity) {
+    Preconditions.checkArgument(capacity > 0, "capacity must be positive: %s", capacity);
+    mCapacity = capacity;
+    reset();
+  }
+
+  /**
+   * Counts a modification of the inode tree applied by the current thread.
+   */
+  public static void recordModification() {
+    MODIFICATIONS.get()[0]++;
+  }
+
+  /**
+   * @return the number of inode tree modifications applied by the current thread
+   */
+  public static long getModificationCount() {
+    return MODIFICATIONS.get()[0];
+  }
+
+  /**
+   * Records the modification of a path. This does not block, as it runs whenever a write lock
+   * on the inode tree is released.
+   *
+   * @param path the path modified
+   */
+  public void append(String path) {
+    Epoch epoch = mEpoch;
+    long version = epoch.mVersion.incrementAndGet();
+    epoch.mEntries.set(epoch.index(version), new Entry(version, path));
+  }
+
+  /**
+   * @param epoch the epoch the client read from before
+   * @param version the version the client read up to before
+   * @return the paths modified after the version, which are complete only if the epoch is the
+   *         current one and the log still holds all the modifications after the version
+   */
+  public MetadataInvalidations get(long epoch, long version) {
+    Epoch current = mEpoch;
+    long latest = current.mVersion.get();
+    if (epoch != current.mId || version > latest || latest - version > mCapacity) {
+      return new MetadataInvalidations(current.mId, latest, Collections.emptyList(), false);
+    }
+    Set<String> paths = new LinkedHashSet<>();
+    long read = version;
+    for (long v = version + 1; v <= latest; v++) {
+      Entry entry = current.mEntries.get(current.index(v));
+      if (entry == null || entry.mVersion < v) {
+        // the modification is still being appended, the client reads it next time
+        break;
+      }
+      if (entry.mVersion > v) {
+        // appends overtook the read and overwrote the modification
+        return new MetadataInvalidations(current.mId, current.mVersion.get(),
+            Collections.emptyList(), false);
+      }
+      paths.add(entry.mPath);
+      read = v;
+    }
+    return new MetadataInvalidations(current.mId, read, paths, true);
+  }
+
+  /**
+   * Starts a new epoch, which invalidates whatever clients cached during the previous epochs.
+   */
+  public synchronized void reset() {
+    long id;
+    do {
+      // 0 is left for clients which have not read the log yet
+      id = ThreadLocalRandom.current().nextLong();
+    } while (id == 0 || (mEpoch != null && id == mEpoch.mId));
+    mEpoch = new Epoch(id, mCapacity);
+  }
+
+  /**
+   * The modifications recorded in one epoch.
+   */
+  private static final class Epoch {
+    private final long mId;
+    /** The version of the latest modification, the number of modifications in this epoch. */
+    private final AtomicLong mVersion = new AtomicLong();
+    private final AtomicReferenceArray<Entry> mEntries;
+
+    Epoch(long id, int capacity) {
+      mId = id;
+      mEntries = new AtomicReferenceArray<>(capacity);
+    }
+
+    int index(long version) {
+      return (int) (version % mEntries.length());
+    }
+  }
+
+  /**
+   * A modification with its version.
+   */
+  private static final class Entry {
+    private final long mVersion;
+    private final String mPath;
+
+    Entry(long version, String path) {
+      mVersion = version;
+      mPath = path;
+    }
+  }
+}
@@ -89,6 +89,28 @@ class SyncState {
     }
   }
 
+  /**
+   * Merges the state of the same path recorded by another master. Times only move forward, so
+   * states can be merged in any order.
+   *
+   * @param other the other state
+   */
+  void merge(SyncState other) {
+    setIsFile(other.mIsFile);
+    setInvalidationTime(other.mInvalidationTime);
+    setDirectChildInvalidation(other.mDirectChildrenInvalidation);
+    setRecursiveChildInvalidation(other.mRecursiveChildrenInvalidation);
+    if (other.mSyncTime > mSyncTime) {
+      mSyncTime = other.mSyncTime;
+    }
+    if (other.mDirectChildrenSyncTime > mDirectChildrenSyncTime) {
+      mDirectChildrenSyncTime = other.mDirectChildrenSyncTime;
+    }
+    if (other.mRecursiveSyncTime > mRecursiveSyncTime) {
+      mRecursiveSyncTime = other.mRecursiveSyncTime;
+    }
+  }
+
   /**
    * @param time the most recent validation (sync) time
    * @param descendantType the type of sync performed
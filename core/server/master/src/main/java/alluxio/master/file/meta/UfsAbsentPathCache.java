@@ -20,6 +20,7 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Clock;
 import java.util.List;
+import javax.annotation.Nullable;
 
 /**
  * Cache for recording information about paths that are not present in UFS.
@@ -63,6 +64,44 @@ public interface UfsAbsentPathCache {
    */
   boolean isAbsentSince(AlluxioURI path, long absentSince);
 
+  /**
+   * Adds a path found absent in the UFS by another master, such as an entry replayed from the
+   * journal.
+   *
+   * @param path the absent path
+   * @param mountId the id of the mount of the path
+   * @param absentTime the time the path was found absent
+   */
+  default void addAbsentPath(String path, long mountId, long absentTime) {}
+
+  /**
+   * @param consumer receives every cached absent path
+   */
+  default void forEachAbsentPath(AbsentPathListener consumer) {}
+
+  /**
+   * Removes all the cached absent paths, such as when the journaled state is reset.
+   */
+  default void clear() {}
+
+  /**
+   * @param listener the listener of the paths this master finds absent, or null to remove it
+   */
+  default void setAbsentPathListener(@Nullable AbsentPathListener listener) {}
+
+  /**
+   * Receives paths found absent in the UFS.
+   */
+  @FunctionalInterface
+  interface AbsentPathListener {
+    /**
+     * @param path the absent path
+     * @param mountId the id of the mount of the path
+     * @param absentTime the time the path was found absent
+     */
+    void onAbsentPath(String path, long mountId, long absentTime);
+  }
+
   /**
    * Factory class for {@link UfsAbsentPathCache}.
    */
@@ -254,12 +254,83 @@ public class UfsSyncPathCache {
   /**
    * Notify that a path has been invalidated.
    * @param path the path
+   * @return the time of the invalidation
    */
   @VisibleForTesting
-  public void notifyInvalidation(AlluxioURI path) throws InvalidPathException {
+  public long notifyInvalidation(AlluxioURI path) throws InvalidPathException {
     String currPath = cleanPath(path.getPath());
     long time = mClock.millis();
     notifyInvalidationInternal(currPath, time);
+    return time;
+  }
+
+  /**
+   * @param path the path
+   * @return a copy of the sync state of the path, if cached
+   */
+  Optional<SyncState> getSyncState(String path) {
+    if (path.equals(AlluxioURI.SEPARATOR)) {
+      try (LockResource ignored = new LockResource(mRootLock)) {
+        return Optional.of(copy(mRoot));
+      }
+    }
+    return Optional.ofNullable(mItems.getIfPresent(path)).map(UfsSyncPathCache::copy);
+  }
+
+  /**
+   * @param consumer receives every cached path with a copy of its sync state
+   */
+  void forEachSyncState(BiConsumer<String, SyncState> consumer) {
+    consumer.accept(AlluxioURI.SEPARATOR, getSyncState(AlluxioURI.SEPARATOR).get());
+    mItems.asMap().forEach((path, state) -> consumer.accept(path, copy(state)));
+  }
+
+  /**
+   * Removes the sync states of all the paths, such as when the journaled state is reset.
+   */
+  void clear() {
+    mItems.invalidateAll();
+    try (LockResource ignored = new LockResource(mRootLock)) {
+      mRoot.mSyncTime = 0;
+      mRoot.mDirectChildrenSyncTime = 0;
+      mRoot.mRecursiveSyncTime = 0;
+      mRoot.mInvalidationTime = 0;
+      mRoot.mDirectChildrenInvalidation = 0;
+      mRoot.mRecursiveChildrenInvalidation = 0;
+    }
+  }
+
+  /**
+   * Merges the sync state of a path recorded by another master, such as a state replayed from
+   * the journal. An invalidation of the path is propagated to its ancestors, as if it had been
+   * received by this master.
+   *
+   * @param path the path
+   * @param state the sync state
+   */
+  void mergeSyncState(String path, SyncState state) throws InvalidPathException {
+    if (path.equals(AlluxioURI.SEPARATOR)) {
+      try (LockResource ignored = new LockResource(mRootLock)) {
+        mRoot.merge(state);
+      }
+    } else {
+      mItems.asMap().compute(path, (key, current) -> {
+        if (current == null) {
+          current = new SyncState(state.mIsFile);
+        }
+        current.merge(state);
+        return current;
+      });
+    }
+    if (state.mInvalidationTime > 0) {
+      notifyInvalidationInternal(path, state.mInvalidationTime);
+    }
+  }
+
+  private static SyncState copy(SyncState state) {
+    SyncState copy = new SyncState(state.mIsFile);
+    copy.merge(state);
+    return copy;
   }
 
   private void notifyInvalidationInternal(String currPath, long time)
@@ -0,0 +1,255 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import alluxio.AlluxioURI;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.InvalidPathException;
+import alluxio.master.journal.JournalContext;
+import alluxio.master.journal.Journaled;
+import alluxio.master.journal.checkpoint.CheckpointName;
+import alluxio.proto.journal.File.UfsAbsentPathEntry;
+import alluxio.proto.journal.File.UfsSyncStateEntry;
+import alluxio.proto.journal.Journal.JournalEntry;
+import alluxio.resource.CloseableIterator;
+import alluxio.util.CommonUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Journals the state of metadata sync kept by the {@link UfsSyncPathCache} and the
+ * {@link UfsAbsentPathCache}, so that standby masters keep a copy of it and a new primary does
+ * not repeat the syncs of the previous one.
+ *
+ * The invalidations of paths, which a new primary must not miss, are journaled right away. The
+ * paths synced and the paths found absent are buffered and journaled at most once per
+ * {@link PropertyKey#MASTER_METADATA_SYNC_STATE_JOURNAL_INTERVAL}, so that a path synced
+ * repeatedly is journaled once per interval. Losing the buffered paths only costs a new primary
+ * a repeated sync or UFS lookup. Replayed states are merged by keeping the latest times, so the
+ * order in which concurrent updates reach the journal does not matter.
+ *
+ * Directory fingerprints are not part of this state, since they are already journaled with the
+ * inodes.
+ */
+@ThreadSafe
+public final class UfsSyncStateStore implements Journaled {
+  private static final Logger LOG = LoggerFactory.getLogger(UfsSyncStateStore.class);
+
+  private final boolean mEnabled;
+  private final UfsSyncPathCache mSyncPathCache;
+  private final UfsAbsentPathCache mAbsentPathCache;
+  private final int mMaxPendingPaths;
+  private final long mJournalIntervalMs;
+  /** Paths synced since the last journal write. */
+  private final Set<String> mPendingSyncedPaths = ConcurrentHashMap.newKeySet();
+  /** Absent paths found since the last journal write. */
+  private final Queue<JournalEntry> mPendingAbsentPaths = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger mPendingAbsentPathCount = new AtomicInteger();
+  /** The earliest time at which the buffered paths are journaled again. */
+  private final AtomicLong mNextJournalTimeMs = new AtomicLong();
+
+  /**
+   * Creates a new instance of {@link UfsSyncStateStore}.
+   *
+   * @param syncPathCache the sync path cache
+   * @param absentPathCache the absent path cache
+   */
+  public UfsSyncStateStore(UfsSyncPathCache syncPathCache, UfsAbsentPathCache absentPathCache) {
+    mEnabled = Configuration.getBoolean(PropertyKey.MASTER_METADATA_SYNC_STATE_JOURNAL_ENABLED);
+    mSyncPathCache = syncPathCache;
+    mAbsentPathCache = absentPathCache;
+    mMaxPendingPaths = Configuration.getInt(PropertyKey.MASTER_UFS_PATH_CACHE_CAPACITY);
+    mJournalIntervalMs =
+        Configuration.getMs(PropertyKey.MASTER_METADATA_SYNC_STATE_JOURNAL_INTERVAL);
+    if (mEnabled) {
+      mAbsentPathCache.setAbsentPathListener(this::onAbsentPath);
+    }
+  }
+
+  /**
+   * @return whether the sync state is journaled
+   */
+  public boolean isEnabled() {
+    return mEnabled;
+  }
+
+  /**
+   * Records that a sync of a path completed. The sync state of the path is journaled together
+   * with the other buffered paths once the journal interval has passed.
+   *
+   * @param context the journal context
+   * @param path the synced path
+   */
+  public void journalSyncedPath(JournalContext context, AlluxioURI path) {
+    if (!mEnabled) {
+      return;
+    }
+    if (mPendingSyncedPaths.size() < mMaxPendingPaths) {
+      mPendingSyncedPaths.add(path.getPath());
+    }
+    journalPendingPaths(context);
+  }
+
+  /**
+   * Invalidates a path in the sync path cache and journals the invalidation.
+   *
+   * @param context the journal context
+   * @param path the path
+   */
+  public void notifyInvalidation(Supplier<JournalContext> context, AlluxioURI path)
+      throws InvalidPathException {
+    long time = mSyncPathCache.notifyInvalidation(path);
+    if (!mEnabled) {
+      return;
+    }
+    SyncState state = new SyncState(false);
+    state.setInvalidationTime(time);
+    JournalContext journalContext = context.get();
+    journalContext.append(toJournalEntry(path.getPath(), state));
+    journalPendingPaths(journalContext);
+  }
+
+  /**
+   * Removes the replayed absent paths which exist in Alluxio, since they were created after
+   * they were found absent. Called when the master becomes primary.
+   *
+   * @param exists whether a path exists in Alluxio
+   */
+  public void removeExistingAbsentPaths(Predicate<AlluxioURI> exists) {
+    if (!mEnabled) {
+      return;
+    }
+    List<AlluxioURI> existing = new ArrayList<>();
+    mAbsentPathCache.forEachAbsentPath((path, mountId, absentTime) -> {
+      AlluxioURI uri = new AlluxioURI(path);
+      if (exists.test(uri)) {
+        existing.add(uri);
+      }
+    });
+    existing.forEach(mAbsentPathCache::processExisting);
+    LOG.info("Removed {} absent paths which exist in Alluxio", existing.size());
+  }
+
+  private void onAbsentPath(String path, long mountId, long absentTime) {
+    if (mPendingAbsentPathCount.incrementAndGet() > mMaxPendingPaths) {
+      mPendingAbsentPathCount.decrementAndGet();
+      return;
+    }
+    mPendingAbsentPaths.add(toJournalEntry(path, mountId, absentTime));
+  }
+
+  private void journalPendingPaths(JournalContext context) {
+    long now = CommonUtils.getCurrentMs();
+    long next = mNextJournalTimeMs.get();
+    // only one thread journals the paths of an interval
+    if (now < next || !mNextJournalTimeMs.compareAndSet(next, now + mJournalIntervalMs)) {
+      return;
+    }
+    for (String path : mPendingSyncedPaths) {
+      mPendingSyncedPaths.remove(path);
+      // the state is read when journaled, so it includes the syncs buffered since
+      mSyncPathCache.getSyncState(path)
+          .ifPresent(state -> context.append(toJournalEntry(path, state)));
+    }
+    JournalEntry entry;
+    while ((entry = mPendingAbsentPaths.poll()) != null) {
+      mPendingAbsentPathCount.decrementAndGet();
+      context.append(entry);
+    }
+  }
+
+  @Override
+  public boolean processJournalEntry(JournalEntry entry) {
+    if (entry.hasUfsSyncState()) {
+      UfsSyncStateEntry syncState = entry.getUfsSyncState();
+      SyncState state = new SyncState(syncState.getIsFile());
+      state.mSyncTime = syncState.getSyncTime();
+      state.mDirectChildrenSyncTime = syncState.getDirectChildrenSyncTime();
+      state.mRecursiveSyncTime = syncState.getRecursiveSyncTime();
+      state.mInvalidationTime = syncState.getInvalidationTime();
+      state.mDirectChildrenInvalidation = syncState.getDirectChildrenInvalidation();
+      state.mRecursiveChildrenInvalidation = syncState.getRecursiveChildrenInvalidation();
+      try {
+        mSyncPathCache.mergeSyncState(syncState.getPath(), state);
+      } catch (InvalidPathException e) {
+        LOG.warn("Ignoring the sync state of invalid path {}", syncState.getPath());
+      }
+    } else if (entry.hasUfsAbsentPath()) {
+      UfsAbsentPathEntry absentPath = entry.getUfsAbsentPath();
+      mAbsentPathCache.addAbsentPath(absentPath.getPath(), absentPath.getMountId(),
+          absentPath.getAbsentTime());
+    } else {
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public void resetState() {
+    mPendingSyncedPaths.clear();
+    mPendingAbsentPaths.clear();
+    mPendingAbsentPathCount.set(0);
+    mSyncPathCache.clear();
+    mAbsentPathCache.clear();
+  }
+
+  @Override
+  public CloseableIterator<JournalEntry> getJournalEntryIterator() {
+    List<JournalEntry> entries = new ArrayList<>();
+    if (mEnabled) {
+      mSyncPathCache.forEachSyncState((path, state) -> entries.add(toJournalEntry(path, state)));
+      mAbsentPathCache.forEachAbsentPath((path, mountId, absentTime) ->
+          entries.add(toJournalEntry(path, mountId, absentTime)));
+    }
+    return CloseableIterator.noopCloseable(entries.iterator());
+  }
+
+  @Override
+  public CheckpointName getCheckpointName() {
+    return CheckpointName.UFS_SYNC_STATE_STORE;
+  }
+
+  private static JournalEntry toJournalEntry(String path, SyncState state) {
+    return JournalEntry.newBuilder().setUfsSyncState(UfsSyncStateEntry.newBuilder()
+        .setPath(path)
+        .setIsFile(state.mIsFile)
+        .setSyncTime(state.mSyncTime)
+        .setDirectChildrenSyncTime(state.mDirectChildrenSyncTime)
+        .setRecursiveSyncTime(state.mRecursiveSyncTime)
+        .setInvalidationTime(state.mInvalidationTime)
+        .setDirectChildrenInvalidation(state.mDirectChildrenInvalidation)
+        .setRecursiveChildrenInvalidation(state.mRecursiveChildrenInvalidation))
+        .build();
+  }
+
+  private static JournalEntry toJournalEntry(String path, long mountId, long absentTime) {
+    return JournalEntry.newBuilder().setUfsAbsentPath(UfsAbsentPathEntry.newBuilder()
+        .setPath(path)
+        .setMountId(mountId)
+        .setAbsentTime(absentTime))
+        .build();
+  }
+}
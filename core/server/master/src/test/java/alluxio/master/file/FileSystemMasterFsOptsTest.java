@@ -585,6 +585,32 @@ public class FileSystemMasterFsOptsTest extends FileSystemMasterTestBase {
         newDst.getPath());
   }
 
+  /**
+   * Tests the {@link FileSystemMaster#getFileInfos(List, GetStatusContext, ResultStream)} method.
+   */
+  @Test
+  public void getFileInfos() throws Exception {
+    createFileWithSingleBlock(NESTED_FILE_URI);
+    AlluxioURI nestedFile2 = NESTED_URI.join("file2");
+    createFileWithSingleBlock(nestedFile2);
+
+    List<AlluxioURI> paths = ImmutableList.of(ROOT_URI, NESTED_URI, NESTED_FILE_URI, nestedFile2,
+        NESTED_URI.join("DNE"), TEST_URI.join("DNE"), ROOT_FILE_URI);
+    List<FileInfo> infos = Collections.synchronizedList(new ArrayList<>());
+    mFileSystemMaster.getFileInfos(paths, GetStatusContext.defaults(), infos::add);
+    assertEquals(
+        Sets.newHashSet(ROOT_URI.getPath(), NESTED_URI.getPath(), NESTED_FILE_URI.getPath(),
+            nestedFile2.getPath()),
+        infos.stream().map(FileInfo::getPath).collect(Collectors.toSet()));
+    for (FileInfo info : infos) {
+      assertEquals(mFileSystemMaster.getFileInfo(new AlluxioURI(info.getPath()),
+          GetStatusContext.defaults()).getFileBlockInfos(), info.getFileBlockInfos());
+      if (!info.isFolder()) {
+        assertEquals(1, info.getFileBlockInfos().size());
+      }
+    }
+  }
+
   /**
    * Tests the {@link FileSystemMaster#getFileInfo(AlluxioURI, GetStatusContext)} method.
    */
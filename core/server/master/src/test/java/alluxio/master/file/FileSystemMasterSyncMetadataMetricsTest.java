@@ -17,11 +17,17 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import alluxio.AlluxioURI;
 import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
 import alluxio.file.options.DescendantType;
 import alluxio.grpc.FileSystemMasterCommonPOptions;
+import alluxio.grpc.ListStatusPOptions;
 import alluxio.master.file.contexts.ListStatusContext;
 import alluxio.master.file.meta.InodeTree;
 import alluxio.master.file.meta.LockingScheme;
@@ -35,6 +41,8 @@ import alluxio.security.user.UserState;
 import alluxio.underfs.UfsStatus;
 import alluxio.underfs.UfsStatusCache;
 import alluxio.underfs.UnderFileSystem;
+import alluxio.util.io.PathUtils;
+import alluxio.wire.FileInfo;
 
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.Meter;
@@ -321,6 +329,65 @@ public class FileSystemMasterSyncMetadataMetricsTest extends FileSystemMasterSyn
     skippedStreams += 0;
   }
 
+  @Test
+  public void loadChildrenInBatches() throws Exception {
+    Configuration.set(PropertyKey.MASTER_METADATA_SYNC_LOAD_BATCH_SIZE, 3);
+    final int fileNum = 20;
+    createUfsDir(TEST_DIR_PREFIX);
+    for (int i = 0; i < fileNum; i++) {
+      createUfsFile(TEST_DIR_PREFIX + TEST_FILE_PREFIX + i).close();
+    }
+    // one file already exists in Alluxio and is not loaded again
+    mFileSystemMaster.listStatus(new AlluxioURI(TEST_DIR_PREFIX + TEST_FILE_PREFIX + 0),
+        ListStatusContext.defaults());
+
+    FileSystemMasterCommonPOptions options =
+        FileSystemMasterCommonPOptions.newBuilder().setSyncIntervalMs(0).build();
+    InodeSyncStream syncStream = spy(new InodeSyncStream(
+        new LockingScheme(new AlluxioURI(TEST_DIR_PREFIX), InodeTree.LockPattern.READ, true),
+        mFileSystemMaster, mFileSystemMaster.getSyncPathCache(), RpcContext.NOOP,
+        DescendantType.ONE, options,
+        false, // forceSync
+        true, // loadOnly
+        false)); // loadAlways
+    assertEquals(InodeSyncStream.SyncStatus.OK, syncStream.sync());
+
+    assertEquals(fileNum, mFileSystemMaster.listStatus(new AlluxioURI(TEST_DIR_PREFIX),
+        ListStatusContext.defaults()).size());
+    // the journal is flushed after every 3 of the 19 loaded children
+    verify(syncStream, times((fileNum - 1) / 3)).flushLoadedChildren(any());
+  }
+
+  @Test
+  public void invalidLoadBatchSize() {
+    assertThrows(IllegalArgumentException.class,
+        () -> Configuration.set(PropertyKey.MASTER_METADATA_SYNC_LOAD_BATCH_SIZE, 0));
+  }
+
+  @Test
+  public void mergeJoinSync() throws Exception {
+    Configuration.set(PropertyKey.MASTER_METADATA_SYNC_MERGE_JOIN_ENABLED, true);
+    Configuration.set(PropertyKey.MASTER_METADATA_SYNC_LOAD_BATCH_SIZE, 3);
+    final int fileNum = 10;
+    createUfsDir(TEST_DIR_PREFIX);
+    for (int i = 0; i < fileNum; i++) {
+      createUfsFile(TEST_DIR_PREFIX + TEST_FILE_PREFIX + i).close();
+    }
+    ListStatusContext context = ListStatusContext.mergeFrom(ListStatusPOptions.newBuilder()
+        .setCommonOptions(FileSystemMasterCommonPOptions.newBuilder().setSyncIntervalMs(0)));
+    assertEquals(fileNum,
+        mFileSystemMaster.listStatus(new AlluxioURI(TEST_DIR_PREFIX), context).size());
+
+    for (int i = 0; i < 4; i++) {
+      mUfs.deleteFile(PathUtils.concatPath(mUfsUri, TEST_DIR_PREFIX + TEST_FILE_PREFIX + i));
+    }
+    createUfsFile(TEST_DIR_PREFIX + TEST_FILE_PREFIX + fileNum).close();
+    List<String> names = mFileSystemMaster.listStatus(new AlluxioURI(TEST_DIR_PREFIX), context)
+        .stream().map(FileInfo::getName).sorted().collect(Collectors.toList());
+    assertEquals(ImmutableList.of("file10", "file4", "file5", "file6", "file7", "file8",
+        "file9"), names);
+  }
+
   @Test
   public void metadataPrefetchMetrics() throws Exception {
     final Counter prefetchOpsCountCounter =
@@ -74,6 +74,8 @@ import org.junit.rules.TemporaryFolder;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 
@@ -582,6 +584,33 @@ public final class PermissionCheckTest {
     }
   }
 
+  @Test
+  public void readFileInfosNotExecuteDir() throws Exception {
+    // set unmask
+    try (Closeable c = new ConfigurationRule(
+        PropertyKey.SECURITY_AUTHORIZATION_PERMISSION_UMASK, "033",
+        Configuration.modifiableGlobal()).toResource()) {
+      String dir = PathUtils.concatPath(TEST_DIR_URI, "/notExecuteDir");
+      String file = PathUtils.concatPath(dir, "/file");
+      // create dir "/testDir/notExecuteDir" [user1, group1, drwxr--r--]
+      verifyCreateDirectory(TEST_USER_1, dir, false);
+      verifyCreateFile(TEST_USER_1, file, false);
+      List<AlluxioURI> paths = Arrays.asList(new AlluxioURI(file), new AlluxioURI(TEST_DIR_URI));
+      try (Closeable r = new AuthenticatedUserRule(TEST_USER_1.getUser(),
+          Configuration.global()).toResource()) {
+        List<FileInfo> infos = Collections.synchronizedList(new ArrayList<>());
+        mFileSystemMaster.getFileInfos(paths, GetStatusContext.defaults(), infos::add);
+        assertEquals(2, infos.size());
+      }
+
+      mThrown.expect(AccessControlException.class);
+      try (Closeable r = new AuthenticatedUserRule(TEST_USER_2.getUser(),
+          Configuration.global()).toResource()) {
+        mFileSystemMaster.getFileInfos(paths, GetStatusContext.defaults(), info -> { });
+      }
+    }
+  }
+
   private String createUnreadableFileOrDir(boolean isFile) throws Exception {
     // set unmask
     try (Closeable c = new ConfigurationRule(
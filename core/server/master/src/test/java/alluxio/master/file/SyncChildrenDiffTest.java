@@ -0,0 +1,120 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.master.file.contexts.CreateDirectoryContext;
+import alluxio.master.file.meta.Inode;
+import alluxio.master.file.meta.MutableInodeDirectory;
+import alluxio.underfs.UfsDirectoryStatus;
+import alluxio.underfs.UfsStatus;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Unit tests for {@link SyncChildrenDiff}.
+ */
+public final class SyncChildrenDiffTest {
+  private final List<String> mActions = new ArrayList<>();
+
+  private final SyncChildrenDiff.Visitor mVisitor = new SyncChildrenDiff.Visitor() {
+    @Override
+    public void onUfsOnly(UfsStatus status) {
+      mActions.add("create " + status.getName());
+    }
+
+    @Override
+    public void onBoth(UfsStatus status, Inode inode) {
+      assertEquals(status.getName(), inode.getName());
+      mActions.add("update " + status.getName());
+    }
+
+    @Override
+    public void onInodeOnly(Inode inode) {
+      mActions.add("delete " + inode.getName());
+    }
+  };
+
+  /**
+   * Every child is classified in a single pass, regardless of the order of the UFS listing.
+   */
+  @Test
+  public void mergeJoin() throws Exception {
+    List<UfsStatus> ufs = SyncChildrenDiff.sortByName(
+        statuses("e", "b", "a", "d"));
+    SyncChildrenDiff.mergeJoin(ufs, inodes("a", "c", "d", "f").iterator(), mVisitor);
+    assertEquals(Arrays.asList("update a", "create b", "delete c", "update d", "create e",
+        "delete f"), mActions);
+  }
+
+  /**
+   * Either side may be empty.
+   */
+  @Test
+  public void emptySides() throws Exception {
+    SyncChildrenDiff.mergeJoin(SyncChildrenDiff.sortByName(statuses("a", "b")),
+        Collections.emptyIterator(), mVisitor);
+    SyncChildrenDiff.mergeJoin(Collections.emptyList(), inodes("c").iterator(), mVisitor);
+    assertEquals(Arrays.asList("create a", "create b", "delete c"), mActions);
+  }
+
+  /**
+   * A name listed twice by the UFS matches its inode both times and never counts as deleted.
+   */
+  @Test
+  public void duplicateUfsNames() throws Exception {
+    SyncChildrenDiff.mergeJoin(SyncChildrenDiff.sortByName(statuses("a", "a", "b")),
+        inodes("a").iterator(), mVisitor);
+    assertEquals(Arrays.asList("update a", "update a", "create b"), mActions);
+  }
+
+  /**
+   * Names whose order depends on the inode store are not merged.
+   */
+  @Test
+  public void isSupported() {
+    // accented latin and CJK names sort the same in every store
+    assertTrue(SyncChildrenDiff.isSupported(statuses("a", codePoints(0xE9, 0x74, 0xE9),
+        codePoints(0x4E2D, 0x6587))));
+    // supplementary and full width names do not
+    assertFalse(SyncChildrenDiff.isSupported(statuses("a", codePoints(0x1F600))));
+    assertFalse(SyncChildrenDiff.isSupported(statuses(codePoints(0xFF21))));
+  }
+
+  private static List<UfsStatus> statuses(String... names) {
+    return Arrays.stream(names)
+        .map(name -> new UfsDirectoryStatus(name, "owner", "group", (short) 0755))
+        .collect(Collectors.toList());
+  }
+
+  private static String codePoints(int... codePoints) {
+    return new String(codePoints, 0, codePoints.length);
+  }
+
+  private static List<Inode> inodes(String... names) {
+    List<Inode> inodes = new ArrayList<>();
+    for (int i = 0; i < names.length; i++) {
+      inodes.add(Inode.wrap(MutableInodeDirectory.create(i + 1, 0, names[i],
+          CreateDirectoryContext.defaults())));
+    }
+    return inodes;
+  }
+}
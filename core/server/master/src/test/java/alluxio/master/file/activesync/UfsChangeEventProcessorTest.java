@@ -0,0 +1,179 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.activesync;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import alluxio.AlluxioURI;
+import alluxio.conf.Configuration;
+import alluxio.grpc.MountPOptions;
+import alluxio.master.file.FileSystemMaster;
+import alluxio.master.file.contexts.MountContext;
+import alluxio.master.file.meta.MountTable;
+import alluxio.master.file.meta.options.MountInfo;
+import alluxio.master.journal.NoopJournalContext;
+import alluxio.underfs.MasterUfsManager;
+import alluxio.underfs.UfsManager;
+import alluxio.underfs.UnderFileSystemConfiguration;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Unit tests for {@link UfsChangeEventProcessor} and {@link S3EventNotificationFileSource}.
+ */
+public final class UfsChangeEventProcessorTest {
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  private File mEventFile;
+  private S3EventNotificationFileSource mSource;
+  private FileSystemMaster mFileSystemMaster;
+  private UfsChangeEventProcessor mProcessor;
+
+  @Before
+  public void before() throws Exception {
+    UfsManager ufsManager = new MasterUfsManager();
+    MountPOptions options = MountContext.defaults().getOptions().build();
+    ufsManager.addMount(1, new AlluxioURI("/ufs"),
+        new UnderFileSystemConfiguration(Configuration.global(), options.getReadOnly())
+            .createMountSpecificConf(Collections.emptyMap()));
+    MountTable mountTable = new MountTable(ufsManager, new MountInfo(new AlluxioURI("/"),
+        new AlluxioURI("/ufs"), 1, options), Clock.systemUTC());
+    mountTable.add(NoopJournalContext.INSTANCE, new AlluxioURI("/mnt"),
+        new AlluxioURI("s3://bucket/data"), 2, options);
+
+    mEventFile = new File(mTemp.getRoot(), "events");
+    mSource = new S3EventNotificationFileSource(mEventFile.getPath(), "s3");
+    mFileSystemMaster = mock(FileSystemMaster.class);
+    mProcessor = new UfsChangeEventProcessor(mFileSystemMaster, mountTable, mSource);
+  }
+
+  /**
+   * The created and removed objects of mounted buckets are invalidated once per poll.
+   */
+  @Test
+  public void invalidateChangedPaths() throws Exception {
+    append(notification(record("ObjectCreated:Put", "bucket", "data/a/b+c%3D1"),
+        record("ObjectCreated:CompleteMultipartUpload", "bucket", "data/a/b+c%3D1"),
+        record("ObjectRemoved:Delete", "bucket", "data/d")));
+    append(notification(record("ObjectCreated:Put", "other", "data/e"),
+        record("ObjectRestore:Completed", "bucket", "data/f")));
+    append("{\"Service\":\"Amazon S3\",\"Event\":\"s3:TestEvent\"}");
+    append("not json");
+    mProcessor.heartbeat();
+
+    verify(mFileSystemMaster, times(1)).needsSync(new AlluxioURI("/mnt/a/b c=1"));
+    verify(mFileSystemMaster, times(1)).needsSync(new AlluxioURI("/mnt/d"));
+    verify(mFileSystemMaster, never()).needsSync(new AlluxioURI("/mnt/f"));
+    verify(mFileSystemMaster, times(2)).needsSync(any());
+  }
+
+  /**
+   * Lines are consumed once they are complete, and only once.
+   */
+  @Test
+  public void consumeAppendedLines() throws Exception {
+    String line = notification(record("ObjectCreated:Put", "bucket", "data/a"));
+    Files.write(mEventFile.toPath(), line.substring(0, 10).getBytes(StandardCharsets.UTF_8));
+    assertTrue(mSource.poll(10).isEmpty());
+    Files.write(mEventFile.toPath(), (line.substring(10) + "\n").getBytes(StandardCharsets.UTF_8),
+        StandardOpenOption.APPEND);
+    assertEquals(Arrays.asList(new AlluxioURI("s3://bucket/data/a")), mSource.poll(10));
+    assertTrue(mSource.poll(10).isEmpty());
+
+    // a truncated file is read from the beginning
+    Files.write(mEventFile.toPath(), (notification(record("ObjectRemoved:Delete", "bucket", "b"))
+        + "\n").getBytes(StandardCharsets.UTF_8), StandardOpenOption.TRUNCATE_EXISTING);
+    assertEquals(Arrays.asList(new AlluxioURI("s3://bucket/b")), mSource.poll(10));
+  }
+
+  /**
+   * A poll stops at the line which would exceed the maximum number of events.
+   */
+  @Test
+  public void pollAtLineBoundaries() throws Exception {
+    append(notification(record("ObjectCreated:Put", "bucket", "a"),
+        record("ObjectCreated:Put", "bucket", "b")));
+    append(notification(record("ObjectCreated:Put", "bucket", "c"),
+        record("ObjectCreated:Put", "bucket", "d")));
+    append(notification(record("ObjectCreated:Put", "bucket", "e"),
+        record("ObjectCreated:Put", "bucket", "f"), record("ObjectCreated:Put", "bucket", "g")));
+    assertEquals(Arrays.asList(new AlluxioURI("s3://bucket/a"), new AlluxioURI("s3://bucket/b")),
+        mSource.poll(3));
+    assertEquals(Arrays.asList(new AlluxioURI("s3://bucket/c"), new AlluxioURI("s3://bucket/d")),
+        mSource.poll(3));
+    // a line with more records than the maximum is consumed as a whole
+    assertEquals(3, mSource.poll(2).size());
+    assertTrue(mSource.poll(2).isEmpty());
+  }
+
+  /**
+   * A new source resumes after the lines committed by the previous one.
+   */
+  @Test
+  public void resumeFromCommittedOffset() throws Exception {
+    append(notification(record("ObjectCreated:Put", "bucket", "a")));
+    append(notification(record("ObjectCreated:Put", "bucket", "b")));
+    assertEquals(1, mSource.poll(1).size());
+    mSource.commit();
+    assertEquals(1, mSource.poll(1).size());
+
+    // the lines polled but not committed are consumed again
+    S3EventNotificationFileSource source =
+        new S3EventNotificationFileSource(mEventFile.getPath(), "s3");
+    assertEquals(Arrays.asList(new AlluxioURI("s3://bucket/b")), source.poll(10));
+    source.commit();
+    append(notification(record("ObjectCreated:Put", "bucket", "c")));
+    source = new S3EventNotificationFileSource(mEventFile.getPath(), "s3");
+    assertEquals(Arrays.asList(new AlluxioURI("s3://bucket/c")), source.poll(10));
+
+    // a replaced file is read from the beginning
+    File replacement = mTemp.newFile();
+    Files.write(replacement.toPath(), (notification(record("ObjectCreated:Put", "bucket", "d"))
+        + "\n").getBytes(StandardCharsets.UTF_8));
+    Files.move(replacement.toPath(), mEventFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    assertEquals(Arrays.asList(new AlluxioURI("s3://bucket/d")), source.poll(10));
+  }
+
+  private void append(String line) throws Exception {
+    Files.write(mEventFile.toPath(), (line + "\n").getBytes(StandardCharsets.UTF_8),
+        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+  }
+
+  private static String notification(String... records) {
+    return "{\"Records\":[" + String.join(",", records) + "]}";
+  }
+
+  private static String record(String eventName, String bucket, String key) {
+    return String.format("{\"eventVersion\":\"2.1\",\"eventSource\":\"aws:s3\","
+        + "\"eventName\":\"%s\",\"s3\":{\"bucket\":{\"name\":\"%s\"},"
+        + "\"object\":{\"key\":\"%s\",\"size\":1}}}", eventName, bucket, key);
+  }
+}
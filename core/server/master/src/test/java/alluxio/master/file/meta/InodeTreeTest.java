@@ -56,6 +56,7 @@ import alluxio.security.authorization.Mode;
 import alluxio.underfs.UfsManager;
 import alluxio.util.CommonUtils;
 import alluxio.util.StreamUtils;
+import alluxio.wire.MetadataInvalidations;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
@@ -76,6 +77,7 @@ import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -234,6 +236,56 @@ public final class InodeTreeTest {
     assertEquals(TEST_DIR_MODE.toShort(), test.getMode());
   }
 
+  /**
+   * Tests that the paths released from write locks are recorded for clients to invalidate.
+   */
+  @Test
+  public void recordModifiedPaths() throws Exception {
+    MetadataInvalidations start = mTree.getInvalidationLog().get(0, 0);
+    createPath(mTree, TEST_URI, sDirectoryContext);
+    try (LockedInodePath inodePath =
+             mTree.lockInodePath(TEST_URI, LockPattern.READ, NoopJournalContext.INSTANCE)) {
+      assertTrue(inodePath.fullPathExists());
+    }
+    MetadataInvalidations invalidations =
+        mTree.getInvalidationLog().get(start.getEpoch(), start.getVersion());
+    assertTrue(invalidations.isComplete());
+    assertEquals(Collections.singleton(TEST_URI.getPath()),
+        new HashSet<>(invalidations.getPaths()));
+  }
+
+  /**
+   * Tests that a path released from a write lock is not recorded if it was not modified.
+   */
+  @Test
+  public void unmodifiedPathNotRecorded() throws Exception {
+    createPath(mTree, TEST_URI, sDirectoryContext);
+    MetadataInvalidations start = mTree.getInvalidationLog().get(0, 0);
+    try (LockedInodePath inodePath = mTree.lockInodePath(TEST_URI, LockPattern.WRITE_EDGE,
+        NoopJournalContext.INSTANCE)) {
+      assertTrue(inodePath.fullPathExists());
+    }
+    MetadataInvalidations invalidations =
+        mTree.getInvalidationLog().get(start.getEpoch(), start.getVersion());
+    assertTrue(invalidations.isComplete());
+    assertTrue(invalidations.getPaths().isEmpty());
+  }
+
+  /**
+   * Tests that the ancestors created by a recursive create are recorded as modified.
+   */
+  @Test
+  public void recordCreatedAncestors() throws Exception {
+    MetadataInvalidations start = mTree.getInvalidationLog().get(0, 0);
+    createPath(mTree, NESTED_URI, sNestedDirectoryContext);
+    MetadataInvalidations invalidations =
+        mTree.getInvalidationLog().get(start.getEpoch(), start.getVersion());
+    assertTrue(invalidations.isComplete());
+    assertTrue(invalidations.getPaths().contains(NESTED_URI.getPath()));
+    // the first missing ancestor covers the ones below it, and its parent lists it
+    assertTrue(invalidations.getPaths().contains(NESTED_URI.getParent().getPath()));
+  }
+
   /**
    * Tests that an exception is thrown when trying to create an already existing directory with the
    * {@code allowExists} flag set to {@code false}.
@@ -0,0 +1,104 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.wire.MetadataInvalidations;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for {@link MetadataInvalidationLog}.
+ */
+public final class MetadataInvalidationLogTest {
+  private final MetadataInvalidationLog mLog = new MetadataInvalidationLog(4);
+
+  @Test
+  public void modifiedPaths() {
+    MetadataInvalidations start = mLog.get(0, 0);
+    assertFalse(start.isComplete());
+    assertEquals(0, start.getVersion());
+
+    mLog.append("/a");
+    mLog.append("/b");
+    mLog.append("/a");
+    MetadataInvalidations invalidations = mLog.get(start.getEpoch(), start.getVersion());
+    assertTrue(invalidations.isComplete());
+    assertEquals(3, invalidations.getVersion());
+    assertEquals(Arrays.asList("/a", "/b"), new ArrayList<>(invalidations.getPaths()));
+
+    mLog.append("/c");
+    invalidations = mLog.get(start.getEpoch(), invalidations.getVersion());
+    assertTrue(invalidations.isComplete());
+    assertEquals(Arrays.asList("/c"), new ArrayList<>(invalidations.getPaths()));
+  }
+
+  @Test
+  public void fallBehind() {
+    MetadataInvalidations start = mLog.get(0, 0);
+    for (int i = 0; i < 4; i++) {
+      mLog.append("/" + i);
+    }
+    assertTrue(mLog.get(start.getEpoch(), start.getVersion()).isComplete());
+    mLog.append("/4");
+    // the first modification is no longer in the log
+    MetadataInvalidations invalidations = mLog.get(start.getEpoch(), start.getVersion());
+    assertFalse(invalidations.isComplete());
+    assertEquals(5, invalidations.getVersion());
+    assertTrue(invalidations.getPaths().isEmpty());
+    assertTrue(mLog.get(start.getEpoch(), 1).isComplete());
+  }
+
+  @Test
+  public void concurrentAppends() throws Exception {
+    MetadataInvalidationLog log = new MetadataInvalidationLog(1000);
+    MetadataInvalidations start = log.get(0, 0);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      int thread = t;
+      threads.add(new Thread(() -> {
+        for (int i = 0; i < 100; i++) {
+          log.append("/" + thread + "/" + i);
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    MetadataInvalidations invalidations = log.get(start.getEpoch(), start.getVersion());
+    assertTrue(invalidations.isComplete());
+    assertEquals(400, invalidations.getVersion());
+    assertEquals(400, invalidations.getPaths().size());
+  }
+
+  @Test
+  public void reset() {
+    MetadataInvalidations start = mLog.get(0, 0);
+    mLog.append("/a");
+    mLog.reset();
+    MetadataInvalidations invalidations = mLog.get(start.getEpoch(), start.getVersion());
+    assertFalse(invalidations.isComplete());
+    assertNotEquals(start.getEpoch(), invalidations.getEpoch());
+    assertEquals(0, invalidations.getVersion());
+  }
+}
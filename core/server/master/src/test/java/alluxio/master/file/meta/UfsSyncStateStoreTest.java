@@ -0,0 +1,235 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.AlluxioURI;
+import alluxio.ConfigurationRule;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.file.options.DescendantType;
+import alluxio.grpc.MountPOptions;
+import alluxio.master.file.contexts.MountContext;
+import alluxio.master.file.meta.options.MountInfo;
+import alluxio.master.journal.JournalContext;
+import alluxio.master.journal.NoopJournalContext;
+import alluxio.proto.journal.Journal.JournalEntry;
+import alluxio.resource.CloseableIterator;
+import alluxio.underfs.MasterUfsManager;
+import alluxio.underfs.UfsManager;
+import alluxio.underfs.UnderFileSystemConfiguration;
+import alluxio.util.IdUtils;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for {@link UfsSyncStateStore}.
+ */
+public final class UfsSyncStateStoreTest {
+  private static final long HOUR_MS = 3600 * 1000L;
+
+  private final List<JournalEntry> mJournal = new ArrayList<>();
+  private final JournalContext mJournalContext = new JournalContext() {
+    @Override
+    public void append(JournalEntry entry) {
+      mJournal.add(entry);
+    }
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public void close() {}
+  };
+
+  private MountTable mMountTable;
+  private UfsSyncPathCache mPrimarySyncCache;
+  private AsyncUfsAbsentPathCache mPrimaryAbsentCache;
+  private UfsSyncStateStore mPrimary;
+  private UfsSyncPathCache mStandbySyncCache;
+  private AsyncUfsAbsentPathCache mStandbyAbsentCache;
+  private UfsSyncStateStore mStandby;
+
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+  @Rule
+  public ConfigurationRule mConf = new ConfigurationRule(
+      PropertyKey.MASTER_METADATA_SYNC_STATE_JOURNAL_ENABLED, true,
+      Configuration.modifiableGlobal());
+
+  @Before
+  public void before() throws Exception {
+    UfsManager ufsManager = new MasterUfsManager();
+    MountPOptions options = MountContext.defaults().getOptions().build();
+    ufsManager.addMount(1, new AlluxioURI("/ufs"),
+        new UnderFileSystemConfiguration(Configuration.global(), options.getReadOnly())
+            .createMountSpecificConf(Collections.emptyMap()));
+    mMountTable = new MountTable(ufsManager, new MountInfo(new AlluxioURI("/"),
+        new AlluxioURI("/ufs"), 1, options), Clock.systemUTC());
+    long mountId = IdUtils.getRandomNonNegativeLong();
+    String ufsPath = mTemp.getRoot().getAbsolutePath();
+    ufsManager.addMount(mountId, new AlluxioURI(ufsPath),
+        new UnderFileSystemConfiguration(Configuration.global(), options.getReadOnly())
+            .createMountSpecificConf(Collections.emptyMap()));
+    mMountTable.add(NoopJournalContext.INSTANCE, new AlluxioURI("/mnt"),
+        new AlluxioURI(ufsPath), mountId, options);
+
+    mPrimarySyncCache = new UfsSyncPathCache(Clock.systemUTC());
+    mPrimaryAbsentCache = new AsyncUfsAbsentPathCache(mMountTable, 1, Clock.systemUTC());
+    mPrimary = new UfsSyncStateStore(mPrimarySyncCache, mPrimaryAbsentCache);
+    mStandbySyncCache = new UfsSyncPathCache(Clock.systemUTC());
+    mStandbyAbsentCache = new AsyncUfsAbsentPathCache(mMountTable, 1, Clock.systemUTC());
+    mStandby = new UfsSyncStateStore(mStandbySyncCache, mStandbyAbsentCache);
+  }
+
+  /**
+   * A standby replaying the journal does not need to repeat a sync of the primary.
+   */
+  @Test
+  public void replicateSync() throws Exception {
+    AlluxioURI dir = new AlluxioURI("/mnt/dir");
+    sync(dir);
+    assertTrue(mStandbySyncCache.shouldSyncPath(dir, HOUR_MS, DescendantType.ALL)
+        .isShouldSync());
+    replay(mStandby);
+    assertFalse(mStandbySyncCache.shouldSyncPath(dir, HOUR_MS, DescendantType.ALL)
+        .isShouldSync());
+    assertFalse(mStandbySyncCache.shouldSyncPath(dir.join("file"), HOUR_MS, DescendantType.NONE)
+        .isShouldSync());
+  }
+
+  /**
+   * An invalidation received by the primary after a sync reaches the standby.
+   */
+  @Test
+  public void replicateInvalidation() throws Exception {
+    AlluxioURI dir = new AlluxioURI("/mnt/dir");
+    sync(dir);
+    mPrimary.notifyInvalidation(mJournalContext, dir.join("file"));
+    assertTrue(mPrimarySyncCache.shouldSyncPath(dir, HOUR_MS, DescendantType.ALL)
+        .isShouldSync());
+    replay(mStandby);
+    assertTrue(mStandbySyncCache.shouldSyncPath(dir, HOUR_MS, DescendantType.ALL)
+        .isShouldSync());
+    assertTrue(mStandbySyncCache.shouldSyncPath(dir.join("file"), HOUR_MS, DescendantType.NONE)
+        .isShouldSync());
+  }
+
+  /**
+   * Absent paths are journaled with the next sync, and dropped by a new primary once they
+   * exist in Alluxio.
+   */
+  @Test
+  public void replicateAbsentPaths() throws Exception {
+    AlluxioURI absent = new AlluxioURI("/mnt/absent");
+    mPrimaryAbsentCache.addSinglePath(absent);
+    sync(new AlluxioURI("/mnt"));
+    replay(mStandby);
+    assertTrue(mStandbyAbsentCache.isAbsentSince(absent.join("child"),
+        UfsAbsentPathCache.ALWAYS));
+
+    mStandby.removeExistingAbsentPaths(absent::equals);
+    assertFalse(mStandbyAbsentCache.isAbsentSince(absent, UfsAbsentPathCache.ALWAYS));
+  }
+
+  /**
+   * Repeated syncs within the journal interval are journaled once the interval passed.
+   */
+  @Test
+  public void coalesceSyncs() throws Exception {
+    mConf.set(PropertyKey.MASTER_METADATA_SYNC_STATE_JOURNAL_INTERVAL, "1h");
+    UfsSyncStateStore primary = new UfsSyncStateStore(mPrimarySyncCache, mPrimaryAbsentCache);
+    AlluxioURI first = new AlluxioURI("/mnt/first");
+    AlluxioURI second = new AlluxioURI("/mnt/second");
+    mPrimarySyncCache.notifySyncedPath(first, DescendantType.ALL,
+        mPrimarySyncCache.recordStartSync(), null, false);
+    primary.journalSyncedPath(mJournalContext, first);
+    int journaled = mJournal.size();
+    for (int i = 0; i < 3; i++) {
+      mPrimarySyncCache.notifySyncedPath(second, DescendantType.ALL,
+          mPrimarySyncCache.recordStartSync(), null, false);
+      primary.journalSyncedPath(mJournalContext, second);
+    }
+    assertEquals(journaled, mJournal.size());
+    replay(mStandby);
+    assertFalse(mStandbySyncCache.shouldSyncPath(first, HOUR_MS, DescendantType.ALL)
+        .isShouldSync());
+    assertTrue(mStandbySyncCache.shouldSyncPath(second, HOUR_MS, DescendantType.ALL)
+        .isShouldSync());
+  }
+
+  /**
+   * Resetting the journaled state removes the replayed sync states and absent paths.
+   */
+  @Test
+  public void resetState() throws Exception {
+    AlluxioURI dir = new AlluxioURI("/mnt/dir");
+    AlluxioURI absent = new AlluxioURI("/mnt/absent");
+    mPrimaryAbsentCache.addSinglePath(absent);
+    sync(dir);
+    replay(mStandby);
+    mStandby.resetState();
+    assertTrue(mStandbySyncCache.shouldSyncPath(dir, HOUR_MS, DescendantType.ALL)
+        .isShouldSync());
+    assertFalse(mStandbyAbsentCache.isAbsentSince(absent, UfsAbsentPathCache.ALWAYS));
+    try (CloseableIterator<JournalEntry> it = mStandby.getJournalEntryIterator()) {
+      int entries = 0;
+      while (it.hasNext()) {
+        it.next();
+        entries++;
+      }
+      // only the root, whose state is never evicted
+      assertEquals(1, entries);
+    }
+  }
+
+  /**
+   * A checkpoint of the primary restores the same state.
+   */
+  @Test
+  public void checkpoint() throws Exception {
+    AlluxioURI dir = new AlluxioURI("/mnt/dir");
+    AlluxioURI absent = new AlluxioURI("/mnt/absent");
+    mPrimaryAbsentCache.addSinglePath(absent);
+    mPrimarySyncCache.notifySyncedPath(dir, DescendantType.ALL,
+        mPrimarySyncCache.recordStartSync(), null, false);
+    try (CloseableIterator<JournalEntry> it = mPrimary.getJournalEntryIterator()) {
+      it.forEachRemaining(mStandby::processJournalEntry);
+    }
+    assertFalse(mStandbySyncCache.shouldSyncPath(dir, HOUR_MS, DescendantType.ALL)
+        .isShouldSync());
+    assertTrue(mStandbyAbsentCache.isAbsentSince(absent, UfsAbsentPathCache.ALWAYS));
+  }
+
+  private void sync(AlluxioURI path) {
+    mPrimarySyncCache.notifySyncedPath(path, DescendantType.ALL,
+        mPrimarySyncCache.recordStartSync(), null, false);
+    mPrimary.journalSyncedPath(mJournalContext, path);
+  }
+
+  private void replay(UfsSyncStateStore store) {
+    for (JournalEntry entry : mJournal) {
+      assertTrue(store.processJournalEntry(entry));
+    }
+  }
+}
@@ -32,6 +32,7 @@ import alluxio.wire.TieredIdentity;
 import alluxio.wire.WorkerNetAddress;
 import alluxio.worker.block.BlockWorker;
 import alluxio.worker.grpc.GrpcDataServer;
+import alluxio.worker.grpc.ShortCircuitFdServer;
 
 import io.netty.channel.unix.DomainSocketAddress;
 import org.slf4j.Logger;
@@ -62,6 +63,9 @@ public final class AlluxioWorkerProcess implements WorkerProcess {
   /** If started (i.e. not null), this server is used to serve local data transfer. */
   private DataServer mDomainSocketDataServer;
 
+  /** If started (i.e. not null), passes block file descriptors to short circuit readers. */
+  private ShortCircuitFdServer mShortCircuitFdServer;
+
   /** The worker registry. */
   private final WorkerRegistry mRegistry;
 
@@ -133,8 +137,18 @@ public final class AlluxioWorkerProcess implements WorkerProcess {
         // Close it.
         mBindSocket.close();
       }
+      // Setup short circuit descriptor server
+      if (isShortCircuitFdServerEnabled()) {
+        String fdSocketPath =
+            Configuration.getString(PropertyKey.WORKER_SHORT_CIRCUIT_FD_SOCKET_ADDRESS);
+        mShortCircuitFdServer = new ShortCircuitFdServer(fdSocketPath);
+        // Share the socket so that clients can access it.
+        FileUtils.changeLocalFileToFullPermission(fdSocketPath);
+      }
+
       // Setup Data server
-      mDataServer = new GrpcDataServer(mRpcConnectAddress.getHostName(), mRpcBindAddress, this);
+      mDataServer = new GrpcDataServer(mRpcConnectAddress.getHostName(), mRpcBindAddress, this,
+          mShortCircuitFdServer);
 
       // Setup domain socket data server
       if (isDomainSocketEnabled()) {
@@ -146,7 +160,7 @@ public final class AlluxioWorkerProcess implements WorkerProcess {
         }
         LOG.info("Domain socket data server is enabled at {}.", domainSocketPath);
         mDomainSocketDataServer = new GrpcDataServer(mRpcConnectAddress.getHostName(),
-            new DomainSocketAddress(domainSocketPath), this);
+            new DomainSocketAddress(domainSocketPath), this, mShortCircuitFdServer);
         // Share domain socket so that clients can access it.
         FileUtils.changeLocalFileToFullPermission(domainSocketPath);
       }
@@ -284,6 +298,10 @@ public final class AlluxioWorkerProcess implements WorkerProcess {
       mDomainSocketDataServer.close();
       mDomainSocketDataServer = null;
     }
+    if (mShortCircuitFdServer != null) {
+      mShortCircuitFdServer.close();
+      mShortCircuitFdServer = null;
+    }
     mUfsManager.close();
     try {
       mWebServer.stop();
@@ -301,6 +319,14 @@ public final class AlluxioWorkerProcess implements WorkerProcess {
         && Configuration.isSet(PropertyKey.WORKER_DATA_SERVER_DOMAIN_SOCKET_ADDRESS);
   }
 
+  /**
+   * @return true if the short circuit descriptor server is enabled
+   */
+  private boolean isShortCircuitFdServerEnabled() {
+    return NettyUtils.isNettyEpollAvailable() && ShortCircuitFdServer.isSupported()
+        && Configuration.isSet(PropertyKey.WORKER_SHORT_CIRCUIT_FD_SOCKET_ADDRESS);
+  }
+
   @Override
   public boolean waitForReady(int timeoutMs) {
     try {
@@ -16,6 +16,7 @@ import alluxio.underfs.SeekableUnderFileInputStream;
 import com.google.common.base.Preconditions;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * A seekable input stream that can be cached.
@@ -66,6 +67,11 @@ class CachedSeekableInputStream extends SeekableUnderFileInputStream {
     return mFileId;
   }
 
+  @Override
+  public int read(ByteBuffer buffer) throws IOException {
+    return ((SeekableUnderFileInputStream) in).read(buffer);
+  }
+
   @Override
   public void seek(long pos) throws IOException {
     ((SeekableUnderFileInputStream) in).seek(pos);
@@ -53,6 +53,7 @@ import alluxio.wire.FileInfo;
 import alluxio.wire.WorkerNetAddress;
 import alluxio.worker.AbstractWorker;
 import alluxio.worker.SessionCleaner;
+import alluxio.worker.block.io.AsyncBlockReadEngine;
 import alluxio.worker.block.io.BlockReader;
 import alluxio.worker.block.io.BlockWriter;
 import alluxio.worker.file.FileSystemMasterClient;
@@ -77,6 +78,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -122,6 +124,9 @@ public class DefaultBlockWorker extends AbstractWorker implements BlockWorker {
 
   private final CacheRequestManager mCacheManager;
   private final FuseManager mFuseManager;
+  /** The engine serving asynchronous reads of block files, or null if they are disabled. */
+  @Nullable
+  private final AsyncBlockReadEngine mAsyncReadEngine;
 
   private WorkerNetAddress mAddress;
 
@@ -155,6 +160,11 @@ public class DefaultBlockWorker extends AbstractWorker implements BlockWorker {
         GrpcExecutors.CACHE_MANAGER_EXECUTOR, this, fsContext);
     mFuseManager = mResourceCloser.register(new FuseManager(fsContext));
     mWhitelist = new PrefixList(Configuration.getList(PropertyKey.WORKER_WHITELIST));
+    mAsyncReadEngine = Configuration.getEnum(PropertyKey.WORKER_BLOCK_STORE_TYPE,
+        BlockStoreType.class) == BlockStoreType.FILE
+        && Configuration.getBoolean(PropertyKey.WORKER_NETWORK_READER_ASYNC_ENABLED)
+        ? mResourceCloser.register(AsyncBlockReadEngine.Factory.create(Configuration.global()))
+        : null;
 
     Metrics.registerGauges(this);
   }
@@ -276,6 +286,15 @@ public class DefaultBlockWorker extends AbstractWorker implements BlockWorker {
     mResourceCloser.close();
   }
 
+  /**
+   * @return the engine serving asynchronous reads of block files, or null if asynchronous reads
+   *         are disabled
+   */
+  @Nullable
+  public AsyncBlockReadEngine getAsyncReadEngine() {
+    return mAsyncReadEngine;
+  }
+
   @Override
   public void abortBlock(long sessionId, long blockId) throws IOException {
     mBlockStore.abortBlock(sessionId, blockId);
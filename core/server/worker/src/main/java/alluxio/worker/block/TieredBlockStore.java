@@ -14,6 +14,7 @@ package alluxio.worker.block;
 import static com.google.common.base.Preconditions.checkState;
 import static java.lang.String.format;
 
+import alluxio.Constants;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.ExceptionMessage;
@@ -30,6 +31,7 @@ import alluxio.worker.block.annotator.BlockOrder;
 import alluxio.worker.block.io.BlockReader;
 import alluxio.worker.block.io.BlockWriter;
 import alluxio.worker.block.io.DelegatingBlockReader;
+import alluxio.worker.block.io.DirectIo;
 import alluxio.worker.block.io.StoreBlockReader;
 import alluxio.worker.block.io.StoreBlockWriter;
 import alluxio.worker.block.management.DefaultStoreLoadTracker;
@@ -53,8 +55,10 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
@@ -115,6 +119,9 @@ public class TieredBlockStore implements LocalBlockStore {
   /** Management task coordinator. */
   private final ManagementTaskCoordinator mTaskCoordinator;
 
+  /** Whether direct I/O is enabled, by tier ordinal, resolved when the tiers are set up. */
+  private final Map<Integer, Boolean> mDirectIoEnabled = new ConcurrentHashMap<>();
+
   /**
    * Creates a new instance of {@link TieredBlockStore}.
    */
@@ -151,6 +158,42 @@ public class TieredBlockStore implements LocalBlockStore {
     mTaskCoordinator = new ManagementTaskCoordinator(this, mMetaManager,
         new DefaultStoreLoadTracker(), this::getUpdatedView);
     mTaskCoordinator.start();
+
+    for (StorageTier tier : mMetaManager.getTiers()) {
+      mDirectIoEnabled.put(tier.getTierOrdinal(), isDirectIoEnabled(tier.getTierOrdinal()));
+    }
+  }
+
+  /**
+   * @param ordinal the ordinal of a tier
+   * @return whether direct I/O is configured for the tier and supported by the runtime
+   */
+  private static boolean isDirectIoEnabled(int ordinal) {
+    PropertyKey key =
+        PropertyKey.Template.WORKER_TIERED_STORE_LEVEL_DIRECT_IO_ENABLED.format(ordinal);
+    if (!Configuration.isSet(key) || !Configuration.getBoolean(key)) {
+      return false;
+    }
+    if (!DirectIo.isSupported()) {
+      LOG.warn("{} is true but direct I/O is not supported by this runtime, which needs Java 10 "
+          + "or later. The blocks of tier {} are read and written with buffered I/O.", key,
+          ordinal);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * @param dir a storage directory
+   * @return whether the blocks of the directory are read and written with direct I/O, which is
+   *         configured per tier and never applies to MEM directories
+   */
+  private boolean isDirectIo(StorageDir dir) {
+    if (Constants.MEDIUM_MEM.equals(dir.getDirMedium())) {
+      return false;
+    }
+    return mDirectIoEnabled.computeIfAbsent(dir.getParentTier().getTierOrdinal(),
+        TieredBlockStore::isDirectIoEnabled);
   }
 
   @Override
@@ -171,7 +214,8 @@ public class TieredBlockStore implements LocalBlockStore {
     // block lock here since no sharing
     // TODO(bin): Handle the case where multiple writers compete for the same block.
     checkBlockDoesNotExist(blockId);
-    return new StoreBlockWriter(checkAndGetTempBlockMeta(sessionId, blockId));
+    TempBlockMeta tempBlockMeta = checkAndGetTempBlockMeta(sessionId, blockId);
+    return new StoreBlockWriter(tempBlockMeta, isDirectIo(tempBlockMeta.getParentDir()));
   }
 
   @Override
@@ -189,7 +233,8 @@ public class TieredBlockStore implements LocalBlockStore {
       throw new BlockDoesNotExistRuntimeException(blockId);
     }
     try {
-      BlockReader reader = new StoreBlockReader(sessionId, blockMeta.get());
+      BlockReader reader = new StoreBlockReader(sessionId, blockMeta.get(),
+          isDirectIo(blockMeta.get().getParentDir()));
       ((FileChannel) reader.getChannel()).position(offset);
       accessBlock(sessionId, blockId);
       return new DelegatingBlockReader(reader, blockLock);
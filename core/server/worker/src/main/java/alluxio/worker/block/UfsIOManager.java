@@ -22,6 +22,7 @@ import alluxio.metrics.MetricInfo;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.resource.CloseableResource;
+import alluxio.underfs.SeekableUnderFileInputStream;
 import alluxio.underfs.UfsManager;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.options.OpenOptions;
@@ -208,7 +209,11 @@ public class UfsIOManager implements Closeable {
                 .setPositionShort(mOptions.getPositionShort()));
         while (bytesRead < mLength) {
           int read;
-          read = Channels.newChannel(inStream).read(mBuffuer);
+          if (inStream instanceof SeekableUnderFileInputStream) {
+            read = ((SeekableUnderFileInputStream) inStream).read(mBuffuer);
+          } else {
+            read = Channels.newChannel(inStream).read(mBuffuer);
+          }
           if (read == -1) {
             break;
           }
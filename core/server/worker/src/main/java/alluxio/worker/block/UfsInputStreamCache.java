@@ -203,15 +203,28 @@ public final class UfsInputStreamCache {
     // synchronized is required to be consistent between availableIds() and acquire(id).
     CachedSeekableInputStream inputStream = null;
     synchronized (streamIds) {
-      // find the next available input stream from the cache
+      // find the available input stream from the cache which is positioned closest before the
+      // offset, e.g. the stream which read the previous block of the file, so that the stream
+      // continues reading without repositioning
+      long minDistance = Long.MAX_VALUE;
       for (long id : streamIds.availableIds()) {
-        inputStream = mStreamCache.getIfPresent(id);
-        if (inputStream != null) {
-          // acquire it now while locked, so other threads cannot take it
-          streamIds.acquire(id);
+        CachedSeekableInputStream candidate = mStreamCache.getIfPresent(id);
+        if (candidate == null) {
+          continue;
+        }
+        long distance = distance(candidate, openOptions.getOffset());
+        if (inputStream == null || distance < minDistance) {
+          inputStream = candidate;
+          minDistance = distance;
+        }
+        if (distance == 0) {
           break;
         }
       }
+      if (inputStream != null) {
+        // acquire it now while locked, so other threads cannot take it
+        streamIds.acquire(inputStream.getResourceId());
+      }
     }
 
     if (inputStream != null) {
@@ -245,6 +258,21 @@ public final class UfsInputStreamCache {
     return inputStream;
   }
 
+  /**
+   * @param inputStream an input stream
+   * @param offset the offset to read from
+   * @return the number of bytes the stream has to move forward to the offset, or
+   *         {@link Long#MAX_VALUE} if it has to move backward
+   */
+  private static long distance(CachedSeekableInputStream inputStream, long offset) {
+    try {
+      long pos = inputStream.getPos();
+      return pos <= offset ? offset - pos : Long.MAX_VALUE;
+    } catch (IOException e) {
+      return Long.MAX_VALUE;
+    }
+  }
+
   /**
    * The metadata of the input streams associated with an under storage file that tracks which input
    * streams are in-use or available. Each input stream is identified by a unique id.
@@ -33,7 +33,19 @@ public class StoreBlockReader extends LocalFileBlockReader {
    * @throws IOException
    */
   public StoreBlockReader(long sessionId, BlockMeta blockMeta) throws IOException {
-    super(blockMeta.getPath());
+    this(sessionId, blockMeta, false);
+  }
+
+  /**
+   * Creates new block reader for block store.
+   *
+   * @param sessionId session id
+   * @param blockMeta block meta
+   * @param directIo whether to read with direct I/O
+   */
+  public StoreBlockReader(long sessionId, BlockMeta blockMeta, boolean directIo)
+      throws IOException {
+    super(blockMeta.getPath(), directIo);
     mSessionId = sessionId;
     mBlockMeta = blockMeta;
     if (mSessionId > 0) {
@@ -30,7 +30,17 @@ public class StoreBlockWriter extends LocalFileBlockWriter {
    * @throws IOException
    */
   public StoreBlockWriter(TempBlockMeta blockMeta) {
-    super(blockMeta.getPath());
+    this(blockMeta, false);
+  }
+
+  /**
+   * Creates new block writer for block store.
+   *
+   * @param blockMeta temp block meta
+   * @param directIo whether to write with direct I/O
+   */
+  public StoreBlockWriter(TempBlockMeta blockMeta, boolean directIo) {
+    super(blockMeta.getPath(), directIo);
     mBlockMeta = blockMeta;
     if (mBlockMeta.getSessionId() > 0) {
       BlockStreamTracker.writerOpened(this, mBlockMeta.getBlockLocation());
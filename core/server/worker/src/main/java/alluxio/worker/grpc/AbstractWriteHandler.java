@@ -39,6 +39,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -72,6 +73,10 @@ abstract class AbstractWriteHandler<T extends WriteRequestContext<?>> {
   /** The semaphore to control the number of write tasks queued up in the executor.*/
   private final Semaphore mSemaphore = new Semaphore(
       Configuration.getInt(PropertyKey.WORKER_NETWORK_WRITER_BUFFER_SIZE_MESSAGES), true);
+  /** The bytes queued in the serializing executor since it was last scheduled. */
+  private final AtomicLong mUnscheduledBytes = new AtomicLong();
+  /** The I/O class the writes are scheduled under, set by the first request. */
+  private volatile String mIoClass;
 
   /**
    * This is initialized only once for a whole file or block in
@@ -95,7 +100,16 @@ abstract class AbstractWriteHandler<T extends WriteRequestContext<?>> {
       AuthenticatedUserInfo userInfo) {
     mResponseObserver = responseObserver;
     mUserInfo = userInfo;
-    mSerializingExecutor = new SerializingExecutor(GrpcExecutors.BLOCK_WRITER_EXECUTOR);
+    // Every run of the serializing executor is scheduled under the I/O class of the request,
+    // charged with the bytes queued since its previous run.
+    mSerializingExecutor = new SerializingExecutor(task -> GrpcExecutors.BLOCK_WRITER_SCHEDULER
+        .execute(getIoClass(), mUnscheduledBytes.getAndSet(0), task));
+  }
+
+  private String getIoClass() {
+    String ioClass = mIoClass;
+    return ioClass == null
+        ? GrpcExecutors.BLOCK_WRITER_SCHEDULER.getIoClass(null, mUserInfo) : ioClass;
   }
 
   /**
@@ -107,6 +121,12 @@ abstract class AbstractWriteHandler<T extends WriteRequestContext<?>> {
     if (!tryAcquireSemaphore()) {
       return;
     }
+    if (mIoClass == null && writeRequest.hasCommand()) {
+      mIoClass = GrpcExecutors.BLOCK_WRITER_SCHEDULER.getIoClass(
+          writeRequest.getCommand().getIoClass(), mUserInfo);
+    } else if (writeRequest.hasChunk()) {
+      mUnscheduledBytes.addAndGet(writeRequest.getChunk().getData().size());
+    }
     mSerializingExecutor.execute(() -> {
       try {
         if (mContext == null) {
@@ -174,6 +194,7 @@ abstract class AbstractWriteHandler<T extends WriteRequestContext<?>> {
         return;
       }
       releaseBuf = false;
+      mUnscheduledBytes.addAndGet(buffer.readableBytes());
       mSerializingExecutor.execute(() -> {
         try {
           writeData(buffer);
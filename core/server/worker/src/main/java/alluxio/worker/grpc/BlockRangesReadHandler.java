@@ -0,0 +1,251 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.grpc;
+
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.status.AlluxioStatusException;
+import alluxio.exception.status.InvalidArgumentException;
+import alluxio.grpc.BlockRange;
+import alluxio.grpc.Chunk;
+import alluxio.grpc.ReadBlockRangesRequest;
+import alluxio.grpc.ReadBlockRangesResponse;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.IdUtils;
+import alluxio.util.LogUtils;
+import alluxio.util.io.ByteRange;
+import alluxio.worker.block.DefaultBlockWorker;
+import alluxio.worker.block.io.BlockReader;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
+import com.google.protobuf.UnsafeByteOperations;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * This class handles {@link ReadBlockRangesRequest}s.
+ *
+ * The handler merges the requested ranges which are close to each other, see
+ * {@link PropertyKey#WORKER_NETWORK_READER_RANGES_COALESCE_GAP_BYTES}, opens the block once and
+ * streams the merged ranges in order as chunks tagged with their offset in the block. The client
+ * copies the parts of the chunks it asked for into the requested ranges. A range past the end of
+ * the block is truncated.
+ *
+ * A chunk is only sent while the response stream is ready. Otherwise the handler returns its
+ * thread and is scheduled again once gRPC reports the stream ready, so a slow client cannot make
+ * responses pile up in the worker.
+ */
+@ThreadSafe
+public final class BlockRangesReadHandler implements Runnable {
+  private static final Logger LOG = LoggerFactory.getLogger(BlockRangesReadHandler.class);
+  private static final long MAX_CHUNK_SIZE =
+      Configuration.getBytes(PropertyKey.WORKER_NETWORK_READER_MAX_CHUNK_SIZE_BYTES);
+  private static final long COALESCE_GAP =
+      Configuration.getBytes(PropertyKey.WORKER_NETWORK_READER_RANGES_COALESCE_GAP_BYTES);
+
+  private final IoScheduler mScheduler;
+  private final String mIoClass;
+  private final DefaultBlockWorker mWorker;
+  private final ReadBlockRangesRequest mRequest;
+  private final ServerCallStreamObserver<ReadBlockRangesResponse> mResponseObserver;
+  private final Counter mCounter;
+  private final Meter mMeter;
+  /** Set while the handler waits for the response stream to become ready. */
+  private final AtomicBoolean mSuspended = new AtomicBoolean(false);
+  private volatile boolean mCancelled;
+
+  // The fields below are only accessed by the single scheduled run of the handler.
+  private List<ByteRange> mRanges;
+  private BlockReader mReader;
+  private long mChunkSize;
+  private int mRangeIndex;
+  private long mPos;
+
+  /**
+   * Creates an instance of {@link BlockRangesReadHandler}.
+   *
+   * @param scheduler the scheduler to run the handler on
+   * @param ioClass the I/O class of the request
+   * @param blockWorker the block worker
+   * @param request the request
+   * @param responseObserver the response observer
+   * @param domainSocketEnabled if domain socket is enabled
+   */
+  BlockRangesReadHandler(IoScheduler scheduler, String ioClass, DefaultBlockWorker blockWorker,
+      ReadBlockRangesRequest request,
+      ServerCallStreamObserver<ReadBlockRangesResponse> responseObserver,
+      boolean domainSocketEnabled) {
+    mScheduler = scheduler;
+    mIoClass = ioClass;
+    mWorker = blockWorker;
+    mRequest = request;
+    mResponseObserver = responseObserver;
+    if (domainSocketEnabled) {
+      mCounter = MetricsSystem.counter(MetricKey.WORKER_BYTES_READ_DOMAIN.getName());
+      mMeter = MetricsSystem.meter(MetricKey.WORKER_BYTES_READ_DOMAIN_THROUGHPUT.getName());
+    } else {
+      mCounter = MetricsSystem.counter(MetricKey.WORKER_BYTES_READ_REMOTE.getName());
+      mMeter = MetricsSystem.meter(MetricKey.WORKER_BYTES_READ_REMOTE_THROUGHPUT.getName());
+    }
+  }
+
+  /**
+   * Registers the handler on the response stream and schedules its first run. Must be called
+   * before the RPC method returns.
+   *
+   * @throws RejectedExecutionException if the scheduler does not accept the handler
+   */
+  void start() {
+    mResponseObserver.setOnReadyHandler(this::onReady);
+    mResponseObserver.setOnCancelHandler(() -> {
+      mCancelled = true;
+      // runs the handler once more to close the block reader
+      onReady();
+    });
+    long cost = mRequest.getRangesList().stream().mapToLong(BlockRange::getLength).sum();
+    mScheduler.execute(mIoClass, cost, this);
+  }
+
+  /**
+   * Resumes the handler if it waits for the response stream.
+   */
+  private void onReady() {
+    if (!mSuspended.compareAndSet(true, false)) {
+      return;
+    }
+    try {
+      // the cost of the request is already charged by the first run
+      mScheduler.execute(mIoClass, 0, this);
+    } catch (RejectedExecutionException e) {
+      closeReader();
+      if (!mCancelled) {
+        mResponseObserver.onError(AlluxioStatusException.fromThrowable(e)
+            .toGrpcStatusException());
+      }
+    }
+  }
+
+  @Override
+  public void run() {
+    try {
+      if (mReader == null && !mCancelled) {
+        mRanges = validateRequest();
+        mChunkSize = Math.min(mRequest.getChunkSize(), MAX_CHUNK_SIZE);
+        mReader = mWorker.createBlockReader(IdUtils.createSessionId(), mRequest.getBlockId(),
+            mRanges.get(0).getOffset(), true,
+            mRequest.hasOpenUfsBlockOptions() ? mRequest.getOpenUfsBlockOptions() : null);
+      }
+      while (!mCancelled) {
+        if (!mResponseObserver.isReady()) {
+          mSuspended.set(true);
+          // the stream may have become ready before the handler was suspended
+          if ((!mResponseObserver.isReady() && !mCancelled)
+              || !mSuspended.compareAndSet(true, false)) {
+            return;
+          }
+          continue;
+        }
+        if (!sendNextChunk()) {
+          closeReader();
+          mResponseObserver.onCompleted();
+          return;
+        }
+      }
+      closeReader();
+    } catch (Exception e) {
+      closeReader();
+      if (mCancelled) {
+        return;
+      }
+      LogUtils.warnWithException(LOG, "Exception occurred while reading ranges of block {}.",
+          mRequest.getBlockId(), e);
+      mResponseObserver.onError(AlluxioStatusException.fromThrowable(e).toGrpcStatusException());
+    }
+  }
+
+  /**
+   * Sends the next chunk of the ranges.
+   *
+   * @return false if all ranges are sent
+   */
+  private boolean sendNextChunk() throws IOException {
+    while (mRangeIndex < mRanges.size()) {
+      ByteRange range = mRanges.get(mRangeIndex);
+      long pos = Math.max(mPos, range.getOffset());
+      long end = Math.min(range.getEnd(), mReader.getLength());
+      if (pos < end) {
+        long chunkSize = Math.min(mChunkSize, end - pos);
+        ByteBuffer data = mReader.read(pos, chunkSize);
+        int length = data.remaining();
+        mResponseObserver.onNext(ReadBlockRangesResponse.newBuilder().setOffset(pos)
+            .setChunk(Chunk.newBuilder().setData(UnsafeByteOperations.unsafeWrap(data)))
+            .build());
+        mCounter.inc(length);
+        mMeter.mark(length);
+        mPos = pos + chunkSize;
+        return true;
+      }
+      mRangeIndex++;
+    }
+    return false;
+  }
+
+  private void closeReader() {
+    if (mReader == null) {
+      return;
+    }
+    try {
+      mReader.close();
+    } catch (IOException e) {
+      LOG.warn("Failed to close the reader of block {}: {}", mRequest.getBlockId(),
+          e.toString());
+    }
+    mReader = null;
+  }
+
+  /**
+   * Validates the request.
+   *
+   * @return the ranges to read, coalesced
+   * @throws InvalidArgumentException if the request is invalid
+   */
+  private List<ByteRange> validateRequest() throws InvalidArgumentException {
+    if (mRequest.getBlockId() < 0) {
+      throw new InvalidArgumentException(
+          String.format("Invalid blockId (%d) in read request.", mRequest.getBlockId()));
+    }
+    if (mRequest.getRangesCount() == 0 || mRequest.getChunkSize() <= 0) {
+      throw new InvalidArgumentException(
+          String.format("Invalid ranges or chunk size in read request %s.", mRequest));
+    }
+    List<ByteRange> ranges = new ArrayList<>(mRequest.getRangesCount());
+    for (BlockRange range : mRequest.getRangesList()) {
+      if (range.getOffset() < 0 || range.getLength() <= 0) {
+        throw new InvalidArgumentException(
+            String.format("Invalid read bounds in read request %s.", mRequest));
+      }
+      ranges.add(new ByteRange(range.getOffset(), range.getLength()));
+    }
+    return ByteRange.coalesce(ranges, COALESCE_GAP);
+  }
+}
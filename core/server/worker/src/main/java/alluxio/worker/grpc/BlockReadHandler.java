@@ -20,6 +20,7 @@ import alluxio.RpcSensitiveConfigMask;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.status.AlluxioStatusException;
+import alluxio.exception.status.DataLossException;
 import alluxio.exception.status.InvalidArgumentException;
 import alluxio.grpc.Chunk;
 import alluxio.grpc.DataMessage;
@@ -30,6 +31,7 @@ import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.NettyDataBuffer;
 import alluxio.network.protocol.databuffer.PooledDirectNioByteBuf;
 import alluxio.resource.LockResource;
+import alluxio.security.authentication.AuthenticatedUserInfo;
 import alluxio.util.LogUtils;
 import alluxio.util.logging.SamplingLogger;
 import alluxio.wire.BlockReadRequest;
@@ -37,7 +39,10 @@ import alluxio.worker.block.AllocateOptions;
 import alluxio.worker.block.BlockStoreLocation;
 import alluxio.worker.block.BlockStoreType;
 import alluxio.worker.block.DefaultBlockWorker;
+import alluxio.worker.block.io.AsyncBlockReadEngine;
 import alluxio.worker.block.io.BlockReader;
+import alluxio.worker.block.io.DelegatingBlockReader;
+import alluxio.worker.block.io.LocalFileBlockReader;
 
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.Meter;
@@ -54,9 +59,11 @@ import io.netty.buffer.Unpooled;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.locks.ReentrantLock;
 import javax.annotation.Nullable;
@@ -70,7 +77,9 @@ import javax.annotation.concurrent.NotThreadSafe;
  * 1. Once a read request is received, the handler creates a {@link DataReader} which reads
  *    chunks of data from the block worker and pushes them to the buffer.
  * 2. The {@link DataReader} pauses if there are too many packets in flight, and resumes if there
- *    is room available.
+ *    is room available. The client can adjust the number of bytes allowed in flight by sending a
+ *    flow control window along with its read receipts, and can ask for the chunk size to start
+ *    small and double with every chunk sent.
  * 3. The channel is closed if there is any exception during the data read/write.
  *
  * Threading model:
@@ -83,6 +92,11 @@ import javax.annotation.concurrent.NotThreadSafe;
  *    there is, handle them properly. See more information about the notifications in the javadoc
  *    of {@link BlockReadRequestContext} about CANCEL, EOF, and ERROR flags.
  *
+ * If asynchronous reads are enabled, the data reader thread does not read the chunks of a local
+ * block file itself. Instead it submits positioned reads to an {@link AsyncBlockReadEngine}, up
+ * to a queue depth, and returns. The chunks are sent in order as the reads complete, and the last
+ * read to complete resumes the data reader, so no thread is parked while the reads are served.
+ *
  * @see BlockReadRequestContext
  */
 @NotThreadSafe
@@ -90,18 +104,26 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
   private static final Logger LOG = LoggerFactory.getLogger(BlockReadHandler.class);
   private static final long MAX_CHUNK_SIZE =
       Configuration.getBytes(PropertyKey.WORKER_NETWORK_READER_MAX_CHUNK_SIZE_BYTES);
+  private static final long MIN_CHUNK_SIZE =
+      Configuration.getBytes(PropertyKey.WORKER_NETWORK_READER_MIN_CHUNK_SIZE_BYTES);
   private static final long MAX_BYTES_IN_FLIGHT =
       Configuration.getBytes(PropertyKey.WORKER_NETWORK_READER_BUFFER_SIZE_BYTES);
+  private static final long MAX_WINDOW_SIZE = Math.max(MAX_BYTES_IN_FLIGHT,
+      Configuration.getBytes(PropertyKey.WORKER_NETWORK_READER_BUFFER_SIZE_MAX_BYTES));
   private static final Logger SLOW_BUFFER_LOG = new SamplingLogger(LOG, Constants.MINUTE_MS);
   private static final long SLOW_BUFFER_MS =
       Configuration.getMs(PropertyKey.WORKER_REMOTE_IO_SLOW_THRESHOLD);
+  private static final int ASYNC_READ_QUEUE_DEPTH =
+      Configuration.getInt(PropertyKey.WORKER_NETWORK_READER_ASYNC_QUEUE_DEPTH);
   /** Metrics. */
   private static final Counter RPC_READ_COUNT =
       MetricsSystem.counterWithTags(MetricKey.WORKER_ACTIVE_RPC_READ_COUNT.getName(),
             MetricKey.WORKER_ACTIVE_RPC_READ_COUNT.isClusterAggregated());
 
-  /** The executor to run {@link DataReader}. */
-  private final ExecutorService mDataReaderExecutor;
+  /** The scheduler to run {@link DataReader}. */
+  private final IoScheduler mIoScheduler;
+  /** The authenticated user of the request. */
+  private final AuthenticatedUserInfo mUserInfo;
   /** A serializing executor for sending responses. */
   private final Executor mSerializingExecutor;
   /** The Block Worker. */
@@ -109,6 +131,9 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
   private final ReentrantLock mLock = new ReentrantLock();
   private final boolean mDomainSocketEnabled;
   private final boolean mIsReaderBufferPooled;
+  /** The engine for asynchronous reads, or null if asynchronous reads are disabled. */
+  @Nullable
+  private final AsyncBlockReadEngine mAsyncReadEngine;
 
   private final BlockStoreType mBlockStoreType;
 
@@ -118,21 +143,27 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
    * visible across both gRPC and I/O threads, meanwhile no atomicity of operation is assumed;
    */
   private volatile BlockReadRequestContext mContext;
+  /** The I/O class the data readers of the current request are scheduled under. */
+  @GuardedBy("mLock")
+  private String mIoClass = IoScheduler.DEFAULT_IO_CLASS;
   private final StreamObserver<ReadResponse> mResponseObserver;
 
   /**
    * Creates an instance of {@link BlockReadHandler}.
    *
-   * @param executorService the executor service to run {@link DataReader}s
+   * @param ioScheduler the scheduler to run {@link DataReader}s
    * @param blockWorker block worker
    * @param responseObserver the response observer of the
+   * @param userInfo the authenticated user info
    * @param domainSocketEnabled if domain socket is enabled
    */
-  BlockReadHandler(ExecutorService executorService,
+  BlockReadHandler(IoScheduler ioScheduler,
       DefaultBlockWorker blockWorker,
       StreamObserver<ReadResponse> responseObserver,
+      AuthenticatedUserInfo userInfo,
       boolean domainSocketEnabled) {
-    mDataReaderExecutor = executorService;
+    mIoScheduler = ioScheduler;
+    mUserInfo = userInfo;
     mResponseObserver = responseObserver;
     mSerializingExecutor =
         new SerializingExecutor(GrpcExecutors.BLOCK_READER_SERIALIZED_RUNNER_EXECUTOR);
@@ -142,6 +173,7 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
         Configuration.getBoolean(PropertyKey.WORKER_NETWORK_READER_BUFFER_POOLED);
     mBlockStoreType =
         Configuration.getEnum(PropertyKey.WORKER_BLOCK_STORE_TYPE, BlockStoreType.class);
+    mAsyncReadEngine = blockWorker.getAsyncReadEngine();
   }
 
   @Override
@@ -154,6 +186,9 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
     try (LockResource lr = new LockResource(mLock)) {
       if (request.hasOffsetReceived()) {
         mContext.setPosReceived(request.getOffsetReceived());
+        if (request.getWindowSize() > 0) {
+          mContext.setWindowSize(Math.min(request.getWindowSize(), MAX_WINDOW_SIZE));
+        }
         if (!tooManyPendingChunks()) {
           onReady();
         }
@@ -164,8 +199,12 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
       validateReadRequest(request);
       mContext.setPosToQueue(mContext.getRequest().getStart());
       mContext.setPosReceived(mContext.getRequest().getStart());
-      mDataReaderExecutor.submit(createDataReader(mContext, mResponseObserver));
-      mContext.setDataReaderActive(true);
+      mContext.setWindowSize(MAX_BYTES_IN_FLIGHT);
+      long maxChunkSize = Math.min(mContext.getRequest().getChunkSize(), MAX_CHUNK_SIZE);
+      mContext.setChunkSize(mContext.getRequest().isAdaptiveChunkSize()
+          ? Math.min(MIN_CHUNK_SIZE, maxChunkSize) : maxChunkSize);
+      mIoClass = mIoScheduler.getIoClass(request.getIoClass(), mUserInfo);
+      submitDataReader();
     } catch (RejectedExecutionException e) {
       handleStreamEndingException(Status.RESOURCE_EXHAUSTED.withCause(e)
           .withDescription("Failed to create a new data reader"));
@@ -199,7 +238,7 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
    */
   @GuardedBy("mLock")
   public boolean tooManyPendingChunks() {
-    return mContext.getPosToQueue() - mContext.getPosReceived() >= MAX_BYTES_IN_FLIGHT;
+    return mContext.getPosToQueue() - mContext.getPosReceived() >= mContext.getWindowSize();
   }
 
   @Override
@@ -319,8 +358,7 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
     try (LockResource lr = new LockResource(mLock)) {
       if (shouldRestartDataReader()) {
         try {
-          mDataReaderExecutor.submit(createDataReader(mContext, mResponseObserver));
-          mContext.setDataReaderActive(true);
+          submitDataReader();
         } catch (RejectedExecutionException e) {
           handleStreamEndingException(Status.RESOURCE_EXHAUSTED.withCause(e)
               .withDescription("Failed to create a new data reader"));
@@ -329,6 +367,18 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
     }
   }
 
+  /**
+   * Schedules a data reader for the current request. The reader is charged with the bytes it may
+   * send before it pauses for the client.
+   */
+  @GuardedBy("mLock")
+  private void submitDataReader() {
+    long cost = Math.min(mContext.getRequest().getEnd() - mContext.getPosToQueue(),
+        mContext.getWindowSize());
+    mIoScheduler.execute(mIoClass, cost, createDataReader(mContext, mResponseObserver));
+    mContext.setDataReaderActive(true);
+  }
+
   /**
    * @return true if we should restart the data reader
    */
@@ -357,7 +407,7 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
     private final CallStreamObserver<ReadResponse> mResponse;
     private final BlockReadRequestContext mContext;
     private final BlockReadRequest mRequest;
-    private final long mChunkSize;
+    private final long mMaxChunkSize;
 
     /**
      * Creates an instance of the {@link DataReader}.
@@ -368,7 +418,7 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
     DataReader(BlockReadRequestContext context, StreamObserver<ReadResponse> response) {
       mContext = Preconditions.checkNotNull(context);
       mRequest = Preconditions.checkNotNull(context.getRequest());
-      mChunkSize = Math.min(mRequest.getChunkSize(), MAX_CHUNK_SIZE);
+      mMaxChunkSize = Math.min(mRequest.getChunkSize(), MAX_CHUNK_SIZE);
       mResponse = (CallStreamObserver<ReadResponse>) response;
     }
 
@@ -398,11 +448,21 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
           cancel = mContext.isCancel();
           error = mContext.getError();
 
-          if (eof || cancel || error != null || (!mResponse.isReady() && tooManyPendingChunks())) {
+          if (eof || cancel || error != null || (!mResponse.isReady() && tooManyPendingChunks())
+              || mContext.getAsyncReadsInFlight() >= ASYNC_READ_QUEUE_DEPTH) {
+            if (mContext.getAsyncReadsInFlight() > 0) {
+              // The reader stays active, the last asynchronous read to complete resumes it.
+              mContext.setDataReaderSuspended(true);
+              return;
+            }
             mContext.setDataReaderActive(false);
             break;
           }
-          chunkSize = (int) Math.min(mRequest.getEnd() - mContext.getPosToQueue(), mChunkSize);
+          chunkSize = (int) Math.min(mRequest.getEnd() - mContext.getPosToQueue(),
+              mContext.getChunkSize());
+          if (mRequest.isAdaptiveChunkSize()) {
+            mContext.setChunkSize(Math.min(mContext.getChunkSize() * 2, mMaxChunkSize));
+          }
 
           // chunkSize should always be > 0 here when reaches here.
           Preconditions.checkState(chunkSize > 0);
@@ -413,6 +473,11 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
           // Once we get the data buffer, the lock on the block has been acquired.
           // If there are any stream errors during this time, we must unlock the block
           // before exiting.
+          LocalFileBlockReader asyncReader = getAsyncBlockReader(mContext);
+          if (asyncReader != null) {
+            readChunkAsync(asyncReader, start, chunkSize);
+            continue;
+          }
           chunk = getDataBuffer(mContext, start, chunkSize);
           if (chunk != null) {
             try (LockResource lr = new LockResource(mLock)) {
@@ -427,28 +492,7 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
           }
 
           if (chunk != null) {
-            DataBuffer finalChunk = chunk;
-            mSerializingExecutor.execute(() -> {
-              try {
-                ReadResponse response = ReadResponse.newBuilder().setChunk(Chunk.newBuilder()
-                    .setData(UnsafeByteOperations.unsafeWrap(finalChunk.getReadOnlyByteBuffer()))
-                ).build();
-                if (mResponse instanceof DataMessageServerStreamObserver) {
-                  ((DataMessageServerStreamObserver<ReadResponse>) mResponse)
-                      .onNext(new DataMessage<>(response, finalChunk));
-                } else {
-                  mResponse.onNext(response);
-                }
-                incrementMetrics(finalChunk.getLength());
-              } catch (Exception e) {
-                LogUtils.warnWithException(LOG,
-                    "Exception occurred while sending data for read request {}.",
-                    mContext.getRequest(), e);
-                setError(new Error(AlluxioStatusException.fromThrowable(e), true));
-              } finally {
-                finalChunk.release();
-              }
-            });
+            sendChunk(chunk);
           }
         } catch (Throwable e) {
           if (isFatalError(e)) {
@@ -486,6 +530,156 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
       }
     }
 
+    /**
+     * Sends a chunk to the client through the serializing executor, and releases it afterwards.
+     *
+     * @param chunk the chunk to send
+     */
+    private void sendChunk(DataBuffer chunk) {
+      mSerializingExecutor.execute(() -> {
+        try {
+          ReadResponse response = ReadResponse.newBuilder().setChunk(Chunk.newBuilder()
+              .setData(UnsafeByteOperations.unsafeWrap(chunk.getReadOnlyByteBuffer()))
+          ).build();
+          if (mResponse instanceof DataMessageServerStreamObserver) {
+            ((DataMessageServerStreamObserver<ReadResponse>) mResponse)
+                .onNext(new DataMessage<>(response, chunk));
+          } else {
+            mResponse.onNext(response);
+          }
+          incrementMetrics(chunk.getLength());
+        } catch (Exception e) {
+          LogUtils.warnWithException(LOG,
+              "Exception occurred while sending data for read request {}.",
+              mContext.getRequest(), e);
+          setError(new Error(AlluxioStatusException.fromThrowable(e), true));
+        } finally {
+          chunk.release();
+        }
+      });
+    }
+
+    /**
+     * Returns the local block file reader to serve the request with asynchronous reads, opening
+     * the block if it is not open.
+     *
+     * @param context context of the request
+     * @return the local block file reader, or null if the request should be served synchronously
+     */
+    @Nullable
+    private LocalFileBlockReader getAsyncBlockReader(BlockReadRequestContext context)
+        throws Exception {
+      if (mAsyncReadEngine == null) {
+        return null;
+      }
+      openBlock(context);
+      BlockReader reader = context.getBlockReader();
+      while (reader instanceof DelegatingBlockReader) {
+        reader = ((DelegatingBlockReader) reader).getDelegate();
+      }
+      // Direct I/O readers are served synchronously so that their reads bypass the page cache.
+      return reader instanceof LocalFileBlockReader
+          && !((LocalFileBlockReader) reader).isDirectIo() ? (LocalFileBlockReader) reader : null;
+    }
+
+    /**
+     * Submits an asynchronous read of a chunk. The chunk is sent once the read completes and all
+     * the reads submitted before it are handled.
+     *
+     * @param reader the local block file reader
+     * @param start the offset of the chunk
+     * @param chunkSize the size of the chunk
+     */
+    private void readChunkAsync(LocalFileBlockReader reader, long start, int chunkSize)
+        throws IOException {
+      int length = (int) Math.min(chunkSize, reader.getLength() - start);
+      if (length <= 0) {
+        setEof();
+        return;
+      }
+      CompletableFuture<ByteBuf> read = reader.readAsync(mAsyncReadEngine, start, length);
+      try (LockResource lr = new LockResource(mLock)) {
+        mContext.setPosToQueue(mContext.getPosToQueue() + length);
+        mContext.setAsyncReadsInFlight(mContext.getAsyncReadsInFlight() + 1);
+      }
+      // The completion is handed back to the serializing executor of the request, which sends
+      // the chunks, so that the engine threads only complete reads.
+      mContext.setAsyncReads(mContext.getAsyncReads().thenCompose(v -> read.handleAsync(
+          (buf, t) -> {
+            onAsyncReadComplete(buf, t, length);
+            return null;
+          }, mSerializingExecutor)));
+      if (length < chunkSize || start + chunkSize == mRequest.getEnd()) {
+        setEof();
+      }
+    }
+
+    /**
+     * Handles a completed asynchronous read, and resumes the data reader if it is waiting for
+     * this read. This never throws, so that the reads chained after this one are handled.
+     *
+     * @param buf the data read, or null if the read failed
+     * @param t the failure, or null if the read succeeded
+     * @param length the number of bytes requested
+     */
+    private void onAsyncReadComplete(@Nullable ByteBuf buf, @Nullable Throwable t, int length) {
+      try {
+        handleAsyncRead(buf, t, length);
+      } catch (Throwable e) {
+        LogUtils.warnWithException(LOG,
+            "Exception occurred while handling data for read request {}.",
+            mContext.getRequest(), e);
+        setError(new Error(AlluxioStatusException.fromThrowable(e), true));
+      } finally {
+        boolean runInline = false;
+        try (LockResource lr = new LockResource(mLock)) {
+          mContext.setAsyncReadsInFlight(mContext.getAsyncReadsInFlight() - 1);
+          if (mContext.getAsyncReadsInFlight() == 0 && mContext.isDataReaderSuspended()) {
+            mContext.setDataReaderSuspended(false);
+            try {
+              submitDataReader();
+            } catch (RejectedExecutionException e) {
+              if (mContext.getError() == null) {
+                mContext.setError(new Error(AlluxioStatusException.fromThrowable(e), true));
+              }
+              // the reader only replies the error, which does not need an I/O thread
+              runInline = true;
+            }
+          }
+        }
+        if (runInline) {
+          createDataReader(mContext, mResponse).run();
+        }
+      }
+    }
+
+    private void handleAsyncRead(@Nullable ByteBuf buf, @Nullable Throwable t, int length) {
+      if (t != null) {
+        Throwable cause = t instanceof CompletionException && t.getCause() != null
+            ? t.getCause() : t;
+        LogUtils.warnWithException(LOG,
+            "Exception occurred while reading data for read request {}. session {}",
+            mContext.getRequest(), mContext.getRequest().getSessionId(), cause);
+        setError(new Error(AlluxioStatusException.fromThrowable(cause), true));
+      } else if (buf.readableBytes() < length) {
+        int bytesRead = buf.readableBytes();
+        buf.release();
+        setError(new Error(new DataLossException(String.format(
+            "Expected to read %d bytes from %s but only %d bytes were read", length,
+            mContext.getBlockReader().getLocation(), bytesRead)), true));
+      } else {
+        boolean failed;
+        try (LockResource lr = new LockResource(mLock)) {
+          failed = mContext.getError() != null;
+        }
+        if (failed) {
+          buf.release();
+        } else {
+          sendChunk(new NettyDataBuffer(buf));
+        }
+      }
+    }
+
     /**
      * Completes the read request. When the request is closed, we should clean up any temporary
      * state it may have accumulated.
@@ -17,6 +17,7 @@ import alluxio.worker.block.io.BlockReader;
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.Meter;
 
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.NotThreadSafe;
@@ -38,6 +39,13 @@ public final class BlockReadRequestContext {
   private long mPosToQueue;
 
   private long mPosReceived;
+  /**
+   * The flow control window, i.e. the number of bytes that can be queued beyond the position
+   * received by the client.
+   */
+  private long mWindowSize;
+  /** The size of the next chunk to read. */
+  private long mChunkSize;
   /**
    * mEof, mCancel and mError are the notifications processed by the data reader thread. They can
    * be set by either the gRPC I/O thread or the data reader thread. mError overrides mCancel
@@ -70,6 +78,22 @@ public final class BlockReadRequestContext {
   /** This is set when the SUCCESS or CANCEL response is sent. This is only for sanity check. */
   private volatile boolean mDone;
   private BlockReader mBlockReader;
+  /**
+   * The tail of the chain of asynchronous chunk reads. Each read is chained after the previous
+   * one, so the chunks are sent in order regardless of the order the reads complete in. This is
+   * only accessed by the data reader.
+   */
+  private CompletableFuture<Void> mAsyncReads = CompletableFuture.completedFuture(null);
+  /**
+   * The number of asynchronous chunk reads which are submitted but not yet handled. The data
+   * reader stays active while this is positive.
+   */
+  private int mAsyncReadsInFlight;
+  /**
+   * Set to true if the data reader returned while asynchronous reads were in flight, in which
+   * case the last of those reads to complete resumes the data reader.
+   */
+  private boolean mDataReaderSuspended;
   /** The requests of this context. */
   private final BlockReadRequest mRequest;
 
@@ -117,6 +141,22 @@ public final class BlockReadRequestContext {
     return mPosReceived;
   }
 
+  /**
+   * @return the flow control window in bytes
+   */
+  @GuardedBy("BlockReadHandler#mLock")
+  public long getWindowSize() {
+    return mWindowSize;
+  }
+
+  /**
+   * @return the size of the next chunk to read in bytes
+   */
+  @GuardedBy("BlockReadHandler#mLock")
+  public long getChunkSize() {
+    return mChunkSize;
+  }
+
   /**
    * @return true when the data reader replies a SUCCESS response, false otherwise
    */
@@ -189,6 +229,22 @@ public final class BlockReadRequestContext {
     mPosReceived = posReceived;
   }
 
+  /**
+   * @param windowSize the flow control window in bytes to set
+   */
+  @GuardedBy("BlockReadHandler#mLock")
+  public void setWindowSize(long windowSize) {
+    mWindowSize = windowSize;
+  }
+
+  /**
+   * @param chunkSize the size of the next chunk to read in bytes to set
+   */
+  @GuardedBy("BlockReadHandler#mLock")
+  public void setChunkSize(long chunkSize) {
+    mChunkSize = chunkSize;
+  }
+
   /**
    * @param eof whether SUCCESS response is replied
    */
@@ -248,4 +304,50 @@ public final class BlockReadRequestContext {
   public void setBlockReader(BlockReader blockReader) {
     mBlockReader = blockReader;
   }
+
+  /**
+   * @return the tail of the chain of asynchronous chunk reads
+   */
+  public CompletableFuture<Void> getAsyncReads() {
+    return mAsyncReads;
+  }
+
+  /**
+   * @param asyncReads the tail of the chain of asynchronous chunk reads to set
+   */
+  public void setAsyncReads(CompletableFuture<Void> asyncReads) {
+    mAsyncReads = asyncReads;
+  }
+
+  /**
+   * @return the number of asynchronous chunk reads in flight
+   */
+  @GuardedBy("BlockReadHandler#mLock")
+  public int getAsyncReadsInFlight() {
+    return mAsyncReadsInFlight;
+  }
+
+  /**
+   * @param asyncReadsInFlight the number of asynchronous chunk reads in flight to set
+   */
+  @GuardedBy("BlockReadHandler#mLock")
+  public void setAsyncReadsInFlight(int asyncReadsInFlight) {
+    mAsyncReadsInFlight = asyncReadsInFlight;
+  }
+
+  /**
+   * @return whether the data reader is waiting for asynchronous reads to resume it
+   */
+  @GuardedBy("BlockReadHandler#mLock")
+  public boolean isDataReaderSuspended() {
+    return mDataReaderSuspended;
+  }
+
+  /**
+   * @param dataReaderSuspended whether the data reader is waiting for asynchronous reads
+   */
+  @GuardedBy("BlockReadHandler#mLock")
+  public void setDataReaderSuspended(boolean dataReaderSuspended) {
+    mDataReaderSuspended = dataReaderSuspended;
+  }
 }
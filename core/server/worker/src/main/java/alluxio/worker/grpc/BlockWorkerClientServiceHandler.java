@@ -13,6 +13,7 @@ package alluxio.worker.grpc;
 
 import alluxio.RpcUtils;
 import alluxio.annotation.SuppressFBWarnings;
+import alluxio.client.file.FileSystemContext;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.grpc.AsyncCacheRequest;
@@ -33,6 +34,8 @@ import alluxio.grpc.MoveBlockRequest;
 import alluxio.grpc.MoveBlockResponse;
 import alluxio.grpc.OpenLocalBlockRequest;
 import alluxio.grpc.OpenLocalBlockResponse;
+import alluxio.grpc.ReadBlockRangesRequest;
+import alluxio.grpc.ReadBlockRangesResponse;
 import alluxio.grpc.ReadRequest;
 import alluxio.grpc.ReadResponse;
 import alluxio.grpc.ReadResponseMarshaller;
@@ -65,6 +68,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import javax.annotation.Nullable;
 
 /**
  * Server side implementation of the gRPC BlockWorker interface.
@@ -79,18 +84,39 @@ public class BlockWorkerClientServiceHandler extends BlockWorkerGrpc.BlockWorker
   private final ReadResponseMarshaller mReadResponseMarshaller = new ReadResponseMarshaller();
   private final WriteRequestMarshaller mWriteRequestMarshaller = new WriteRequestMarshaller();
   private final boolean mDomainSocketEnabled;
+  private final FileSystemContext mFsContext;
+  @Nullable
+  private final ShortCircuitFdServer mFdServer;
 
   /**
    * Creates a new implementation of gRPC BlockWorker interface.
    *
    * @param workerProcess the worker process
    * @param domainSocketEnabled is using domain sockets
+   * @param fsContext the context to forward chain-replicated blocks to other workers with
    */
   public BlockWorkerClientServiceHandler(WorkerProcess workerProcess,
-      boolean domainSocketEnabled) {
+      boolean domainSocketEnabled, FileSystemContext fsContext) {
+    this(workerProcess, domainSocketEnabled, fsContext, null);
+  }
+
+  /**
+   * Creates a new implementation of gRPC BlockWorker interface.
+   *
+   * @param workerProcess the worker process
+   * @param domainSocketEnabled is using domain sockets
+   * @param fsContext the context to forward chain-replicated blocks to other workers with
+   * @param fdServer the server passing block file descriptors to short circuit readers, null if
+   *        it is not running
+   */
+  public BlockWorkerClientServiceHandler(WorkerProcess workerProcess,
+      boolean domainSocketEnabled, FileSystemContext fsContext,
+      @Nullable ShortCircuitFdServer fdServer) {
     mBlockWorker = (DefaultBlockWorker) workerProcess.getWorker(BlockWorker.class);
     mUfsManager = workerProcess.getUfsManager();
     mDomainSocketEnabled = domainSocketEnabled;
+    mFsContext = fsContext;
+    mFdServer = fdServer;
   }
 
   /**
@@ -117,12 +143,28 @@ public class BlockWorkerClientServiceHandler extends BlockWorkerGrpc.BlockWorker
       callStreamObserver =
           new DataMessageServerStreamObserver<>(callStreamObserver, mReadResponseMarshaller);
     }
-    BlockReadHandler readHandler = new BlockReadHandler(GrpcExecutors.BLOCK_READER_EXECUTOR,
-        mBlockWorker, callStreamObserver, mDomainSocketEnabled);
+    BlockReadHandler readHandler = new BlockReadHandler(GrpcExecutors.BLOCK_READER_SCHEDULER,
+        mBlockWorker, callStreamObserver, getAuthenticatedUserInfo(), mDomainSocketEnabled);
     callStreamObserver.setOnReadyHandler(readHandler::onReady);
     return readHandler;
   }
 
+  @Override
+  public void readBlockRanges(ReadBlockRangesRequest request,
+      StreamObserver<ReadBlockRangesResponse> responseObserver) {
+    try {
+      new BlockRangesReadHandler(GrpcExecutors.BLOCK_READER_SCHEDULER,
+          GrpcExecutors.BLOCK_READER_SCHEDULER.getIoClass(request.getIoClass(),
+              getAuthenticatedUserInfo()),
+          mBlockWorker, request,
+          (ServerCallStreamObserver<ReadBlockRangesResponse>) responseObserver,
+          mDomainSocketEnabled).start();
+    } catch (RejectedExecutionException e) {
+      responseObserver.onError(Status.RESOURCE_EXHAUSTED.withCause(e)
+          .withDescription("Failed to create a new data reader").asRuntimeException());
+    }
+  }
+
   @Override
   public StreamObserver<alluxio.grpc.WriteRequest> writeBlock(
       StreamObserver<WriteResponse> responseObserver) {
@@ -133,7 +175,7 @@ public class BlockWorkerClientServiceHandler extends BlockWorkerGrpc.BlockWorker
           new DataMessageServerRequestObserver<>(responseObserver, mWriteRequestMarshaller, null);
     }
     DelegationWriteHandler handler = new DelegationWriteHandler(mBlockWorker, mUfsManager,
-        responseObserver, getAuthenticatedUserInfo(), mDomainSocketEnabled);
+        responseObserver, getAuthenticatedUserInfo(), mDomainSocketEnabled, mFsContext);
     serverResponseObserver.setOnCancelHandler(handler::onCancel);
     return handler;
   }
@@ -142,7 +184,7 @@ public class BlockWorkerClientServiceHandler extends BlockWorkerGrpc.BlockWorker
   public StreamObserver<OpenLocalBlockRequest> openLocalBlock(
       StreamObserver<OpenLocalBlockResponse> responseObserver) {
     return new ShortCircuitBlockReadHandler(
-        mBlockWorker.getBlockStore(), responseObserver);
+        mBlockWorker.getBlockStore(), responseObserver, mFdServer);
   }
 
   @Override
@@ -11,25 +11,39 @@
 
 package alluxio.worker.grpc;
 
+import alluxio.client.block.stream.DataWriter;
+import alluxio.client.block.stream.GrpcDataWriter;
+import alluxio.client.file.FileSystemContext;
+import alluxio.grpc.GrpcUtils;
+import alluxio.grpc.WriteRequestCommand;
 import alluxio.grpc.WriteResponse;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.security.authentication.AuthenticatedUserInfo;
+import alluxio.wire.WorkerNetAddress;
 import alluxio.worker.block.BlockWorker;
 import alluxio.worker.block.CreateBlockOptions;
 
 import com.codahale.metrics.Counter;
 import com.google.common.base.Preconditions;
 import io.grpc.stub.StreamObserver;
+import io.netty.buffer.Unpooled;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * This handler handles block write request. Check more information in
  * {@link AbstractWriteHandler}.
+ *
+ * A request naming further workers in its pipeline is chain replicated: every chunk is forwarded
+ * to the next worker before it is written locally, and flushes and completion are acknowledged
+ * only after the next worker acknowledged them, when it is among the workers required to have
+ * the data. A worker which is not required is dropped from the chain when it fails.
  */
 @alluxio.annotation.SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST_OF_RETURN_VALUE",
     justification = "false positive with superclass generics, "
@@ -47,8 +61,12 @@ public final class BlockWriteHandler extends AbstractWriteHandler<BlockWriteRequ
 
   private final boolean mDomainSocketEnabled;
 
+  /** The context to forward blocks to other workers with, null if forwarding is not supported. */
+  @Nullable
+  private final FileSystemContext mFsContext;
+
   /**
-   * Creates an instance of {@link BlockWriteHandler}.
+   * Creates an instance of {@link BlockWriteHandler} which does not forward blocks.
    *
    * @param blockWorker the block worker
    * @param responseObserver the stream observer for the write response
@@ -57,13 +75,30 @@ public final class BlockWriteHandler extends AbstractWriteHandler<BlockWriteRequ
    */
   BlockWriteHandler(BlockWorker blockWorker, StreamObserver<WriteResponse> responseObserver,
       AuthenticatedUserInfo userInfo, boolean domainSocketEnabled) {
+    this(blockWorker, responseObserver, userInfo, domainSocketEnabled, null);
+  }
+
+  /**
+   * Creates an instance of {@link BlockWriteHandler}.
+   *
+   * @param blockWorker the block worker
+   * @param responseObserver the stream observer for the write response
+   * @param userInfo the authenticated user info
+   * @param domainSocketEnabled whether reading block over domain socket
+   * @param fsContext the context to forward chain-replicated blocks to other workers with
+   */
+  BlockWriteHandler(BlockWorker blockWorker, StreamObserver<WriteResponse> responseObserver,
+      AuthenticatedUserInfo userInfo, boolean domainSocketEnabled,
+      @Nullable FileSystemContext fsContext) {
     super(responseObserver, userInfo);
     mWorker = blockWorker;
     mDomainSocketEnabled = domainSocketEnabled;
+    mFsContext = fsContext;
   }
 
   @Override
-  protected BlockWriteRequestContext createRequestContext(alluxio.grpc.WriteRequest msg) {
+  protected BlockWriteRequestContext createRequestContext(alluxio.grpc.WriteRequest msg)
+      throws IOException {
     long bytesToReserve = FILE_BUFFER_SIZE;
     if (msg.getCommand().hasSpaceToReserve()) {
       bytesToReserve = msg.getCommand().getSpaceToReserve();
@@ -82,15 +117,97 @@ public final class BlockWriteHandler extends AbstractWriteHandler<BlockWriteRequ
           MetricKey.WORKER_BYTES_WRITTEN_REMOTE_THROUGHPUT.getName()));
     }
     RPC_WRITE_COUNT.inc();
+    if (msg.getCommand().getPipelineCount() > 0) {
+      startForwarding(context, msg.getCommand());
+    }
     return context;
   }
 
+  /**
+   * Opens the stream forwarding the block to the next worker of the pipeline.
+   *
+   * @param context the context of the request
+   * @param command the command of the request
+   */
+  private void startForwarding(BlockWriteRequestContext context, WriteRequestCommand command)
+      throws IOException {
+    Preconditions.checkState(mFsContext != null,
+        "Forwarding block %s to other workers is not supported", command.getId());
+    int minReplicas = command.hasPipelineMinReplicas() ? command.getPipelineMinReplicas()
+        : command.getPipelineCount() + 1;
+    WriteRequestCommand.Builder next = command.toBuilder()
+        .clearPipeline()
+        .addAllPipeline(command.getPipelineList().subList(1, command.getPipelineCount()));
+    if (command.hasPipelineMinReplicas()) {
+      next.setPipelineMinReplicas(Math.max(1, minReplicas - 1));
+    }
+    context.setForwardRequired(minReplicas > 1);
+    WorkerNetAddress address = GrpcUtils.fromProto(command.getPipeline(0));
+    try {
+      context.setForwardWriter(GrpcDataWriter.create(mFsContext, address, next.buildPartial()));
+    } catch (IOException | RuntimeException e) {
+      if (context.isForwardRequired()) {
+        throw e;
+      }
+      LOG.warn("Failed to forward block {} to worker {}, dropping it from the pipeline: {}",
+          command.getId(), address, e.toString());
+    }
+  }
+
+  /**
+   * Applies an operation to the stream forwarding the block, if any. A failure fails the request
+   * if the next worker is required to have the data, otherwise it drops the next worker.
+   *
+   * @param context the context of the request
+   * @param operation the operation on the forwarding stream
+   */
+  private void forward(BlockWriteRequestContext context, ForwardOperation operation)
+      throws IOException {
+    DataWriter writer = context.getForwardWriter();
+    if (writer == null) {
+      return;
+    }
+    try {
+      operation.apply(writer);
+    } catch (IOException | RuntimeException e) {
+      if (context.isForwardRequired()) {
+        throw e;
+      }
+      LOG.warn("Failed to forward block {}, dropping the next worker from the pipeline: {}",
+          context.getRequest().getId(), e.toString());
+      cancelForwarding(context);
+    }
+  }
+
+  /**
+   * Cancels the stream forwarding the block, if any.
+   *
+   * @param context the context of the request
+   */
+  private void cancelForwarding(BlockWriteRequestContext context) {
+    DataWriter writer = context.getForwardWriter();
+    if (writer == null) {
+      return;
+    }
+    context.setForwardWriter(null);
+    try {
+      writer.cancel();
+      writer.close();
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Failed to cancel forwarding block {}: {}", context.getRequest().getId(),
+          e.toString());
+    }
+  }
+
   @Override
   protected void completeRequest(BlockWriteRequestContext context) throws Exception {
     WriteRequest request = context.getRequest();
     if (context.getBlockWriter() != null) {
       context.getBlockWriter().close();
     }
+    // The next workers commit the block before this one does.
+    forward(context, DataWriter::close);
+    context.setForwardWriter(null);
     mWorker.commitBlock(request.getSessionId(), request.getId(), request.getPinOnCreate());
     RPC_WRITE_COUNT.dec();
   }
@@ -101,6 +218,7 @@ public final class BlockWriteHandler extends AbstractWriteHandler<BlockWriteRequ
     if (context.getBlockWriter() != null) {
       context.getBlockWriter().close();
     }
+    cancelForwarding(context);
     mWorker.abortBlock(request.getSessionId(), request.getId());
     RPC_WRITE_COUNT.dec();
   }
@@ -110,6 +228,7 @@ public final class BlockWriteHandler extends AbstractWriteHandler<BlockWriteRequ
     if (context.getBlockWriter() != null) {
       context.getBlockWriter().close();
     }
+    cancelForwarding(context);
     mWorker.cleanupSession(context.getRequest().getSessionId());
 
     // Decrement RPC counter only if the request wasn't completed/canceled already
@@ -119,14 +238,18 @@ public final class BlockWriteHandler extends AbstractWriteHandler<BlockWriteRequ
   }
 
   @Override
-  protected void flushRequest(BlockWriteRequestContext context) {
-    // This is a no-op because block worker does not support flush currently.
+  protected void flushRequest(BlockWriteRequestContext context) throws IOException {
+    // The local block needs no flush, only the next workers are waited for.
+    forward(context, DataWriter::flush);
   }
 
   @Override
   protected void writeBuf(BlockWriteRequestContext context,
       StreamObserver<WriteResponse> observer, DataBuffer buf, long pos) throws Exception {
     Preconditions.checkState(context != null);
+    // Sends the chunk on before the local write, so that both proceed at the same time.
+    forward(context, writer -> writer.writeChunk(
+        Unpooled.copiedBuffer(buf.getReadOnlyByteBuffer())));
     WriteRequest request = context.getRequest();
     long bytesReserved = context.getBytesReserved();
     if (bytesReserved < pos) {
@@ -149,4 +272,12 @@ public final class BlockWriteHandler extends AbstractWriteHandler<BlockWriteRequ
     return String.format("temp-block-session-%d-id-%d", context.getRequest().getSessionId(),
         context.getRequest().getId());
   }
+
+  /**
+   * An operation on the stream forwarding a block.
+   */
+  @FunctionalInterface
+  private interface ForwardOperation {
+    void apply(DataWriter writer) throws IOException;
+  }
 }
@@ -11,6 +11,7 @@
 
 package alluxio.worker.grpc;
 
+import alluxio.client.block.stream.DataWriter;
 import alluxio.worker.block.io.BlockWriter;
 
 import javax.annotation.Nullable;
@@ -27,6 +28,9 @@ public final class BlockWriteRequestContext extends WriteRequestContext<BlockWri
   private alluxio.resource.CloseableResource<alluxio.underfs.UnderFileSystem> mUfsResource;
   private java.io.OutputStream mOutputStream;
   private String mUfsPath;
+  /** The writer forwarding the block to the next worker of a chain-replicated write. */
+  private DataWriter mForwardWriter;
+  private boolean mForwardRequired;
 
   BlockWriteRequestContext(alluxio.grpc.WriteRequest request, long bytesReserved) {
     super(new BlockWriteRequest(request));
@@ -121,4 +125,33 @@ public final class BlockWriteRequestContext extends WriteRequestContext<BlockWri
   public void setUfsPath(String ufsPath) {
     mUfsPath = ufsPath;
   }
+
+  /**
+   * @return the writer forwarding the block to the next worker, or null if it is not forwarded
+   */
+  @Nullable
+  public DataWriter getForwardWriter() {
+    return mForwardWriter;
+  }
+
+  /**
+   * @param forwardWriter the writer forwarding the block to the next worker
+   */
+  public void setForwardWriter(@Nullable DataWriter forwardWriter) {
+    mForwardWriter = forwardWriter;
+  }
+
+  /**
+   * @return whether the write fails when forwarding the block to the next worker fails
+   */
+  public boolean isForwardRequired() {
+    return mForwardRequired;
+  }
+
+  /**
+   * @param forwardRequired whether the write fails when forwarding the block fails
+   */
+  public void setForwardRequired(boolean forwardRequired) {
+    mForwardRequired = forwardRequired;
+  }
 }
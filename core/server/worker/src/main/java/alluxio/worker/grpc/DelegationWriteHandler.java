@@ -11,6 +11,7 @@
 
 package alluxio.worker.grpc;
 
+import alluxio.client.file.FileSystemContext;
 import alluxio.grpc.DataMessageMarshaller;
 import alluxio.grpc.DataMessageMarshallerProvider;
 import alluxio.grpc.WriteRequest;
@@ -33,6 +34,7 @@ public class DelegationWriteHandler implements StreamObserver<alluxio.grpc.Write
   private AbstractWriteHandler mWriteHandler;
   private final AuthenticatedUserInfo mUserInfo;
   private final boolean mDomainSocketEnabled;
+  private final FileSystemContext mFsContext;
 
   /**
    * @param blockWorker the block worker instance
@@ -40,10 +42,11 @@ public class DelegationWriteHandler implements StreamObserver<alluxio.grpc.Write
    * @param responseObserver the response observer of the gRPC stream
    * @param userInfo the authenticated user info
    * @param domainSocketEnabled whether using a domain socket
+   * @param fsContext the context to forward chain-replicated blocks to other workers with
    */
   public DelegationWriteHandler(DefaultBlockWorker blockWorker, UfsManager ufsManager,
       StreamObserver<WriteResponse> responseObserver, AuthenticatedUserInfo userInfo,
-      boolean domainSocketEnabled) {
+      boolean domainSocketEnabled, FileSystemContext fsContext) {
     mBlockWorker = blockWorker;
     mUfsManager = ufsManager;
     mResponseObserver = responseObserver;
@@ -55,13 +58,14 @@ public class DelegationWriteHandler implements StreamObserver<alluxio.grpc.Write
       mMarshaller = null;
     }
     mDomainSocketEnabled = domainSocketEnabled;
+    mFsContext = fsContext;
   }
 
   private AbstractWriteHandler createWriterHandler(alluxio.grpc.WriteRequest request) {
     switch (request.getCommand().getType()) {
       case ALLUXIO_BLOCK:
         return new BlockWriteHandler(mBlockWorker, mResponseObserver,
-            mUserInfo, mDomainSocketEnabled);
+            mUserInfo, mDomainSocketEnabled, mFsContext);
       case UFS_FILE:
         return new UfsFileWriteHandler(mUfsManager, mResponseObserver,
             mUserInfo);
@@ -0,0 +1,41 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.grpc;
+
+import alluxio.conf.AlluxioConfiguration;
+
+import java.util.concurrent.ExecutorService;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * An {@link IoScheduler} which hands every task to the executor as it arrives, regardless of
+ * its I/O class.
+ */
+@ThreadSafe
+public final class FifoIoScheduler implements IoScheduler {
+  private final ExecutorService mExecutor;
+
+  /**
+   * Creates a new instance of {@link FifoIoScheduler}.
+   *
+   * @param executor the executor to run the tasks on
+   * @param conf the configuration
+   */
+  public FifoIoScheduler(ExecutorService executor, AlluxioConfiguration conf) {
+    mExecutor = executor;
+  }
+
+  @Override
+  public void execute(String ioClass, long cost, Runnable task) {
+    mExecutor.submit(task);
+  }
+}
@@ -43,6 +43,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -87,6 +88,20 @@ public final class GrpcDataServer implements DataServer {
    */
   public GrpcDataServer(final String hostName, final SocketAddress bindAddress,
       final WorkerProcess workerProcess) {
+    this(hostName, bindAddress, workerProcess, null);
+  }
+
+  /**
+   * Creates a new instance of {@link GrpcDataServer}.
+   *
+   * @param hostName the server host name
+   * @param bindAddress the server bind address
+   * @param workerProcess the Alluxio worker process
+   * @param fdServer the server passing block file descriptors to short circuit readers, null if
+   *        it is not running
+   */
+  public GrpcDataServer(final String hostName, final SocketAddress bindAddress,
+      final WorkerProcess workerProcess, @Nullable ShortCircuitFdServer fdServer) {
     mSocketAddress = bindAddress;
     try {
       // There is no way to query domain socket address afterwards.
@@ -96,7 +111,7 @@ public final class GrpcDataServer implements DataServer {
       }
       BlockWorkerClientServiceHandler blockWorkerService =
           new BlockWorkerClientServiceHandler(
-              workerProcess, mDomainSocketAddress != null);
+              workerProcess, mDomainSocketAddress != null, mFsContext, fdServer);
       mServer = createServerBuilder(hostName, bindAddress, NettyUtils.getWorkerChannel(
           Configuration.global()))
           .addService(ServiceType.BLOCK_WORKER_CLIENT_SERVICE, new GrpcService(
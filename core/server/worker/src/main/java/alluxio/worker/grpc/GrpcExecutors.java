@@ -72,6 +72,13 @@ public final class GrpcExecutors {
   public static final ExecutorService BLOCK_WRITER_EXECUTOR =
           new ImpersonateThreadPoolExecutor(BLOCK_WRITE_THREAD_POOL_EXECUTOR);
 
+  /** The scheduler of block read tasks, which run on {@link #BLOCK_READER_EXECUTOR}. */
+  public static final IoScheduler BLOCK_READER_SCHEDULER =
+      IoScheduler.Factory.create(BLOCK_READER_EXECUTOR, Configuration.global());
+  /** The scheduler of block write tasks, which run on {@link #BLOCK_WRITER_EXECUTOR}. */
+  public static final IoScheduler BLOCK_WRITER_SCHEDULER =
+      IoScheduler.Factory.create(BLOCK_WRITER_EXECUTOR, Configuration.global());
+
   static {
     MetricsSystem.registerCachedGaugeIfAbsent(MetricsSystem.getMetricName(
         MetricKey.WORKER_CACHE_MANAGER_THREAD_ACTIVE_COUNT.getName()),
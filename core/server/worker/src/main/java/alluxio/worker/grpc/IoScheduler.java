@@ -0,0 +1,82 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.grpc;
+
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.security.authentication.AuthenticatedUserInfo;
+import alluxio.util.CommonUtils;
+
+import com.google.common.base.Strings;
+
+import java.util.concurrent.ExecutorService;
+import javax.annotation.Nullable;
+
+/**
+ * Decides the order in which the block reads and writes of clients run on the worker. Every
+ * task belongs to an I/O class, which is the class tag sent by the client or else the client
+ * user, so that a scheduler can share the worker between tenants.
+ */
+public interface IoScheduler {
+  /** The I/O class of requests which carry neither a class tag nor a user. */
+  String DEFAULT_IO_CLASS = "default";
+
+  /**
+   * Schedules a task to run on the executor of the scheduler.
+   *
+   * @param ioClass the I/O class of the task
+   * @param cost the estimated number of bytes the task reads or writes
+   * @param task the task
+   * @throws java.util.concurrent.RejectedExecutionException if the task cannot be accepted
+   */
+  void execute(String ioClass, long cost, Runnable task);
+
+  /**
+   * Decides the I/O class of a request. Schedulers which limit classes override this, so that
+   * clients cannot choose a class which escapes the limits of their user.
+   *
+   * @param ioClassTag the class tag sent by the client, may be empty
+   * @param userInfo the authenticated user of the request
+   * @return the I/O class of the request
+   */
+  default String getIoClass(@Nullable String ioClassTag,
+      @Nullable AuthenticatedUserInfo userInfo) {
+    if (!Strings.isNullOrEmpty(ioClassTag)) {
+      return ioClassTag;
+    }
+    if (userInfo != null && !Strings.isNullOrEmpty(userInfo.getAuthorizedUserName())) {
+      return userInfo.getAuthorizedUserName();
+    }
+    return DEFAULT_IO_CLASS;
+  }
+
+  /**
+   * Factory for {@link IoScheduler}.
+   */
+  final class Factory {
+    private Factory() {} // prevent instantiation
+
+    /**
+     * Creates the scheduler configured by {@link PropertyKey#WORKER_IO_SCHEDULER_CLASS}.
+     *
+     * @param executor the executor to run the tasks on
+     * @param conf the configuration
+     * @return the generated {@link IoScheduler}
+     */
+    public static IoScheduler create(ExecutorService executor, AlluxioConfiguration conf) {
+      return CommonUtils.createNewClassInstance(
+          conf.getClass(PropertyKey.WORKER_IO_SCHEDULER_CLASS),
+          new Class[] {ExecutorService.class, AlluxioConfiguration.class},
+          new Object[] {executor, conf});
+    }
+  }
+}
@@ -35,6 +35,7 @@ import org.slf4j.LoggerFactory;
 
 import java.text.MessageFormat;
 import java.util.Optional;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -47,10 +48,15 @@ class ShortCircuitBlockReadHandler implements StreamObserver<OpenLocalBlockReque
 
   private final BlockStore mLocalBlockStore;
   private final StreamObserver<OpenLocalBlockResponse> mResponseObserver;
+  /** The server passing block file descriptors, null if it is not running. */
+  @Nullable
+  private final ShortCircuitFdServer mFdServer;
   private OpenLocalBlockRequest mRequest;
   /** The lock id of the block being read. */
   private Optional<BlockLock> mBlockLock;
   private long mSessionId;
+  /** The lease on the descriptor of the block file, if one was granted. */
+  private Optional<Long> mLeaseId = Optional.empty();
 
   /**
    * Creates an instance of {@link ShortCircuitBlockReadHandler}.
@@ -59,9 +65,22 @@ class ShortCircuitBlockReadHandler implements StreamObserver<OpenLocalBlockReque
    */
   ShortCircuitBlockReadHandler(BlockStore localBlockStore,
                                StreamObserver<OpenLocalBlockResponse> responseObserver) {
+    this(localBlockStore, responseObserver, null);
+  }
+
+  /**
+   * Creates an instance of {@link ShortCircuitBlockReadHandler}.
+   *
+   * @param localBlockStore the local block store
+   * @param fdServer the server passing block file descriptors, null if it is not running
+   */
+  ShortCircuitBlockReadHandler(BlockStore localBlockStore,
+      StreamObserver<OpenLocalBlockResponse> responseObserver,
+      @Nullable ShortCircuitFdServer fdServer) {
     mLocalBlockStore = localBlockStore;
     mBlockLock = Optional.empty();
     mResponseObserver = responseObserver;
+    mFdServer = fdServer;
   }
 
   /**
@@ -104,13 +123,19 @@ class ShortCircuitBlockReadHandler implements StreamObserver<OpenLocalBlockReque
         mBlockLock = mLocalBlockStore.pinBlock(mSessionId, mRequest.getBlockId());
         mLocalBlockStore.accessBlock(mSessionId, mRequest.getBlockId());
         DefaultBlockWorker.Metrics.WORKER_ACTIVE_CLIENTS.inc();
-        return OpenLocalBlockResponse.newBuilder()
-            .setPath(meta.get().getPath())
-            .build();
+        OpenLocalBlockResponse.Builder response = OpenLocalBlockResponse.newBuilder()
+            .setPath(meta.get().getPath());
+        if (mRequest.getPassFd() && mFdServer != null) {
+          // the lease lasts as long as the block is pinned
+          mLeaseId = Optional.of(mFdServer.grantLease(meta.get().getPath()));
+          response.setLeaseId(mLeaseId.get()).setFdSocketPath(mFdServer.getSocketPath());
+        }
+        return response.build();
       }
 
       @Override
       public void exceptionCaught(Throwable e) {
+        releaseLease();
         if (mBlockLock.isPresent()) {
           DefaultBlockWorker.Metrics.WORKER_ACTIVE_CLIENTS.dec();
           mLocalBlockStore.unpinBlock(mBlockLock.get());
@@ -126,6 +151,7 @@ class ShortCircuitBlockReadHandler implements StreamObserver<OpenLocalBlockReque
   @Override
   public void onError(Throwable t) {
     LogUtils.warnWithException(LOG, "Exception occurred processing read request {}.", mRequest, t);
+    releaseLease();
     if (mBlockLock.isPresent()) {
       DefaultBlockWorker.Metrics.WORKER_ACTIVE_CLIENTS.dec();
       mLocalBlockStore.unpinBlock(mBlockLock.get());
@@ -142,6 +168,7 @@ class ShortCircuitBlockReadHandler implements StreamObserver<OpenLocalBlockReque
     RpcUtils.streamingRPCAndLog(LOG, new RpcUtils.StreamingRpcCallable<OpenLocalBlockResponse>() {
       @Override
       public OpenLocalBlockResponse call() {
+        releaseLease();
         if (mBlockLock.isPresent()) {
           DefaultBlockWorker.Metrics.WORKER_ACTIVE_CLIENTS.dec();
           mLocalBlockStore.unpinBlock(mBlockLock.get());
@@ -160,4 +187,14 @@ class ShortCircuitBlockReadHandler implements StreamObserver<OpenLocalBlockReque
     }, "CloseBlock", false, true, mResponseObserver, "Session=%d, Request=%s",
         mSessionId, mRequest);
   }
+
+  /**
+   * Ends the lease on the descriptor of the block file, before the block is unpinned.
+   */
+  private void releaseLease() {
+    if (mLeaseId.isPresent()) {
+      mFdServer.releaseLease(mLeaseId.get());
+      mLeaseId = Optional.empty();
+    }
+  }
 }
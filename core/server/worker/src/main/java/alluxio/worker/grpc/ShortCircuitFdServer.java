@@ -0,0 +1,181 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.grpc;
+
+import alluxio.network.ChannelType;
+import alluxio.util.io.FileUtils;
+import alluxio.util.network.NettyUtils;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.epoll.EpollServerDomainSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
+import io.netty.channel.unix.DomainSocketChannel;
+import io.netty.channel.unix.FileDescriptor;
+import io.netty.handler.codec.FixedLengthFrameDecoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Passes open descriptors of block files to short circuit readers over a UNIX domain socket, so
+ * that clients can read blocks without permission on the storage directories of the worker.
+ *
+ * A descriptor is only passed for a lease, which {@link ShortCircuitBlockReadHandler} grants
+ * while it keeps the block pinned for the client. The client sends the 8 byte id of the lease
+ * and receives the descriptor, after which the connection is closed. The connection is also
+ * closed, without a descriptor, if the lease does not exist.
+ */
+@ThreadSafe
+public final class ShortCircuitFdServer implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(ShortCircuitFdServer.class);
+  /** Lease ids must not be guessable, as any local process may connect to the socket. */
+  private static final SecureRandom LEASE_ID_RANDOM = new SecureRandom();
+
+  private final String mSocketPath;
+  private final EventLoopGroup mEventLoop;
+  private final Channel mChannel;
+  /** The paths of the block files by id of the lease on them. */
+  private final Map<Long, String> mLeases = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the server and binds it to the given path.
+   *
+   * @param socketPath the path of the domain socket
+   */
+  public ShortCircuitFdServer(String socketPath) throws IOException {
+    if (!isSupported()) {
+      throw new UnsupportedOperationException(
+          "Descriptors of open files are not accessible in this JVM");
+    }
+    mSocketPath = socketPath;
+    mEventLoop = NettyUtils.createEventLoop(ChannelType.EPOLL, 1,
+        "short-circuit-fd-server-%d", true);
+    try {
+      mChannel = new ServerBootstrap()
+          .group(mEventLoop)
+          .channel(EpollServerDomainSocketChannel.class)
+          .childHandler(new ChannelInitializer<DomainSocketChannel>() {
+            @Override
+            protected void initChannel(DomainSocketChannel channel) {
+              channel.pipeline()
+                  .addLast(new FixedLengthFrameDecoder(Long.BYTES))
+                  .addLast(new LeaseHandler());
+            }
+          })
+          .bind(new DomainSocketAddress(socketPath))
+          .sync()
+          .channel();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      mEventLoop.shutdownGracefully();
+      throw new IOException("Interrupted while binding to " + socketPath, e);
+    } catch (RuntimeException e) {
+      mEventLoop.shutdownGracefully();
+      throw new IOException("Failed to bind to " + socketPath, e);
+    }
+    LOG.info("Short circuit descriptor server started, listening on {}", socketPath);
+  }
+
+  /**
+   * @return whether descriptors of open files can be passed by this JVM
+   */
+  public static boolean isSupported() {
+    return FileUtils.isDescriptorNumberAccessible();
+  }
+
+  /**
+   * @return the path of the domain socket
+   */
+  public String getSocketPath() {
+    return mSocketPath;
+  }
+
+  /**
+   * Grants a lease to fetch the descriptor of a block file.
+   *
+   * @param path the path of the block file
+   * @return the id of the lease
+   */
+  public long grantLease(String path) {
+    while (true) {
+      long leaseId = LEASE_ID_RANDOM.nextLong();
+      if (mLeases.putIfAbsent(leaseId, path) == null) {
+        return leaseId;
+      }
+    }
+  }
+
+  /**
+   * Ends a lease. Descriptors already passed stay valid.
+   *
+   * @param leaseId the id of the lease
+   */
+  public void releaseLease(long leaseId) {
+    mLeases.remove(leaseId);
+  }
+
+  @Override
+  public void close() {
+    mChannel.close().awaitUninterruptibly();
+    mEventLoop.shutdownGracefully().awaitUninterruptibly();
+    mLeases.clear();
+  }
+
+  /**
+   * Answers the id of a lease with the descriptor of its block file.
+   */
+  private final class LeaseHandler extends SimpleChannelInboundHandler<ByteBuf> {
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) throws IOException {
+      long leaseId = msg.readLong();
+      String path = mLeases.get(leaseId);
+      if (path == null) {
+        LOG.debug("Refused a descriptor for unknown lease {}", leaseId);
+        ctx.close();
+        return;
+      }
+      // Netty opens files for writing only, so the descriptor is taken from a read only stream
+      FileInputStream file = new FileInputStream(path);
+      FileDescriptor fd;
+      try {
+        fd = new FileDescriptor(FileUtils.getDescriptorNumber(file.getFD()));
+      } catch (IOException e) {
+        file.close();
+        throw e;
+      }
+      ctx.writeAndFlush(fd).addListener((ChannelFutureListener) future -> {
+        file.close();
+        future.channel().close();
+      });
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+      LOG.warn("Failed to pass a block file descriptor: {}", cause.toString());
+      ctx.close();
+    }
+  }
+}
@@ -0,0 +1,349 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.grpc;
+
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.metrics.Metric;
+import alluxio.metrics.MetricInfo;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.security.User;
+import alluxio.security.authentication.AuthenticatedClientUser;
+import alluxio.security.authentication.AuthenticatedUserInfo;
+import alluxio.util.FormatUtils;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.codahale.metrics.Timer;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * An {@link IoScheduler} which shares the worker between I/O classes with start-time fair
+ * queuing.
+ *
+ * At most {@link PropertyKey#WORKER_IO_SCHEDULER_CONCURRENCY} tasks run at a time. Further tasks
+ * wait in a FIFO queue per I/O class. Every task is tagged on arrival with a virtual start time,
+ * the later of the current virtual time and the finish time of the previous task of its class,
+ * and a finish time which is its start time plus its cost divided by the weight of its class.
+ * When a task completes, the waiting task with the smallest start time runs next, so backlogged
+ * classes get bytes in proportion to their weights, see
+ * {@link PropertyKey#WORKER_IO_SCHEDULER_WEIGHTS}.
+ *
+ * A class may also be limited in bytes and tasks per second, see
+ * {@link PropertyKey#WORKER_IO_SCHEDULER_BANDWIDTH_LIMITS} and
+ * {@link PropertyKey#WORKER_IO_SCHEDULER_IOPS_LIMITS}. The tasks of a class which exceeded its
+ * limits are held back until the limits allow them, while the other classes keep running.
+ *
+ * Only the classes named in these properties, and {@link IoScheduler#DEFAULT_IO_CLASS}, are
+ * scheduled separately, see {@link #getIoClass}. The requests of a user which names a class run
+ * in that class whatever tag they carry, so a client cannot escape the limits of its user, and
+ * the requests of other users run in the class they tag if it is configured, or else in the
+ * default class. This also bounds the classes, and their metrics, clients can create.
+ *
+ * The time tasks spend queued is reported per class as
+ * {@link MetricKey#WORKER_IO_SCHEDULER_QUEUE_TIME}.
+ */
+@ThreadSafe
+public final class WeightedFairIoScheduler implements IoScheduler {
+  private static final Logger LOG = LoggerFactory.getLogger(WeightedFairIoScheduler.class);
+  /** The delay before retrying a dispatch which the executor rejected. */
+  private static final long REJECTED_RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private final ExecutorService mExecutor;
+  private final int mConcurrency;
+  private final Map<String, Double> mWeights;
+  private final Map<String, Long> mBandwidthLimits;
+  private final Map<String, Long> mIopsLimits;
+  /** The classes named in the configuration. */
+  private final Set<String> mIoClasses = new HashSet<>();
+  /** Wakes up the dispatcher when a rate limited class or a rejected task may run again. */
+  private final ScheduledExecutorService mTimer;
+
+  @GuardedBy("this")
+  private final Map<String, IoClassQueue> mQueues = new HashMap<>();
+  @GuardedBy("this")
+  private double mVirtualTime = 0;
+  @GuardedBy("this")
+  private int mRunning = 0;
+  @GuardedBy("this")
+  private long mWakeUpNanos = Long.MAX_VALUE;
+
+  /**
+   * Creates a new instance of {@link WeightedFairIoScheduler}.
+   *
+   * @param executor the executor to run the tasks on
+   * @param conf the configuration
+   */
+  public WeightedFairIoScheduler(ExecutorService executor, AlluxioConfiguration conf) {
+    mExecutor = executor;
+    mConcurrency = conf.getInt(PropertyKey.WORKER_IO_SCHEDULER_CONCURRENCY);
+    Preconditions.checkArgument(mConcurrency > 0, "%s must be positive",
+        PropertyKey.Name.WORKER_IO_SCHEDULER_CONCURRENCY);
+    mWeights = parse(conf, PropertyKey.WORKER_IO_SCHEDULER_WEIGHTS, Double::parseDouble);
+    mBandwidthLimits =
+        parse(conf, PropertyKey.WORKER_IO_SCHEDULER_BANDWIDTH_LIMITS, FormatUtils::parseSpaceSize);
+    mIopsLimits = parse(conf, PropertyKey.WORKER_IO_SCHEDULER_IOPS_LIMITS, Long::parseLong);
+    mWeights.forEach((ioClass, weight) -> Preconditions.checkArgument(weight > 0,
+        "invalid weight %s of I/O class %s", weight, ioClass));
+    mIoClasses.addAll(mWeights.keySet());
+    mIoClasses.addAll(mBandwidthLimits.keySet());
+    mIoClasses.addAll(mIopsLimits.keySet());
+    mTimer = Executors.newSingleThreadScheduledExecutor(
+        ThreadFactoryUtils.build("IoSchedulerTimer-%d", true));
+  }
+
+  @Override
+  public String getIoClass(@Nullable String ioClassTag,
+      @Nullable AuthenticatedUserInfo userInfo) {
+    String user = userInfo == null ? null : userInfo.getAuthorizedUserName();
+    if (user != null && mIoClasses.contains(user)) {
+      return user;
+    }
+    if (ioClassTag != null && mIoClasses.contains(ioClassTag)) {
+      return ioClassTag;
+    }
+    return DEFAULT_IO_CLASS;
+  }
+
+  @Override
+  public synchronized void execute(String ioClass, long cost, Runnable task) {
+    if (!mIoClasses.contains(ioClass)) {
+      ioClass = DEFAULT_IO_CLASS;
+    }
+    IoClassQueue queue = mQueues.computeIfAbsent(ioClass, IoClassQueue::new);
+    double start = Math.max(mVirtualTime, queue.mLastFinishTag);
+    queue.mLastFinishTag = start + Math.max(cost, 1) / queue.mWeight;
+    queue.mTasks.add(new QueuedTask(task, cost, start, System.nanoTime(),
+        AuthenticatedClientUser.getOrNull()));
+    dispatch();
+  }
+
+  /**
+   * Runs the waiting tasks in order of their start tags, up to the concurrency limit.
+   */
+  @GuardedBy("this")
+  private void dispatch() {
+    long now = System.nanoTime();
+    while (mRunning < mConcurrency) {
+      IoClassQueue next = null;
+      long wakeUpNanos = Long.MAX_VALUE;
+      for (IoClassQueue queue : mQueues.values()) {
+        if (queue.mTasks.isEmpty()) {
+          continue;
+        }
+        long waitNanos = queue.nanosUntilAllowed(now);
+        if (waitNanos > 0) {
+          wakeUpNanos = Math.min(wakeUpNanos, now + waitNanos);
+        } else if (next == null
+            || queue.mTasks.peek().mStartTag < next.mTasks.peek().mStartTag) {
+          next = queue;
+        }
+      }
+      if (next == null) {
+        if (wakeUpNanos != Long.MAX_VALUE) {
+          scheduleWakeUp(now, wakeUpNanos);
+        } else if (mRunning == 0) {
+          // The scheduler is idle, forget the history of the classes.
+          mQueues.values().removeIf(queue -> !queue.isRateLimited());
+        }
+        return;
+      }
+      QueuedTask task = next.mTasks.poll();
+      mRunning++;
+      try {
+        mExecutor.submit(() -> run(task));
+      } catch (RejectedExecutionException e) {
+        LOG.debug("Executor rejected a task of I/O class {}, retrying later", next.mIoClass);
+        mRunning--;
+        next.mTasks.addFirst(task);
+        scheduleWakeUp(now, now + REJECTED_RETRY_NANOS);
+        return;
+      }
+      mVirtualTime = Math.max(mVirtualTime, task.mStartTag);
+      next.charge(task.mCost, now);
+      next.mQueueTimer.update(now - task.mEnqueueNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private void run(QueuedTask task) {
+    try {
+      // The task may be dispatched by another request, restore the user it was submitted by.
+      AuthenticatedClientUser.set(task.mUser);
+      task.mTask.run();
+    } finally {
+      synchronized (this) {
+        mRunning--;
+        dispatch();
+      }
+    }
+  }
+
+  @GuardedBy("this")
+  private void scheduleWakeUp(long now, long wakeUpNanos) {
+    if (wakeUpNanos >= mWakeUpNanos) {
+      return;
+    }
+    mWakeUpNanos = wakeUpNanos;
+    mTimer.schedule(() -> {
+      synchronized (this) {
+        mWakeUpNanos = Long.MAX_VALUE;
+        dispatch();
+      }
+    }, wakeUpNanos - now, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * @param ioClass the I/O class
+   * @return the number of tasks of the class waiting to run
+   */
+  @VisibleForTesting
+  synchronized int getQueuedTasks(String ioClass) {
+    IoClassQueue queue = mQueues.get(ioClass);
+    return queue == null ? 0 : queue.mTasks.size();
+  }
+
+  private static <T> Map<String, T> parse(AlluxioConfiguration conf, PropertyKey key,
+      Function<String, T> parser) {
+    if (!conf.isSet(key)) {
+      return Collections.emptyMap();
+    }
+    List<String> entries = conf.getList(key);
+    Map<String, T> values = new HashMap<>();
+    for (String entry : entries) {
+      String[] parts = entry.trim().split("=", 2);
+      Preconditions.checkArgument(parts.length == 2 && !parts[0].isEmpty(),
+          "invalid entry %s of %s, expected <class>=<value>", entry, key.getName());
+      values.put(parts[0], parser.apply(parts[1].trim()));
+    }
+    return values;
+  }
+
+  /**
+   * A task waiting to run.
+   */
+  private static final class QueuedTask {
+    private final Runnable mTask;
+    private final long mCost;
+    private final double mStartTag;
+    private final long mEnqueueNanos;
+    @Nullable
+    private final User mUser;
+
+    private QueuedTask(Runnable task, long cost, double startTag, long enqueueNanos,
+        @Nullable User user) {
+      mTask = task;
+      mCost = cost;
+      mStartTag = startTag;
+      mEnqueueNanos = enqueueNanos;
+      mUser = user;
+    }
+  }
+
+  /**
+   * The waiting tasks and the scheduling state of an I/O class.
+   */
+  private final class IoClassQueue {
+    private final String mIoClass;
+    private final double mWeight;
+    private final ArrayDeque<QueuedTask> mTasks = new ArrayDeque<>();
+    private final Timer mQueueTimer;
+    @Nullable
+    private final TokenBucket mBandwidth;
+    @Nullable
+    private final TokenBucket mIops;
+    private double mLastFinishTag = 0;
+
+    private IoClassQueue(String ioClass) {
+      mIoClass = ioClass;
+      mWeight = mWeights.getOrDefault(ioClass, 1.0);
+      mQueueTimer = MetricsSystem.timer(Metric.getMetricNameWithTags(
+          MetricKey.WORKER_IO_SCHEDULER_QUEUE_TIME.getName(), MetricInfo.TAG_IO_CLASS, ioClass));
+      Long bandwidth = mBandwidthLimits.get(ioClass);
+      mBandwidth = bandwidth == null ? null : new TokenBucket(bandwidth);
+      Long iops = mIopsLimits.get(ioClass);
+      mIops = iops == null ? null : new TokenBucket(iops);
+    }
+
+    private boolean isRateLimited() {
+      return mBandwidth != null || mIops != null;
+    }
+
+    private long nanosUntilAllowed(long now) {
+      long bandwidthWait = mBandwidth == null ? 0 : mBandwidth.nanosUntilAvailable(now);
+      long iopsWait = mIops == null ? 0 : mIops.nanosUntilAvailable(now);
+      return Math.max(bandwidthWait, iopsWait);
+    }
+
+    private void charge(long cost, long now) {
+      if (mBandwidth != null) {
+        mBandwidth.take(cost, now);
+      }
+      if (mIops != null) {
+        mIops.take(1, now);
+      }
+    }
+  }
+
+  /**
+   * A token bucket which holds up to one second worth of tokens. A task is allowed as long as
+   * the bucket holds a token and may take it into debt, which later tasks wait out.
+   */
+  private static final class TokenBucket {
+    private final double mTokensPerNano;
+    private final double mCapacity;
+    private double mTokens;
+    private long mLastRefillNanos;
+
+    private TokenBucket(long tokensPerSecond) {
+      Preconditions.checkArgument(tokensPerSecond > 0, "invalid rate limit %s", tokensPerSecond);
+      mTokensPerNano = tokensPerSecond / 1e9;
+      mCapacity = tokensPerSecond;
+      mTokens = mCapacity;
+      mLastRefillNanos = System.nanoTime();
+    }
+
+    private void refill(long now) {
+      mTokens = Math.min(mCapacity, mTokens + (now - mLastRefillNanos) * mTokensPerNano);
+      mLastRefillNanos = now;
+    }
+
+    private long nanosUntilAvailable(long now) {
+      refill(now);
+      return mTokens >= 1 ? 0 : (long) Math.ceil((1 - mTokens) / mTokensPerNano);
+    }
+
+    private void take(long tokens, long now) {
+      refill(now);
+      mTokens -= tokens;
+    }
+  }
+}
@@ -31,6 +31,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
 import java.util.Optional;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -45,6 +46,8 @@ public class PagedBlockReader extends BlockReader {
   private final CacheManager mCacheManager;
   private final Optional<PagedUfsBlockReader> mUfsBlockReader;
   private final PagedBlockMeta mBlockMeta;
+  @Nullable
+  private final UfsPageReadCoalescer mUfsPageReadCoalescer;
   private boolean mClosed = false;
   private boolean mReadFromLocalCache = false;
   private boolean mReadFromUfs = false;
@@ -61,6 +64,23 @@ public class PagedBlockReader extends BlockReader {
    */
   public PagedBlockReader(CacheManager cacheManager, PagedBlockMeta blockMeta, long offset,
       Optional<PagedUfsBlockReader> ufsBlockReader, long pageSize) {
+    this(cacheManager, blockMeta, offset, ufsBlockReader, pageSize, null);
+  }
+
+  /**
+   * Constructor for PagedBlockReader which reads the pages missing in the local storage through
+   * a coalescer, so that concurrent readers of a page read it from the under storage once.
+   *
+   * @param cacheManager paging cache manager
+   * @param blockMeta block meta
+   * @param offset initial offset within the block to begin the read from
+   * @param ufsBlockReader ufs block reader
+   * @param pageSize page size
+   * @param ufsPageReadCoalescer the coalescer of ufs page reads, or null to read pages directly
+   */
+  public PagedBlockReader(CacheManager cacheManager, PagedBlockMeta blockMeta, long offset,
+      Optional<PagedUfsBlockReader> ufsBlockReader, long pageSize,
+      @Nullable UfsPageReadCoalescer ufsPageReadCoalescer) {
     Preconditions.checkArgument(offset >= 0 && offset <= blockMeta.getBlockSize(),
         "Attempt to read block %d which is %d bytes long at invalid byte offset %d",
         blockMeta.getBlockId(), blockMeta.getBlockSize(), offset);
@@ -69,6 +89,7 @@ public class PagedBlockReader extends BlockReader {
     mBlockMeta = blockMeta;
     mPageSize = pageSize;
     mPosition = offset;
+    mUfsPageReadCoalescer = ufsPageReadCoalescer;
   }
 
   @Override
@@ -137,7 +158,7 @@ public class PagedBlockReader extends BlockReader {
         // get the page at pageIndex as a whole from UFS
         ByteBuffer ufsBuf = NioDirectBufferPool.acquire((int) mPageSize);
         try {
-          int pageBytesRead = ufsBlockReader.readPageAtIndex(ufsBuf, pageIndex);
+          int pageBytesRead = readPageFromUfs(ufsBlockReader, pageId, pageIndex, ufsBuf);
           if (pageBytesRead > 0) {
             ufsBuf.position(currentPageOffset);
             ufsBuf.limit(currentPageOffset + bytesLeftInPage);
@@ -146,11 +167,6 @@ public class PagedBlockReader extends BlockReader {
             MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.getName())
                 .mark(bytesLeftInPage);
             mReadFromUfs = true;
-            ufsBuf.rewind();
-            ufsBuf.limit(pageBytesRead);
-            if (ufsBlockReader.getUfsReadOptions().isCacheIntoAlluxio()) {
-              mCacheManager.put(pageId, ufsBuf);
-            }
           }
         } finally {
           NioDirectBufferPool.release(ufsBuf);
@@ -160,6 +176,26 @@ public class PagedBlockReader extends BlockReader {
     return bytesRead;
   }
 
+  /**
+   * Reads a page from the under storage into an empty buffer and caches it if the read options
+   * ask so.
+   *
+   * @return number of bytes read, or -1 if end of block is reached
+   */
+  private int readPageFromUfs(PagedUfsBlockReader ufsBlockReader, PageId pageId, long pageIndex,
+      ByteBuffer ufsBuf) throws IOException {
+    if (mUfsPageReadCoalescer != null) {
+      return mUfsPageReadCoalescer.readPage(ufsBlockReader, pageId, pageIndex, ufsBuf);
+    }
+    int pageBytesRead = ufsBlockReader.readPageAtIndex(ufsBuf, pageIndex);
+    if (pageBytesRead > 0 && ufsBlockReader.getUfsReadOptions().isCacheIntoAlluxio()) {
+      ByteBuffer page = ufsBuf.duplicate();
+      page.flip();
+      mCacheManager.put(pageId, page);
+    }
+    return pageBytesRead;
+  }
+
   @Override
   public long getLength() {
     return mBlockMeta.getBlockSize();
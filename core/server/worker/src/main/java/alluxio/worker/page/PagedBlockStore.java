@@ -19,6 +19,7 @@ import alluxio.client.file.cache.CacheManagerOptions;
 import alluxio.client.file.cache.store.PageStoreDir;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
 import alluxio.exception.BlockAlreadyExistsException;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.runtime.AlluxioRuntimeException;
@@ -63,6 +64,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
 
 /**
  * A paged implementation of LocalBlockStore interface.
@@ -85,6 +87,8 @@ public class PagedBlockStore implements BlockStore {
   private final List<BlockStoreEventListener> mBlockStoreEventListeners =
       new CopyOnWriteArrayList<>();
   private final long mPageSize;
+  @Nullable
+  private final UfsPageReadCoalescer mUfsPageReadCoalescer;
 
   /**
    * Create an instance of PagedBlockStore.
@@ -127,6 +131,9 @@ public class PagedBlockStore implements BlockStore {
     mWorkerId = workerId;
     mPageMetaStore = pageMetaStore;
     mPageSize = pageSize;
+    mUfsPageReadCoalescer =
+        Configuration.global().getBoolean(PropertyKey.WORKER_UFS_READ_COALESCING_ENABLED)
+            ? new UfsPageReadCoalescer(cacheManager, pageSize) : null;
   }
 
   @Override
@@ -289,7 +296,8 @@ public class PagedBlockStore implements BlockStore {
     final Optional<PagedUfsBlockReader> ufsBlockReader =
         readOptions.map(opt -> new PagedUfsBlockReader(
             mUfsManager, mUfsInStreamCache, blockMeta, offset, opt, mPageSize));
-    return new PagedBlockReader(mCacheManager, blockMeta, offset, ufsBlockReader, mPageSize);
+    return new PagedBlockReader(mCacheManager, blockMeta, offset, ufsBlockReader, mPageSize,
+        mUfsPageReadCoalescer);
   }
 
   @Override
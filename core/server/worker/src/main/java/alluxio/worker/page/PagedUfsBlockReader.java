@@ -14,6 +14,7 @@ package alluxio.worker.page;
 import alluxio.conf.PropertyKey;
 import alluxio.network.protocol.databuffer.NioDirectBufferPool;
 import alluxio.resource.CloseableResource;
+import alluxio.underfs.SeekableUnderFileInputStream;
 import alluxio.underfs.UfsManager;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.options.OpenOptions;
@@ -272,6 +273,10 @@ public class PagedUfsBlockReader extends BlockReader {
           }
         }
       }
+      if (mUfsInStream instanceof SeekableUnderFileInputStream) {
+        // read into the buffer directly instead of copying through the channel's array
+        return ((SeekableUnderFileInputStream) mUfsInStream).read(dst);
+      }
       return mUfsChannel.read(dst);
     }
 
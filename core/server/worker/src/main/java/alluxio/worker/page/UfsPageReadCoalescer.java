@@ -0,0 +1,195 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.page;
+
+import alluxio.client.file.cache.CacheManager;
+import alluxio.client.file.cache.PageId;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.google.common.base.Throwables;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Coalesces concurrent reads of the same page from the under storage. When many clients miss on
+ * a block which is not cached yet, the first read of a page reads it from the under storage and
+ * caches it, and the concurrent reads of the page wait for that read and copy the page instead
+ * of reading it again. A page is identified by the path of its file in the under storage and its
+ * range in the file.
+ */
+@ThreadSafe
+public final class UfsPageReadCoalescer {
+  private final CacheManager mCacheManager;
+  private final long mPageSize;
+  /** The reads of pages in progress. */
+  private final ConcurrentHashMap<PageRange, PageRead> mReads = new ConcurrentHashMap<>();
+
+  /**
+   * @param cacheManager the cache manager the pages are cached into
+   * @param pageSize the page size
+   */
+  public UfsPageReadCoalescer(CacheManager cacheManager, long pageSize) {
+    mCacheManager = cacheManager;
+    mPageSize = pageSize;
+  }
+
+  /**
+   * Reads a page from the under storage, or waits for a concurrent read of the same page, and
+   * caches the page if the read options of the block ask so. See
+   * {@link PagedUfsBlockReader#readPageAtIndex(ByteBuffer, long)}.
+   *
+   * @param ufsBlockReader the under storage reader of the block
+   * @param pageId the id of the page
+   * @param pageIndex the index of the page within the block
+   * @param buffer writable output buffer, must have enough remaining space for a page
+   * @return number of bytes read, or -1 if end of block is reached
+   */
+  public int readPage(PagedUfsBlockReader ufsBlockReader, PageId pageId, long pageIndex,
+      ByteBuffer buffer) throws IOException {
+    UfsBlockReadOptions options = ufsBlockReader.getUfsReadOptions();
+    PageRange range = new PageRange(options.getUfsPath(),
+        options.getOffsetInFile() + pageIndex * mPageSize, mPageSize);
+    PageRead newRead = new PageRead(options.isCacheIntoAlluxio());
+    PageRead read = mReads.compute(range, (key, existing) -> {
+      if (existing == null) {
+        return newRead;
+      }
+      existing.mWaiters.incrementAndGet();
+      return existing;
+    });
+    if (read == newRead) {
+      return readAndCache(ufsBlockReader, pageId, pageIndex, buffer, range, read);
+    }
+
+    MetricsSystem.counter(MetricKey.WORKER_UFS_PAGE_READS_COALESCED.getName()).inc();
+    ByteBuffer page;
+    try {
+      page = read.mResult.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(
+          String.format("Interrupted while waiting for page %s to be read", pageId));
+    } catch (ExecutionException e) {
+      Throwables.propagateIfPossible(e.getCause(), IOException.class);
+      throw new IOException(e.getCause());
+    }
+    if (page == null) {
+      return -1;
+    }
+    int bytesRead = page.remaining();
+    if (options.isCacheIntoAlluxio() && !read.mCache && bytesRead > 0) {
+      mCacheManager.put(pageId, page.duplicate());
+    }
+    buffer.put(page.duplicate());
+    return bytesRead;
+  }
+
+  /**
+   * @return the number of reads of pages in progress
+   */
+  int getReadsInProgress() {
+    return mReads.size();
+  }
+
+  private int readAndCache(PagedUfsBlockReader ufsBlockReader, PageId pageId, long pageIndex,
+      ByteBuffer buffer, PageRange range, PageRead read) throws IOException {
+    int start = buffer.position();
+    int bytesRead;
+    try {
+      bytesRead = ufsBlockReader.readPageAtIndex(buffer, pageIndex);
+      if (bytesRead > 0 && read.mCache) {
+        ByteBuffer page = buffer.duplicate();
+        page.position(start);
+        page.limit(start + bytesRead);
+        mCacheManager.put(pageId, page);
+      }
+    } catch (Throwable t) {
+      mReads.remove(range, read);
+      read.mResult.completeExceptionally(t);
+      throw t;
+    }
+    // the page is cached before the read is removed, so that later reads find it in the cache,
+    // and no reads join once it is removed
+    mReads.remove(range, read);
+    if (read.mWaiters.get() == 0 || bytesRead < 0) {
+      read.mResult.complete(null);
+    } else {
+      ByteBuffer page = buffer.duplicate();
+      page.position(start);
+      page.limit(start + bytesRead);
+      ByteBuffer copy = ByteBuffer.allocate(bytesRead);
+      copy.put(page);
+      copy.flip();
+      read.mResult.complete(copy.asReadOnlyBuffer());
+    }
+    return bytesRead;
+  }
+
+  /**
+   * A read of a page in progress.
+   */
+  private static final class PageRead {
+    /** Whether the page is cached once it is read. */
+    private final boolean mCache;
+    /** The number of reads waiting for this read. */
+    private final AtomicInteger mWaiters = new AtomicInteger();
+    /** The page, or null when the read reached the end of the block. */
+    private final CompletableFuture<ByteBuffer> mResult = new CompletableFuture<>();
+
+    private PageRead(boolean cache) {
+      mCache = cache;
+    }
+  }
+
+  /**
+   * The range of a page in a file of the under storage.
+   */
+  private static final class PageRange {
+    private final String mUfsPath;
+    private final long mOffset;
+    private final long mLength;
+
+    private PageRange(String ufsPath, long offset, long length) {
+      mUfsPath = ufsPath;
+      mOffset = offset;
+      mLength = length;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof PageRange)) {
+        return false;
+      }
+      PageRange that = (PageRange) o;
+      return mOffset == that.mOffset && mLength == that.mLength
+          && mUfsPath.equals(that.mUfsPath);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(mUfsPath, mOffset, mLength);
+    }
+  }
+}
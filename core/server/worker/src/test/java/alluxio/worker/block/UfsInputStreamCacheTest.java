@@ -101,6 +101,25 @@ public final class UfsInputStreamCacheTest {
     verify(mockedStream).seek(4);
   }
 
+  @Test
+  public void reuseClosestStream() throws Exception {
+    when(mSeekableInStreams[0].getPos()).thenReturn(100L);
+    when(mSeekableInStreams[1].getPos()).thenReturn(200L);
+    InputStream instream1 =
+        mManager.acquire(mUfs, FILE_NAME, FILE_ID, OpenOptions.defaults().setOffset(0));
+    InputStream instream2 =
+        mManager.acquire(mUfs, FILE_NAME, FILE_ID, OpenOptions.defaults().setOffset(0));
+    mManager.release(instream1);
+    mManager.release(instream2);
+
+    // the stream positioned closest before the offset is reused, whatever the order of release
+    Assert.assertEquals(instream2,
+        mManager.acquire(mUfs, FILE_NAME, FILE_ID, OpenOptions.defaults().setOffset(250)));
+    Assert.assertEquals(instream1,
+        mManager.acquire(mUfs, FILE_NAME, FILE_ID, OpenOptions.defaults().setOffset(150)));
+    verify(mUfs, times(2)).openExistingFile(eq(FILE_NAME), any(OpenOptions.class));
+  }
+
   @Test
   public void multipleCheckIn() throws Exception {
     mManager.acquire(mUfs, FILE_NAME, FILE_ID, OpenOptions.defaults().setOffset(2));
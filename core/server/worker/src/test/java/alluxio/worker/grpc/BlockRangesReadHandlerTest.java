@@ -0,0 +1,170 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.grpc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+import alluxio.grpc.BlockRange;
+import alluxio.grpc.ReadBlockRangesRequest;
+import alluxio.grpc.ReadBlockRangesResponse;
+import alluxio.util.io.BufferUtils;
+import alluxio.worker.block.DefaultBlockWorker;
+import alluxio.worker.block.io.LocalFileBlockReader;
+
+import io.grpc.Status;
+import io.grpc.StatusException;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for {@link BlockRangesReadHandler}.
+ */
+public final class BlockRangesReadHandlerTest {
+  private static final int FILE_SIZE = 1024 * 1024;
+
+  private final List<ReadBlockRangesResponse> mResponses = new ArrayList<>();
+  private ServerCallStreamObserver<ReadBlockRangesResponse> mResponseObserver;
+  private boolean mReady = true;
+  private boolean mCompleted;
+  private Throwable mError;
+  private DefaultBlockWorker mBlockWorker;
+  private byte[] mData;
+
+  @Rule
+  public TemporaryFolder mTestFolder = new TemporaryFolder();
+
+  @Before
+  public void before() throws Exception {
+    File file = mTestFolder.newFile();
+    mData = BufferUtils.getIncreasingByteArray(FILE_SIZE);
+    try (FileOutputStream out = new FileOutputStream(file)) {
+      out.write(mData);
+    }
+    mResponseObserver = Mockito.mock(ServerCallStreamObserver.class);
+    Mockito.when(mResponseObserver.isReady()).thenAnswer(args -> mReady);
+    doAnswer(args -> {
+      mResponses.add(ReadBlockRangesResponse.parseFrom(
+          args.getArgument(0, ReadBlockRangesResponse.class).toByteString()));
+      return null;
+    }).when(mResponseObserver).onNext(any(ReadBlockRangesResponse.class));
+    doAnswer(args -> {
+      mCompleted = true;
+      return null;
+    }).when(mResponseObserver).onCompleted();
+    doAnswer(args -> {
+      mError = args.getArgument(0, Throwable.class);
+      return null;
+    }).when(mResponseObserver).onError(any(Throwable.class));
+    mBlockWorker = Mockito.mock(DefaultBlockWorker.class);
+    Mockito.when(mBlockWorker
+            .createBlockReader(anyLong(), anyLong(), anyLong(), anyBoolean(), any()))
+        .thenAnswer(args -> new LocalFileBlockReader(file.getPath()));
+  }
+
+  /**
+   * Reads several ranges of a block and checks every requested byte is returned.
+   */
+  @Test
+  public void readRanges() {
+    long[][] ranges = {{10, 100}, {5000, 200}, {150, 50}, {FILE_SIZE - 10, 100}};
+    run(ranges, 64 * 1024);
+    assertTrue(mCompleted);
+    assertNull(mError);
+    for (long[] range : ranges) {
+      long end = Math.min(range[0] + range[1], FILE_SIZE);
+      byte[] expected = Arrays.copyOfRange(mData, (int) range[0], (int) end);
+      assertArrayEquals(expected, collect(range[0], end));
+    }
+  }
+
+  /**
+   * Ranges close to each other are served as one contiguous read.
+   */
+  @Test
+  public void coalesceNearbyRanges() {
+    run(new long[][] {{0, 100}, {200, 100}}, 64 * 1024);
+    assertTrue(mCompleted);
+    assertEquals(1, mResponses.size());
+    assertEquals(0, mResponses.get(0).getOffset());
+    assertEquals(300, mResponses.get(0).getChunk().getData().size());
+  }
+
+  /**
+   * A request with an invalid range fails with invalid argument.
+   */
+  @Test
+  public void invalidRange() {
+    run(new long[][] {{-1, 100}}, 64 * 1024);
+    assertEquals(Status.Code.INVALID_ARGUMENT,
+        ((StatusException) mError).getStatus().getCode());
+  }
+
+  /**
+   * No chunk is sent while the response stream is not ready.
+   */
+  @Test
+  public void waitForReadyStream() {
+    mReady = false;
+    run(new long[][] {{0, 1000}}, 100);
+    assertEquals(0, mResponses.size());
+
+    ArgumentCaptor<Runnable> onReady = ArgumentCaptor.forClass(Runnable.class);
+    Mockito.verify(mResponseObserver).setOnReadyHandler(onReady.capture());
+    mReady = true;
+    onReady.getValue().run();
+    assertTrue(mCompleted);
+    assertEquals(10, mResponses.size());
+    assertArrayEquals(Arrays.copyOfRange(mData, 0, 1000), collect(0, 1000));
+  }
+
+  private void run(long[][] ranges, long chunkSize) {
+    ReadBlockRangesRequest.Builder request =
+        ReadBlockRangesRequest.newBuilder().setBlockId(1L).setChunkSize(chunkSize);
+    for (long[] range : ranges) {
+      request.addRanges(BlockRange.newBuilder().setOffset(range[0]).setLength(range[1]));
+    }
+    new BlockRangesReadHandler((ioClass, cost, task) -> task.run(), IoScheduler.DEFAULT_IO_CLASS,
+        mBlockWorker, request.build(), mResponseObserver, false).start();
+  }
+
+  private byte[] collect(long start, long end) {
+    byte[] result = new byte[(int) (end - start)];
+    for (ReadBlockRangesResponse response : mResponses) {
+      byte[] chunk = response.getChunk().getData().toByteArray();
+      long from = Math.max(start, response.getOffset());
+      long to = Math.min(end, response.getOffset() + chunk.length);
+      if (from < to) {
+        System.arraycopy(chunk, (int) (from - response.getOffset()), result,
+            (int) (from - start), (int) (to - from));
+      }
+    }
+    return result;
+  }
+}
@@ -19,24 +19,30 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 
+import alluxio.ConfigurationRule;
 import alluxio.Constants;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.grpc.ReadRequest;
 import alluxio.grpc.ReadResponse;
+import alluxio.security.authentication.AuthenticatedUserInfo;
 import alluxio.util.CommonUtils;
 import alluxio.util.WaitForOptions;
 import alluxio.util.io.BufferUtils;
 import alluxio.worker.block.DefaultBlockWorker;
+import alluxio.worker.block.io.AsyncBlockReadEngine;
 import alluxio.worker.block.io.BlockReader;
 import alluxio.worker.block.io.LocalFileBlockReader;
+import alluxio.worker.block.io.NioAsyncBlockReadEngine;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.protobuf.ByteString;
 import io.grpc.Status;
 import io.grpc.StatusException;
 import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import io.netty.util.ResourceLeakDetector;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -70,10 +76,16 @@ public class BlockReadHandlerTest {
   private Throwable mError;
   private BlockReader mBlockReader;
   private File mFile;
+  private DefaultBlockWorker mBlockWorker;
+  private AsyncBlockReadEngine mAsyncReadEngine;
 
   @Rule
   public TemporaryFolder mTestFolder = new TemporaryFolder();
 
+  @Rule
+  public ConfigurationRule mConfRule =
+      new ConfigurationRule(ImmutableMap.of(), Configuration.modifiableGlobal());
+
   @Before
   public void before() throws Exception {
     ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.ADVANCED);
@@ -97,16 +109,23 @@ public class BlockReadHandlerTest {
           args.getArgument(0, ReadResponse.class).toByteString()));
       return null;
     }).when(mResponseObserver).onNext(any(ReadResponse.class));
-    DefaultBlockWorker blockWorker = Mockito.mock(DefaultBlockWorker.class);
-    Mockito.when(blockWorker
+    mBlockWorker = Mockito.mock(DefaultBlockWorker.class);
+    Mockito.when(mBlockWorker
             .createBlockReader(anyLong(), anyLong(), anyLong(), anyBoolean(), any()))
         .thenAnswer((Answer<BlockReader>) invocationOnMock -> {
           long offset = invocationOnMock.getArgument(2);
           ((FileChannel) mBlockReader.getChannel()).position(offset);
           return mBlockReader;
         });
-    mReadHandler = new BlockReadHandler(GrpcExecutors.BLOCK_READER_EXECUTOR, blockWorker,
-        mResponseObserver, false);
+    mReadHandler = new BlockReadHandler(GrpcExecutors.BLOCK_READER_SCHEDULER, mBlockWorker,
+        mResponseObserver, new AuthenticatedUserInfo(), false);
+  }
+
+  @After
+  public void after() throws Exception {
+    if (mAsyncReadEngine != null) {
+      mAsyncReadEngine.close();
+    }
   }
 
   /**
@@ -131,6 +150,63 @@ public class BlockReadHandlerTest {
     checkAllReadResponses(mResponses, checksumExpected);
   }
 
+  /**
+   * Reads all bytes of a file through the asynchronous read engine.
+   */
+  @Test
+  public void readFullFileAsync() throws Exception {
+    long checksumExpected = populateInputFile(CHUNK_SIZE * 10, 0, CHUNK_SIZE * 10 - 1);
+    useAsyncReads();
+    mReadHandler.onNext(buildReadRequest(0, CHUNK_SIZE * 10));
+    checkAllReadResponses(mResponses, checksumExpected);
+  }
+
+  /**
+   * Reads a sub-region of a file through the asynchronous read engine, with a request exceeding
+   * the length of the file.
+   */
+  @Test
+  public void readPartialFileAsync() throws Exception {
+    long start = 3;
+    long end = CHUNK_SIZE * 10 - 99;
+    long checksumExpected = populateInputFile(end + 1, start, end);
+    useAsyncReads();
+    mReadHandler.onNext(buildReadRequest(start, CHUNK_SIZE * 10));
+    checkAllReadResponses(mResponses, checksumExpected);
+  }
+
+  /**
+   * Reads a file with adaptive chunk sizing, the chunk size grows up to the requested size.
+   */
+  @Test
+  public void readFileAdaptiveChunkSize() throws Exception {
+    long checksumExpected = populateInputFile(CHUNK_SIZE * 10, 0, CHUNK_SIZE * 10 - 1);
+    mReadHandler.onNext(buildReadRequest(0, CHUNK_SIZE * 10).toBuilder()
+        .setAdaptiveChunkSize(true).build());
+    checkAllReadResponses(mResponses, checksumExpected);
+    assertTrue(mResponses.get(0).getChunk().getData().size() < CHUNK_SIZE);
+    assertEquals(CHUNK_SIZE, mResponses.stream()
+        .mapToInt(response -> response.getChunk().getData().size()).max().getAsInt());
+  }
+
+  /**
+   * Reads a file with a flow control window granted by the client.
+   */
+  @Test
+  public void readFileWithWindow() throws Exception {
+    long checksumExpected = populateInputFile(CHUNK_SIZE * 10, 0, CHUNK_SIZE * 10 - 1);
+    Mockito.when(mResponseObserver.isReady()).thenReturn(false);
+    mReadHandler.onNext(buildReadRequest(0, CHUNK_SIZE * 10));
+    for (long received = CHUNK_SIZE; received <= CHUNK_SIZE * 10; received += CHUNK_SIZE) {
+      long pos = received;
+      CommonUtils.waitFor("chunk", () -> mResponses.size() * CHUNK_SIZE >= pos,
+          WaitForOptions.defaults().setTimeoutMs(Constants.MINUTE_MS));
+      mReadHandler.onNext(buildReadRequest(0, CHUNK_SIZE * 10).toBuilder()
+          .setOffsetReceived(received).setWindowSize(CHUNK_SIZE).build());
+    }
+    checkAllReadResponses(mResponses, checksumExpected);
+  }
+
   /**
    * Fails if the read request tries to read an empty file.
    */
@@ -177,6 +253,29 @@ public class BlockReadHandlerTest {
     checkErrorCode(mResponseObserver, Status.Code.FAILED_PRECONDITION);
   }
 
+  @Test
+  public void readFailureAsync() throws Exception {
+    long fileSize = CHUNK_SIZE * 10 + 1;
+    populateInputFile(fileSize, 0, fileSize - 1);
+    useAsyncReads();
+    mBlockReader.close();
+    mReadHandler.onNext(buildReadRequest(0, fileSize));
+    checkErrorCode(mResponseObserver, Status.Code.FAILED_PRECONDITION);
+  }
+
+  /**
+   * Reopens the block reader on the populated file, and recreates the read handler with
+   * asynchronous reads enabled.
+   */
+  private void useAsyncReads() throws Exception {
+    mBlockReader.close();
+    mBlockReader = new LocalFileBlockReader(mFile.getPath());
+    mAsyncReadEngine = new NioAsyncBlockReadEngine(Configuration.global());
+    Mockito.when(mBlockWorker.getAsyncReadEngine()).thenReturn(mAsyncReadEngine);
+    mReadHandler = new BlockReadHandler(GrpcExecutors.BLOCK_READER_SCHEDULER, mBlockWorker,
+        mResponseObserver, new AuthenticatedUserInfo(), false);
+  }
+
   /**
    * Populates the input file, also computes the checksum for part of the file.
    *
@@ -11,16 +11,35 @@
 
 package alluxio.worker.grpc;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import alluxio.client.block.stream.BlockWorkerClient;
+import alluxio.client.file.FileSystemContext;
+import alluxio.conf.Configuration;
+import alluxio.grpc.GrpcUtils;
 import alluxio.grpc.RequestType;
+import alluxio.grpc.WriteRequest;
+import alluxio.grpc.WriteRequestCommand;
+import alluxio.grpc.WriteResponse;
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.resource.CloseableResource;
 import alluxio.util.CommonUtils;
+import alluxio.util.io.BufferUtils;
+import alluxio.wire.WorkerNetAddress;
 import alluxio.worker.block.BlockWorker;
 import alluxio.worker.block.NoopBlockWorker;
 import alluxio.worker.block.io.BlockWriter;
 import alluxio.worker.block.io.LocalFileBlockWriter;
 
 import io.grpc.Status;
+import io.grpc.stub.ClientCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import org.junit.Before;
 import org.junit.Test;
@@ -70,6 +89,172 @@ public final class BlockWriteHandlerTest extends AbstractWriteHandlerTest {
     assertTrue(mWriteHandler.getLocation().startsWith("temp-block-"));
   }
 
+  @Test
+  public void forwardToPipeline() throws Exception {
+    FakeDownstreamWorker downstream = new FakeDownstreamWorker(false);
+    mWriteHandler = new BlockWriteHandler(mBlockWorker, mResponseObserver, mUserInfo, false,
+        downstream.createContext());
+    WorkerNetAddress next = new WorkerNetAddress().setHost("next");
+    WorkerNetAddress last = new WorkerNetAddress().setHost("last");
+    mWriteHandler.write(WriteRequest.newBuilder().setCommand(WriteRequestCommand.newBuilder()
+        .setId(TEST_BLOCK_ID).setOffset(0).setType(RequestType.ALLUXIO_BLOCK)
+        .addPipeline(GrpcUtils.toProto(next)).addPipeline(GrpcUtils.toProto(last))).build());
+    long checksum = 0;
+    for (int i = 0; i < 16; i++) {
+      DataBuffer dataBuffer = newDataBuffer(CHUNK_SIZE);
+      checksum += getChecksum(dataBuffer);
+      mWriteHandler.write(newWriteRequest(dataBuffer));
+    }
+    mWriteHandler.onCompleted();
+    waitForResponses();
+    checkComplete(mResponseObserver);
+    checkWriteData(checksum, 16 * CHUNK_SIZE);
+
+    assertEquals(next.getHost(), downstream.mAddress.getHost());
+    WriteRequestCommand forwarded = downstream.mCommand;
+    assertEquals(TEST_BLOCK_ID, forwarded.getId());
+    assertEquals(1, forwarded.getPipelineCount());
+    assertEquals(last.getHost(), forwarded.getPipeline(0).getHost());
+    assertEquals(checksum, downstream.mChecksum);
+    assertTrue(downstream.mCompleted);
+  }
+
+  @Test
+  public void dropFailedWorkerBeyondQuorum() throws Exception {
+    FakeDownstreamWorker downstream = new FakeDownstreamWorker(true);
+    mWriteHandler = new BlockWriteHandler(mBlockWorker, mResponseObserver, mUserInfo, false,
+        downstream.createContext());
+    mWriteHandler.write(WriteRequest.newBuilder().setCommand(WriteRequestCommand.newBuilder()
+        .setId(TEST_BLOCK_ID).setOffset(0).setType(RequestType.ALLUXIO_BLOCK)
+        .addPipeline(GrpcUtils.toProto(new WorkerNetAddress().setHost("next")))
+        .setPipelineMinReplicas(1)).build());
+    DataBuffer dataBuffer = newDataBuffer(CHUNK_SIZE);
+    long checksum = getChecksum(dataBuffer);
+    mWriteHandler.write(newWriteRequest(dataBuffer));
+    mWriteHandler.write(WriteRequest.newBuilder().setCommand(WriteRequestCommand.newBuilder()
+        .setId(TEST_BLOCK_ID).setOffset(CHUNK_SIZE).setType(RequestType.ALLUXIO_BLOCK)
+        .setFlush(true)).build());
+    mWriteHandler.onCompleted();
+    waitForResponses();
+    assertNull(mError);
+    checkComplete(mResponseObserver);
+    checkWriteData(checksum, CHUNK_SIZE);
+    assertEquals(1, mResponses.size());
+    assertEquals(CHUNK_SIZE, mResponses.get(0).getOffset());
+    assertFalse(downstream.mCompleted);
+  }
+
+  @Test
+  public void failWithRequiredWorker() throws Exception {
+    FakeDownstreamWorker downstream = new FakeDownstreamWorker(true);
+    mWriteHandler = new BlockWriteHandler(mBlockWorker, mResponseObserver, mUserInfo, false,
+        downstream.createContext());
+    mWriteHandler.write(WriteRequest.newBuilder().setCommand(WriteRequestCommand.newBuilder()
+        .setId(TEST_BLOCK_ID).setOffset(0).setType(RequestType.ALLUXIO_BLOCK)
+        .addPipeline(GrpcUtils.toProto(new WorkerNetAddress().setHost("next")))).build());
+    mWriteHandler.write(newWriteRequest(newDataBuffer(CHUNK_SIZE)));
+    mWriteHandler.onCompleted();
+    waitForResponses();
+    assertNotNull(mError);
+    assertFalse(downstream.mCompleted);
+  }
+
+  /**
+   * A worker receiving the blocks forwarded by the handler under test, which acknowledges
+   * flushes and completion, or fails the write at the first chunk.
+   */
+  private static final class FakeDownstreamWorker {
+    private final boolean mFailing;
+    private volatile WorkerNetAddress mAddress;
+    private volatile WriteRequestCommand mCommand;
+    private volatile long mChecksum;
+    private volatile long mPos;
+    private volatile boolean mCompleted;
+
+    private FakeDownstreamWorker(boolean failing) {
+      mFailing = failing;
+    }
+
+    private FileSystemContext createContext() throws IOException {
+      BlockWorkerClient client = mock(BlockWorkerClient.class);
+      when(client.writeBlock(any())).thenAnswer(invocation -> new ForwardedWrite(
+          (StreamObserver<WriteResponse>) invocation.getArguments()[0]));
+      FileSystemContext context = mock(FileSystemContext.class);
+      when(context.getClusterConf()).thenReturn(Configuration.global());
+      when(context.acquireBlockWorkerClient(any())).thenAnswer(invocation -> {
+        mAddress = (WorkerNetAddress) invocation.getArguments()[0];
+        return new CloseableResource<BlockWorkerClient>(client) {
+          @Override
+          public void closeResource() {}
+        };
+      });
+      return context;
+    }
+
+    private final class ForwardedWrite extends ClientCallStreamObserver<WriteRequest> {
+      private final StreamObserver<WriteResponse> mResponses;
+      private boolean mFailed;
+
+      private ForwardedWrite(StreamObserver<WriteResponse> responses) {
+        mResponses = responses;
+      }
+
+      @Override
+      public void onNext(WriteRequest request) {
+        if (mFailed) {
+          return;
+        }
+        if (request.hasChunk()) {
+          if (mFailing) {
+            mFailed = true;
+            mResponses.onError(Status.UNAVAILABLE.asRuntimeException());
+            return;
+          }
+          byte[] data = request.getChunk().getData().toByteArray();
+          for (byte b : data) {
+            mChecksum += BufferUtils.byteToInt(b);
+          }
+          mPos += data.length;
+        } else if (request.getCommand().getFlush()) {
+          mResponses.onNext(WriteResponse.newBuilder().setOffset(mPos).build());
+        } else {
+          mCommand = request.getCommand();
+        }
+      }
+
+      @Override
+      public void onError(Throwable t) {}
+
+      @Override
+      public void onCompleted() {
+        if (!mFailed) {
+          mCompleted = true;
+          mResponses.onCompleted();
+        }
+      }
+
+      @Override
+      public void cancel(String message, Throwable cause) {}
+
+      @Override
+      public boolean isReady() {
+        return true;
+      }
+
+      @Override
+      public void setOnReadyHandler(Runnable onReadyHandler) {}
+
+      @Override
+      public void disableAutoInboundFlowControl() {}
+
+      @Override
+      public void request(int count) {}
+
+      @Override
+      public void setMessageCompression(boolean enable) {}
+    }
+  }
+
   @Override
   protected RequestType getWriteRequestType() {
     return RequestType.ALLUXIO_BLOCK;
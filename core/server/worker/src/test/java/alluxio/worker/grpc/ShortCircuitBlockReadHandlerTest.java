@@ -18,16 +18,20 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import alluxio.ConfigurationRule;
+import alluxio.client.block.stream.MappedFileDataReader;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
+import alluxio.exception.status.NotFoundException;
 import alluxio.grpc.OpenLocalBlockRequest;
 import alluxio.grpc.OpenLocalBlockResponse;
 import alluxio.underfs.UfsManager;
 import alluxio.util.io.PathUtils;
+import alluxio.util.network.NettyUtils;
 import alluxio.worker.block.BlockMasterClient;
 import alluxio.worker.block.BlockMasterClientPool;
 import alluxio.worker.block.BlockStore;
@@ -42,6 +46,7 @@ import com.google.common.collect.ImmutableMap;
 import io.grpc.Status;
 import io.grpc.StatusException;
 import io.grpc.stub.StreamObserver;
+import io.netty.channel.unix.FileDescriptor;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -222,6 +227,34 @@ public class ShortCircuitBlockReadHandlerTest {
     mBlockStore.removeBlock(anotherSessionId, BLOCK_ID);
   }
 
+  @Test(timeout = 10000)
+  public void passFileDescriptor() throws Exception {
+    assumeTrue(NettyUtils.isNettyEpollAvailable() && ShortCircuitFdServer.isSupported());
+    createLocalBlock(SESSION_ID, BLOCK_ID, FIRST_TIER);
+
+    try (ShortCircuitFdServer fdServer =
+        new ShortCircuitFdServer(new File(mFolder.getRoot(), "fd.sock").getPath())) {
+      ShortCircuitBlockReadHandler handler =
+          new ShortCircuitBlockReadHandler(mBlockStore, mResponseObserver, fdServer);
+      handler.onNext(OpenLocalBlockRequest.newBuilder()
+          .setBlockId(BLOCK_ID).setPromote(false).setPassFd(true).build());
+
+      // the response carries a lease on the descriptor of the block file
+      assertNull(mResponseObserver.getError());
+      OpenLocalBlockResponse response = mResponseObserver.getResponses().get(0);
+      assertTrue(response.hasLeaseId());
+      assertEquals(fdServer.getSocketPath(), response.getFdSocketPath());
+      FileDescriptor fd = MappedFileDataReader.receiveFileDescriptor(
+          response.getFdSocketPath(), response.getLeaseId(), 5000);
+      fd.close();
+
+      // the lease ends with the stream
+      handler.onCompleted();
+      assertThrows(NotFoundException.class, () -> MappedFileDataReader.receiveFileDescriptor(
+          response.getFdSocketPath(), response.getLeaseId(), 5000));
+    }
+  }
+
   private static OpenLocalBlockRequest createRequest(long blockId, boolean promote) {
     return OpenLocalBlockRequest.newBuilder().setBlockId(blockId).setPromote(promote).build();
   }
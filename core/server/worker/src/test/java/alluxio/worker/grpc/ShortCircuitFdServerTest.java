@@ -0,0 +1,92 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.grpc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assume.assumeTrue;
+
+import alluxio.client.block.stream.MappedFileDataReader;
+import alluxio.exception.status.NotFoundException;
+import alluxio.util.io.BufferUtils;
+import alluxio.util.network.NettyUtils;
+
+import io.netty.channel.unix.FileDescriptor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+/**
+ * Unit tests for {@link ShortCircuitFdServer}.
+ */
+public final class ShortCircuitFdServerTest {
+  private static final long TIMEOUT_MS = 10000;
+  private static final byte[] DATA = BufferUtils.getIncreasingByteArray(1024);
+
+  @Rule
+  public TemporaryFolder mFolder = new TemporaryFolder();
+
+  private ShortCircuitFdServer mServer;
+  private File mBlockFile;
+
+  @Before
+  public void before() throws Exception {
+    assumeTrue(NettyUtils.isNettyEpollAvailable() && ShortCircuitFdServer.isSupported());
+    mServer = new ShortCircuitFdServer(new File(mFolder.getRoot(), "fd.sock").getPath());
+    mBlockFile = mFolder.newFile();
+    Files.write(mBlockFile.toPath(), DATA);
+  }
+
+  @After
+  public void after() {
+    if (mServer != null) {
+      mServer.close();
+    }
+  }
+
+  @Test
+  public void passDescriptor() throws Exception {
+    long leaseId = mServer.grantLease(mBlockFile.getPath());
+    FileDescriptor fd = MappedFileDataReader.receiveFileDescriptor(
+        mServer.getSocketPath(), leaseId, TIMEOUT_MS);
+    // the descriptor stays usable without the path of the file
+    byte[] original = Files.readAllBytes(mBlockFile.toPath());
+    Files.delete(mBlockFile.toPath());
+    ByteBuffer mapping = MappedFileDataReader.map(fd);
+    byte[] bytes = new byte[mapping.remaining()];
+    mapping.get(bytes);
+    assertArrayEquals(DATA, bytes);
+    // the block file is left as it is
+    assertArrayEquals(DATA, original);
+  }
+
+  @Test
+  public void unknownLease() {
+    long leaseId = mServer.grantLease(mBlockFile.getPath());
+    assertThrows(NotFoundException.class, () -> MappedFileDataReader.receiveFileDescriptor(
+        mServer.getSocketPath(), leaseId + 1, TIMEOUT_MS));
+  }
+
+  @Test
+  public void releasedLease() {
+    long leaseId = mServer.grantLease(mBlockFile.getPath());
+    mServer.releaseLease(leaseId);
+    assertThrows(NotFoundException.class, () -> MappedFileDataReader.receiveFileDescriptor(
+        mServer.getSocketPath(), leaseId, TIMEOUT_MS));
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.grpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.security.authentication.AuthenticatedUserInfo;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Unit tests for {@link WeightedFairIoScheduler}.
+ */
+public final class WeightedFairIoSchedulerTest {
+  private final List<String> mCompleted = Collections.synchronizedList(new ArrayList<>());
+  private InstancedConfiguration mConf;
+  private ExecutorService mExecutor;
+
+  @Before
+  public void before() {
+    mConf = Configuration.copyGlobal();
+    mConf.set(PropertyKey.WORKER_IO_SCHEDULER_CONCURRENCY, 1);
+    mExecutor = Executors.newFixedThreadPool(4);
+  }
+
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  /**
+   * Backlogged classes are served in proportion to their weights.
+   */
+  @Test
+  public void weightedShares() throws Exception {
+    mConf.set(PropertyKey.WORKER_IO_SCHEDULER_WEIGHTS, "light=1,heavy=3");
+    WeightedFairIoScheduler scheduler = new WeightedFairIoScheduler(mExecutor, mConf);
+    CountDownLatch blocker = block(scheduler);
+    for (int i = 0; i < 4; i++) {
+      scheduler.execute("light", 100, record("light"));
+      scheduler.execute("heavy", 100, record("heavy"));
+    }
+    blocker.countDown();
+    waitForCompleted(8);
+    assertEquals(3, Collections.frequency(mCompleted.subList(0, 4), "heavy"));
+  }
+
+  /**
+   * A class over its rate limit is held back while other classes keep running.
+   */
+  @Test
+  public void rateLimit() throws Exception {
+    mConf.set(PropertyKey.WORKER_IO_SCHEDULER_CONCURRENCY, 4);
+    mConf.set(PropertyKey.WORKER_IO_SCHEDULER_IOPS_LIMITS, "limited=2");
+    WeightedFairIoScheduler scheduler = new WeightedFairIoScheduler(mExecutor, mConf);
+    for (int i = 0; i < 3; i++) {
+      scheduler.execute("limited", 100, record("limited"));
+    }
+    scheduler.execute("other", 100, record("other"));
+    waitForCompleted(3);
+    assertEquals(1, scheduler.getQueuedTasks("limited"));
+    assertTrue(mCompleted.contains("other"));
+    waitForCompleted(4);
+    assertEquals(0, scheduler.getQueuedTasks("limited"));
+  }
+
+  /**
+   * Requests run in the class of their user if it is configured, else in the configured class
+   * they tag, else in the default class.
+   */
+  @Test
+  public void ioClass() {
+    mConf.set(PropertyKey.WORKER_IO_SCHEDULER_WEIGHTS, "interactive=8,etl=1");
+    mConf.set(PropertyKey.WORKER_IO_SCHEDULER_IOPS_LIMITS, "alice=10");
+    WeightedFairIoScheduler scheduler = new WeightedFairIoScheduler(mExecutor, mConf);
+    AuthenticatedUserInfo alice = new AuthenticatedUserInfo("alice");
+    AuthenticatedUserInfo bob = new AuthenticatedUserInfo("bob");
+    assertEquals("alice", scheduler.getIoClass("interactive", alice));
+    assertEquals("interactive", scheduler.getIoClass("interactive", bob));
+    assertEquals(IoScheduler.DEFAULT_IO_CLASS, scheduler.getIoClass("unknown", bob));
+    assertEquals(IoScheduler.DEFAULT_IO_CLASS, scheduler.getIoClass(null, bob));
+    assertEquals("etl", scheduler.getIoClass("etl", null));
+  }
+
+  /**
+   * Occupies the only slot of the scheduler until the returned latch is released.
+   */
+  private CountDownLatch block(WeightedFairIoScheduler scheduler) {
+    CountDownLatch latch = new CountDownLatch(1);
+    scheduler.execute("blocker", 1, () -> {
+      try {
+        latch.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    return latch;
+  }
+
+  private Runnable record(String ioClass) {
+    return () -> mCompleted.add(ioClass);
+  }
+
+  private void waitForCompleted(int count) throws Exception {
+    CommonUtils.waitFor("tasks to complete", () -> mCompleted.size() >= count,
+        WaitForOptions.defaults().setTimeoutMs(10000));
+  }
+}
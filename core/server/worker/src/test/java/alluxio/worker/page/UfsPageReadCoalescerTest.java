@@ -0,0 +1,159 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.page;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Unit tests for {@link UfsPageReadCoalescer}.
+ */
+public final class UfsPageReadCoalescerTest {
+  private static final int PAGE_SIZE = 1024;
+  private static final int READERS = 8;
+  private static final PageId PAGE_ID = new BlockPageId(1L, 2L, 10L * PAGE_SIZE);
+
+  private final CountDownLatch mUfsReadStarted = new CountDownLatch(1);
+  private final CountDownLatch mUfsReadAllowed = new CountDownLatch(1);
+  private ByteArrayCacheManager mCacheManager;
+  private UfsPageReadCoalescer mCoalescer;
+  private PagedUfsBlockReader mUfsBlockReader;
+
+  @Before
+  public void before() {
+    mCacheManager = new ByteArrayCacheManager();
+    mCoalescer = new UfsPageReadCoalescer(mCacheManager, PAGE_SIZE);
+    mUfsBlockReader = mock(PagedUfsBlockReader.class);
+    when(mUfsBlockReader.getUfsReadOptions())
+        .thenReturn(new UfsBlockReadOptions(1L, 0L, "s3://bucket/file", true));
+  }
+
+  /**
+   * Concurrent reads of a page read it from the under storage and cache it once.
+   */
+  @Test
+  public void coalesceConcurrentReads() throws Exception {
+    when(mUfsBlockReader.readPageAtIndex(any(ByteBuffer.class), anyLong())).thenAnswer(
+        invocation -> {
+          mUfsReadStarted.countDown();
+          mUfsReadAllowed.await();
+          ByteBuffer buffer = invocation.getArgument(0);
+          buffer.put(BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+          return PAGE_SIZE;
+        });
+    long coalesced = coalescedReads();
+    ExecutorService executor = Executors.newFixedThreadPool(READERS);
+    try {
+      List<Future<ByteBuffer>> reads = new ArrayList<>();
+      reads.add(executor.submit(this::readPage));
+      mUfsReadStarted.await();
+      for (int i = 1; i < READERS; i++) {
+        reads.add(executor.submit(this::readPage));
+      }
+      CommonUtils.waitFor("reads to join the read in progress",
+          () -> coalescedReads() - coalesced == READERS - 1, WaitForOptions.defaults());
+      mUfsReadAllowed.countDown();
+      for (Future<ByteBuffer> read : reads) {
+        ByteBuffer page = read.get();
+        assertTrue(BufferUtils.equalIncreasingByteBuffer(0, PAGE_SIZE, page));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    verify(mUfsBlockReader, times(1)).readPageAtIndex(any(ByteBuffer.class), anyLong());
+    assertEquals(1, mCacheManager.mPagesCached);
+    assertEquals(0, mCoalescer.getReadsInProgress());
+  }
+
+  /**
+   * A failed read fails the reads waiting for it, and the page is read again afterwards.
+   */
+  @Test
+  public void failedRead() throws Exception {
+    when(mUfsBlockReader.readPageAtIndex(any(ByteBuffer.class), anyLong())).thenAnswer(
+        invocation -> {
+          mUfsReadStarted.countDown();
+          mUfsReadAllowed.await();
+          throw new IOException("SlowDown");
+        });
+    long coalesced = coalescedReads();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<ByteBuffer> first = executor.submit(this::readPage);
+      mUfsReadStarted.await();
+      Future<ByteBuffer> second = executor.submit(this::readPage);
+      CommonUtils.waitFor("a read to join the read in progress",
+          () -> coalescedReads() - coalesced == 1, WaitForOptions.defaults());
+      mUfsReadAllowed.countDown();
+      for (Future<ByteBuffer> read : Arrays.asList(first, second)) {
+        try {
+          read.get();
+          fail("Expected the read to fail");
+        } catch (ExecutionException e) {
+          assertTrue(e.getCause() instanceof IOException);
+          assertEquals("SlowDown", e.getCause().getMessage());
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(0, mCoalescer.getReadsInProgress());
+    try {
+      readPage();
+      fail("Expected the read to fail");
+    } catch (IOException e) {
+      // expected
+    }
+    verify(mUfsBlockReader, times(2)).readPageAtIndex(any(ByteBuffer.class), anyLong());
+    assertEquals(0, mCacheManager.mPagesCached);
+  }
+
+  private ByteBuffer readPage() throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+    int bytesRead = mCoalescer.readPage(mUfsBlockReader, PAGE_ID, 2, buffer);
+    buffer.flip();
+    assertEquals(bytesRead, buffer.remaining());
+    return buffer;
+  }
+
+  private static long coalescedReads() {
+    return MetricsSystem.counter(MetricKey.WORKER_UFS_PAGE_READS_COALESCED.getName()).getCount();
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.policy;
+
+import alluxio.Constants;
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.client.block.policy.options.GetWorkerOptions;
+import alluxio.conf.Configuration;
+import alluxio.wire.BlockInfo;
+import alluxio.wire.WorkerNetAddress;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the hashing {@link BlockLocationPolicy}s. Besides the cost of choosing a worker,
+ * the setup simulates the placement of many blocks and logs the fraction of the blocks which move
+ * to another worker when one worker leaves the cluster, and the load skew, the maximum number of
+ * blocks placed on a worker over the average.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-server")
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 6, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+public class BlockLocationPolicyBench {
+  private static final Logger LOG = LoggerFactory.getLogger(BlockLocationPolicyBench.class);
+  private static final int SIMULATED_BLOCKS = 100_000;
+
+  @Benchmark
+  public WorkerNetAddress getWorker(BenchParams params) {
+    long blockId = ThreadLocalRandom.current().nextLong();
+    return params.mPolicy.getWorker(GetWorkerOptions.defaults()
+        .setBlockWorkerInfos(params.mWorkerInfos)
+        .setBlockInfo(new BlockInfo().setBlockId(blockId).setLength(Constants.MB)))
+        .orElse(null);
+  }
+
+  @State(Scope.Benchmark)
+  public static class BenchParams {
+    @Param({"DeterministicHashPolicy", "ConsistentHashPolicy"})
+    public String mPolicyName;
+
+    @Param({"10", "100"})
+    public int mWorkers;
+
+    BlockLocationPolicy mPolicy;
+    List<BlockWorkerInfo> mWorkerInfos;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      mPolicy = BlockLocationPolicy.Factory.create(Class.forName(
+          BlockLocationPolicyBench.class.getPackage().getName() + "." + mPolicyName),
+          Configuration.global());
+      mWorkerInfos = workers(mWorkers);
+      simulate();
+    }
+
+    private void simulate() {
+      WorkerNetAddress[] before = place(mWorkerInfos);
+      List<BlockWorkerInfo> remaining = new ArrayList<>(mWorkerInfos);
+      remaining.remove(remaining.size() / 2);
+      WorkerNetAddress[] after = place(remaining);
+      int remapped = 0;
+      Map<WorkerNetAddress, Integer> load = new HashMap<>();
+      for (int i = 0; i < SIMULATED_BLOCKS; i++) {
+        if (!before[i].equals(after[i])) {
+          remapped++;
+        }
+        load.merge(before[i], 1, Integer::sum);
+      }
+      int maxLoad = load.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+      LOG.info("{} with {} workers: {}% of the blocks remapped after removing a worker "
+              + "(ideal {}%), load skew {}", mPolicyName, mWorkers,
+          String.format("%.2f", 100.0 * remapped / SIMULATED_BLOCKS),
+          String.format("%.2f", 100.0 / mWorkers),
+          String.format("%.3f", (double) maxLoad * mWorkers / SIMULATED_BLOCKS));
+    }
+
+    private WorkerNetAddress[] place(List<BlockWorkerInfo> workerInfos) {
+      WorkerNetAddress[] placement = new WorkerNetAddress[SIMULATED_BLOCKS];
+      for (int i = 0; i < SIMULATED_BLOCKS; i++) {
+        placement[i] = mPolicy.getWorker(GetWorkerOptions.defaults()
+            .setBlockWorkerInfos(workerInfos)
+            .setBlockInfo(new BlockInfo().setBlockId(i).setLength(Constants.MB)))
+            .orElseThrow(() -> new IllegalStateException("Expected worker"));
+      }
+      return placement;
+    }
+
+    private static List<BlockWorkerInfo> workers(int count) {
+      List<BlockWorkerInfo> workerInfos = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        workerInfos.add(new BlockWorkerInfo(new WorkerNetAddress().setHost("worker" + i)
+            .setRpcPort(29999).setDataPort(29999).setWebPort(30000), Constants.GB, 0));
+      }
+      return workerInfos;
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options argsCli = new CommandLineOptions(args);
+    Options opts = new OptionsBuilder()
+        .parent(argsCli)
+        .include(BlockLocationPolicyBench.class.getName())
+        .result("results.json")
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+    new Runner(opts).run();
+  }
+}
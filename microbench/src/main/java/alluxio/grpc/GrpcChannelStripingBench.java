@@ -0,0 +1,202 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.grpc;
+
+import alluxio.client.block.stream.GrpcBlockingStream;
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.security.user.UserState;
+
+import com.google.protobuf.ByteString;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the read bandwidth of one client to one worker over loopback, with and without
+ * striping the streaming channel over several connections. Every benchmark thread reads whole
+ * blocks from an in-process block worker service serving preallocated chunks, over one channel
+ * shared by all threads like a pooled block worker client. The reported throughput is in bytes
+ * per second.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-server")
+@Warmup(iterations = 2, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@Threads(16)
+public class GrpcChannelStripingBench {
+  private static final int BLOCK_SIZE = 64 * 1024 * 1024;
+  private static final long TIMEOUT_MS = 60_000;
+
+  @State(Scope.Benchmark)
+  public static class BenchParams {
+    @Param({"1", "4", "8"})
+    public int mStripes;
+
+    @Param({"1048576"})
+    public int mChunkSize;
+
+    private GrpcServer mServer;
+    private GrpcChannel mChannel;
+    private int mBufferSize;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      InstancedConfiguration conf = Configuration.copyGlobal();
+      conf.set(PropertyKey.USER_NETWORK_STREAMING_STRIPES, mStripes);
+      mBufferSize = conf.getInt(PropertyKey.USER_STREAMING_READER_BUFFER_SIZE_MESSAGES);
+      mServer = GrpcServerBuilder
+          .forAddress(GrpcServerAddress.create("localhost", new InetSocketAddress("0.0.0.0", 0)),
+              conf)
+          .addService(new GrpcService(new ChunkServingBlockWorker(mChunkSize)))
+          .build()
+          .start();
+      mChannel = GrpcChannelBuilder
+          .newBuilder(GrpcServerAddress.create(
+              new InetSocketAddress("localhost", mServer.getBindPort())), conf)
+          .setSubject(UserState.Factory.create(conf).getSubject())
+          .setNetworkGroup(GrpcNetworkGroup.STREAMING)
+          .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      mChannel.shutdown();
+      mServer.shutdown();
+    }
+  }
+
+  /**
+   * Reads one block.
+   *
+   * @param params the benchmark parameters
+   * @return the number of bytes read
+   */
+  @Benchmark
+  @OperationsPerInvocation(BLOCK_SIZE)
+  public long readBlock(BenchParams params) throws Exception {
+    GrpcBlockingStream<ReadRequest, ReadResponse> stream = new GrpcBlockingStream<>(
+        BlockWorkerGrpc.newStub(params.mChannel)::readBlock, params.mBufferSize,
+        "GrpcChannelStripingBench");
+    stream.send(ReadRequest.newBuilder().setBlockId(1L).setOffset(0).setLength(BLOCK_SIZE)
+        .setChunkSize(params.mChunkSize).build(), TIMEOUT_MS);
+    long bytesRead = 0;
+    ReadResponse response;
+    while ((response = stream.receive(TIMEOUT_MS)) != null) {
+      bytesRead += response.getChunk().getData().size();
+    }
+    stream.close();
+    return bytesRead;
+  }
+
+  /**
+   * A block worker service which answers every read request with the same preallocated chunk,
+   * sending as fast as the flow control of the stream allows.
+   */
+  private static final class ChunkServingBlockWorker extends BlockWorkerGrpc.BlockWorkerImplBase {
+    private final ReadResponse mChunk;
+
+    private ChunkServingBlockWorker(int chunkSize) {
+      mChunk = ReadResponse.newBuilder().setChunk(Chunk.newBuilder()
+          .setData(ByteString.copyFrom(new byte[chunkSize]))).build();
+    }
+
+    @Override
+    public StreamObserver<ReadRequest> readBlock(StreamObserver<ReadResponse> responseObserver) {
+      ServerCallStreamObserver<ReadResponse> observer =
+          (ServerCallStreamObserver<ReadResponse>) responseObserver;
+      ChunkSender sender = new ChunkSender(observer);
+      observer.setOnReadyHandler(sender::send);
+      return new StreamObserver<ReadRequest>() {
+        @Override
+        public void onNext(ReadRequest request) {
+          if (!request.hasOffsetReceived()) {
+            sender.start(request.getLength());
+          }
+        }
+
+        @Override
+        public void onError(Throwable t) {}
+
+        @Override
+        public void onCompleted() {}
+      };
+    }
+
+    /**
+     * Sends the chunks of one read request. All methods are called from the serialized call
+     * executor of the stream.
+     */
+    private final class ChunkSender {
+      private final ServerCallStreamObserver<ReadResponse> mObserver;
+      private long mRemaining = -1;
+
+      private ChunkSender(ServerCallStreamObserver<ReadResponse> observer) {
+        mObserver = observer;
+      }
+
+      private void start(long length) {
+        mRemaining = length;
+        send();
+      }
+
+      private void send() {
+        if (mRemaining < 0 || mObserver.isCancelled()) {
+          return;
+        }
+        while (mRemaining > 0 && mObserver.isReady()) {
+          mObserver.onNext(mChunk);
+          mRemaining -= mChunk.getChunk().getData().size();
+        }
+        if (mRemaining <= 0) {
+          mRemaining = -1;
+          mObserver.onCompleted();
+        }
+      }
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options argsCli = new CommandLineOptions(args);
+    Options opts = new OptionsBuilder()
+        .parent(argsCli)
+        .include(GrpcChannelStripingBench.class.getName())
+        .result("results.json")
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+    new Runner(opts).run();
+  }
+}
@@ -17,7 +17,11 @@ import alluxio.BaseThreadState;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.file.options.DescendantType;
+import alluxio.master.file.meta.NoopUfsAbsentPathCache;
 import alluxio.master.file.meta.UfsSyncPathCache;
+import alluxio.master.file.meta.UfsSyncStateStore;
+import alluxio.proto.journal.Journal.JournalEntry;
+import alluxio.resource.CloseableIterator;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Level;
@@ -112,18 +116,28 @@ public class InvalidationSyncCacheBench {
     @Param({"1000"})
     public int mInvalCount;
 
+    /**
+     * Whether the cache is restored from the journal of another master, as after a failover,
+     * instead of being filled locally.
+     */
+    @Param({"false", "true"})
+    public boolean mReplicated;
+
     BaseFileStructure mInvalidationStructure;
 
     @Setup(Level.Trial)
     public void setupTrial() throws Exception {
       Configuration.set(PropertyKey.MASTER_UFS_PATH_CACHE_CAPACITY, mCacheSize);
+      Configuration.set(PropertyKey.MASTER_METADATA_SYNC_STATE_JOURNAL_ENABLED, mReplicated);
 
       mInvalidationStructure = new BaseFileStructure();
       mInvalidationStructure.mDistribution = mInvalDist;
       mInvalidationStructure.mFileCount = mInvalCount;
       mInvalidationStructure.mDepth = mDepth;
       mInvalidationStructure.init();
-      mCache = new UfsSyncPathCache(new AtomicClock());
+      AtomicClock clock = new AtomicClock();
+      mCache = new UfsSyncPathCache(clock);
+      UfsSyncStateStore store = new UfsSyncStateStore(mCache, new NoopUfsAbsentPathCache());
       mCache.notifySyncedPath(new AlluxioURI("/"), DescendantType.ALL,
           mCache.recordStartSync(), null, false);
 
@@ -142,6 +156,17 @@ public class InvalidationSyncCacheBench {
         mCache.notifyInvalidation(nextPath);
       }
       System.out.println("Done filling cache");
+      if (mReplicated) {
+        // replay the checkpoint of the filled cache into the cache of a new primary
+        UfsSyncPathCache replica = new UfsSyncPathCache(clock);
+        UfsSyncStateStore replicaStore =
+            new UfsSyncStateStore(replica, new NoopUfsAbsentPathCache());
+        try (CloseableIterator<JournalEntry> it = store.getJournalEntryIterator()) {
+          it.forEachRemaining(replicaStore::processJournalEntry);
+        }
+        mCache = replica;
+        System.out.println("Done replicating cache");
+      }
     }
 
     static class AtomicClock extends Clock {
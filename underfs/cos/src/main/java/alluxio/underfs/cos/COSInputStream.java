@@ -11,6 +11,7 @@
 
 package alluxio.underfs.cos;
 
+import alluxio.conf.AlluxioConfiguration;
 import alluxio.retry.RetryPolicy;
 import alluxio.underfs.MultiRangeObjectInputStream;
 
@@ -62,10 +63,12 @@ public class COSInputStream extends MultiRangeObjectInputStream {
    * @param client the client for COS
    * @param retryPolicy retry policy in case the key does not exist
    * @param multiRangeChunkSize the chunk size to use on this stream
+   * @param conf the configuration of the under storage
    */
   COSInputStream(String bucketName, String key, COSClient client,
-      RetryPolicy retryPolicy, long multiRangeChunkSize) throws IOException {
-    this(bucketName, key, client, 0L, retryPolicy, multiRangeChunkSize);
+      RetryPolicy retryPolicy, long multiRangeChunkSize,
+      AlluxioConfiguration conf) throws IOException {
+    this(bucketName, key, client, 0L, retryPolicy, multiRangeChunkSize, conf);
   }
 
   /**
@@ -77,10 +80,12 @@ public class COSInputStream extends MultiRangeObjectInputStream {
    * @param position the position to begin reading from
    * @param retryPolicy retry policy in case the key does not exist
    * @param multiRangeChunkSize the chunk size to use on this stream
+   * @param conf the configuration of the under storage
    */
   COSInputStream(String bucketName, String key, COSClient client, long position,
-      RetryPolicy retryPolicy, long multiRangeChunkSize) throws IOException {
-    super(multiRangeChunkSize);
+      RetryPolicy retryPolicy, long multiRangeChunkSize,
+      AlluxioConfiguration conf) throws IOException {
+    super(multiRangeChunkSize, conf);
     mBucketName = bucketName;
     mKey = key;
     mCosClient = client;
@@ -90,6 +95,11 @@ public class COSInputStream extends MultiRangeObjectInputStream {
     mContentLength = meta == null ? 0 : meta.getContentLength();
   }
 
+  @Override
+  protected long getContentLength() {
+    return mContentLength;
+  }
+
   @Override
   protected InputStream createStream(long startPos, long endPos)
       throws IOException {
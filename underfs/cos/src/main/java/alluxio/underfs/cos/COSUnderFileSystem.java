@@ -301,7 +301,7 @@ public class COSUnderFileSystem extends ObjectUnderFileSystem {
       RetryPolicy retryPolicy) throws IOException {
     try {
       return new COSInputStream(mBucketNameInternal, key, mClient, options.getOffset(), retryPolicy,
-          mUfsConf.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_CHUNK_SIZE));
+          mUfsConf.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_CHUNK_SIZE), mUfsConf);
     } catch (CosClientException e) {
       throw new IOException(e.getMessage());
     }
@@ -21,6 +21,7 @@ import org.apache.hadoop.fs.PositionedReadable;
 import org.apache.hadoop.fs.Seekable;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * The input stream of HDFS as under filesystem. This input stream has two mode of operations.
@@ -110,6 +111,32 @@ public class HdfsPositionedUnderFileInputStream extends SeekableUnderFileInputSt
     }
   }
 
+  /**
+   * Reads into the buffer directly when the stream is read sequentially and HDFS supports it,
+   * otherwise through an array.
+   */
+  @Override
+  public int read(ByteBuffer buffer) throws IOException {
+    if (!buffer.hasRemaining()) {
+      return 0;
+    }
+    if (!HdfsUnderFileInputStream.isByteBufferReadable(in)) {
+      return super.read(buffer);
+    }
+    if (isSequentialReadMode() && mPos != ((Seekable) in).getPos()) {
+      ((Seekable) in).seek(mPos);
+    }
+    if (mPos != ((Seekable) in).getPos()) {
+      return super.read(buffer);
+    }
+    int bytesRead = ((FSDataInputStream) in).read(buffer);
+    if (bytesRead > 0) {
+      mPos += bytesRead;
+      mSequentialReadCount++;
+    }
+    return bytesRead;
+  }
+
   private boolean isSequentialReadMode() {
     return mSequentialReadCount >= SEQUENTIAL_READ_LIMIT;
   }
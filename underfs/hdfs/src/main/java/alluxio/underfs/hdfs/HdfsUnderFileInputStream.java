@@ -16,6 +16,8 @@ import alluxio.underfs.SeekableUnderFileInputStream;
 import org.apache.hadoop.fs.FSDataInputStream;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 /**
  * The input stream of HDFS as under filesystem. This input stream supports seeking and can be
@@ -27,6 +29,17 @@ public class HdfsUnderFileInputStream extends SeekableUnderFileInputStream {
     super(in);
   }
 
+  /**
+   * Reads into the buffer directly when HDFS supports it, otherwise through an array.
+   */
+  @Override
+  public int read(ByteBuffer buffer) throws IOException {
+    if (buffer.hasRemaining() && isByteBufferReadable(in)) {
+      return ((FSDataInputStream) in).read(buffer);
+    }
+    return super.read(buffer);
+  }
+
   @Override
   public void seek(long position) throws IOException {
     ((FSDataInputStream) in).seek(position);
@@ -36,4 +49,17 @@ public class HdfsUnderFileInputStream extends SeekableUnderFileInputStream {
   public long getPos() throws IOException {
     return ((FSDataInputStream) in).getPos();
   }
+
+  /**
+   * @param in an input stream
+   * @return whether the stream reads into byte buffers without copying through an array
+   */
+  static boolean isByteBufferReadable(InputStream in) {
+    //#ifdef HADOOP1
+    return false;
+    //#else
+    return in instanceof FSDataInputStream && ((FSDataInputStream) in).getWrappedStream()
+        instanceof org.apache.hadoop.fs.ByteBufferReadable;
+    //#endif
+  }
 }
@@ -296,6 +296,14 @@ public class HdfsUnderFileSystem extends ConsistentUnderFileSystem
     hdfsConf.set("fs.hdfs.impl.disable.cache",
         System.getProperty("fs.hdfs.impl.disable.cache", "true"));
 
+    // Let the HDFS client hedge slow positioned reads by reading from another datanode
+    if (conf.getBoolean(PropertyKey.UNDERFS_HDFS_HEDGED_READ_ENABLED)) {
+      hdfsConf.setInt("dfs.client.hedged.read.threadpool.size",
+          conf.getInt(PropertyKey.UNDERFS_HDFS_HEDGED_READ_THREADS));
+      hdfsConf.setLong("dfs.client.hedged.read.threshold.millis",
+          conf.getMs(PropertyKey.UNDERFS_HDFS_HEDGED_READ_THRESHOLD));
+    }
+
     // Set all parameters passed through --option
     for (Map.Entry<String, Object> entry : conf.getMountSpecificConf().entrySet()) {
       hdfsConf.set(entry.getKey(),
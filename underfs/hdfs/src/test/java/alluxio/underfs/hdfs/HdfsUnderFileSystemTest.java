@@ -84,6 +84,22 @@ public final class HdfsUnderFileSystemTest {
     Assert.assertTrue(conf.getBoolean("fs.hdfs.impl.disable.cache", false));
   }
 
+  /**
+   * Tests that enabling hedged reads sets the hedged read configuration of the HDFS client.
+   */
+  @Test
+  public void hedgedReadConfiguration() throws Exception {
+    UnderFileSystemConfiguration ufsConf =
+        UnderFileSystemConfiguration.defaults(Configuration.global())
+            .createMountSpecificConf(ImmutableMap.of(
+                PropertyKey.UNDERFS_HDFS_HEDGED_READ_ENABLED.getName(), "true",
+                PropertyKey.UNDERFS_HDFS_HEDGED_READ_THREADS.getName(), "8",
+                PropertyKey.UNDERFS_HDFS_HEDGED_READ_THRESHOLD.getName(), "20ms"));
+    org.apache.hadoop.conf.Configuration conf = HdfsUnderFileSystem.createConfiguration(ufsConf);
+    Assert.assertEquals(8, conf.getInt("dfs.client.hedged.read.threadpool.size", 0));
+    Assert.assertEquals(20, conf.getLong("dfs.client.hedged.read.threshold.millis", 0));
+  }
+
   private void checkDataValid(int data, int index) {
     // index is larger than Byte.MAX_VALUE, convert to byte to compare
     Assert.assertEquals((byte) index, (byte) data);
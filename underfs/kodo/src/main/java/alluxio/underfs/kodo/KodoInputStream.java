@@ -11,6 +11,7 @@
 
 package alluxio.underfs.kodo;
 
+import alluxio.conf.AlluxioConfiguration;
 import alluxio.exception.status.NotFoundException;
 import alluxio.retry.RetryPolicy;
 import alluxio.underfs.MultiRangeObjectInputStream;
@@ -58,10 +59,12 @@ public class KodoInputStream extends MultiRangeObjectInputStream {
    * @param position the position to begin reading from
    * @param retryPolicy retry policy in case the key does not exist
    * @param multiRangeChunkSize the chunk size to use on this stream
+   * @param conf the configuration of the under storage
    */
   KodoInputStream(String key, KodoClient kodoClient, long position,
-      RetryPolicy retryPolicy, long multiRangeChunkSize) throws QiniuException {
-    super(multiRangeChunkSize);
+      RetryPolicy retryPolicy, long multiRangeChunkSize,
+      AlluxioConfiguration conf) throws QiniuException {
+    super(multiRangeChunkSize, conf);
     mKey = key;
     mKodoclent = kodoClient;
     mPos = position;
@@ -69,6 +72,11 @@ public class KodoInputStream extends MultiRangeObjectInputStream {
     mContentLength = kodoClient.getFileInfo(key).fsize;
   }
 
+  @Override
+  protected long getContentLength() {
+    return mContentLength;
+  }
+
   @Override
   protected InputStream createStream(long startPos, long endPos)
       throws IOException {
@@ -11,6 +11,7 @@
 
 package alluxio.underfs.obs;
 
+import alluxio.conf.AlluxioConfiguration;
 import alluxio.retry.RetryPolicy;
 import alluxio.underfs.MultiRangeObjectInputStream;
 
@@ -70,10 +71,11 @@ public class OBSInputStream extends MultiRangeObjectInputStream {
    * @param client the client for OSS
    * @param retryPolicy retry policy in case the key does not exist
    * @param multiRangeChunkSize the chunk size to use on this stream
+   * @param conf the configuration of the under storage
    */
   OBSInputStream(String bucketName, String key, ObsClient client, RetryPolicy retryPolicy,
-      long multiRangeChunkSize) throws IOException {
-    this(bucketName, key, client, 0L, retryPolicy, multiRangeChunkSize);
+      long multiRangeChunkSize, AlluxioConfiguration conf) throws IOException {
+    this(bucketName, key, client, 0L, retryPolicy, multiRangeChunkSize, conf);
   }
 
   /**
@@ -85,10 +87,12 @@ public class OBSInputStream extends MultiRangeObjectInputStream {
    * @param position the position to begin reading from
    * @param retryPolicy retry policy in case the key does not exist
    * @param multiRangeChunkSize the chunk size to use on this stream
+   * @param conf the configuration of the under storage
    */
   OBSInputStream(String bucketName, String key, ObsClient client, long position,
-      RetryPolicy retryPolicy, long multiRangeChunkSize) throws IOException {
-    super(multiRangeChunkSize);
+      RetryPolicy retryPolicy, long multiRangeChunkSize,
+      AlluxioConfiguration conf) throws IOException {
+    super(multiRangeChunkSize, conf);
     mBucketName = bucketName;
     mKey = key;
     mObsClient = client;
@@ -98,6 +102,11 @@ public class OBSInputStream extends MultiRangeObjectInputStream {
     mRetryPolicy = retryPolicy;
   }
 
+  @Override
+  protected long getContentLength() {
+    return mContentLength;
+  }
+
   @Override
   protected InputStream createStream(long startPos, long endPos) throws IOException {
     GetObjectRequest req = new GetObjectRequest(mBucketName, mKey);
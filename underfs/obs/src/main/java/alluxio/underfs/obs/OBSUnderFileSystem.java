@@ -342,7 +342,7 @@ public class OBSUnderFileSystem extends ObjectUnderFileSystem {
       RetryPolicy retryPolicy) throws IOException {
     try {
       return new OBSInputStream(mBucketName, key, mClient, options.getOffset(), retryPolicy,
-          mUfsConf.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_CHUNK_SIZE));
+          mUfsConf.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_CHUNK_SIZE), mUfsConf);
     } catch (ObsException e) {
       throw new IOException(e.getMessage());
     }
@@ -78,7 +78,7 @@ public class OBSInputStreamTest {
       when(mObjects[i].getObjectContent()).thenReturn(mInputStreamSpy[i]);
     }
     mOBSInputStream = new OBSInputStream(BUCKET_NAME, OBJECT_KEY, mObsClient, new CountingRetry(1),
-        sConf.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_CHUNK_SIZE));
+        sConf.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_CHUNK_SIZE), sConf);
   }
 
   @Test
@@ -11,6 +11,7 @@
 
 package alluxio.underfs.oss;
 
+import alluxio.conf.AlluxioConfiguration;
 import alluxio.retry.RetryPolicy;
 import alluxio.underfs.MultiRangeObjectInputStream;
 
@@ -61,10 +62,11 @@ public class OSSInputStream extends MultiRangeObjectInputStream {
    * @param client the client for OSS
    * @param retryPolicy retry policy in case the key does not exist
    * @param multiRangeChunkSize the chunk size to use on this stream
+   * @param conf the configuration of the under storage
    */
   OSSInputStream(String bucketName, String key, OSS client, RetryPolicy retryPolicy,
-      long multiRangeChunkSize) throws IOException {
-    this(bucketName, key, client, 0L, retryPolicy, multiRangeChunkSize);
+      long multiRangeChunkSize, AlluxioConfiguration conf) throws IOException {
+    this(bucketName, key, client, 0L, retryPolicy, multiRangeChunkSize, conf);
   }
 
   /**
@@ -76,10 +78,12 @@ public class OSSInputStream extends MultiRangeObjectInputStream {
    * @param position the position to begin reading from
    * @param retryPolicy retry policy in case the key does not exist
    * @param multiRangeChunkSize the chunk size to use on this stream
+   * @param conf the configuration of the under storage
    */
   OSSInputStream(String bucketName, String key, OSS client, long position,
-      RetryPolicy retryPolicy, long multiRangeChunkSize) throws IOException {
-    super(multiRangeChunkSize);
+      RetryPolicy retryPolicy, long multiRangeChunkSize,
+      AlluxioConfiguration conf) throws IOException {
+    super(multiRangeChunkSize, conf);
     mBucketName = bucketName;
     mKey = key;
     mOssClient = client;
@@ -89,6 +93,11 @@ public class OSSInputStream extends MultiRangeObjectInputStream {
     mRetryPolicy = retryPolicy;
   }
 
+  @Override
+  protected long getContentLength() {
+    return mContentLength;
+  }
+
   @Override
   protected InputStream createStream(long startPos, long endPos)
       throws IOException {
@@ -78,7 +78,7 @@ public class OSSInputStreamTest {
       when(mOssObject[i].getObjectContent()).thenReturn(mInputStreamSpy[i]);
     }
     mOssInputStream = new OSSInputStream(BUCKET_NAME, OBJECT_KEY, mOssClient, new CountingRetry(1),
-        sConf.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_CHUNK_SIZE));
+        sConf.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_CHUNK_SIZE), sConf);
   }
 
   @Test
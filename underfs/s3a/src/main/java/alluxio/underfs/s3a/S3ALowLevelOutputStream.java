@@ -15,6 +15,8 @@ import alluxio.Constants;
 import alluxio.conf.PropertyKey;
 import alluxio.retry.CountingRetry;
 import alluxio.retry.RetryPolicy;
+import alluxio.underfs.UploadPartBuffer;
+import alluxio.underfs.UploadPartBufferPool;
 import alluxio.util.CommonUtils;
 import alluxio.util.io.PathUtils;
 
@@ -32,6 +34,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,7 +51,9 @@ import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -71,6 +76,13 @@ import javax.annotation.concurrent.NotThreadSafe;
  * In close(), we upload the last part of data (if exists), wait for all uploads to finish,
  * and complete the multipart upload.
  *
+ * If an {@link UploadPartBufferPool} is given, parts are staged in pooled memory buffers
+ * instead of temp files and uploaded straight from memory. The pool bounds the number of parts
+ * in memory, so write() blocks until an upload finishes when the writer outpaces the uploads.
+ *
+ * The partition size doubles every 1000 parts, so that large files stay within the part count
+ * limit of S3.
+ *
  * close() will not be retried, but all the multipart upload
  * related operations(init, upload, complete, and abort) will be retried.
  *
@@ -118,6 +130,9 @@ public class S3ALowLevelOutputStream extends OutputStream {
   /** The MD5 hash of the file. */
   private MessageDigest mHash;
 
+  /** The MD5 hash of the part in the memory buffer, sent with the part for S3 to verify. */
+  private MessageDigest mPartHash;
+
   /** The upload id of this multipart upload. */
   private String mUploadId;
 
@@ -137,6 +152,13 @@ public class S3ALowLevelOutputStream extends OutputStream {
   /** The output stream to the local temp file. */
   private OutputStream mLocalOutputStream;
 
+  /** The pool of memory buffers to stage parts in, or null to stage parts in temp files. */
+  @Nullable
+  private final UploadPartBufferPool mBufferPool;
+  /** The memory buffer of the current part, when parts are staged in memory. */
+  @Nullable
+  private UploadPartBuffer mBuffer;
+
   /**
    * Give each upload request an unique and continuous id
    * so that S3 knows the part sequence to concatenate the parts to a single object.
@@ -160,6 +182,25 @@ public class S3ALowLevelOutputStream extends OutputStream {
   public S3ALowLevelOutputStream(String bucketName, String key, AmazonS3 s3Client,
       ListeningExecutorService executor, long streamingUploadPartitionSize, List<String> tmpDirs,
       boolean sseEnabled) {
+    this(bucketName, key, s3Client, executor, streamingUploadPartitionSize, tmpDirs, sseEnabled,
+        null);
+  }
+
+  /**
+   * Constructs a new stream for writing a file.
+   *
+   * @param bucketName the name of the bucket
+   * @param key the key of the file
+   * @param s3Client the Amazon S3 client to upload the file with
+   * @param executor a thread pool executor
+   * @param streamingUploadPartitionSize the size in bytes for partitions of streaming uploads
+   * @param tmpDirs a list of temporary directories
+   * @param sseEnabled whether or not server side encryption is enabled
+   * @param bufferPool the pool of memory buffers to stage parts in, or null to use temp files
+   */
+  public S3ALowLevelOutputStream(String bucketName, String key, AmazonS3 s3Client,
+      ListeningExecutorService executor, long streamingUploadPartitionSize, List<String> tmpDirs,
+      boolean sseEnabled, @Nullable UploadPartBufferPool bufferPool) {
     Preconditions.checkArgument(bucketName != null && !bucketName.isEmpty(), "Bucket name must "
         + "not be null or empty.");
     mBucketName = bucketName;
@@ -173,11 +214,20 @@ public class S3ALowLevelOutputStream extends OutputStream {
       LOG.warn("Algorithm not available for MD5 hash.", e);
       mHash = null;
     }
+    if (bufferPool != null) {
+      try {
+        mPartHash = MessageDigest.getInstance("MD5");
+      } catch (NoSuchAlgorithmException e) {
+        LOG.warn("Algorithm not available for MD5 hash.", e);
+        mPartHash = null;
+      }
+    }
     mKey = key;
     // Partition size should be at least 5 MB, since S3 low-level multipart upload does not
     // accept intermediate part smaller than 5 MB.
     mPartitionSize = Math.max(UPLOAD_THRESHOLD, streamingUploadPartitionSize);
     mPartNumber = new AtomicInteger(1);
+    mBufferPool = bufferPool;
   }
 
   @Override
@@ -200,21 +250,43 @@ public class S3ALowLevelOutputStream extends OutputStream {
     if (mUploadId == null) {
       initMultiPartUpload();
     }
-    if (mFile == null) {
+    if (mBufferPool != null) {
+      if (mBuffer == null) {
+        mBuffer = mBufferPool.create();
+        mPartitionOffset = 0;
+      }
+    } else if (mFile == null) {
       initNewFile();
     }
-    if (mPartitionOffset + len < mPartitionSize) {
-      mLocalOutputStream.write(b, off, len);
-      mPartitionOffset += len;
+    long partitionSize = UploadPartBufferPool.getPartSize(mPartitionSize, mPartNumber.get());
+    if (mPartitionOffset + len < partitionSize) {
+      writeToPart(b, off, len);
     } else {
-      int firstLen = (int) (mPartitionSize - mPartitionOffset);
-      mLocalOutputStream.write(b, off, firstLen);
-      mPartitionOffset += firstLen;
+      int firstLen = (int) (partitionSize - mPartitionOffset);
+      writeToPart(b, off, firstLen);
       uploadPart();
       write(b, off + firstLen, len - firstLen);
     }
   }
 
+  /**
+   * Writes to the current part, which must fit the data.
+   */
+  private void writeToPart(byte[] b, int off, int len) throws IOException {
+    if (mBuffer != null) {
+      mBuffer.write(b, off, len);
+      if (mHash != null) {
+        mHash.update(b, off, len);
+      }
+      if (mPartHash != null) {
+        mPartHash.update(b, off, len);
+      }
+    } else {
+      mLocalOutputStream.write(b, off, len);
+    }
+    mPartitionOffset += len;
+  }
+
   @Override
   public void flush() throws IOException {
     if (mUploadId == null) {
@@ -249,6 +321,19 @@ public class S3ALowLevelOutputStream extends OutputStream {
     }
 
     try {
+      if (mBuffer != null) {
+        UploadPartBuffer buffer = mBuffer;
+        mBuffer = null;
+        final UploadPartRequest uploadRequest = new UploadPartRequest()
+            .withBucketName(mBucketName)
+            .withKey(mKey)
+            .withUploadId(mUploadId)
+            .withPartNumber(mPartNumber.getAndIncrement())
+            .withPartSize(buffer.getLength());
+        uploadRequest.setLastPart(true);
+        setPartMd5(uploadRequest);
+        execUpload(uploadRequest, buffer);
+      }
       if (mFile != null) {
         mLocalOutputStream.close();
         int partNumber = mPartNumber.getAndIncrement();
@@ -268,6 +353,11 @@ public class S3ALowLevelOutputStream extends OutputStream {
     } catch (Exception e) {
       LOG.error("Failed to upload {}", mKey, e);
       throw new IOException(e);
+    } finally {
+      if (mBuffer != null) {
+        mBuffer.release();
+        mBuffer = null;
+      }
     }
   }
 
@@ -325,6 +415,20 @@ public class S3ALowLevelOutputStream extends OutputStream {
    * Uploads part async.
    */
   protected void uploadPart() throws IOException {
+    if (mBuffer != null) {
+      UploadPartBuffer buffer = mBuffer;
+      mBuffer = null;
+      UploadPartRequest uploadRequest = new UploadPartRequest()
+          .withBucketName(mBucketName)
+          .withKey(mKey)
+          .withUploadId(mUploadId)
+          .withPartNumber(mPartNumber.getAndIncrement())
+          .withPartSize(buffer.getLength());
+      mPartitionOffset = 0;
+      setPartMd5(uploadRequest);
+      execUpload(uploadRequest, buffer);
+      return;
+    }
     if (mFile == null) {
       return;
     }
@@ -343,42 +447,105 @@ public class S3ALowLevelOutputStream extends OutputStream {
     execUpload(uploadRequest);
   }
 
+  /**
+   * Sets the MD5 of the part in the memory buffer on its upload request, and resets the hash
+   * for the next part.
+   *
+   * @param request the upload part request
+   */
+  private void setPartMd5(UploadPartRequest request) {
+    if (mPartHash != null) {
+      request.setMd5Digest(Base64.encodeAsString(mPartHash.digest()));
+    }
+  }
+
   protected void execUpload(UploadPartRequest request) throws IOException {
     execUpload(getClient(), request);
   }
 
+  /**
+   * Executes the upload of a full part staged in memory, once the pool lets one more part be
+   * uploaded. The writer blocks until then.
+   *
+   * @param request the upload part request
+   * @param buffer the memory buffer holding the part
+   */
+  private void execUpload(UploadPartRequest request, UploadPartBuffer buffer)
+      throws IOException {
+    try {
+      mBufferPool.acquireUpload();
+    } catch (IOException e) {
+      buffer.release();
+      throw e;
+    }
+    execUpload(getClient(), request, buffer);
+  }
+
   /**
    * Executes the upload part request.
    *
    * @param request the upload part request
    */
   protected void execUpload(AmazonS3 s3Client, UploadPartRequest request) {
+    execUpload(s3Client, request, null);
+  }
+
+  /**
+   * Executes the upload part request.
+   *
+   * @param s3Client the client to upload with
+   * @param request the upload part request
+   * @param buffer the memory buffer holding the part, whose upload is reserved in the pool, or
+   *        null if the part is in a file
+   */
+  protected void execUpload(AmazonS3 s3Client, UploadPartRequest request,
+      @Nullable UploadPartBuffer buffer) {
     File file = request.getFile();
-    ListenableFuture<PartETag> futureTag =
-        mExecutor.submit((Callable) () -> {
-          PartETag partETag;
-          AmazonClientException lastException;
-          try {
-            do {
-              try {
-                partETag = s3Client.uploadPart(request).getPartETag();
-                return partETag;
-              } catch (AmazonClientException e) {
-                lastException = e;
+    ListenableFuture<PartETag> futureTag;
+    try {
+      futureTag = mExecutor.submit((Callable) () -> {
+        PartETag partETag;
+        AmazonClientException lastException;
+        try {
+          do {
+            try {
+              if (buffer != null) {
+                request.setInputStream(buffer.getInputStream());
               }
-            } while (mRetryPolicy.attempt());
-          } finally {
-            // Delete the uploaded or failed to upload file
-            if (!file.delete()) {
-              LOG.error("Failed to delete temporary file @ {}", file.getPath());
+              partETag = s3Client.uploadPart(request).getPartETag();
+              return partETag;
+            } catch (AmazonClientException e) {
+              lastException = e;
             }
+          } while (mRetryPolicy.attempt());
+        } finally {
+          if (buffer != null) {
+            buffer.release();
+          } else if (!file.delete()) {
+            // Delete the uploaded or failed to upload file
+            LOG.error("Failed to delete temporary file @ {}", file.getPath());
           }
-          throw new IOException("Fail to upload part " + request.getPartNumber()
-              + " to " + request.getKey(), lastException);
-        });
+        }
+        throw new IOException("Fail to upload part " + request.getPartNumber()
+            + " to " + request.getKey(), lastException);
+      });
+    } catch (RejectedExecutionException e) {
+      if (buffer != null) {
+        buffer.release();
+        mBufferPool.releaseUpload();
+      } else if (!file.delete()) {
+        LOG.error("Failed to delete temporary file @ {}", file.getPath());
+      }
+      throw e;
+    }
+    if (buffer != null) {
+      // also releases the reservation of a part whose upload is cancelled before it starts
+      futureTag.addListener(mBufferPool::releaseUpload, MoreExecutors.directExecutor());
+    }
     mTagFutures.add(futureTag);
-    LOG.debug("Submit upload part request. key={}, partNum={}, file={}, fileSize={}, lastPart={}.",
-        mKey, request.getPartNumber(), file.getPath(), file.length(), request.isLastPart());
+    LOG.debug("Submit upload part request. key={}, partNum={}, file={}, partSize={}, lastPart={}.",
+        mKey, request.getPartNumber(), file == null ? "<memory>" : file.getPath(),
+        request.getPartSize(), request.isLastPart());
   }
 
   /**
@@ -18,6 +18,7 @@ import alluxio.retry.RetryPolicy;
 import alluxio.underfs.ObjectUnderFileSystem;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.UnderFileSystemConfiguration;
+import alluxio.underfs.UploadPartBufferPool;
 import alluxio.underfs.options.OpenOptions;
 import alluxio.util.CommonUtils;
 import alluxio.util.ModeUtils;
@@ -111,6 +112,10 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
   /** Whether the streaming upload is enabled. */
   private final boolean mStreamingUploadEnabled;
 
+  /** The memory buffers shared by the streaming uploads, or null if parts are staged in files. */
+  @Nullable
+  private final UploadPartBufferPool mUploadPartBufferPool;
+
   /** The permissions associated with the bucket. Fetched once and assumed to be immutable. */
   private final Supplier<ObjectPermissions> mPermissions
       = CommonUtils.memoize(this::getPermissionsInternal);
@@ -336,6 +341,11 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
     mExecutor = MoreExecutors.listeningDecorator(executor);
     mManager = transferManager;
     mStreamingUploadEnabled = streamingUploadEnabled;
+    mUploadPartBufferPool = streamingUploadEnabled
+        && conf.getBoolean(PropertyKey.UNDERFS_S3_STREAMING_UPLOAD_MEMORY_BUFFER_ENABLED)
+        ? new UploadPartBufferPool(
+            conf.getInt(PropertyKey.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_MEMORY_PARTS_MAX))
+        : null;
   }
 
   @Override
@@ -409,7 +419,8 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
       return new S3ALowLevelOutputStream(mBucketName, key, mClient, mExecutor,
           mUfsConf.getBytes(PropertyKey.UNDERFS_S3_STREAMING_UPLOAD_PARTITION_SIZE),
           mUfsConf.getList(PropertyKey.TMP_DIRS),
-          mUfsConf.getBoolean(PropertyKey.UNDERFS_S3_SERVER_SIDE_ENCRYPTION_ENABLED));
+          mUfsConf.getBoolean(PropertyKey.UNDERFS_S3_SERVER_SIDE_ENCRYPTION_ENABLED),
+          mUploadPartBufferPool);
     }
     return new S3AOutputStream(mBucketName, key, mManager,
         mUfsConf.getList(PropertyKey.TMP_DIRS),
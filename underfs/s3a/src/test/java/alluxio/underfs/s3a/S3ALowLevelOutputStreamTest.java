@@ -11,7 +11,11 @@
 
 package alluxio.underfs.s3a;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
@@ -19,7 +23,9 @@ import static org.mockito.Mockito.when;
 import alluxio.conf.Configuration;
 import alluxio.conf.InstancedConfiguration;
 import alluxio.conf.PropertyKey;
+import alluxio.underfs.UploadPartBufferPool;
 import alluxio.util.FormatUtils;
+import alluxio.util.io.BufferUtils;
 
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
@@ -29,8 +35,12 @@ import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
 import com.amazonaws.services.s3.model.PartETag;
 import com.amazonaws.services.s3.model.UploadPartRequest;
 import com.amazonaws.services.s3.model.UploadPartResult;
+import com.amazonaws.util.Base64;
+import com.google.common.io.ByteStreams;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -44,7 +54,15 @@ import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.security.DigestOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Unit tests for the {@link S3ALowLevelOutputStream}.
@@ -141,6 +159,85 @@ public class S3ALowLevelOutputStreamTest {
         .completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
   }
 
+  @Test
+  public void writeWithMemoryBuffer() throws Exception {
+    int partSize = (int) FormatUtils.parseSpaceSize(PARTITION_SIZE);
+    byte[] b = BufferUtils.getIncreasingByteArray(2 * partSize + 1);
+    Map<Integer, byte[]> parts = new ConcurrentHashMap<>();
+    Map<Integer, String> md5s = new ConcurrentHashMap<>();
+    when(mMockS3Client.uploadPart(any(UploadPartRequest.class)))
+        .thenAnswer((InvocationOnMock invocation) -> {
+          UploadPartRequest request = invocation.getArgument(0);
+          parts.put(request.getPartNumber(), ByteStreams.toByteArray(request.getInputStream()));
+          md5s.put(request.getPartNumber(), request.getMd5Digest());
+          UploadPartResult uploadResult = new UploadPartResult();
+          uploadResult.setPartNumber(request.getPartNumber());
+          uploadResult.setETag("tag" + request.getPartNumber());
+          return uploadResult;
+        });
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      S3ALowLevelOutputStream stream = new S3ALowLevelOutputStream(BUCKET_NAME, KEY,
+          mMockS3Client, MoreExecutors.listeningDecorator(executor), partSize,
+          sConf.getList(PropertyKey.TMP_DIRS), false, new UploadPartBufferPool(2));
+      stream.write(b, 0, partSize - 1);
+      stream.write(b, partSize - 1, b.length - partSize + 1);
+      stream.close();
+    } finally {
+      executor.shutdownNow();
+    }
+    Mockito.verify(mMockOutputStream, never()).write(any(byte[].class), anyInt(), anyInt());
+    Mockito.verify(mMockS3Client)
+        .completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    assertEquals(3, parts.size());
+    assertArrayEquals(Arrays.copyOfRange(b, 0, partSize), parts.get(1));
+    assertArrayEquals(Arrays.copyOfRange(b, partSize, 2 * partSize), parts.get(2));
+    assertArrayEquals(Arrays.copyOfRange(b, 2 * partSize, b.length), parts.get(3));
+    for (int part = 1; part <= 3; part++) {
+      assertEquals(Base64.encodeAsString(DigestUtils.md5(parts.get(part))), md5s.get(part));
+    }
+  }
+
+  @Test(timeout = 10000)
+  public void interleavedStreamsWithMemoryBuffer() throws Exception {
+    int partSize = (int) FormatUtils.parseSpaceSize(PARTITION_SIZE);
+    byte[] b = BufferUtils.getIncreasingByteArray(partSize + 10);
+    UploadPartBufferPool pool = new UploadPartBufferPool(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      // the parts being written by open streams do not hold the single upload of the pool
+      List<S3ALowLevelOutputStream> streams = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        S3ALowLevelOutputStream stream = new S3ALowLevelOutputStream(BUCKET_NAME, KEY + i,
+            mMockS3Client, MoreExecutors.listeningDecorator(executor), partSize,
+            sConf.getList(PropertyKey.TMP_DIRS), false, pool);
+        stream.write(b, 0, 10);
+        streams.add(stream);
+      }
+      for (S3ALowLevelOutputStream stream : streams) {
+        stream.write(b, 10, b.length - 10);
+        stream.close();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    Mockito.verify(mMockS3Client, times(6)).uploadPart(any(UploadPartRequest.class));
+  }
+
+  @Test
+  public void rejectedUploadReleasesMemoryBuffer() throws Exception {
+    int partSize = (int) FormatUtils.parseSpaceSize(PARTITION_SIZE);
+    byte[] b = BufferUtils.getIncreasingByteArray(partSize);
+    UploadPartBufferPool pool = new UploadPartBufferPool(1);
+    when(mMockExecutor.submit(any(Callable.class)))
+        .thenThrow(new RejectedExecutionException("rejected"));
+    S3ALowLevelOutputStream stream = new S3ALowLevelOutputStream(BUCKET_NAME, KEY,
+        mMockS3Client, mMockExecutor, partSize, sConf.getList(PropertyKey.TMP_DIRS), false, pool);
+    assertThrows(RejectedExecutionException.class, () -> stream.write(b));
+    // the upload of the rejected part is released
+    pool.acquireUpload();
+  }
+
   /**
    * Mocks the S3 client and executor.
    */
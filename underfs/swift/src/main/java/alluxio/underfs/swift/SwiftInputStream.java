@@ -11,6 +11,7 @@
 
 package alluxio.underfs.swift;
 
+import alluxio.conf.AlluxioConfiguration;
 import alluxio.retry.RetryPolicy;
 import alluxio.underfs.MultiRangeObjectInputStream;
 
@@ -54,10 +55,12 @@ public class SwiftInputStream extends MultiRangeObjectInputStream {
    * @param object path of the object in the container
    * @param retryPolicy retry policy in case the object does not exist
    * @param multiRangeChunkSize the chunk size to use on this stream
+   * @param conf the configuration of the under storage
    */
   public SwiftInputStream(Account account, String container, String object,
-      RetryPolicy retryPolicy, long multiRangeChunkSize) {
-    this(account, container, object, 0L, retryPolicy, multiRangeChunkSize);
+      RetryPolicy retryPolicy, long multiRangeChunkSize,
+      AlluxioConfiguration conf) {
+    this(account, container, object, 0L, retryPolicy, multiRangeChunkSize, conf);
   }
 
   /**
@@ -69,10 +72,12 @@ public class SwiftInputStream extends MultiRangeObjectInputStream {
    * @param position the position to begin reading from
    * @param retryPolicy retry policy in case the object does not exist
    * @param multiRangeChunkSize the chunk size to use on this stream
+   * @param conf the configuration of the under storage
    */
   public SwiftInputStream(Account account, String container, String object, long position,
-      RetryPolicy retryPolicy, long multiRangeChunkSize) {
-    super(multiRangeChunkSize);
+      RetryPolicy retryPolicy, long multiRangeChunkSize,
+      AlluxioConfiguration conf) {
+    super(multiRangeChunkSize, conf);
     mAccount = account;
     mContainerName = container;
     mObjectPath = object;